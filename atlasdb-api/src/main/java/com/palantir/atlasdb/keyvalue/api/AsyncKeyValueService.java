@@ -16,9 +16,11 @@
 
 package com.palantir.atlasdb.keyvalue.api;
 
+import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.metrics.Timed;
 import com.palantir.common.annotation.Idempotent;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
 import java.util.Map;
 
 public interface AsyncKeyValueService extends AutoCloseable {
@@ -36,6 +38,64 @@ public interface AsyncKeyValueService extends AutoCloseable {
     @Timed
     ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell);
 
+    /**
+     * Asynchronously gets the values of the specified rows, in the same way as
+     * {@link KeyValueService#getRows(TableReference, Iterable, ColumnSelection, long)}. In cases where the store does
+     * not allow it, the synchronous result is wrapped in an immediate future.
+     */
+    @Idempotent
+    @Timed
+    ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp);
+
+    /**
+     * Asynchronously gets values for the specified rows and column range, in the same way as
+     * {@link KeyValueService#getRowsColumnRange(TableReference, Iterable, BatchColumnRangeSelection, long)}. Only the
+     * first batch of each row is guaranteed to have been loaded when the future completes; iterating past it may
+     * block on further reads.
+     */
+    @Idempotent
+    @Timed
+    ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp);
+
+    /**
+     * Asynchronously gets the first page of each of the given ranges, in the same way as
+     * {@link KeyValueService#getFirstBatchForRanges(TableReference, Iterable, long)}.
+     */
+    @Idempotent
+    @Timed
+    ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp);
+
+    /**
+     * Asynchronously puts values into the key-value store, in the same way as
+     * {@link KeyValueService#put(TableReference, Map, long)}. The future completes once all values have been written.
+     */
+    @Idempotent
+    @Timed
+    ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp);
+
+    /**
+     * Asynchronously puts values into multiple tables, in the same way as
+     * {@link KeyValueService#multiPut(Map, long)}. The future completes once all values have been written.
+     */
+    @Idempotent
+    @Timed
+    ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp);
+
+    /**
+     * Asynchronously deletes values from the key-value store, in the same way as
+     * {@link KeyValueService#delete(TableReference, Multimap)}.
+     */
+    @Idempotent
+    @Timed
+    ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys);
+
     @Override
     void close();
 }
@@ -16,6 +16,8 @@
 package com.palantir.atlasdb.keyvalue.api;
 
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.metrics.Timed;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.annotation.Idempotent;
@@ -69,6 +71,19 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     Map<Cell, Value> getRows(
             TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp);
 
+    /**
+     * Gets values from the key-value store without blocking when the store allows it. By default, this wraps the
+     * result of {@link #getRows(TableReference, Iterable, ColumnSelection, long)} in an immediate future.
+     */
+    @Override
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        return Futures.immediateFuture(getRows(tableRef, rows, columnSelection, timestamp));
+    }
+
     /**
      * Gets values from the key-value store for the specified rows and column range
      * as separate iterators for each row.
@@ -90,6 +105,23 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
             BatchColumnRangeSelection batchColumnRangeSelection,
             long timestamp);
 
+    /**
+     * Gets values for the specified rows and column range without blocking when the store allows it. By default,
+     * this wraps the result of {@link #getRowsColumnRange(TableReference, Iterable, BatchColumnRangeSelection, long)}
+     * in an immediate future.
+     */
+    @Override
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        return Futures.immediateFuture(getRowsColumnRange(tableRef, rows, batchColumnRangeSelection, timestamp));
+    }
+
     /**
      * Gets values from the key-value store for the specified rows and column range as a single iterator. This method
      * should be at least as performant as
@@ -174,6 +206,19 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     @Timed
     void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) throws KeyAlreadyExistsException;
 
+    /**
+     * Puts values without blocking when the store allows it. By default, this performs
+     * {@link #put(TableReference, Map, long)} and returns an immediate future.
+     */
+    @Override
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        put(tableRef, values, timestamp);
+        return Futures.immediateFuture(null);
+    }
+
     /**
      * Puts values into the key-value store. This call <i>does not</i> guarantee
      * atomicity across cells. On failure, it is possible
@@ -198,6 +243,20 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp)
             throws KeyAlreadyExistsException;
 
+    /**
+     * Puts values into multiple tables without blocking when the store allows it. By default, this performs
+     * {@link #multiPut(Map, long)} and returns an immediate future.
+     */
+    @Override
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        multiPut(valuesByTable, timestamp);
+        return Futures.immediateFuture(null);
+    }
+
     /**
      * Puts values into the key-value store with individually specified timestamps.
      * This call <i>does not</i> guarantee atomicity across cells. On failure, it is possible
@@ -226,6 +285,25 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     @Timed
     void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues) throws KeyAlreadyExistsException;
 
+    /**
+     * Puts values into the key-value store with individually specified timestamps, with the same semantics as
+     * {@link #putWithTimestamps(TableReference, Multimap)}, for loading large amounts of data at once (for example,
+     * when importing data in bulk). Implementations may use larger batches or a store-specific bulk loading mechanism
+     * that is more efficient for large inputs, but has higher latency for small ones.
+     *
+     * @param tableRef the name of the table to put values into.
+     * @param cellValues map containing the key-value entries to put with
+     *               non-negative timestamps less than {@link Long#MAX_VALUE}.
+     */
+    @DoDelegate
+    @NonIdempotent
+    @Idempotent
+    @Timed
+    default void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues)
+            throws KeyAlreadyExistsException {
+        putWithTimestamps(tableRef, cellValues);
+    }
+
     /**
      * Puts values into the key-value store. This call <i>does not</i> guarantee
      * atomicity across cells. On failure, it is possible
@@ -320,6 +398,19 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     @Timed
     void delete(TableReference tableRef, Multimap<Cell, Long> keys);
 
+    /**
+     * Deletes values without blocking when the store allows it. By default, this performs
+     * {@link #delete(TableReference, Multimap)} and returns an immediate future.
+     */
+    @Override
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        delete(tableRef, keys);
+        return Futures.immediateFuture(null);
+    }
+
     /**
      * Deletes values in a range from the key-value store.
      *
@@ -476,6 +567,19 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
             TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp);
 
+    /**
+     * Gets the first page of each range without blocking when the store allows it. By default, this wraps the result
+     * of {@link #getFirstBatchForRanges(TableReference, Iterable, long)} in an immediate future.
+     */
+    @Override
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        return Futures.immediateFuture(getFirstBatchForRanges(tableRef, rangeRequests, timestamp));
+    }
+
     ////////////////////////////////////////////////////////////
     // TABLE CREATION AND METADATA
     ////////////////////////////////////////////////////////////
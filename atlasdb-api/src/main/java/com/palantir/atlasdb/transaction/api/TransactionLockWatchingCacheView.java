@@ -18,7 +18,6 @@ package com.palantir.atlasdb.transaction.api;
 
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
-import com.palantir.lock.watch.LockWatchStateUpdate;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,11 +37,12 @@ public interface TransactionLockWatchingCacheView {
      * Try to cache values read from the kvs in this transaction. It is the responsibility of the underlying
      * {@link LockWatchingCache} to arbitrate which, if any, values should be cached.
      *
+     * Values are cached as of the lock watch state the view was created with.
+     *
      * @param tableRef table we read from
      * @param writes entries read from the KVS
-     * @param lwState lock watch state when the view was created
      */
-    void tryCacheNewValuesRead(TableReference tableRef, Map<Cell, byte[]> writes, LockWatchStateUpdate lwState);
+    void tryCacheNewValuesRead(TableReference tableRef, Map<Cell, byte[]> writes);
 
     /**
      * Try to cache values written to the kvs in this transaction. This method must be called only after the writing
@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.autobatch;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.lmax.disruptor.EventHandler;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when the wrapped handler should flush, instead of flushing whenever the disruptor has momentarily drained
+ * the ring buffer.
+ *
+ * Batches are cut early once they reach {@code maxBatchSize}. When the disruptor runs out of events before that, the
+ * batch may be held open for a short linger period, waiting for further requests to be published. The linger period
+ * is a fraction of the recently observed time taken by the downstream flush, capped at {@code maxLinger}, and is only
+ * applied once recent batches show that requests are arriving concurrently: an idle autobatcher still flushes single
+ * requests immediately.
+ */
+final class AdaptiveBatchingEventHandler<T, R> implements EventHandler<BatchElement<T, R>> {
+    /**
+     * Lingering for this fraction of a flush adds at most this much latency to a request, relative to the time it
+     * will spend in the flush anyway.
+     */
+    private static final double LINGER_FRACTION_OF_FLUSH = 0.1;
+
+    private static final double SMOOTHING_FACTOR = 0.2;
+    private static final double CONCURRENT_BATCH_SIZE_THRESHOLD = 1.5;
+
+    /**
+     * Publishers do not wake the handler thread, so while lingering it parks in slices of at most this long before
+     * checking for newly published requests again.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final EventHandler<BatchElement<T, R>> delegate;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final LongSupplier publishedSequence;
+    private final LongSupplier nanoClock;
+
+    private int pendingElements;
+    private long batchStartNanos;
+    private double averageFlushNanos;
+    private double averageBatchSize = 1;
+
+    @VisibleForTesting
+    AdaptiveBatchingEventHandler(
+            EventHandler<BatchElement<T, R>> delegate,
+            int maxBatchSize,
+            long maxLingerNanos,
+            LongSupplier publishedSequence,
+            LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLingerNanos;
+        this.publishedSequence = publishedSequence;
+        this.nanoClock = nanoClock;
+    }
+
+    static <T, R> AdaptiveBatchingEventHandler<T, R> create(
+            EventHandler<BatchElement<T, R>> delegate,
+            int maxBatchSize,
+            Duration maxLinger,
+            LongSupplier publishedSequence) {
+        return new AdaptiveBatchingEventHandler<>(
+                delegate, maxBatchSize, maxLinger.toNanos(), publishedSequence, System::nanoTime);
+    }
+
+    @Override
+    public void onEvent(BatchElement<T, R> event, long sequence, boolean endOfBatch) throws Exception {
+        if (pendingElements == 0) {
+            batchStartNanos = nanoClock.getAsLong();
+        }
+        pendingElements++;
+
+        if (pendingElements >= maxBatchSize || (endOfBatch && !lingerForMoreEvents(sequence))) {
+            flush(event, sequence);
+        } else {
+            delegate.onEvent(event, sequence, false);
+        }
+    }
+
+    @VisibleForTesting
+    long lingerNanos() {
+        if (averageBatchSize < CONCURRENT_BATCH_SIZE_THRESHOLD) {
+            return 0;
+        }
+        return Math.min(maxLingerNanos, (long) (averageFlushNanos * LINGER_FRACTION_OF_FLUSH));
+    }
+
+    private void flush(BatchElement<T, R> event, long sequence) throws Exception {
+        long flushStartNanos = nanoClock.getAsLong();
+        try {
+            delegate.onEvent(event, sequence, true);
+        } finally {
+            long flushNanos = nanoClock.getAsLong() - flushStartNanos;
+            averageFlushNanos += SMOOTHING_FACTOR * (flushNanos - averageFlushNanos);
+            averageBatchSize += SMOOTHING_FACTOR * (pendingElements - averageBatchSize);
+            pendingElements = 0;
+        }
+    }
+
+    /**
+     * Waits until either another request is published after {@code sequence}, in which case the disruptor will hand
+     * it to us and the batch stays open, or the linger period measured from the start of the batch runs out.
+     */
+    private boolean lingerForMoreEvents(long sequence) {
+        long lingerNanos = lingerNanos();
+        if (lingerNanos <= 0) {
+            return false;
+        }
+        long deadline = batchStartNanos + lingerNanos;
+        while (publishedSequence.getAsLong() <= sequence) {
+            long remainingNanos = deadline - nanoClock.getAsLong();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(remainingNanos, MAX_PARK_NANOS));
+        }
+        return true;
+    }
+}
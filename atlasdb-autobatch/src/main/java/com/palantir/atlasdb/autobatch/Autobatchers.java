@@ -21,6 +21,7 @@ import com.google.errorprone.annotations.CompileTimeConstant;
 import com.lmax.disruptor.EventHandler;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.tracing.Observability;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
@@ -90,6 +91,8 @@ public final class Autobatchers {
 
         private Observability observability = Observability.UNDECIDED;
         private OptionalInt bufferSize = OptionalInt.empty();
+        private OptionalInt maxBatchSize = OptionalInt.empty();
+        private Duration maxLinger = Duration.ZERO;
 
         @Nullable
         private String purpose;
@@ -118,6 +121,28 @@ public final class Autobatchers {
             return this;
         }
 
+        /**
+         * Caps the number of elements handed to the batch function at once. By default, batches are only bounded by
+         * the size of the buffer.
+         */
+        public AutobatcherBuilder<I, O> maxBatchSize(int maxBatchSizeParam) {
+            Preconditions.checkArgument(maxBatchSizeParam > 0, "maxBatchSize must be positive");
+            this.maxBatchSize = OptionalInt.of(maxBatchSizeParam);
+            return this;
+        }
+
+        /**
+         * Allows a batch to be held open for up to {@code maxLingerParam} while waiting for more requests, trading a
+         * little latency for larger batches under load. The linger actually applied scales with how long recent
+         * batches took to process, and is zero while requests are not arriving concurrently. By default, batches are
+         * processed as soon as there are no further requests queued.
+         */
+        public AutobatcherBuilder<I, O> maxLinger(Duration maxLingerParam) {
+            Preconditions.checkArgument(!maxLingerParam.isNegative(), "maxLinger must not be negative");
+            this.maxLinger = maxLingerParam;
+            return this;
+        }
+
         public DisruptorAutobatcher<I, O> build() {
             Preconditions.checkArgument(purpose != null, "purpose must be provided");
 
@@ -130,7 +155,16 @@ public final class Autobatchers {
             EventHandler<BatchElement<I, O>> profiledHandler =
                     new ProfilingEventHandler<>(tracingHandler, purpose, safeTags.build());
 
-            return DisruptorAutobatcher.create(profiledHandler, bufferSizeValue, purpose);
+            if (!maxBatchSize.isPresent() && maxLinger.isZero()) {
+                return DisruptorAutobatcher.create(profiledHandler, bufferSizeValue, purpose);
+            }
+
+            int maxBatchSizeValue = maxBatchSize.orElse(bufferSizeValue);
+            return DisruptorAutobatcher.create(
+                    publishedSequence -> AdaptiveBatchingEventHandler.create(
+                            profiledHandler, maxBatchSizeValue, maxLinger, publishedSequence),
+                    bufferSizeValue,
+                    purpose);
         }
     }
 }
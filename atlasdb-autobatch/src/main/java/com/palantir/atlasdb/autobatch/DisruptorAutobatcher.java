@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -159,11 +160,24 @@ public final class DisruptorAutobatcher<T, R>
 
     static <T, R> DisruptorAutobatcher<T, R> create(
             EventHandler<BatchElement<T, R>> eventHandler, int bufferSize, String safeLoggablePurpose) {
+        return create(unused -> eventHandler, bufferSize, safeLoggablePurpose);
+    }
+
+    /**
+     * As {@link #create(EventHandler, int, String)}, but the handler is given access to the highest sequence that
+     * has been claimed by a publisher, so that it can tell whether more events are on their way.
+     */
+    static <T, R> DisruptorAutobatcher<T, R> create(
+            Function<LongSupplier, EventHandler<BatchElement<T, R>>> eventHandlerFactory,
+            int bufferSize,
+            String safeLoggablePurpose) {
         Disruptor<DisruptorBatchElement<T, R>> disruptor =
                 new Disruptor<>(DisruptorBatchElement::new, bufferSize, threadFactory(safeLoggablePurpose));
+        RingBuffer<DisruptorBatchElement<T, R>> ringBuffer = disruptor.getRingBuffer();
+        EventHandler<BatchElement<T, R>> eventHandler = eventHandlerFactory.apply(ringBuffer::getCursor);
         disruptor.handleEventsWith(
                 (event, sequence, endOfBatch) -> eventHandler.onEvent(event.consume(), sequence, endOfBatch));
         disruptor.start();
-        return new DisruptorAutobatcher<>(disruptor, disruptor.getRingBuffer(), safeLoggablePurpose);
+        return new DisruptorAutobatcher<>(disruptor, ringBuffer, safeLoggablePurpose);
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.autobatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.lmax.disruptor.EventHandler;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher.DisruptorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class AdaptiveBatchingEventHandlerTests {
+    private static final long SLOW_FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long TICK_NANOS = 1_000;
+    private static final Duration MAX_LINGER = Duration.ofMillis(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong publishedSequence = new AtomicLong(-1);
+    private final List<Boolean> flushes = new ArrayList<>();
+    private final EventHandler<BatchElement<Integer, Integer>> delegate = (event, sequence, endOfBatch) -> {
+        flushes.add(endOfBatch);
+        if (endOfBatch) {
+            clock.addAndGet(SLOW_FLUSH_NANOS);
+        }
+    };
+
+    private long nextSequence = 0;
+
+    @Test
+    public void doesNotLingerWhenIdle() throws Exception {
+        AdaptiveBatchingEventHandler<Integer, Integer> handler = handler(100);
+
+        for (int i = 0; i < 10; i++) {
+            publishAndHandle(handler, true);
+        }
+
+        assertThat(handler.lingerNanos()).isZero();
+        assertThat(flushes).containsOnly(true).hasSize(10);
+    }
+
+    @Test
+    public void cutsBatchesAtMaximumSize() throws Exception {
+        AdaptiveBatchingEventHandler<Integer, Integer> handler = handler(3);
+
+        for (int i = 0; i < 6; i++) {
+            publishAndHandle(handler, false);
+        }
+        publishAndHandle(handler, true);
+
+        assertThat(flushes).containsExactly(false, false, true, false, false, true, true);
+    }
+
+    @Test
+    public void lingersForFurtherEventsOnceBatchesAreConcurrent() throws Exception {
+        AdaptiveBatchingEventHandler<Integer, Integer> handler = handler(100);
+        makeBatchesConcurrent(handler);
+        assertThat(handler.lingerNanos()).isPositive().isLessThan(SLOW_FLUSH_NANOS);
+        flushes.clear();
+
+        long first = nextSequence++;
+        long second = nextSequence++;
+        publishedSequence.set(second);
+        handler.onEvent(element(), first, true);
+        assertThat(flushes).containsExactly(false);
+
+        handler.onEvent(element(), second, true);
+        assertThat(flushes).containsExactly(false, true);
+    }
+
+    @Test
+    public void flushesOnceLingerPeriodRunsOutWithoutFurtherEvents() throws Exception {
+        AdaptiveBatchingEventHandler<Integer, Integer> handler = handler(100);
+        makeBatchesConcurrent(handler);
+        flushes.clear();
+        long lingerNanos = handler.lingerNanos();
+
+        long batchStart = clock.get();
+        publishAndHandle(handler, true);
+
+        assertThat(flushes).containsExactly(true);
+        assertThat(clock.get() - batchStart).isGreaterThanOrEqualTo(lingerNanos + SLOW_FLUSH_NANOS);
+    }
+
+    @Test
+    public void lingerIsCappedAtMaximum() throws Exception {
+        AdaptiveBatchingEventHandler<Integer, Integer> handler =
+                new AdaptiveBatchingEventHandler<>(delegate, 100, 1_000, publishedSequence::get, this::tick);
+        makeBatchesConcurrent(handler);
+
+        assertThat(handler.lingerNanos()).isEqualTo(1_000);
+    }
+
+    @Test
+    public void autobatcherRespectsMaximumBatchSize() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        DisruptorAutobatcher<Integer, Integer> autobatcher = Autobatchers.<Integer, Integer>independent(batch -> {
+                    batchSizes.add(batch.size());
+                    batch.forEach(element -> element.result().set(element.argument()));
+                })
+                .safeLoggablePurpose("adaptive-batching-test")
+                .maxBatchSize(4)
+                .maxLinger(MAX_LINGER)
+                .build();
+
+        try {
+            List<ListenableFuture<Integer>> futures = IntStream.range(0, 100)
+                    .mapToObj(autobatcher::apply)
+                    .collect(Collectors.toList());
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i);
+            }
+        } finally {
+            autobatcher.close();
+        }
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isBetween(1, 4));
+    }
+
+    private AdaptiveBatchingEventHandler<Integer, Integer> handler(int maxBatchSize) {
+        return new AdaptiveBatchingEventHandler<>(
+                delegate, maxBatchSize, MAX_LINGER.toNanos(), publishedSequence::get, this::tick);
+    }
+
+    /**
+     * Time moves on a little whenever it is read, so that lingering always terminates.
+     */
+    private long tick() {
+        return clock.addAndGet(TICK_NANOS);
+    }
+
+    private void makeBatchesConcurrent(AdaptiveBatchingEventHandler<Integer, Integer> handler) throws Exception {
+        for (int batch = 0; batch < 20; batch++) {
+            for (int i = 0; i < 3; i++) {
+                publishAndHandle(handler, false);
+            }
+            publishAndHandle(handler, true);
+        }
+    }
+
+    private void publishAndHandle(AdaptiveBatchingEventHandler<Integer, Integer> handler, boolean endOfBatch)
+            throws Exception {
+        long sequence = nextSequence++;
+        publishedSequence.set(sequence);
+        handler.onEvent(element(), sequence, endOfBatch);
+    }
+
+    private static BatchElement<Integer, Integer> element() {
+        return BatchElement.of(1, new DisruptorFuture<>("test"));
+    }
+}
@@ -17,6 +17,7 @@
 package com.palantir.atlasdb.keyvalue.cassandra;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -24,19 +25,24 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceConfig;
+import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProviders;
 import com.palantir.atlasdb.cassandra.ImmutableCassandraKeyValueServiceConfig;
+import com.palantir.atlasdb.cassandra.ImmutableCassandraKeyValueServiceRuntimeConfig;
 import com.palantir.atlasdb.containers.CassandraResource;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.AsyncKeyValueService;
 import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.cassandra.async.CassandraAsyncKeyValueServiceFactory;
+import com.palantir.atlasdb.util.MetricsManagers;
 import java.util.Optional;
 import org.junit.After;
 import org.junit.Before;
@@ -58,6 +64,8 @@ public class CassandraKvsAsyncFallbackMechanismsTests {
     public void setUp() {
         asyncKeyValueService = mock(AsyncKeyValueService.class);
         when(asyncKeyValueService.getAsync(any(), any())).thenReturn(Futures.immediateFuture(ImmutableMap.of()));
+        when(asyncKeyValueService.getRowsAsync(any(), any(), any(), anyLong()))
+                .thenReturn(Futures.immediateFuture(ImmutableMap.of()));
         factory = mock(CassandraAsyncKeyValueServiceFactory.class);
     }
 
@@ -73,7 +81,8 @@ public class CassandraKvsAsyncFallbackMechanismsTests {
 
     @Test
     public void testGetFallBackNotNeeded() {
-        when(factory.constructAsyncKeyValueService(any(), any(), eq(AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC)))
+        when(factory.constructAsyncKeyValueService(
+                        any(), any(), eq(AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC), any()))
                 .thenReturn(Optional.of(asyncKeyValueService));
 
         CassandraKeyValueServiceConfig config = ImmutableCassandraKeyValueServiceConfig.builder()
@@ -89,7 +98,8 @@ public class CassandraKvsAsyncFallbackMechanismsTests {
 
     @Test
     public void testGetFallingBackToSynchronous() {
-        when(factory.constructAsyncKeyValueService(any(), any(), eq(AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC)))
+        when(factory.constructAsyncKeyValueService(
+                        any(), any(), eq(AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC), any()))
                 .thenReturn(Optional.empty());
 
         CassandraKeyValueServiceConfig config = ImmutableCassandraKeyValueServiceConfig.builder()
@@ -104,4 +114,28 @@ public class CassandraKvsAsyncFallbackMechanismsTests {
 
         verify(asyncKeyValueService, never()).getAsync(any(), any());
     }
+
+    @Test
+    public void testGetRowsReadsThroughCqlWhenConfigured() {
+        when(factory.constructAsyncKeyValueService(
+                        any(), any(), eq(AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC), any()))
+                .thenReturn(Optional.of(asyncKeyValueService));
+
+        CassandraKeyValueServiceConfig config = ImmutableCassandraKeyValueServiceConfig.builder()
+                .from(CASSANDRA_RESOURCE.getConfig())
+                .asyncKeyValueServiceFactory(factory)
+                .build();
+
+        keyValueService = CassandraKeyValueServiceImpl.create(
+                MetricsManagers.createForTests(),
+                config,
+                () -> ImmutableCassandraKeyValueServiceRuntimeConfig.builder()
+                        .readRowsThroughCql(true)
+                        .build(),
+                CassandraMutationTimestampProviders.legacyModeForTestsOnly(),
+                AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC);
+        keyValueService.getRows(TEST_TABLE, ImmutableList.of(CELL.getRowName()), ColumnSelection.all(), 3L);
+
+        verify(asyncKeyValueService, times(1)).getRowsAsync(any(), any(), any(), eq(3L));
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.cassandra;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+import org.immutables.value.Value;
+
+/**
+ * Configures hedged reads when loading cells from an underlying Cassandra key-value service.
+ *
+ * If enabled, a read that has not completed within the configured latency percentile for its table is duplicated to
+ * a second replica that owns the requested rows. Whichever read succeeds first is used and the other is cancelled, so
+ * a read against a stalled replica returns once the duplicate read does. This costs roughly (1 - percentile)
+ * additional reads.
+ *
+ * Hedging only begins for a table once enough reads against it have completed to estimate the percentile.
+ */
+@JsonSerialize(as = ImmutableCassandraHedgedReadConfig.class)
+@JsonDeserialize(as = ImmutableCassandraHedgedReadConfig.class)
+@Value.Immutable
+public abstract class CassandraHedgedReadConfig {
+    @Value.Default
+    public boolean enabled() {
+        return false;
+    }
+
+    /**
+     * The percentile of recent read latencies for a table after which a hedged read is sent.
+     */
+    @Value.Default
+    public double latencyPercentile() {
+        return 0.99;
+    }
+
+    /**
+     * Reads are never hedged before this many milliseconds have elapsed, even if the table is usually faster.
+     */
+    @Value.Default
+    public long minimumHedgeDelayMillis() {
+        return 10;
+    }
+
+    @Value.Check
+    public void check() {
+        Preconditions.checkState(
+                latencyPercentile() > 0.0 && latencyPercentile() < 1.0,
+                "latencyPercentile should be strictly between 0 and 1, but found %s",
+                latencyPercentile());
+        Preconditions.checkState(
+                minimumHedgeDelayMillis() >= 0,
+                "minimumHedgeDelayMillis should not be negative, but found %s",
+                minimumHedgeDelayMillis());
+    }
+
+    static CassandraHedgedReadConfig defaultConfig() {
+        return ImmutableCassandraHedgedReadConfig.builder().build();
+    }
+}
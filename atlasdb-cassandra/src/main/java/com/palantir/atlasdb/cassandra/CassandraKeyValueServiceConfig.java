@@ -145,6 +145,16 @@ public interface CassandraKeyValueServiceConfig extends KeyValueServiceConfig {
         return 1.0;
     }
 
+    /**
+     * If enabled, requests are routed between candidate hosts (the live owners of a key, or all live hosts) by
+     * comparing two randomly chosen hosts on their decaying latency estimate and number of open requests, rather than
+     * weighting hosts by open requests alone. This steers traffic away from replicas that are temporarily slow.
+     */
+    @Value.Default
+    default boolean latencyAwareHostSelection() {
+        return false;
+    }
+
     /**
      * Overrides the behaviour of the host location supplier.
      */
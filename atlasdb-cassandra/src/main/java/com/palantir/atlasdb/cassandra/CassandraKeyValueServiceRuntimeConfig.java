@@ -85,6 +85,24 @@ public abstract class CassandraKeyValueServiceRuntimeConfig implements KeyValueS
         return CassandraCellLoadingConfig.defaultConfig();
     }
 
+    /**
+     * Controls whether slow cell loads are hedged by sending a duplicate read to another replica.
+     */
+    @Value.Default
+    public CassandraHedgedReadConfig hedgedReadConfig() {
+        return CassandraHedgedReadConfig.defaultConfig();
+    }
+
+    /**
+     * If true and an async key value service is configured, getRows, getRowsColumnRange and getFirstBatchForRanges
+     * read through CQL instead of Thrift, so these reads do not hold a pooled Thrift client for the whole call.
+     * Reverse range requests are always read through Thrift.
+     */
+    @Value.Default
+    public boolean readRowsThroughCql() {
+        return false;
+    }
+
     /**
      * The number of threads Sweep uses to read values from Cassandra.
      * Each thread fetches values from a distinct row.
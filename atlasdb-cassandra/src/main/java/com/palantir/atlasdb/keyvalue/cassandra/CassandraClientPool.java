@@ -18,7 +18,9 @@ package com.palantir.atlasdb.keyvalue.cassandra;
 import com.palantir.common.base.FunctionCheckedException;
 import com.palantir.processors.AutoDelegate;
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 
 @AutoDelegate
 public interface CassandraClientPool {
@@ -36,6 +38,12 @@ public interface CassandraClientPool {
 
     InetSocketAddress getRandomHostForKey(byte[] key);
 
+    /**
+     * Returns a random live host other than {@code excludedHost} that owns all of the given keys, if one is known.
+     */
+    Optional<InetSocketAddress> getRandomAlternativeHostForKeys(
+            Collection<byte[]> keys, InetSocketAddress excludedHost);
+
     Map<InetSocketAddress, CassandraClientPoolingContainer> getCurrentPools();
 
     void shutdown();
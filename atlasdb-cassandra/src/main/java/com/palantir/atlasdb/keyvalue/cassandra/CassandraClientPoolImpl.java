@@ -38,6 +38,7 @@ import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -345,6 +346,12 @@ public class CassandraClientPoolImpl implements CassandraClientPool {
         return cassandra.getRandomHostForKey(key);
     }
 
+    @Override
+    public Optional<InetSocketAddress> getRandomAlternativeHostForKeys(
+            Collection<byte[]> keys, InetSocketAddress excludedHost) {
+        return cassandra.getRandomAlternativeHostForKeys(keys, excludedHost);
+    }
+
     @VisibleForTesting
     void runOneTimeStartupChecks() {
         try {
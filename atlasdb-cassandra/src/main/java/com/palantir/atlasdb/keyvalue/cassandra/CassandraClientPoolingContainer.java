@@ -22,6 +22,7 @@ import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceConfig;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.cassandra.pool.CassandraClientPoolHostLevelMetric;
 import com.palantir.atlasdb.keyvalue.cassandra.pool.CassandraClientPoolMetrics;
+import com.palantir.atlasdb.keyvalue.cassandra.pool.DecayingLatencyEstimate;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.base.FunctionCheckedException;
 import com.palantir.common.pooling.PoolingContainer;
@@ -56,6 +57,7 @@ public class CassandraClientPoolingContainer implements PoolingContainer<Cassand
     private final MetricsManager metricsManager;
     private final AtomicLong count = new AtomicLong();
     private final AtomicInteger openRequests = new AtomicInteger();
+    private final DecayingLatencyEstimate latencyEstimate = DecayingLatencyEstimate.create();
     private final GenericObjectPool<CassandraClient> clientPool;
     private final int poolNumber;
     private final CassandraClientPoolMetrics poolMetrics;
@@ -88,6 +90,14 @@ public class CassandraClientPoolingContainer implements PoolingContainer<Cassand
         return openRequests.get();
     }
 
+    /**
+     * Decaying estimate of the latency of calls to {@link #runWithPooledResource(FunctionCheckedException)}, including
+     * any time spent waiting for a pooled client. Failed calls count as taking at least the socket timeout.
+     */
+    public long getLatencyEstimateMicros() {
+        return latencyEstimate.getEstimateMicros();
+    }
+
     // returns negative if not available; only expected use is debugging
     public int getActiveCheckouts() {
         return clientPool.getNumActive();
@@ -107,9 +117,13 @@ public class CassandraClientPoolingContainer implements PoolingContainer<Cassand
                         + " calling cassandra host " + host
                         + " started at " + DateTimeFormatter.ISO_INSTANT.format(Instant.now())
                         + " - " + count.getAndIncrement());
+        long startNanos = System.nanoTime();
+        boolean succeeded = false;
         try {
             openRequests.getAndIncrement();
-            return runWithGoodResource(fn);
+            V result = runWithGoodResource(fn);
+            succeeded = true;
+            return result;
         } catch (Throwable t) {
             log.warn("Error occurred talking to host '{}': {}", SafeArg.of("host", CassandraLogHelper.host(host)), t);
             if (t instanceof NoSuchElementException && t.getMessage().contains("Pool exhausted")) {
@@ -126,11 +140,21 @@ public class CassandraClientPoolingContainer implements PoolingContainer<Cassand
             }
             throw t;
         } finally {
+            updateLatencyEstimate(System.nanoTime() - startNanos, succeeded);
             openRequests.getAndDecrement();
             Thread.currentThread().setName(origName);
         }
     }
 
+    /**
+     * Failures often return quickly, for example when a connection is refused, so they are penalised as if they had
+     * taken at least the socket timeout; otherwise a failing host would look faster than a healthy one.
+     */
+    private void updateLatencyEstimate(long elapsedNanos, boolean succeeded) {
+        long failurePenaltyNanos = TimeUnit.MILLISECONDS.toNanos(config.socketTimeoutMillis());
+        latencyEstimate.update(succeeded ? elapsedNanos : Math.max(elapsedNanos, failurePenaltyNanos));
+    }
+
     @Override
     public <V> V runWithPooledResource(Function<CassandraClient, V> fn) {
         throw new UnsupportedOperationException("you should use FunctionCheckedException<?, ?, Exception> "
@@ -314,6 +338,7 @@ public class CassandraClientPoolingContainer implements PoolingContainer<Cassand
         registerPoolMetric(CassandraClientPoolHostLevelMetric.NUM_ACTIVE, () -> (long) pool.getNumActive());
         registerPoolMetric(CassandraClientPoolHostLevelMetric.CREATED, pool::getCreatedCount);
         registerPoolMetric(CassandraClientPoolHostLevelMetric.DESTROYED_BY_EVICTOR, pool::getDestroyedByEvictorCount);
+        registerPoolMetric(CassandraClientPoolHostLevelMetric.LATENCY_ESTIMATE_MICROS, this::getLatencyEstimateMicros);
     }
 
     private void registerPoolMetric(CassandraClientPoolHostLevelMetric metric, Gauge<Long> gauge) {
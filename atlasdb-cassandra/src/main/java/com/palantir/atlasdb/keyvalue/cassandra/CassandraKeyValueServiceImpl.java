@@ -43,6 +43,7 @@ import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceRuntimeConfig;
 import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProvider;
 import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProviders;
 import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.AsyncKeyValueService;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
@@ -216,6 +217,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
 
     private final TracingQueryRunner queryRunner;
     private final WrappingQueryRunner wrappingQueryRunner;
+    private final HedgedReadRunner hedgedReadRunner;
     private final CellLoader cellLoader;
     private final Optional<AsyncKeyValueService> asyncKeyValueService;
     private final RangeLoader rangeLoader;
@@ -367,7 +369,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
             boolean initializeAsync) {
         try {
             Optional<AsyncKeyValueService> asyncKeyValueService = config.asyncKeyValueServiceFactory()
-                    .constructAsyncKeyValueService(metricsManager, config, initializeAsync);
+                    .constructAsyncKeyValueService(metricsManager, config, initializeAsync, mutationTimestampProvider);
 
             return createAndInitialize(
                     metricsManager,
@@ -424,7 +426,10 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         this.wrappingQueryRunner = new WrappingQueryRunner(queryRunner);
         this.cassandraTables = new CassandraTables(clientPool, config);
         this.taskRunner = new TaskRunner(executor);
-        this.cellLoader = CellLoader.create(clientPool, wrappingQueryRunner, taskRunner, runtimeConfigSupplier);
+        this.hedgedReadRunner =
+                HedgedReadRunner.create(metricsManager, () -> runtimeConfigSupplier.get().hedgedReadConfig());
+        this.cellLoader = CellLoader.create(
+                clientPool, wrappingQueryRunner, taskRunner, hedgedReadRunner, runtimeConfigSupplier);
         this.rangeLoader = new RangeLoader(clientPool, queryRunner, metricsManager, readConsistency);
         this.cellValuePutter = new CellValuePutter(
                 config,
@@ -586,6 +591,10 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     @Override
     public Map<Cell, Value> getRows(
             TableReference tableRef, Iterable<byte[]> rows, ColumnSelection selection, long startTs) {
+        Optional<AsyncKeyValueService> cqlReads = getCqlReadService();
+        if (cqlReads.isPresent()) {
+            return AtlasFutures.getUnchecked(cqlReads.get().getRowsAsync(tableRef, rows, selection, startTs));
+        }
         if (!selection.allColumnsSelected()) {
             return getRowsForSpecificColumns(tableRef, rows, selection, startTs);
         }
@@ -815,6 +824,11 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
             Iterable<byte[]> rows,
             BatchColumnRangeSelection batchColumnRangeSelection,
             long timestamp) {
+        Optional<AsyncKeyValueService> cqlReads = getCqlReadService();
+        if (cqlReads.isPresent()) {
+            return AtlasFutures.getUnchecked(
+                    cqlReads.get().getRowsColumnRangeAsync(tableRef, rows, batchColumnRangeSelection, timestamp));
+        }
         Set<Map.Entry<InetSocketAddress, List<byte[]>>> rowsByHost = HostPartitioner.partitionByHost(
                         clientPool, rows, Functions.identity())
                 .entrySet();
@@ -1080,6 +1094,21 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         }
     }
 
+    /**
+     * Puts values into the key-value store using CQL when an async key value service is configured, in which case one
+     * unlogged batch is written for each row; otherwise, this performs a synchronous
+     * {@link #put(TableReference, Map, long)}.
+     */
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        return asyncKeyValueService
+                .map(asyncKvs -> asyncKvs.putAsync(tableRef, values, timestamp))
+                .orElseGet(() -> {
+                    put(tableRef, values, timestamp);
+                    return Futures.immediateFuture(null);
+                });
+    }
+
     /**
      * Puts values into the key-value store with individually specified timestamps. This call <i>does not</i>
      * guarantee atomicity across cells. On failure, it is possible that some of the requests have succeeded
@@ -1140,6 +1169,17 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         taskRunner.runAllTasksCancelOnFailure(callables);
     }
 
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        return asyncKeyValueService
+                .map(asyncKvs -> asyncKvs.multiPutAsync(valuesByTable, timestamp))
+                .orElseGet(() -> {
+                    multiPut(valuesByTable, timestamp);
+                    return Futures.immediateFuture(null);
+                });
+    }
+
     private List<Callable<Void>> getMultiPutTasksForSingleHost(
             final InetSocketAddress host, Collection<TableCellAndValue> values, final long timestamp) {
         Iterable<List<TableCellAndValue>> partitioned = IterablePartitioner.partitionByCountAndBytes(
@@ -1257,6 +1297,16 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 .delete(tableRef, keys);
     }
 
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        return asyncKeyValueService
+                .map(asyncKvs -> asyncKvs.deleteAsync(tableRef, keys))
+                .orElseGet(() -> {
+                    delete(tableRef, keys);
+                    return Futures.immediateFuture(null);
+                });
+    }
+
     @VisibleForTesting
     CfDef getCfForTable(TableReference tableRef, byte[] rawMetadata, int gcGraceSeconds) {
         return ColumnFamilyDefinitions.getCfDef(config.getKeyspaceOrThrow(), tableRef, gcGraceSeconds, rawMetadata);
@@ -1267,6 +1317,11 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     @Idempotent
     public Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
             TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        Optional<AsyncKeyValueService> cqlReads = getCqlReadService();
+        if (cqlReads.isPresent() && !Iterables.any(rangeRequests, RangeRequest::isReverse)) {
+            return AtlasFutures.getUnchecked(
+                    cqlReads.get().getFirstBatchForRangesAsync(tableRef, rangeRequests, timestamp));
+        }
         int concurrency = config.rangesConcurrency();
         return KeyValueServices.getFirstBatchForRangesUsingGetRangeConcurrent(
                 executor, this, tableRef, rangeRequests, timestamp, concurrency);
@@ -1750,6 +1805,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     @Override
     public void close() {
         clientPool.shutdown();
+        hedgedReadRunner.close();
         asyncKeyValueService.ifPresent(AsyncKeyValueService::close);
         super.close();
     }
@@ -2003,6 +2059,14 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         return true;
     }
 
+    /**
+     * Returns the async key value service if synchronous row, column range and range reads should be served through
+     * it rather than through Thrift.
+     */
+    private Optional<AsyncKeyValueService> getCqlReadService() {
+        return runtimeConfigSupplier.get().readRowsThroughCql() ? asyncKeyValueService : Optional.empty();
+    }
+
     /**
      * Asynchronously gets values from the cassandra key-value store.
      *
@@ -2025,6 +2089,46 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 .orElseGet(() -> Futures.immediateFuture(this.get(tableRef, timestampByCell)));
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection selection, long startTs) {
+        if (Iterables.isEmpty(rows) || selection.noColumnsSelected()) {
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+
+        return asyncKeyValueService
+                .map(asyncKvs -> asyncKvs.getRowsAsync(tableRef, rows, selection, startTs))
+                .orElseGet(() -> Futures.immediateFuture(this.getRows(tableRef, rows, selection, startTs)));
+    }
+
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        return asyncKeyValueService
+                .map(asyncKvs -> asyncKvs.getRowsColumnRangeAsync(tableRef, rows, batchColumnRangeSelection, timestamp))
+                .orElseGet(() -> Futures.immediateFuture(
+                        this.getRowsColumnRange(tableRef, rows, batchColumnRangeSelection, timestamp)));
+    }
+
+    /**
+     * Reverse range requests are always served synchronously, since CQL cannot scan partitions in reverse.
+     */
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        if (Iterables.any(rangeRequests, RangeRequest::isReverse)) {
+            return Futures.immediateFuture(this.getFirstBatchForRanges(tableRef, rangeRequests, timestamp));
+        }
+
+        return asyncKeyValueService
+                .map(asyncKvs -> asyncKvs.getFirstBatchForRangesAsync(tableRef, rangeRequests, timestamp))
+                .orElseGet(() ->
+                        Futures.immediateFuture(this.getFirstBatchForRanges(tableRef, rangeRequests, timestamp)));
+    }
+
     private static class TableCellAndValue {
         private static final Function<TableCellAndValue, byte[]> EXTRACT_ROW_NAME_FUNCTION =
                 input -> input.cell.getRowName();
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
@@ -54,26 +55,30 @@ final class CellLoader {
     private final WrappingQueryRunner queryRunner;
     private final TaskRunner taskRunner;
     private final CellLoadingBatcher batcher;
+    private final HedgedReadRunner hedgedReadRunner;
 
     private CellLoader(
             CassandraClientPool clientPool,
             WrappingQueryRunner queryRunner,
             TaskRunner taskRunner,
-            CellLoadingBatcher batcher) {
+            CellLoadingBatcher batcher,
+            HedgedReadRunner hedgedReadRunner) {
         this.clientPool = clientPool;
         this.queryRunner = queryRunner;
         this.taskRunner = taskRunner;
         this.batcher = batcher;
+        this.hedgedReadRunner = hedgedReadRunner;
     }
 
     static CellLoader create(
             CassandraClientPool clientPool,
             WrappingQueryRunner queryRunner,
             TaskRunner taskRunner,
+            HedgedReadRunner hedgedReadRunner,
             Supplier<CassandraKeyValueServiceRuntimeConfig> configSupplier) {
         CellLoadingBatcher batcher = new CellLoadingBatcher(
                 () -> configSupplier.get().cellLoadingConfig(), CellLoader::logRebatchingWarnMessage);
-        return new CellLoader(clientPool, queryRunner, taskRunner, batcher);
+        return new CellLoader(clientPool, queryRunner, taskRunner, batcher, hedgedReadRunner);
     }
 
     Multimap<Cell, Long> getAllTimestamps(
@@ -142,39 +147,17 @@ final class CellLoader {
             final boolean loadAllTs,
             final CassandraKeyValueServices.ThreadSafeResultVisitor visitor,
             final ConsistencyLevel consistency) {
-        final ColumnParent colFam = new ColumnParent(CassandraKeyValueServiceImpl.internalTableName(tableRef));
         List<Callable<Void>> tasks = new ArrayList<>();
         for (final List<Cell> partition : batcher.partitionIntoBatches(cells, host, tableRef)) {
-            Callable<Void> multiGetCallable = () -> clientPool.runWithRetryOnHost(
-                    host, new FunctionCheckedException<CassandraClient, Void, Exception>() {
-                        @Override
-                        public Void apply(CassandraClient client) throws Exception {
-                            List<KeyPredicate> query = translatePartitionToKeyPredicates(partition, startTs, loadAllTs);
-
-                            if (log.isTraceEnabled()) {
-                                log.trace(
-                                        "Requesting {} cells from {} {}starting at timestamp {} on {}",
-                                        SafeArg.of("cells", partition.size()),
-                                        LoggingArgs.tableRef(tableRef),
-                                        SafeArg.of("timestampClause", loadAllTs ? "for all timestamps " : ""),
-                                        SafeArg.of("startTs", startTs),
-                                        SafeArg.of("host", CassandraLogHelper.host(host)));
-                            }
-
-                            Map<ByteBuffer, List<List<ColumnOrSuperColumn>>> results = queryRunner.multiget_multislice(
-                                    kvsMethodName, client, tableRef, query, consistency);
-                            Map<ByteBuffer, List<ColumnOrSuperColumn>> aggregatedResults =
-                                    Maps.transformValues(results, lists -> Lists.newArrayList(Iterables.concat(lists)));
-                            visitor.visit(aggregatedResults);
-                            return null;
-                        }
-
-                        @Override
-                        public String toString() {
-                            return "multiget_multislice(" + host + ", " + colFam + ", " + partition.size() + " cells"
-                                    + ")";
-                        }
-                    });
+            Callable<Void> multiGetCallable = () -> {
+                Map<ByteBuffer, List<ColumnOrSuperColumn>> results = hedgedReadRunner.run(
+                        tableRef,
+                        () -> multiGetOnHost(kvsMethodName, host, tableRef, partition, startTs, loadAllTs, consistency),
+                        () -> getHedgedMultiGet(
+                                kvsMethodName, host, tableRef, partition, startTs, loadAllTs, consistency));
+                visitor.visit(results);
+                return null;
+            };
             tasks.add(AnnotatedCallable.wrapWithThreadName(
                     AnnotationType.PREPEND,
                     "Atlas loadWithTs " + partition.size() + " cells from " + tableRef + " on " + host,
@@ -183,6 +166,63 @@ final class CellLoader {
         return tasks;
     }
 
+    private Optional<Callable<Map<ByteBuffer, List<ColumnOrSuperColumn>>>> getHedgedMultiGet(
+            String kvsMethodName,
+            InetSocketAddress primaryHost,
+            TableReference tableRef,
+            List<Cell> partition,
+            long startTs,
+            boolean loadAllTs,
+            ConsistencyLevel consistency) {
+        if (consistency == ConsistencyLevel.ALL) {
+            // every replica must respond anyway, so a second coordinator cannot avoid a slow one
+            return Optional.empty();
+        }
+        return clientPool
+                .getRandomAlternativeHostForKeys(Lists.transform(partition, Cell::getRowName), primaryHost)
+                .map(hedgeHost -> () ->
+                        multiGetOnHost(kvsMethodName, hedgeHost, tableRef, partition, startTs, loadAllTs, consistency));
+    }
+
+    private Map<ByteBuffer, List<ColumnOrSuperColumn>> multiGetOnHost(
+            String kvsMethodName,
+            InetSocketAddress host,
+            TableReference tableRef,
+            List<Cell> partition,
+            long startTs,
+            boolean loadAllTs,
+            ConsistencyLevel consistency)
+            throws Exception {
+        final ColumnParent colFam = new ColumnParent(CassandraKeyValueServiceImpl.internalTableName(tableRef));
+        return clientPool.runWithRetryOnHost(
+                host,
+                new FunctionCheckedException<CassandraClient, Map<ByteBuffer, List<ColumnOrSuperColumn>>, Exception>() {
+                    @Override
+                    public Map<ByteBuffer, List<ColumnOrSuperColumn>> apply(CassandraClient client) throws Exception {
+                        List<KeyPredicate> query = translatePartitionToKeyPredicates(partition, startTs, loadAllTs);
+
+                        if (log.isTraceEnabled()) {
+                            log.trace(
+                                    "Requesting {} cells from {} {}starting at timestamp {} on {}",
+                                    SafeArg.of("cells", partition.size()),
+                                    LoggingArgs.tableRef(tableRef),
+                                    SafeArg.of("timestampClause", loadAllTs ? "for all timestamps " : ""),
+                                    SafeArg.of("startTs", startTs),
+                                    SafeArg.of("host", CassandraLogHelper.host(host)));
+                        }
+
+                        Map<ByteBuffer, List<List<ColumnOrSuperColumn>>> results = queryRunner.multiget_multislice(
+                                kvsMethodName, client, tableRef, query, consistency);
+                        return Maps.transformValues(results, lists -> Lists.newArrayList(Iterables.concat(lists)));
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "multiget_multislice(" + host + ", " + colFam + ", " + partition.size() + " cells" + ")";
+                    }
+                });
+    }
+
     private static List<KeyPredicate> translatePartitionToKeyPredicates(
             List<Cell> partition, long startTs, boolean loadAllTs) {
         Map<byte[], SlicePredicate> canonicalPredicates = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
@@ -0,0 +1,259 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.atlasdb.cassandra.CassandraHedgedReadConfig;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Runs reads that may be hedged: if a read has not completed within the configured percentile of recent read
+ * latencies for its table, a duplicate read is started (typically against another replica). Once a table has enough
+ * samples to hedge, both reads run on a bounded pool of read threads, the first successful result is returned and the
+ * other read is cancelled. If one read fails, the result of the other is awaited; if both fail, the failure of the
+ * first is thrown with the other suppressed.
+ *
+ * Reads that cannot be hedged, either because hedging is disabled, the table does not have enough samples yet, or
+ * every read thread is busy, run on the calling thread.
+ */
+final class HedgedReadRunner implements AutoCloseable {
+    @VisibleForTesting
+    static final int MINIMUM_SAMPLES_BEFORE_HEDGING = 100;
+
+    private static final int MAX_READ_THREADS = 128;
+
+    private final Supplier<CassandraHedgedReadConfig> configSupplier;
+    private final ExecutorService readExecutor;
+    private final ScheduledExecutorService hedgeScheduler;
+    private final Meter hedgedReads;
+    private final Meter hedgedReadWins;
+    private final ConcurrentMap<TableReference, TableLatency> latencies = new ConcurrentHashMap<>();
+
+    @VisibleForTesting
+    HedgedReadRunner(
+            Supplier<CassandraHedgedReadConfig> configSupplier,
+            ExecutorService readExecutor,
+            ScheduledExecutorService hedgeScheduler,
+            Meter hedgedReads,
+            Meter hedgedReadWins) {
+        this.configSupplier = configSupplier;
+        this.readExecutor = readExecutor;
+        this.hedgeScheduler = hedgeScheduler;
+        this.hedgedReads = hedgedReads;
+        this.hedgedReadWins = hedgedReadWins;
+    }
+
+    static HedgedReadRunner create(MetricsManager metricsManager, Supplier<CassandraHedgedReadConfig> configSupplier) {
+        ScheduledThreadPoolExecutor hedgeScheduler =
+                PTExecutors.newScheduledThreadPool(1, new NamedThreadFactory("atlas-cassandra-hedge-scheduler", true));
+        // most reads complete before their hedge is due, so cancelled hedges should not linger in the queue
+        hedgeScheduler.setRemoveOnCancelPolicy(true);
+        return new HedgedReadRunner(
+                configSupplier,
+                PTExecutors.newCachedThreadPoolWithMaxThreads(MAX_READ_THREADS, "atlas-cassandra-hedged-reads"),
+                hedgeScheduler,
+                metricsManager.registerOrGetMeter(HedgedReadRunner.class, "hedgedReads"),
+                metricsManager.registerOrGetMeter(HedgedReadRunner.class, "hedgedReadWins"));
+    }
+
+    /**
+     * Runs the primary read, and if hedging is enabled and the read is slow, a single hedged read provided by
+     * {@code hedgeSupplier}. The supplier is only consulted if a hedge is needed, and may return empty if there is no
+     * suitable alternative for this read. Reads that lose are interrupted.
+     */
+    <T> T run(TableReference tableRef, Callable<T> primary, Supplier<Optional<Callable<T>>> hedgeSupplier)
+            throws Exception {
+        CassandraHedgedReadConfig config = configSupplier.get();
+        if (!config.enabled()) {
+            return primary.call();
+        }
+
+        TableLatency tableLatency = latencies.computeIfAbsent(tableRef, unused -> new TableLatency());
+        OptionalLong hedgeDelayNanos = tableLatency.getHedgeDelayNanos();
+        if (!hedgeDelayNanos.isPresent()) {
+            return tableLatency.timed(primary).call();
+        }
+
+        HedgedRead<T> read = new HedgedRead<>();
+        try {
+            read.startPrimary(tableLatency.timed(primary));
+        } catch (RejectedExecutionException e) {
+            // every read thread is busy, so there would be no thread to run a hedge on either
+            return tableLatency.timed(primary).call();
+        }
+        ScheduledFuture<?> hedgeTimer = hedgeScheduler.schedule(
+                () -> startHedge(read, tableLatency, hedgeSupplier), hedgeDelayNanos.getAsLong(), TimeUnit.NANOSECONDS);
+        try {
+            return getResult(read.result);
+        } finally {
+            hedgeTimer.cancel(false);
+            read.cancel();
+        }
+    }
+
+    private <T> void startHedge(
+            HedgedRead<T> read, TableLatency tableLatency, Supplier<Optional<Callable<T>>> hedgeSupplier) {
+        if (read.result.isDone()) {
+            return;
+        }
+        Optional<Callable<T>> hedge = hedgeSupplier.get();
+        if (hedge.isPresent() && read.tryStartHedge(tableLatency.timed(hedge.get()))) {
+            hedgedReads.mark();
+        }
+    }
+
+    private static <T> T getResult(Future<T> completed) throws Exception {
+        try {
+            return completed.get();
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        hedgeScheduler.shutdownNow();
+        readExecutor.shutdownNow();
+    }
+
+    private final class HedgedRead<T> {
+        private final SettableFuture<T> result = SettableFuture.create();
+
+        @GuardedBy("this")
+        private final List<Future<?>> attempts = new ArrayList<>(2);
+
+        @GuardedBy("this")
+        private int runningReads;
+
+        @GuardedBy("this")
+        private Throwable failure;
+
+        synchronized void startPrimary(Callable<T> primary) {
+            attempts.add(readExecutor.submit(() -> runRead(primary, false)));
+            runningReads++;
+        }
+
+        /**
+         * Starts the hedge, unless a result is already known or every read thread is busy.
+         */
+        synchronized boolean tryStartHedge(Callable<T> hedge) {
+            if (result.isDone() || runningReads == 0) {
+                return false;
+            }
+            try {
+                attempts.add(readExecutor.submit(() -> runRead(hedge, true)));
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+            runningReads++;
+            return true;
+        }
+
+        synchronized void cancel() {
+            result.cancel(false);
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+
+        private void runRead(Callable<T> read, boolean isHedge) {
+            try {
+                T value = read.call();
+                if (result.set(value) && isHedge) {
+                    hedgedReadWins.mark();
+                }
+            } catch (Throwable t) {
+                failed(t);
+            }
+        }
+
+        private void failed(Throwable readFailure) {
+            Throwable toThrow;
+            synchronized (this) {
+                if (failure == null) {
+                    failure = readFailure;
+                } else {
+                    failure.addSuppressed(readFailure);
+                }
+                runningReads--;
+                if (runningReads > 0) {
+                    return;
+                }
+                toThrow = failure;
+            }
+            result.setException(toThrow);
+        }
+    }
+
+    private final class TableLatency {
+        private final Histogram latencyNanos = new Histogram(new ExponentiallyDecayingReservoir());
+        private final Supplier<Long> hedgeDelayNanos =
+                Suppliers.memoizeWithExpiration(this::computeHedgeDelayNanos, 1, TimeUnit.SECONDS);
+
+        OptionalLong getHedgeDelayNanos() {
+            if (latencyNanos.getCount() < MINIMUM_SAMPLES_BEFORE_HEDGING) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(hedgeDelayNanos.get());
+        }
+
+        <T> Callable<T> timed(Callable<T> read) {
+            return () -> {
+                long startNanos = System.nanoTime();
+                try {
+                    return read.call();
+                } finally {
+                    // failed and cancelled reads count too, so that stalled reads still raise the percentile
+                    latencyNanos.update(System.nanoTime() - startNanos);
+                }
+            };
+        }
+
+        private long computeHedgeDelayNanos() {
+            CassandraHedgedReadConfig config = configSupplier.get();
+            long percentileNanos = (long) latencyNanos.getSnapshot().getValue(config.latencyPercentile());
+            long minimumDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.minimumHedgeDelayMillis());
+            return Math.max(percentileNanos, minimumDelayNanos);
+        }
+    }
+}
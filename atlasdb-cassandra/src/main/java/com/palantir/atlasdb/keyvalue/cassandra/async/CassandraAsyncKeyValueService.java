@@ -16,40 +16,102 @@
 
 package com.palantir.atlasdb.keyvalue.cassandra.async;
 
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProvider;
+import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProviders;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.futures.FuturesCombiner;
 import com.palantir.atlasdb.keyvalue.api.AsyncKeyValueService;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.cassandra.CassandraConstants;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.CqlQueryContext;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.DeleteBatchQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.DeleteBatchQuerySpec.CellVersionDeletion;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetQuerySpec;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetQuerySpec.GetQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetRangeQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetRowColumnRangeQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableCellVersionDeletion;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableCqlQueryContext;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableDeleteBatchQueryParameters;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetRangeQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetRowColumnRangeQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutablePutBatchQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.PutBatchQuerySpec;
+import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.keyvalue.impl.IterablePartitioner;
+import com.palantir.atlasdb.keyvalue.impl.KeyValueServices;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.common.streams.KeyedStream;
+import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public final class CassandraAsyncKeyValueService implements AsyncKeyValueService {
     private static final Logger log = LoggerFactory.getLogger(CassandraAsyncKeyValueService.class);
+    private static final int DEFAULT_RANGE_BATCH_SIZE = 100;
+
+    private static final Function<Map.Entry<Cell, Value>, Long> ENTRY_SIZING_FUNCTION =
+            entry -> entry.getValue().getContents().length + 4L + Cells.getApproxSizeOfCell(entry.getKey());
 
     private final String keyspace;
     private final CqlClient cqlClient;
     private final FuturesCombiner futuresCombiner;
+    private final CassandraMutationTimestampProvider mutationTimestampProvider;
 
     public static AsyncKeyValueService create(String keyspace, CqlClient cqlClient, FuturesCombiner futuresCombiner) {
-        return new CassandraAsyncKeyValueService(keyspace, cqlClient, futuresCombiner);
+        return create(
+                keyspace, cqlClient, futuresCombiner, CassandraMutationTimestampProviders.legacyModeForTestsOnly());
+    }
+
+    public static AsyncKeyValueService create(
+            String keyspace,
+            CqlClient cqlClient,
+            FuturesCombiner futuresCombiner,
+            CassandraMutationTimestampProvider mutationTimestampProvider) {
+        return new CassandraAsyncKeyValueService(keyspace, cqlClient, futuresCombiner, mutationTimestampProvider);
     }
 
-    private CassandraAsyncKeyValueService(String keyspace, CqlClient cqlClient, FuturesCombiner futuresCombiner) {
+    private CassandraAsyncKeyValueService(
+            String keyspace,
+            CqlClient cqlClient,
+            FuturesCombiner futuresCombiner,
+            CassandraMutationTimestampProvider mutationTimestampProvider) {
         this.keyspace = keyspace;
         this.cqlClient = cqlClient;
         this.futuresCombiner = futuresCombiner;
+        this.mutationTimestampProvider = mutationTimestampProvider;
     }
 
     @Override
@@ -69,16 +131,274 @@ public final class CassandraAsyncKeyValueService implements AsyncKeyValueService
     }
 
     private ListenableFuture<Optional<Value>> getCellAsync(TableReference tableReference, Cell cell, long timestamp) {
-        CqlQueryContext queryContext = ImmutableCqlQueryContext.builder()
-                .tableReference(tableReference)
-                .keyspace(keyspace)
-                .build();
         GetQueryParameters getQueryParameters = ImmutableGetQueryParameters.builder()
                 .cell(cell)
                 .humanReadableTimestamp(timestamp)
                 .build();
 
-        return cqlClient.executeQuery(new GetQuerySpec(queryContext, getQueryParameters));
+        return cqlClient.executeQuery(new GetQuerySpec(queryContext(tableReference), getQueryParameters));
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        if (log.isTraceEnabled()) {
+            log.trace(
+                    "Getting rows using CQL.",
+                    SafeArg.of("rows", Iterables.size(rows)),
+                    LoggingArgs.tableRef(tableRef));
+        }
+
+        if (!columnSelection.allColumnsSelected()) {
+            // a single-partition read of each selected cell avoids reading the other columns of the row
+            Map<Cell, Long> timestampByCell = new HashMap<>();
+            for (byte[] row : rows) {
+                for (byte[] column : columnSelection.getSelectedColumns()) {
+                    timestampByCell.put(Cell.create(row, column), timestamp);
+                }
+            }
+            return getAsync(tableRef, timestampByCell);
+        }
+
+        List<ListenableFuture<List<Map.Entry<Cell, Value>>>> rowFutures = Streams.stream(rows)
+                .map(row -> getRowColumnRangePageAsync(
+                        tableRef,
+                        row,
+                        PtBytes.EMPTY_BYTE_ARRAY,
+                        PtBytes.EMPTY_BYTE_ARRAY,
+                        Integer.MAX_VALUE,
+                        timestamp))
+                .collect(Collectors.toList());
+
+        return Futures.transform(
+                Futures.allAsList(rowFutures),
+                rowResults -> {
+                    Map<Cell, Value> result = new HashMap<>();
+                    rowResults.forEach(cells -> cells.forEach(entry -> result.put(entry.getKey(), entry.getValue())));
+                    return result;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Reads the first batch of each row asynchronously; later batches are read as each iterator is consumed.
+     */
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        if (log.isTraceEnabled()) {
+            log.trace(
+                    "Getting row column ranges using CQL.",
+                    SafeArg.of("rows", Iterables.size(rows)),
+                    LoggingArgs.tableRef(tableRef));
+        }
+
+        byte[] startColumn = batchColumnRangeSelection.getStartCol();
+        byte[] endColumn = batchColumnRangeSelection.getEndCol();
+        int batchHint = batchColumnRangeSelection.getBatchHint();
+        List<byte[]> rowList = ImmutableList.copyOf(rows);
+        List<ListenableFuture<RowColumnRangeIterator>> iteratorFutures = rowList.stream()
+                .map(row -> Futures.transform(
+                        getRowColumnRangePageAsync(
+                                tableRef, row, startColumn, endColumn, batchHint, timestamp),
+                        firstPage -> (RowColumnRangeIterator) new PagingRowColumnRangeIterator(
+                                firstPage,
+                                nextStartColumn -> getRowColumnRangePageAsync(
+                                        tableRef, row, nextStartColumn, endColumn, batchHint, timestamp),
+                                batchHint),
+                        MoreExecutors.directExecutor()))
+                .collect(Collectors.toList());
+
+        return Futures.transform(
+                Futures.allAsList(iteratorFutures),
+                iterators -> {
+                    Map<byte[], RowColumnRangeIterator> result = Maps.newLinkedHashMapWithExpectedSize(rowList.size());
+                    for (int i = 0; i < rowList.size(); i++) {
+                        result.put(rowList.get(i), iterators.get(i));
+                    }
+                    return result;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<List<Map.Entry<Cell, Value>>> getRowColumnRangePageAsync(
+            TableReference tableRef, byte[] row, byte[] startColumn, byte[] endColumn, int maxCells, long timestamp) {
+        ImmutableGetRowColumnRangeQueryParameters queryParameters = ImmutableGetRowColumnRangeQueryParameters.builder()
+                .row(row)
+                .startColumnInclusive(startColumn)
+                .endColumnExclusive(endColumn)
+                .maxCells(maxCells)
+                .humanReadableTimestamp(timestamp)
+                .build();
+
+        return cqlClient.executeQuery(new GetRowColumnRangeQuerySpec(queryContext(tableRef), queryParameters));
+    }
+
+    /**
+     * Reverse ranges are not supported, since CQL can only scan partitions in increasing token order.
+     */
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        if (log.isTraceEnabled()) {
+            log.trace(
+                    "Getting first batch for ranges using CQL.",
+                    SafeArg.of("ranges", Iterables.size(rangeRequests)),
+                    LoggingArgs.tableRef(tableRef));
+        }
+
+        List<RangeRequest> requests = ImmutableSet.copyOf(rangeRequests).asList();
+        List<ListenableFuture<TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>> pageFutures = requests.stream()
+                .map(request -> getFirstBatchForRangeAsync(tableRef, request, timestamp))
+                .collect(Collectors.toList());
+
+        return Futures.transform(
+                Futures.allAsList(pageFutures),
+                pages -> {
+                    Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> result =
+                            Maps.newHashMapWithExpectedSize(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        result.put(requests.get(i), pages.get(i));
+                    }
+                    return result;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRangeAsync(
+            TableReference tableRef, RangeRequest request, long timestamp) {
+        Preconditions.checkArgument(
+                !request.isReverse(),
+                "Reverse range requests are not supported by CQL",
+                LoggingArgs.tableRef(tableRef));
+        int batchSize = request.getBatchHint() == null ? DEFAULT_RANGE_BATCH_SIZE : request.getBatchHint();
+        ImmutableGetRangeQueryParameters queryParameters = ImmutableGetRangeQueryParameters.builder()
+                .startRowInclusive(request.getStartInclusive())
+                .endRowExclusive(request.getEndExclusive())
+                .columnSelection(RangeRequests.extractColumnSelection(request))
+                .maxRows(batchSize)
+                .humanReadableTimestamp(timestamp)
+                .build();
+
+        return Futures.transform(
+                cqlClient.executeQuery(new GetRangeQuerySpec(queryContext(tableRef), queryParameters)),
+                rowResults -> KeyValueServices.createFirstPage(request, batchSize, rowResults),
+                MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        return multiPutAsync(ImmutableMap.of(tableRef, values), timestamp);
+    }
+
+    /**
+     * Cells are written in one unlogged batch per row (split further if a row has many values), so that each batch is
+     * a single mutation sent directly to the replicas of that row, and all batches are in flight at once.
+     */
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        if (log.isTraceEnabled()) {
+            log.trace(
+                    "Putting values using CQL.",
+                    SafeArg.of("tables", valuesByTable.size()),
+                    SafeArg.of("timestamp", timestamp));
+        }
+
+        List<ListenableFuture<Void>> batchFutures = new ArrayList<>();
+        valuesByTable.forEach((tableRef, values) -> {
+            CqlQueryContext queryContext = queryContext(tableRef);
+            Collection<Map.Entry<Cell, Value>> cellValues =
+                    KeyValueServices.toConstantTimestampValues(values.entrySet(), timestamp);
+            for (List<Map.Entry<Cell, Value>> row : groupByRow(cellValues, Map.Entry::getKey)) {
+                for (List<Map.Entry<Cell, Value>> batch : IterablePartitioner.partitionByCountAndBytes(
+                        row,
+                        CassandraConstants.DEFAULT_MUTATION_BATCH_COUNT,
+                        CassandraConstants.DEFAULT_MUTATION_BATCH_SIZE_BYTES,
+                        tableRef,
+                        ENTRY_SIZING_FUNCTION)) {
+                    ImmutablePutBatchQueryParameters queryParameters = ImmutablePutBatchQueryParameters.builder()
+                            .cellValues(batch)
+                            .build();
+                    batchFutures.add(cqlClient.executeQuery(new PutBatchQuerySpec(queryContext, queryParameters)));
+                }
+            }
+        });
+        return allSucceeded(batchFutures);
+    }
+
+    /**
+     * As for deletes over thrift, versions of a cell are deleted in increasing timestamp order, with each round of
+     * deletes only started once the previous one has completed, so that a partial failure can never leave an older
+     * version of a cell visible in place of a newer one.
+     */
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        if (log.isTraceEnabled()) {
+            log.trace(
+                    "Deleting cells using CQL.", SafeArg.of("cells", keys.size()), LoggingArgs.tableRef(tableRef));
+        }
+
+        LongUnaryOperator deletionTimestampOperator =
+                mutationTimestampProvider.getDeletionTimestampOperatorForBatchDelete();
+        List<List<CellVersionDeletion>> rounds = new ArrayList<>();
+        for (Map.Entry<Cell, Collection<Long>> cellVersions : keys.asMap().entrySet()) {
+            List<Long> timestamps = Ordering.natural().immutableSortedCopy(cellVersions.getValue());
+            for (int round = 0; round < timestamps.size(); round++) {
+                if (rounds.size() <= round) {
+                    rounds.add(new ArrayList<>());
+                }
+                long timestamp = timestamps.get(round);
+                rounds.get(round)
+                        .add(ImmutableCellVersionDeletion.of(
+                                cellVersions.getKey(), timestamp, deletionTimestampOperator.applyAsLong(timestamp)));
+            }
+        }
+
+        ListenableFuture<Void> result = Futures.immediateFuture(null);
+        for (List<CellVersionDeletion> round : rounds) {
+            result = Futures.transformAsync(
+                    result, unused -> deleteRoundAsync(tableRef, round), MoreExecutors.directExecutor());
+        }
+        return result;
+    }
+
+    private ListenableFuture<Void> deleteRoundAsync(TableReference tableRef, List<CellVersionDeletion> deletions) {
+        CqlQueryContext queryContext = queryContext(tableRef);
+        List<ListenableFuture<Void>> batchFutures = new ArrayList<>();
+        for (List<CellVersionDeletion> row : groupByRow(deletions, CellVersionDeletion::cell)) {
+            for (List<CellVersionDeletion> batch :
+                    Iterables.partition(row, CassandraConstants.DEFAULT_MUTATION_BATCH_COUNT)) {
+                ImmutableDeleteBatchQueryParameters queryParameters = ImmutableDeleteBatchQueryParameters.builder()
+                        .deletions(batch)
+                        .build();
+                batchFutures.add(cqlClient.executeQuery(new DeleteBatchQuerySpec(queryContext, queryParameters)));
+            }
+        }
+        return allSucceeded(batchFutures);
+    }
+
+    private static <T> Collection<List<T>> groupByRow(Collection<T> items, Function<T, Cell> cellExtractor) {
+        Map<ByteBuffer, List<T>> itemsByRow = new HashMap<>();
+        for (T item : items) {
+            ByteBuffer row = ByteBuffer.wrap(cellExtractor.apply(item).getRowName());
+            itemsByRow.computeIfAbsent(row, unused -> new ArrayList<>()).add(item);
+        }
+        return itemsByRow.values();
+    }
+
+    private static ListenableFuture<Void> allSucceeded(List<ListenableFuture<Void>> futures) {
+        return Futures.whenAllSucceed(futures).call(() -> null, MoreExecutors.directExecutor());
+    }
+
+    private CqlQueryContext queryContext(TableReference tableReference) {
+        return ImmutableCqlQueryContext.builder()
+                .tableReference(tableReference)
+                .keyspace(keyspace)
+                .build();
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.palantir.atlasdb.keyvalue.cassandra.async;
 
 import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceConfig;
+import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProvider;
 import com.palantir.atlasdb.keyvalue.api.AsyncKeyValueService;
 import com.palantir.atlasdb.util.MetricsManager;
 import java.util.Optional;
@@ -24,4 +25,16 @@ import java.util.Optional;
 public interface CassandraAsyncKeyValueServiceFactory {
     Optional<AsyncKeyValueService> constructAsyncKeyValueService(
             MetricsManager metricsManager, CassandraKeyValueServiceConfig config, boolean initializeAsync);
+
+    /**
+     * Constructs an async key value service whose deletes are written at the Cassandra timestamps given by the
+     * provided {@link CassandraMutationTimestampProvider}, as for deletes performed over thrift.
+     */
+    default Optional<AsyncKeyValueService> constructAsyncKeyValueService(
+            MetricsManager metricsManager,
+            CassandraKeyValueServiceConfig config,
+            boolean initializeAsync,
+            CassandraMutationTimestampProvider mutationTimestampProvider) {
+        return constructAsyncKeyValueService(metricsManager, config, initializeAsync);
+    }
 }
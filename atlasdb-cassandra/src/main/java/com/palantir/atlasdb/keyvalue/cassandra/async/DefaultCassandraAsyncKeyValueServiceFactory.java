@@ -20,6 +20,8 @@ import com.codahale.metrics.InstrumentedExecutorService;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceConfig;
+import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProvider;
+import com.palantir.atlasdb.cassandra.CassandraMutationTimestampProviders;
 import com.palantir.atlasdb.cassandra.CassandraServersConfigs.CqlCapableConfig;
 import com.palantir.atlasdb.cassandra.CassandraServersConfigs.DefaultConfig;
 import com.palantir.atlasdb.cassandra.CassandraServersConfigs.Visitor;
@@ -46,6 +48,16 @@ public final class DefaultCassandraAsyncKeyValueServiceFactory implements Cassan
     @Override
     public Optional<AsyncKeyValueService> constructAsyncKeyValueService(
             MetricsManager metricsManager, CassandraKeyValueServiceConfig config, boolean initializeAsync) {
+        return constructAsyncKeyValueService(
+                metricsManager, config, initializeAsync, CassandraMutationTimestampProviders.legacyModeForTestsOnly());
+    }
+
+    @Override
+    public Optional<AsyncKeyValueService> constructAsyncKeyValueService(
+            MetricsManager metricsManager,
+            CassandraKeyValueServiceConfig config,
+            boolean initializeAsync,
+            CassandraMutationTimestampProvider mutationTimestampProvider) {
         Optional<CqlClient> cqlClient =
                 cqlClientFactory.constructClient(metricsManager.getTaggedRegistry(), config, initializeAsync);
 
@@ -66,7 +78,10 @@ public final class DefaultCassandraAsyncKeyValueServiceFactory implements Cassan
         });
 
         return cqlClient.map(client -> CassandraAsyncKeyValueService.create(
-                config.getKeyspaceOrThrow(), client, AtlasFutures.futuresCombiner(executorService)));
+                config.getKeyspaceOrThrow(),
+                client,
+                AtlasFutures.futuresCombiner(executorService),
+                mutationTimestampProvider));
     }
 
     /**
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Iterates over the cells of a row column range which are read in pages of at most {@code pageSize} cells. The first
+ * page is read asynchronously by the caller; subsequent pages are only read (blocking) once the previous page has
+ * been exhausted.
+ */
+final class PagingRowColumnRangeIterator extends AbstractIterator<Map.Entry<Cell, Value>>
+        implements RowColumnRangeIterator {
+    private final Function<byte[], ListenableFuture<List<Map.Entry<Cell, Value>>>> pageLoader;
+    private final int pageSize;
+
+    private Iterator<Map.Entry<Cell, Value>> currentPage;
+    private boolean mayHaveMorePages;
+    private byte[] lastColumn = null;
+
+    /**
+     * @param firstPage the first page of the range
+     * @param pageLoader loads the page of cells starting at the given column, inclusive
+     * @param pageSize the maximum number of cells in each page
+     */
+    PagingRowColumnRangeIterator(
+            List<Map.Entry<Cell, Value>> firstPage,
+            Function<byte[], ListenableFuture<List<Map.Entry<Cell, Value>>>> pageLoader,
+            int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+        startPage(firstPage);
+    }
+
+    @Override
+    protected Map.Entry<Cell, Value> computeNext() {
+        while (!currentPage.hasNext()) {
+            if (!mayHaveMorePages) {
+                return endOfData();
+            }
+            byte[] nextColumn = RangeRequests.getNextStartRowUnlessTerminal(false, lastColumn);
+            if (nextColumn == null) {
+                return endOfData();
+            }
+            startPage(AtlasFutures.getUnchecked(pageLoader.apply(nextColumn)));
+        }
+        Map.Entry<Cell, Value> next = currentPage.next();
+        lastColumn = next.getKey().getColumnName();
+        return next;
+    }
+
+    private void startPage(List<Map.Entry<Cell, Value>> page) {
+        currentPage = page.iterator();
+        mayHaveMorePages = page.size() >= pageSize;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Statement;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.impl.AbstractKeyValueService;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Deletes a batch of cell versions as a single unlogged batch. As for {@link PutBatchQuerySpec}, callers are expected
+ * to only batch together cells of the same row.
+ */
+public final class DeleteBatchQuerySpec implements CqlQuerySpec<Void> {
+
+    private static final String QUERY_FORMAT = "DELETE FROM \"%s\".\"%s\" "
+            + "USING TIMESTAMP :deletionTimestamp "
+            + "WHERE key = :row AND column1 = :column AND column2 = :timestamp;";
+
+    private final CqlQueryContext cqlQueryContext;
+    private final DeleteBatchQueryParameters queryParameters;
+
+    public DeleteBatchQuerySpec(CqlQueryContext cqlQueryContext, DeleteBatchQueryParameters queryParameters) {
+        this.cqlQueryContext = cqlQueryContext;
+        this.queryParameters = queryParameters;
+    }
+
+    @Override
+    public CqlQueryContext cqlQueryContext() {
+        return cqlQueryContext;
+    }
+
+    @Override
+    public String formatQueryString() {
+        return String.format(
+                QUERY_FORMAT,
+                cqlQueryContext().keyspace(),
+                AbstractKeyValueService.internalTableName(cqlQueryContext().tableReference()));
+    }
+
+    @Override
+    public QueryType queryType() {
+        return QueryType.DELETE;
+    }
+
+    @Override
+    public Statement makeExecutableStatement(PreparedStatement preparedStatement) {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        for (CellVersionDeletion deletion : queryParameters.deletions()) {
+            batch.add(preparedStatement
+                    .bind()
+                    .setBytes("row", toReadOnlyByteBuffer(deletion.cell().getRowName()))
+                    .setBytes("column", toReadOnlyByteBuffer(deletion.cell().getColumnName()))
+                    .setLong("timestamp", ~deletion.timestamp())
+                    .setLong("deletionTimestamp", deletion.deletionTimestamp()));
+        }
+        return batch;
+    }
+
+    private static ByteBuffer toReadOnlyByteBuffer(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Deletes are performed at consistency ALL, as deleted values must be removed from every replica.
+     */
+    @Override
+    public ConsistencyLevel queryConsistency() {
+        return ConsistencyLevel.ALL;
+    }
+
+    @Override
+    public RowStreamAccumulator<Void> rowStreamAccumulator() {
+        return NoResultAccumulator.INSTANCE;
+    }
+
+    @org.immutables.value.Value.Immutable
+    public interface DeleteBatchQueryParameters {
+        List<CellVersionDeletion> deletions();
+    }
+
+    @org.immutables.value.Value.Immutable
+    public interface CellVersionDeletion {
+        @org.immutables.value.Value.Parameter
+        Cell cell();
+
+        /**
+         * The AtlasDB timestamp of the version to delete.
+         */
+        @org.immutables.value.Value.Parameter
+        long timestamp();
+
+        /**
+         * The Cassandra write time of the deletion, which must be greater than that of the deleted version.
+         */
+        @org.immutables.value.Value.Parameter
+        long deletionTimestamp();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        DeleteBatchQuerySpec that = (DeleteBatchQuerySpec) other;
+        return cqlQueryContext.equals(that.cqlQueryContext) && queryParameters.equals(that.queryParameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cqlQueryContext, queryParameters);
+    }
+}
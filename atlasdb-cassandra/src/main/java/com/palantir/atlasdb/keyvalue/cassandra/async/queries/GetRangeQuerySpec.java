@@ -0,0 +1,222 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.utils.Bytes;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.AbstractKeyValueService;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Reads the latest values visible at a timestamp for up to {@code maxRows} non-empty rows of a range, in increasing
+ * order by row name. This relies on AtlasDB requiring an ordered partitioner, so that token order is row name order.
+ */
+public final class GetRangeQuerySpec implements CqlQuerySpec<List<RowResult<Value>>> {
+
+    /**
+     * As for {@link GetRowColumnRangeQuerySpec}, all versions of each cell are read and the latest visible version is
+     * chosen client side. The end of the range and the row limit are also applied client side, and no further pages
+     * are fetched once either has been reached.
+     */
+    private static final String RANGE_QUERY_FORMAT = "SELECT key, column1, column2, value FROM \"%s\".\"%s\";";
+
+    private static final String RANGE_FROM_ROW_QUERY_FORMAT = "SELECT key, column1, column2, value FROM \"%s\".\"%s\" "
+            + "WHERE token(key) >= token(:startRow);";
+
+    private final CqlQueryContext cqlQueryContext;
+    private final GetRangeQueryParameters queryParameters;
+    private final GetRangeAccumulator accumulator;
+
+    public GetRangeQuerySpec(CqlQueryContext cqlQueryContext, GetRangeQueryParameters queryParameters) {
+        this.cqlQueryContext = cqlQueryContext;
+        this.queryParameters = queryParameters;
+        this.accumulator = new GetRangeAccumulator(queryParameters);
+    }
+
+    @Override
+    public CqlQueryContext cqlQueryContext() {
+        return cqlQueryContext;
+    }
+
+    @Override
+    public String formatQueryString() {
+        return String.format(
+                hasStartRow() ? RANGE_FROM_ROW_QUERY_FORMAT : RANGE_QUERY_FORMAT,
+                cqlQueryContext().keyspace(),
+                AbstractKeyValueService.internalTableName(cqlQueryContext().tableReference()));
+    }
+
+    @Override
+    public QueryType queryType() {
+        return hasStartRow() ? QueryType.GET_RANGE_FROM_ROW : QueryType.GET_RANGE;
+    }
+
+    @Override
+    public Statement makeExecutableStatement(PreparedStatement preparedStatement) {
+        BoundStatement statement = preparedStatement.bind();
+        if (hasStartRow()) {
+            statement.setBytes("startRow", ByteBuffer.wrap(queryParameters.startRowInclusive()).asReadOnlyBuffer());
+        }
+        return statement;
+    }
+
+    private boolean hasStartRow() {
+        return queryParameters.startRowInclusive().length > 0;
+    }
+
+    @Override
+    public ConsistencyLevel queryConsistency() {
+        return ConsistencyLevel.LOCAL_QUORUM;
+    }
+
+    @Override
+    public RowStreamAccumulator<List<RowResult<Value>>> rowStreamAccumulator() {
+        return accumulator;
+    }
+
+    @org.immutables.value.Value.Immutable
+    public interface GetRangeQueryParameters {
+        /**
+         * An empty array denotes the start of the table.
+         */
+        byte[] startRowInclusive();
+
+        /**
+         * An empty array denotes the end of the table.
+         */
+        byte[] endRowExclusive();
+
+        ColumnSelection columnSelection();
+
+        /**
+         * The maximum number of non-empty rows to return; once this many have been read, no further pages are fetched.
+         */
+        int maxRows();
+
+        long humanReadableTimestamp();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        GetRangeQuerySpec that = (GetRangeQuerySpec) other;
+        return cqlQueryContext.equals(that.cqlQueryContext) && queryParameters.equals(that.queryParameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cqlQueryContext, queryParameters);
+    }
+
+    private static final class GetRangeAccumulator implements RowStreamAccumulator<List<RowResult<Value>>> {
+        private final GetRangeQueryParameters parameters;
+        private final ImmutableList.Builder<RowResult<Value>> rowResults = ImmutableList.builder();
+
+        private byte[] currentRow = null;
+        private SortedMap<byte[], Value> currentRowColumns = null;
+        private byte[] lastVisibleColumn = null;
+        private int numRows = 0;
+        private volatile boolean done = false;
+
+        private GetRangeAccumulator(GetRangeQueryParameters parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public void accumulateRowStream(Stream<Row> rowStream) {
+            Iterator<Row> rows = rowStream.iterator();
+            while (!done && rows.hasNext()) {
+                accumulateRow(rows.next());
+            }
+        }
+
+        private void accumulateRow(Row row) {
+            byte[] rowName = Bytes.getArray(row.getBytes("key"));
+            if (!Arrays.equals(rowName, currentRow)) {
+                finishCurrentRow();
+                if (numRows >= parameters.maxRows() || isAfterEndOfRange(rowName)) {
+                    done = true;
+                    return;
+                }
+                currentRow = rowName;
+                currentRowColumns = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+                lastVisibleColumn = null;
+            }
+
+            byte[] column = Bytes.getArray(row.getBytes("column1"));
+            if (Arrays.equals(column, lastVisibleColumn)) {
+                // an older version of a column we have already read
+                return;
+            }
+            long timestamp = ~row.getLong("column2");
+            if (timestamp >= parameters.humanReadableTimestamp()) {
+                return;
+            }
+            lastVisibleColumn = column;
+            if (parameters.columnSelection().contains(column)) {
+                currentRowColumns.put(column, Value.create(Bytes.getArray(row.getBytes("value")), timestamp));
+            }
+        }
+
+        private void finishCurrentRow() {
+            if (currentRow != null && !currentRowColumns.isEmpty()) {
+                rowResults.add(RowResult.create(currentRow, currentRowColumns));
+                numRows++;
+            }
+            currentRow = null;
+            currentRowColumns = null;
+        }
+
+        private boolean isAfterEndOfRange(byte[] rowName) {
+            byte[] endRow = parameters.endRowExclusive();
+            return endRow.length > 0 && UnsignedBytes.lexicographicalComparator().compare(rowName, endRow) >= 0;
+        }
+
+        @Override
+        public List<RowResult<Value>> result() {
+            // if we were not stopped early, the last row read is complete
+            finishCurrentRow();
+            return rowResults.build();
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+    }
+}
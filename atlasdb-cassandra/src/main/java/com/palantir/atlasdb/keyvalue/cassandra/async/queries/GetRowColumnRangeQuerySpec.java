@@ -0,0 +1,213 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.utils.Bytes;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.AbstractKeyValueService;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Reads the latest values visible at a timestamp for a range of columns of a single row, in increasing order by
+ * column name.
+ */
+public final class GetRowColumnRangeQuerySpec implements CqlQuerySpec<List<Map.Entry<Cell, Value>>> {
+
+    /**
+     * All versions of the cells in the column range are read, since CQL does not allow restricting {@code column2}
+     * without restricting {@code column1} to a single value. Cells are clustered in ASC order by {@code column1} and
+     * {@code column2}, and timestamps are stored as bitwise complements, so the first visible version of each column
+     * is the latest one. The end of the column range is applied client side, and no further pages are fetched once
+     * it has been passed.
+     */
+    private static final String ROW_QUERY_FORMAT = "SELECT column1, column2, value FROM \"%s\".\"%s\" "
+            + "WHERE key = :row;";
+
+    private static final String ROW_FROM_COLUMN_QUERY_FORMAT = "SELECT column1, column2, value FROM \"%s\".\"%s\" "
+            + "WHERE key = :row AND column1 >= :startColumn;";
+
+    private final CqlQueryContext cqlQueryContext;
+    private final GetRowColumnRangeQueryParameters queryParameters;
+    private final GetRowColumnRangeAccumulator accumulator;
+
+    public GetRowColumnRangeQuerySpec(
+            CqlQueryContext cqlQueryContext, GetRowColumnRangeQueryParameters queryParameters) {
+        this.cqlQueryContext = cqlQueryContext;
+        this.queryParameters = queryParameters;
+        this.accumulator = new GetRowColumnRangeAccumulator(queryParameters);
+    }
+
+    @Override
+    public CqlQueryContext cqlQueryContext() {
+        return cqlQueryContext;
+    }
+
+    @Override
+    public String formatQueryString() {
+        return String.format(
+                hasStartColumn() ? ROW_FROM_COLUMN_QUERY_FORMAT : ROW_QUERY_FORMAT,
+                cqlQueryContext().keyspace(),
+                AbstractKeyValueService.internalTableName(cqlQueryContext().tableReference()));
+    }
+
+    @Override
+    public QueryType queryType() {
+        return hasStartColumn() ? QueryType.GET_ROW_FROM_COLUMN : QueryType.GET_ROW;
+    }
+
+    @Override
+    public Statement makeExecutableStatement(PreparedStatement preparedStatement) {
+        BoundStatement statement =
+                preparedStatement.bind().setBytes("row", toReadOnlyByteBuffer(queryParameters.row()));
+        if (hasStartColumn()) {
+            statement.setBytes("startColumn", toReadOnlyByteBuffer(queryParameters.startColumnInclusive()));
+        }
+        return statement;
+    }
+
+    private boolean hasStartColumn() {
+        return queryParameters.startColumnInclusive().length > 0;
+    }
+
+    private static ByteBuffer toReadOnlyByteBuffer(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    @Override
+    public ConsistencyLevel queryConsistency() {
+        return ConsistencyLevel.LOCAL_QUORUM;
+    }
+
+    @Override
+    public RowStreamAccumulator<List<Map.Entry<Cell, Value>>> rowStreamAccumulator() {
+        return accumulator;
+    }
+
+    @org.immutables.value.Value.Immutable
+    public interface GetRowColumnRangeQueryParameters {
+        byte[] row();
+
+        /**
+         * An empty array denotes the start of the row.
+         */
+        byte[] startColumnInclusive();
+
+        /**
+         * An empty array denotes the end of the row.
+         */
+        byte[] endColumnExclusive();
+
+        /**
+         * The maximum number of cells to return; once this many have been read, no further pages are fetched.
+         */
+        int maxCells();
+
+        long humanReadableTimestamp();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        GetRowColumnRangeQuerySpec that = (GetRowColumnRangeQuerySpec) other;
+        return cqlQueryContext.equals(that.cqlQueryContext) && queryParameters.equals(that.queryParameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cqlQueryContext, queryParameters);
+    }
+
+    private static final class GetRowColumnRangeAccumulator
+            implements RowStreamAccumulator<List<Map.Entry<Cell, Value>>> {
+        private final GetRowColumnRangeQueryParameters parameters;
+        private final ImmutableList.Builder<Map.Entry<Cell, Value>> cells = ImmutableList.builder();
+
+        private byte[] lastVisibleColumn = null;
+        private int numCells = 0;
+        private volatile boolean done = false;
+
+        private GetRowColumnRangeAccumulator(GetRowColumnRangeQueryParameters parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public void accumulateRowStream(Stream<Row> rowStream) {
+            Iterator<Row> rows = rowStream.iterator();
+            while (!done && rows.hasNext()) {
+                accumulateRow(rows.next());
+            }
+        }
+
+        private void accumulateRow(Row row) {
+            byte[] column = Bytes.getArray(row.getBytes("column1"));
+            if (isAfterEndOfRange(column)) {
+                done = true;
+                return;
+            }
+            if (Arrays.equals(column, lastVisibleColumn)) {
+                // an older version of a column we have already read
+                return;
+            }
+            long timestamp = ~row.getLong("column2");
+            if (timestamp >= parameters.humanReadableTimestamp()) {
+                return;
+            }
+            lastVisibleColumn = column;
+            Value value = Value.create(Bytes.getArray(row.getBytes("value")), timestamp);
+            cells.add(Maps.immutableEntry(Cell.create(parameters.row(), column), value));
+            numCells++;
+            if (numCells >= parameters.maxCells()) {
+                done = true;
+            }
+        }
+
+        private boolean isAfterEndOfRange(byte[] column) {
+            byte[] endColumn = parameters.endColumnExclusive();
+            return endColumn.length > 0 && UnsignedBytes.lexicographicalComparator().compare(column, endColumn) >= 0;
+        }
+
+        @Override
+        public List<Map.Entry<Cell, Value>> result() {
+            return cells.build();
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Statement;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.AbstractKeyValueService;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes a batch of cell values as a single unlogged batch. Callers are expected to only batch together cells of the
+ * same row, as such batches are applied atomically as a single mutation by the replicas owning the row, and are routed
+ * directly to those replicas by token aware load balancing.
+ */
+public final class PutBatchQuerySpec implements CqlQuerySpec<Void> {
+
+    /**
+     * Timestamps are stored as bitwise complements of the original values, while the write time of each cell is the
+     * original timestamp, which is consistent with writes over thrift.
+     */
+    private static final String QUERY_FORMAT = "INSERT INTO \"%s\".\"%s\" (key, column1, column2, value) "
+            + "VALUES (:row, :column, :timestamp, :value) "
+            + "USING TIMESTAMP :writeTimestamp;";
+
+    private final CqlQueryContext cqlQueryContext;
+    private final PutBatchQueryParameters queryParameters;
+
+    public PutBatchQuerySpec(CqlQueryContext cqlQueryContext, PutBatchQueryParameters queryParameters) {
+        this.cqlQueryContext = cqlQueryContext;
+        this.queryParameters = queryParameters;
+    }
+
+    @Override
+    public CqlQueryContext cqlQueryContext() {
+        return cqlQueryContext;
+    }
+
+    @Override
+    public String formatQueryString() {
+        return String.format(
+                QUERY_FORMAT,
+                cqlQueryContext().keyspace(),
+                AbstractKeyValueService.internalTableName(cqlQueryContext().tableReference()));
+    }
+
+    @Override
+    public QueryType queryType() {
+        return QueryType.PUT;
+    }
+
+    @Override
+    public Statement makeExecutableStatement(PreparedStatement preparedStatement) {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        for (Map.Entry<Cell, Value> cellValue : queryParameters.cellValues()) {
+            Cell cell = cellValue.getKey();
+            Value value = cellValue.getValue();
+            batch.add(preparedStatement
+                    .bind()
+                    .setBytes("row", toReadOnlyByteBuffer(cell.getRowName()))
+                    .setBytes("column", toReadOnlyByteBuffer(cell.getColumnName()))
+                    .setLong("timestamp", ~value.getTimestamp())
+                    .setBytes("value", toReadOnlyByteBuffer(value.getContents()))
+                    .setLong("writeTimestamp", value.getTimestamp()));
+        }
+        return batch;
+    }
+
+    private static ByteBuffer toReadOnlyByteBuffer(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    @Override
+    public ConsistencyLevel queryConsistency() {
+        return ConsistencyLevel.EACH_QUORUM;
+    }
+
+    @Override
+    public RowStreamAccumulator<Void> rowStreamAccumulator() {
+        return NoResultAccumulator.INSTANCE;
+    }
+
+    @org.immutables.value.Value.Immutable
+    public interface PutBatchQueryParameters {
+        List<Map.Entry<Cell, Value>> cellValues();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        PutBatchQuerySpec that = (PutBatchQuerySpec) other;
+        return cqlQueryContext.equals(that.cqlQueryContext) && queryParameters.equals(that.queryParameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cqlQueryContext, queryParameters);
+    }
+}
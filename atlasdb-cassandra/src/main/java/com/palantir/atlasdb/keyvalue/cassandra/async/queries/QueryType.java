@@ -17,5 +17,11 @@
 package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
 
 public enum QueryType {
-    GET
+    GET,
+    GET_ROW,
+    GET_ROW_FROM_COLUMN,
+    GET_RANGE,
+    GET_RANGE_FROM_ROW,
+    PUT,
+    DELETE
 }
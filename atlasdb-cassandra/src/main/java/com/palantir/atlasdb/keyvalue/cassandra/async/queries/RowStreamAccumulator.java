@@ -44,4 +44,15 @@ public interface RowStreamAccumulator<R> {
      * @return accumulated result
      */
     R result();
+
+    /**
+     * Whether the accumulator has already seen all rows it is interested in, in which case no further pages need to
+     * be fetched. This allows queries to be bounded on the client, e.g. by the number of distinct partitions or by a
+     * bound which cannot be expressed in CQL.
+     *
+     * @return true if no further rows should be fetched
+     */
+    default boolean isDone() {
+        return false;
+    }
 }
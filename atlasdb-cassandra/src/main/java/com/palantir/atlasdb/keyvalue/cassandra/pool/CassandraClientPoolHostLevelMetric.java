@@ -21,7 +21,8 @@ public enum CassandraClientPoolHostLevelMetric {
     NUM_IDLE("numIdle", 0.1, 2.0),
     NUM_ACTIVE("numActive", 0.1, 2.0),
     CREATED("created", 0.01, 2.0),
-    DESTROYED_BY_EVICTOR("destroyedByEvictor", 0.01, 2.0);
+    DESTROYED_BY_EVICTOR("destroyedByEvictor", 0.01, 2.0),
+    LATENCY_ESTIMATE_MICROS("latencyEstimateMicros", 0.0, 2.0);
 
     public final String metricName;
     public final double minimumMeanThreshold;
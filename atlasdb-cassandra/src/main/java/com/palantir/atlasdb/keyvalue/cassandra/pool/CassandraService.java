@@ -319,6 +319,9 @@ public class CassandraService implements AutoCloseable {
             return Optional.empty();
         }
 
+        if (config.latencyAwareHostSelection()) {
+            return Optional.of(LatencyWeightedHosts.getRandomHost(matchingPools));
+        }
         return Optional.of(WeightedHosts.create(matchingPools).getRandomHost());
     }
 
@@ -374,6 +377,39 @@ public class CassandraService implements AutoCloseable {
         return getRandomGoodHost().getHost();
     }
 
+    /**
+     * Returns a random live host, other than the excluded host, that owns all of the provided keys. Returns empty if
+     * there is no such host or if the token ring has not yet been loaded.
+     */
+    public Optional<InetSocketAddress> getRandomAlternativeHostForKeys(
+            Collection<byte[]> keys, InetSocketAddress excludedHost) {
+        Set<InetSocketAddress> commonOwners = null;
+        for (byte[] key : keys) {
+            List<InetSocketAddress> hostsForKey = getHostsFor(key);
+            if (hostsForKey == null) {
+                return Optional.empty();
+            }
+            if (commonOwners == null) {
+                commonOwners = new HashSet<>(hostsForKey);
+            } else {
+                commonOwners.retainAll(hostsForKey);
+            }
+            commonOwners.remove(excludedHost);
+            if (commonOwners.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        if (commonOwners == null) {
+            return Optional.empty();
+        }
+
+        Set<InetSocketAddress> liveOwnerHosts = blacklist.filterBlacklistedHostsFrom(commonOwners);
+        if (liveOwnerHosts.isEmpty()) {
+            return Optional.empty();
+        }
+        return getRandomHostByActiveConnections(liveOwnerHosts);
+    }
+
     public void addPool(InetSocketAddress server) {
         int currentPoolNumber = cassandraHosts.indexOf(server) + 1;
         currentPools.put(
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.pool;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A peak-sensitive, exponentially weighted moving average of request latency against a single host.
+ * <p>
+ * Samples slower than the current estimate replace it immediately, so that a host that starts stalling (for example
+ * because of a long GC pause) is penalised on its first slow response. Faster samples are blended in with a weight
+ * that depends on the time elapsed since the previous sample. When read, the estimate also decays towards zero with
+ * time since the last sample; a host that has been avoided because it was slow is therefore eventually probed again
+ * rather than being starved of requests indefinitely.
+ */
+public final class DecayingLatencyEstimate {
+    private static final long DEFAULT_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final LongSupplier clock;
+    private final double decayNanos;
+
+    private double estimateNanos = 0.0;
+    private long lastUpdateNanos;
+
+    @VisibleForTesting
+    DecayingLatencyEstimate(LongSupplier clock, long decayNanos) {
+        this.clock = clock;
+        this.decayNanos = decayNanos;
+        this.lastUpdateNanos = clock.getAsLong();
+    }
+
+    public static DecayingLatencyEstimate create() {
+        return new DecayingLatencyEstimate(System::nanoTime, DEFAULT_DECAY_NANOS);
+    }
+
+    public synchronized void update(long latencyNanos) {
+        long now = clock.getAsLong();
+        double sample = Math.max(latencyNanos, 0L);
+        if (sample > estimateNanos) {
+            estimateNanos = sample;
+        } else {
+            double weight = decayWeight(now - lastUpdateNanos);
+            estimateNanos = estimateNanos * weight + sample * (1.0 - weight);
+        }
+        lastUpdateNanos = now;
+    }
+
+    public synchronized long getEstimateMicros() {
+        double decayedNanos = estimateNanos * decayWeight(clock.getAsLong() - lastUpdateNanos);
+        return TimeUnit.NANOSECONDS.toMicros((long) decayedNanos);
+    }
+
+    private double decayWeight(long elapsedNanos) {
+        return Math.exp(-Math.max(elapsedNanos, 0L) / decayNanos);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.pool;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.keyvalue.cassandra.CassandraClientPoolingContainer;
+import com.palantir.logsafe.Preconditions;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses between hosts using the power of two choices: two distinct hosts are sampled uniformly at random, and the
+ * one with the lower cost is picked. The cost of a host is its decaying latency estimate scaled by the number of
+ * requests currently open against it, so slow hosts and busy hosts are both avoided, while sampling only two
+ * candidates keeps concurrent clients from all herding onto the single host that currently looks best.
+ */
+public final class LatencyWeightedHosts {
+    private LatencyWeightedHosts() {
+        // utility
+    }
+
+    public static InetSocketAddress getRandomHost(Map<InetSocketAddress, CassandraClientPoolingContainer> pools) {
+        Preconditions.checkArgument(!pools.isEmpty(), "pools should be non-empty");
+        List<Map.Entry<InetSocketAddress, CassandraClientPoolingContainer>> candidates =
+                ImmutableList.copyOf(pools.entrySet());
+        if (candidates.size() == 1) {
+            return candidates.get(0).getKey();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        return chooseBetween(candidates.get(first), candidates.get(second >= first ? second + 1 : second));
+    }
+
+    @VisibleForTesting
+    static InetSocketAddress chooseBetween(
+            Map.Entry<InetSocketAddress, CassandraClientPoolingContainer> first,
+            Map.Entry<InetSocketAddress, CassandraClientPoolingContainer> second) {
+        return cost(second.getValue()) < cost(first.getValue()) ? second.getKey() : first.getKey();
+    }
+
+    // Adding one to both terms ensures that idle hosts are still ordered by latency, and that hosts without any latency
+    // samples yet are still ordered by load.
+    private static double cost(CassandraClientPoolingContainer pool) {
+        double latency = Math.max(pool.getLatencyEstimateMicros(), 0L) + 1.0;
+        return latency * (Math.max(pool.getOpenRequests(), 0) + 1);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.Meter;
+import com.palantir.atlasdb.cassandra.CassandraHedgedReadConfig;
+import com.palantir.atlasdb.cassandra.ImmutableCassandraHedgedReadConfig;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+
+public class HedgedReadRunnerTest {
+    private static final TableReference TABLE_REFERENCE = TableReference.createFromFullyQualifiedName("a.b");
+    private static final CassandraHedgedReadConfig ENABLED =
+            ImmutableCassandraHedgedReadConfig.builder().enabled(true).minimumHedgeDelayMillis(0).build();
+
+    private final CountDownLatch releasePrimary = new CountDownLatch(1);
+    private final CountDownLatch releaseHedge = new CountDownLatch(1);
+    private final CountDownLatch loserInterrupted = new CountDownLatch(1);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Meter hedgedReads = new Meter();
+    private final Meter hedgedReadWins = new Meter();
+
+    private CassandraHedgedReadConfig config = ENABLED;
+    private final HedgedReadRunner runner = new HedgedReadRunner(
+            () -> config,
+            Executors.newCachedThreadPool(),
+            Executors.newSingleThreadScheduledExecutor(),
+            hedgedReads,
+            hedgedReadWins);
+
+    @After
+    public void tearDown() {
+        releasePrimary.countDown();
+        releaseHedge.countDown();
+        scheduler.shutdownNow();
+        runner.close();
+    }
+
+    @Test
+    public void doesNotHedgeWhenDisabled() throws Exception {
+        config = CassandraHedgedReadConfig.defaultConfig();
+        warmUp();
+        AtomicBoolean hedgeRequested = new AtomicBoolean();
+
+        assertThat(runner.run(TABLE_REFERENCE, () -> "primary", () -> {
+                    hedgeRequested.set(true);
+                    return Optional.of(() -> "hedge");
+                }))
+                .isEqualTo("primary");
+        assertThat(hedgeRequested).isFalse();
+        assertThat(hedgedReads.getCount()).isZero();
+    }
+
+    @Test
+    public void doesNotHedgeBeforeEnoughReadsHaveCompleted() throws Exception {
+        releasePrimaryShortly();
+
+        assertThat(runner.run(TABLE_REFERENCE, this::slowPrimary, this::immediateHedge))
+                .isEqualTo("primary");
+        assertThat(hedgedReads.getCount()).isZero();
+    }
+
+    @Test
+    public void doesNotHedgeReadsFasterThanMinimumDelay() throws Exception {
+        config = ImmutableCassandraHedgedReadConfig.builder()
+                .enabled(true)
+                .minimumHedgeDelayMillis(TimeUnit.MINUTES.toMillis(1))
+                .build();
+        warmUp();
+
+        assertThat(runner.run(TABLE_REFERENCE, () -> "primary", this::immediateHedge))
+                .isEqualTo("primary");
+        assertThat(hedgedReads.getCount()).isZero();
+    }
+
+    @Test
+    public void runsPrimaryOnCallingThreadBeforeEnoughReadsHaveCompleted() throws Exception {
+        Thread callingThread = Thread.currentThread();
+
+        assertThat(runner.run(TABLE_REFERENCE, () -> Thread.currentThread() == callingThread, Optional::empty))
+                .isTrue();
+    }
+
+    @Test
+    public void returnsHedgeResultAndCancelsPrimaryIfPrimaryStalls() throws Exception {
+        warmUp();
+
+        assertThat(runner.run(
+                        TABLE_REFERENCE,
+                        () -> {
+                            awaitUnlessInterrupted(releasePrimary);
+                            return "primary";
+                        },
+                        this::immediateHedge))
+                .isEqualTo("hedge");
+        assertThat(hedgedReads.getCount()).isEqualTo(1);
+        assertThat(hedgedReadWins.getCount()).isEqualTo(1);
+        assertThat(loserInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void returnsPrimaryResultAndCancelsHedgeIfPrimarySucceedsFirst() throws Exception {
+        warmUp();
+
+        assertThat(runner.run(TABLE_REFERENCE, this::slowPrimary, () -> Optional.of(() -> {
+                    releasePrimary.countDown();
+                    awaitUnlessInterrupted(releaseHedge);
+                    return "hedge";
+                })))
+                .isEqualTo("primary");
+        assertThat(hedgedReads.getCount()).isEqualTo(1);
+        assertThat(hedgedReadWins.getCount()).isZero();
+        assertThat(loserInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void returnsHedgeResultIfPrimaryFailsAfterHedgeStarted() throws Exception {
+        warmUp();
+
+        assertThat(runner.run(
+                        TABLE_REFERENCE,
+                        () -> {
+                            releasePrimary.await();
+                            throw new IllegalStateException("primary failed");
+                        },
+                        () -> Optional.of(() -> {
+                            releasePrimary.countDown();
+                            return "hedge";
+                        })))
+                .isEqualTo("hedge");
+        assertThat(hedgedReads.getCount()).isEqualTo(1);
+        assertThat(hedgedReadWins.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotStartHedgeIfPrimaryFailsFirst() throws Exception {
+        config = ImmutableCassandraHedgedReadConfig.builder()
+                .enabled(true)
+                .minimumHedgeDelayMillis(TimeUnit.MINUTES.toMillis(1))
+                .build();
+        warmUp();
+
+        assertThatThrownBy(() -> runner.run(
+                        TABLE_REFERENCE,
+                        () -> {
+                            throw new IllegalStateException("primary failed");
+                        },
+                        this::immediateHedge))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("primary failed");
+        assertThat(hedgedReads.getCount()).isZero();
+    }
+
+    @Test
+    public void returnsPrimaryResultIfNoHedgeIsAvailable() throws Exception {
+        warmUp();
+        releasePrimaryShortly();
+
+        assertThat(runner.run(TABLE_REFERENCE, this::slowPrimary, Optional::empty))
+                .isEqualTo("primary");
+        assertThat(hedgedReads.getCount()).isZero();
+    }
+
+    @Test
+    public void returnsPrimaryResultIfHedgeFails() throws Exception {
+        warmUp();
+        releasePrimaryShortly();
+
+        assertThat(runner.run(TABLE_REFERENCE, this::slowPrimary, () -> Optional.of(() -> {
+                    throw new IllegalStateException("hedge failed");
+                })))
+                .isEqualTo("primary");
+        assertThat(hedgedReads.getCount()).isEqualTo(1);
+        assertThat(hedgedReadWins.getCount()).isZero();
+    }
+
+    @Test
+    public void throwsIfBothReadsFail() throws Exception {
+        warmUp();
+
+        assertThatThrownBy(() -> runner.run(
+                        TABLE_REFERENCE,
+                        () -> {
+                            releasePrimary.await();
+                            throw new IllegalStateException("primary failed");
+                        },
+                        () -> Optional.of(() -> {
+                            releasePrimary.countDown();
+                            throw new IllegalStateException("hedge failed");
+                        })))
+                .isInstanceOf(IllegalStateException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+    }
+
+    private void warmUp() throws Exception {
+        for (int i = 0; i < HedgedReadRunner.MINIMUM_SAMPLES_BEFORE_HEDGING; i++) {
+            runner.run(TABLE_REFERENCE, () -> "warm", Optional::empty);
+        }
+    }
+
+    private void releasePrimaryShortly() {
+        scheduler.schedule(releasePrimary::countDown, 50, TimeUnit.MILLISECONDS);
+    }
+
+    private void awaitUnlessInterrupted(CountDownLatch latch) throws InterruptedException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            loserInterrupted.countDown();
+            throw e;
+        }
+    }
+
+    private String slowPrimary() throws InterruptedException {
+        releasePrimary.await(5, TimeUnit.SECONDS);
+        return "primary";
+    }
+
+    private Optional<Callable<String>> immediateHedge() {
+        return Optional.of(() -> "hedge");
+    }
+}
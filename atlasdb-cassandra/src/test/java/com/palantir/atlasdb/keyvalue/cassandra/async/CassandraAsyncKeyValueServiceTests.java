@@ -17,23 +17,47 @@
 package com.palantir.atlasdb.keyvalue.cassandra.async;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.AsyncKeyValueService;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.CqlQueryContext;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.DeleteBatchQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.DeleteBatchQuerySpec.CellVersionDeletion;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetRangeQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetRowColumnRangeQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableCellVersionDeletion;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableCqlQueryContext;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableDeleteBatchQueryParameters;
 import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetRangeQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetRowColumnRangeQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.PutBatchQuerySpec;
 import com.palantir.common.random.RandomBytes;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
@@ -41,6 +65,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -109,6 +134,88 @@ public class CassandraAsyncKeyValueServiceTests {
         assertThat(result).containsOnlyKeys(VISIBLE_CELL_1, VISIBLE_CELL_2);
     }
 
+    @Test
+    public void rowColumnRangeIteratorReadsSubsequentPages() throws Exception {
+        byte[] row = PtBytes.toBytes("row");
+        Map.Entry<Cell, Value> first = cellEntry(row, "a");
+        Map.Entry<Cell, Value> second = cellEntry(row, "b");
+        Map.Entry<Cell, Value> third = cellEntry(row, "c");
+        when(cqlClient.executeQuery(buildRowColumnRangeQuerySpec(row, PtBytes.EMPTY_BYTE_ARRAY)))
+                .thenReturn(Futures.immediateFuture(ImmutableList.of(first, second)));
+        byte[] secondPageStart = RangeRequests.nextLexicographicName(second.getKey().getColumnName());
+        when(cqlClient.executeQuery(buildRowColumnRangeQuerySpec(row, secondPageStart)))
+                .thenReturn(Futures.immediateFuture(ImmutableList.of(third)));
+
+        Map<byte[], RowColumnRangeIterator> result = asyncKeyValueService
+                .getRowsColumnRangeAsync(
+                        TABLE,
+                        ImmutableList.of(row),
+                        BatchColumnRangeSelection.create(PtBytes.EMPTY_BYTE_ARRAY, PtBytes.EMPTY_BYTE_ARRAY, 2),
+                        TIMESTAMP)
+                .get();
+
+        assertThat(ImmutableList.copyOf(Iterables.getOnlyElement(result.values())))
+                .containsExactly(first, second, third);
+    }
+
+    @Test
+    public void partialFirstBatchForRangeHasNoMoreResults() throws Exception {
+        RangeRequest request = RangeRequest.builder().batchHint(2).build();
+        RowResult<Value> rowResult = RowResult.of(VISIBLE_CELL_1, Value.create(PtBytes.toBytes(1), 1L));
+        GetRangeQuerySpec.GetRangeQueryParameters queryParameters = ImmutableGetRangeQueryParameters.builder()
+                .startRowInclusive(PtBytes.EMPTY_BYTE_ARRAY)
+                .endRowExclusive(PtBytes.EMPTY_BYTE_ARRAY)
+                .columnSelection(ColumnSelection.all())
+                .maxRows(2)
+                .humanReadableTimestamp(TIMESTAMP)
+                .build();
+        when(cqlClient.executeQuery(new GetRangeQuerySpec(CQL_QUERY_CONTEXT, queryParameters)))
+                .thenReturn(Futures.immediateFuture(ImmutableList.of(rowResult)));
+
+        TokenBackedBasicResultsPage<RowResult<Value>, byte[]> page = asyncKeyValueService
+                .getFirstBatchForRangesAsync(TABLE, ImmutableList.of(request), TIMESTAMP)
+                .get()
+                .get(request);
+
+        assertThat(page.getResults()).containsExactly(rowResult);
+        assertThat(page.moreResultsAvailable()).isFalse();
+    }
+
+    @Test
+    public void putWritesOneBatchPerRow() throws Exception {
+        when(cqlClient.executeQuery(any(PutBatchQuerySpec.class))).thenReturn(Futures.immediateFuture(null));
+
+        asyncKeyValueService
+                .putAsync(
+                        TABLE,
+                        ImmutableMap.of(
+                                VISIBLE_CELL_1, PtBytes.toBytes(1L),
+                                VISIBLE_CELL_2, PtBytes.toBytes(2L),
+                                Cell.create(PtBytes.toBytes(200), PtBytes.toBytes(100)), PtBytes.toBytes(3L)),
+                        TIMESTAMP)
+                .get();
+
+        verify(cqlClient, times(2)).executeQuery(any(PutBatchQuerySpec.class));
+    }
+
+    @Test
+    public void deletesOlderVersionsOfCellFirst() throws Exception {
+        when(cqlClient.executeQuery(any(DeleteBatchQuerySpec.class))).thenReturn(Futures.immediateFuture(null));
+
+        asyncKeyValueService
+                .deleteAsync(TABLE, ImmutableMultimap.of(VISIBLE_CELL_1, 5L, VISIBLE_CELL_1, 3L, VISIBLE_CELL_2, 5L))
+                .get();
+
+        InOrder inOrder = inOrder(cqlClient);
+        inOrder.verify(cqlClient)
+                .executeQuery(buildDeleteBatchQuerySpec(
+                        ImmutableCellVersionDeletion.of(VISIBLE_CELL_1, 3L, 4L),
+                        ImmutableCellVersionDeletion.of(VISIBLE_CELL_2, 5L, 6L)));
+        inOrder.verify(cqlClient)
+                .executeQuery(buildDeleteBatchQuerySpec(ImmutableCellVersionDeletion.of(VISIBLE_CELL_1, 5L, 6L)));
+        inOrder.verifyNoMoreInteractions();
+    }
+
     private void setUpVisibleCells(Cell... cells) {
         for (Cell cell : cells) {
             when(cqlClient.executeQuery(buildGetQuerySpec(buildGetQueryParameter(cell))))
@@ -134,4 +241,29 @@ public class CassandraAsyncKeyValueServiceTests {
                 .humanReadableTimestamp(TIMESTAMP)
                 .build();
     }
+
+    private static GetRowColumnRangeQuerySpec buildRowColumnRangeQuerySpec(byte[] row, byte[] startColumn) {
+        return new GetRowColumnRangeQuerySpec(
+                CQL_QUERY_CONTEXT,
+                ImmutableGetRowColumnRangeQueryParameters.builder()
+                        .row(row)
+                        .startColumnInclusive(startColumn)
+                        .endColumnExclusive(PtBytes.EMPTY_BYTE_ARRAY)
+                        .maxCells(2)
+                        .humanReadableTimestamp(TIMESTAMP)
+                        .build());
+    }
+
+    private static Map.Entry<Cell, Value> cellEntry(byte[] row, String column) {
+        return Maps.immutableEntry(
+                Cell.create(row, PtBytes.toBytes(column)), Value.create(RandomBytes.ofLength(10), 1L));
+    }
+
+    private static DeleteBatchQuerySpec buildDeleteBatchQuerySpec(CellVersionDeletion... deletions) {
+        return new DeleteBatchQuerySpec(
+                CQL_QUERY_CONTEXT,
+                ImmutableDeleteBatchQueryParameters.builder()
+                        .addDeletions(deletions)
+                        .build());
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.CqlQueryContext;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.CqlRows;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.GetRowColumnRangeQuerySpec;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableCqlQueryContext;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.ImmutableGetRowColumnRangeQueryParameters;
+import com.palantir.atlasdb.keyvalue.cassandra.async.queries.RowStreamAccumulator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class PagingRowColumnRangeIteratorTest {
+    private static final String ROW = "row";
+    private static final long TIMESTAMP = 20L;
+    private static final int PAGE_SIZE = 2;
+    private static final CqlQueryContext CQL_QUERY_CONTEXT = ImmutableCqlQueryContext.builder()
+            .keyspace("test")
+            .tableReference(TableReference.create(Namespace.DEFAULT_NAMESPACE, "foo"))
+            .build();
+
+    private final CqlRows rows = new CqlRows()
+            .add(ROW, "a", 5L)
+            .add(ROW, "a", 10L)
+            .add(ROW, "a", 25L)
+            .add(ROW, "b", 30L)
+            .add(ROW, "c", 1L)
+            .add(ROW, "d", 7L)
+            .add(ROW, "d", 22L)
+            .add(ROW, "e", 3L)
+            .add(ROW, "f", 8L);
+    private final List<byte[]> pageStarts = new ArrayList<>();
+
+    @Test
+    public void readsLatestVisibleVersionOfEachColumnAcrossPages() {
+        PagingRowColumnRangeIterator iterator = iterator("");
+
+        assertThat(ImmutableList.copyOf(iterator))
+                .containsExactly(entry("a", 10L), entry("c", 1L), entry("d", 7L), entry("e", 3L), entry("f", 8L));
+        assertThat(pageStarts)
+                .containsExactly(
+                        PtBytes.EMPTY_BYTE_ARRAY,
+                        RangeRequests.nextLexicographicName(PtBytes.toBytes("c")),
+                        RangeRequests.nextLexicographicName(PtBytes.toBytes("e")));
+    }
+
+    @Test
+    public void stopsAtEndOfColumnRange() {
+        PagingRowColumnRangeIterator iterator = iterator("e");
+
+        assertThat(ImmutableList.copyOf(iterator)).containsExactly(entry("a", 10L), entry("c", 1L), entry("d", 7L));
+    }
+
+    private PagingRowColumnRangeIterator iterator(String endColumn) {
+        return new PagingRowColumnRangeIterator(
+                AtlasFutures.getUnchecked(readPage(PtBytes.EMPTY_BYTE_ARRAY, endColumn)),
+                startColumn -> readPage(startColumn, endColumn),
+                PAGE_SIZE);
+    }
+
+    /**
+     * Serves the page as Cassandra would, by running the query spec's accumulator over the rows from the start column.
+     */
+    private ListenableFuture<List<Map.Entry<Cell, Value>>> readPage(byte[] startColumn, String endColumn) {
+        pageStarts.add(startColumn);
+        GetRowColumnRangeQuerySpec spec = new GetRowColumnRangeQuerySpec(
+                CQL_QUERY_CONTEXT,
+                ImmutableGetRowColumnRangeQueryParameters.builder()
+                        .row(PtBytes.toBytes(ROW))
+                        .startColumnInclusive(startColumn)
+                        .endColumnExclusive(PtBytes.toBytes(endColumn))
+                        .maxCells(PAGE_SIZE)
+                        .humanReadableTimestamp(TIMESTAMP)
+                        .build());
+        RowStreamAccumulator<List<Map.Entry<Cell, Value>>> accumulator = spec.rowStreamAccumulator();
+        accumulator.accumulateRowStream(rows.fromColumn(ROW, startColumn).stream());
+        return Futures.immediateFuture(accumulator.result());
+    }
+
+    private static Map.Entry<Cell, Value> entry(String column, long timestamp) {
+        return Maps.immutableEntry(
+                Cell.create(PtBytes.toBytes(ROW), PtBytes.toBytes(column)),
+                Value.create(CqlRows.valueAt(column, timestamp), timestamp));
+    }
+}
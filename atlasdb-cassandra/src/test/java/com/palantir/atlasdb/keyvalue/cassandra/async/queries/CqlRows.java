@@ -0,0 +1,93 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.driver.core.Row;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.encoding.PtBytes;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the rows Cassandra returns when reading an AtlasDB table through CQL: ordered by key, then by column, then
+ * with the newest version of each column first, as timestamps are stored as bitwise complements.
+ */
+public final class CqlRows {
+    private static final Comparator<byte[]> UNSIGNED = UnsignedBytes.lexicographicalComparator();
+    private static final Comparator<CellVersion> CLUSTERING_ORDER = Comparator.<CellVersion, byte[]>comparing(
+                    version -> version.row, UNSIGNED)
+            .thenComparing(version -> version.column, UNSIGNED)
+            .thenComparingLong(version -> ~version.timestamp);
+
+    private final List<CellVersion> versions = new ArrayList<>();
+
+    public CqlRows add(String row, String column, long timestamp) {
+        versions.add(new CellVersion(PtBytes.toBytes(row), PtBytes.toBytes(column), timestamp));
+        return this;
+    }
+
+    public List<Row> all() {
+        return matching(version -> true);
+    }
+
+    public List<Row> fromColumn(String row, byte[] startColumnInclusive) {
+        byte[] rowName = PtBytes.toBytes(row);
+        return matching(version -> UNSIGNED.compare(version.row, rowName) == 0
+                && UNSIGNED.compare(version.column, startColumnInclusive) >= 0);
+    }
+
+    public static byte[] valueAt(String column, long timestamp) {
+        return PtBytes.toBytes(column + "@" + timestamp);
+    }
+
+    private List<Row> matching(Predicate<CellVersion> predicate) {
+        return versions.stream()
+                .filter(predicate)
+                .sorted(CLUSTERING_ORDER)
+                .map(CqlRows::toRow)
+                .collect(Collectors.toList());
+    }
+
+    private static Row toRow(CellVersion version) {
+        Row row = mock(Row.class);
+        when(row.getBytes("key")).thenReturn(ByteBuffer.wrap(version.row));
+        when(row.getBytes("column1")).thenReturn(ByteBuffer.wrap(version.column));
+        when(row.getLong("column2")).thenReturn(~version.timestamp);
+        when(row.getBytes("value"))
+                .thenReturn(ByteBuffer.wrap(valueAt(PtBytes.toString(version.column), version.timestamp)));
+        return row;
+    }
+
+    private static final class CellVersion {
+        private final byte[] row;
+        private final byte[] column;
+        private final long timestamp;
+
+        private CellVersion(byte[] row, byte[] column, long timestamp) {
+            this.row = row;
+            this.column = column;
+            this.timestamp = timestamp;
+        }
+    }
+}
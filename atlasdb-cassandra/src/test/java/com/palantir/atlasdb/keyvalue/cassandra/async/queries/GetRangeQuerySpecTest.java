@@ -0,0 +1,137 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import java.util.List;
+import org.junit.Test;
+
+public class GetRangeQuerySpecTest {
+    private static final long TIMESTAMP = 20L;
+    private static final CqlQueryContext CQL_QUERY_CONTEXT = ImmutableCqlQueryContext.builder()
+            .keyspace("test")
+            .tableReference(TableReference.create(Namespace.DEFAULT_NAMESPACE, "foo"))
+            .build();
+
+    private static final RowResult<Value> ROW_1 = rowResult("row1", "a", 5L, "b", 10L);
+    private static final RowResult<Value> ROW_3 = rowResult("row3", "b", 2L, "c", 15L);
+    private static final RowResult<Value> ROW_4 = rowResult("row4", "a", 1L);
+
+    private final CqlRows rows = new CqlRows()
+            .add("row1", "a", 5L)
+            .add("row1", "a", 25L)
+            .add("row1", "b", 10L)
+            .add("row2", "a", 30L)
+            .add("row3", "b", 2L)
+            .add("row3", "c", 12L)
+            .add("row3", "c", 15L)
+            .add("row4", "a", 1L);
+
+    @Test
+    public void readsLatestVisibleVersionOfEachCellAndSkipsEmptyRows() {
+        RowStreamAccumulator<List<RowResult<Value>>> accumulator = accumulator("", ColumnSelection.all(), 100);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result()).containsExactly(ROW_1, ROW_3, ROW_4);
+        assertThat(accumulator.isDone()).isFalse();
+    }
+
+    @Test
+    public void stopsAtEndOfRange() {
+        RowStreamAccumulator<List<RowResult<Value>>> accumulator = accumulator("row4", ColumnSelection.all(), 100);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result()).containsExactly(ROW_1, ROW_3);
+        assertThat(accumulator.isDone()).isTrue();
+    }
+
+    @Test
+    public void stopsOnceMaxNonEmptyRowsHaveBeenRead() {
+        RowStreamAccumulator<List<RowResult<Value>>> accumulator = accumulator("", ColumnSelection.all(), 2);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result()).containsExactly(ROW_1, ROW_3);
+        assertThat(accumulator.isDone()).isTrue();
+    }
+
+    @Test
+    public void onlyReturnsSelectedColumns() {
+        ColumnSelection onlyColumnC = ColumnSelection.create(ImmutableList.of(PtBytes.toBytes("c")));
+        RowStreamAccumulator<List<RowResult<Value>>> accumulator = accumulator("", onlyColumnC, 100);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result()).containsExactly(rowResult("row3", "c", 15L));
+    }
+
+    @Test
+    public void rowsMaySpanPages() {
+        RowStreamAccumulator<List<RowResult<Value>>> accumulator = accumulator("", ColumnSelection.all(), 100);
+
+        for (Row row : rows.all()) {
+            accumulator.accumulateRowStream(ImmutableList.of(row).stream());
+        }
+
+        assertThat(accumulator.result()).containsExactly(ROW_1, ROW_3, ROW_4);
+    }
+
+    private static RowStreamAccumulator<List<RowResult<Value>>> accumulator(
+            String endRow, ColumnSelection columnSelection, int maxRows) {
+        GetRangeQuerySpec.GetRangeQueryParameters parameters = ImmutableGetRangeQueryParameters.builder()
+                .startRowInclusive(PtBytes.EMPTY_BYTE_ARRAY)
+                .endRowExclusive(PtBytes.toBytes(endRow))
+                .columnSelection(columnSelection)
+                .maxRows(maxRows)
+                .humanReadableTimestamp(TIMESTAMP)
+                .build();
+        return new GetRangeQuerySpec(CQL_QUERY_CONTEXT, parameters).rowStreamAccumulator();
+    }
+
+    private static RowResult<Value> rowResult(String row, String column, long timestamp) {
+        return RowResult.create(
+                PtBytes.toBytes(row),
+                ImmutableSortedMap.<byte[], Value>orderedBy(UnsignedBytes.lexicographicalComparator())
+                        .put(PtBytes.toBytes(column), Value.create(CqlRows.valueAt(column, timestamp), timestamp))
+                        .build());
+    }
+
+    private static RowResult<Value> rowResult(
+            String row, String firstColumn, long firstTimestamp, String secondColumn, long secondTimestamp) {
+        return RowResult.create(
+                PtBytes.toBytes(row),
+                ImmutableSortedMap.<byte[], Value>orderedBy(UnsignedBytes.lexicographicalComparator())
+                        .put(PtBytes.toBytes(firstColumn), Value.create(
+                                CqlRows.valueAt(firstColumn, firstTimestamp), firstTimestamp))
+                        .put(PtBytes.toBytes(secondColumn), Value.create(
+                                CqlRows.valueAt(secondColumn, secondTimestamp), secondTimestamp))
+                        .build());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.async.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.driver.core.Row;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class GetRowColumnRangeQuerySpecTest {
+    private static final String ROW = "row";
+    private static final long TIMESTAMP = 20L;
+    private static final CqlQueryContext CQL_QUERY_CONTEXT = ImmutableCqlQueryContext.builder()
+            .keyspace("test")
+            .tableReference(TableReference.create(Namespace.DEFAULT_NAMESPACE, "foo"))
+            .build();
+
+    private final CqlRows rows = new CqlRows()
+            .add(ROW, "a", 5L)
+            .add(ROW, "a", 10L)
+            .add(ROW, "a", 25L)
+            .add(ROW, "b", 30L)
+            .add(ROW, "c", 1L)
+            .add(ROW, "d", 7L)
+            .add(ROW, "e", 3L);
+
+    @Test
+    public void readsLatestVisibleVersionOfEachColumn() {
+        RowStreamAccumulator<List<Map.Entry<Cell, Value>>> accumulator = accumulator("", 100);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result())
+                .containsExactly(entry("a", 10L), entry("c", 1L), entry("d", 7L), entry("e", 3L));
+        assertThat(accumulator.isDone()).isFalse();
+    }
+
+    @Test
+    public void stopsAtEndOfColumnRange() {
+        RowStreamAccumulator<List<Map.Entry<Cell, Value>>> accumulator = accumulator("d", 100);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result()).containsExactly(entry("a", 10L), entry("c", 1L));
+        assertThat(accumulator.isDone()).isTrue();
+    }
+
+    @Test
+    public void stopsOnceMaxCellsHaveBeenRead() {
+        RowStreamAccumulator<List<Map.Entry<Cell, Value>>> accumulator = accumulator("", 2);
+
+        accumulator.accumulateRowStream(rows.all().stream());
+
+        assertThat(accumulator.result()).containsExactly(entry("a", 10L), entry("c", 1L));
+        assertThat(accumulator.isDone()).isTrue();
+    }
+
+    @Test
+    public void versionsOfOneColumnMaySpanPages() {
+        RowStreamAccumulator<List<Map.Entry<Cell, Value>>> accumulator = accumulator("", 100);
+        List<Row> allRows = rows.all();
+
+        // the first page ends after the invisible version of column a
+        accumulator.accumulateRowStream(allRows.subList(0, 1).stream());
+        accumulator.accumulateRowStream(allRows.subList(1, 2).stream());
+        accumulator.accumulateRowStream(allRows.subList(2, allRows.size()).stream());
+
+        assertThat(accumulator.result())
+                .containsExactly(entry("a", 10L), entry("c", 1L), entry("d", 7L), entry("e", 3L));
+    }
+
+    private static RowStreamAccumulator<List<Map.Entry<Cell, Value>>> accumulator(String endColumn, int maxCells) {
+        GetRowColumnRangeQuerySpec.GetRowColumnRangeQueryParameters parameters =
+                ImmutableGetRowColumnRangeQueryParameters.builder()
+                        .row(PtBytes.toBytes(ROW))
+                        .startColumnInclusive(PtBytes.EMPTY_BYTE_ARRAY)
+                        .endColumnExclusive(PtBytes.toBytes(endColumn))
+                        .maxCells(maxCells)
+                        .humanReadableTimestamp(TIMESTAMP)
+                        .build();
+        return new GetRowColumnRangeQuerySpec(CQL_QUERY_CONTEXT, parameters).rowStreamAccumulator();
+    }
+
+    private static Map.Entry<Cell, Value> entry(String column, long timestamp) {
+        return Maps.immutableEntry(
+                Cell.create(PtBytes.toBytes(ROW), PtBytes.toBytes(column)),
+                Value.create(CqlRows.valueAt(column, timestamp), timestamp));
+    }
+}
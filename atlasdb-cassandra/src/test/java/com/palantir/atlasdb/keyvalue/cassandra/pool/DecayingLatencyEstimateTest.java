@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class DecayingLatencyEstimateTest {
+    private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final DecayingLatencyEstimate estimate = new DecayingLatencyEstimate(clock::get, DECAY_NANOS);
+
+    @Test
+    public void estimateIsZeroWithoutSamples() {
+        assertThat(estimate.getEstimateMicros()).isZero();
+    }
+
+    @Test
+    public void slowSampleReplacesEstimateImmediately() {
+        estimate.update(TimeUnit.MILLISECONDS.toNanos(1));
+        estimate.update(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(estimate.getEstimateMicros()).isEqualTo(TimeUnit.MILLISECONDS.toMicros(500));
+    }
+
+    @Test
+    public void fastSamplesBlendInGradually() {
+        estimate.update(TimeUnit.MILLISECONDS.toNanos(100));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        estimate.update(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(estimate.getEstimateMicros())
+                .isLessThan(TimeUnit.MILLISECONDS.toMicros(100))
+                .isGreaterThan(TimeUnit.MILLISECONDS.toMicros(90));
+    }
+
+    @Test
+    public void estimateDecaysWithoutNewSamples() {
+        estimate.update(TimeUnit.MILLISECONDS.toNanos(100));
+        long initialEstimate = estimate.getEstimateMicros();
+
+        clock.addAndGet(DECAY_NANOS);
+        assertThat(estimate.getEstimateMicros()).isLessThan(initialEstimate / 2);
+
+        clock.addAndGet(20 * DECAY_NANOS);
+        assertThat(estimate.getEstimateMicros()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.cassandra.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.cassandra.CassandraClientPoolingContainer;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class LatencyWeightedHostsTest {
+    private static final InetSocketAddress HOST_1 = new InetSocketAddress(1);
+    private static final InetSocketAddress HOST_2 = new InetSocketAddress(2);
+    private static final InetSocketAddress HOST_3 = new InetSocketAddress(3);
+
+    @Test
+    public void prefersFasterHostWithEqualLoad() {
+        assertThat(LatencyWeightedHosts.chooseBetween(
+                        entry(HOST_1, createMockClientPoolingContainer(5, 50_000)),
+                        entry(HOST_2, createMockClientPoolingContainer(5, 1_000))))
+                .isEqualTo(HOST_2);
+    }
+
+    @Test
+    public void prefersLessLoadedHostWithEqualLatency() {
+        assertThat(LatencyWeightedHosts.chooseBetween(
+                        entry(HOST_1, createMockClientPoolingContainer(2, 1_000)),
+                        entry(HOST_2, createMockClientPoolingContainer(10, 1_000))))
+                .isEqualTo(HOST_1);
+    }
+
+    @Test
+    public void prefersLessLoadedHostWithoutLatencySamples() {
+        assertThat(LatencyWeightedHosts.chooseBetween(
+                        entry(HOST_1, createMockClientPoolingContainer(3, 0)),
+                        entry(HOST_2, createMockClientPoolingContainer(0, 0))))
+                .isEqualTo(HOST_2);
+    }
+
+    @Test
+    public void returnsOnlyHostWhenThereIsOne() {
+        assertThat(LatencyWeightedHosts.getRandomHost(
+                        ImmutableMap.of(HOST_1, createMockClientPoolingContainer(100, 1_000_000))))
+                .isEqualTo(HOST_1);
+    }
+
+    @Test
+    public void neverPicksSlowestHostAmongThree() {
+        Map<InetSocketAddress, CassandraClientPoolingContainer> pools = ImmutableMap.of(
+                HOST_1, createMockClientPoolingContainer(1, 1_000),
+                HOST_2, createMockClientPoolingContainer(1, 2_000),
+                HOST_3, createMockClientPoolingContainer(1, 500_000));
+
+        IntStream.range(0, 1_000)
+                .mapToObj(unused -> LatencyWeightedHosts.getRandomHost(pools))
+                .forEach(host -> assertThat(host).isNotEqualTo(HOST_3));
+    }
+
+    @Test
+    public void throwsOnEmptyPools() {
+        assertThatThrownBy(() -> LatencyWeightedHosts.getRandomHost(ImmutableMap.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map.Entry<InetSocketAddress, CassandraClientPoolingContainer> entry(
+            InetSocketAddress host, CassandraClientPoolingContainer container) {
+        return Maps.immutableEntry(host, container);
+    }
+
+    private static CassandraClientPoolingContainer createMockClientPoolingContainer(
+            int openRequests, long latencyMicros) {
+        CassandraClientPoolingContainer mock = Mockito.mock(CassandraClientPoolingContainer.class);
+        Mockito.when(mock.getOpenRequests()).thenReturn(openRequests);
+        Mockito.when(mock.getLatencyEstimateMicros()).thenReturn(latencyMicros);
+        return mock;
+    }
+}
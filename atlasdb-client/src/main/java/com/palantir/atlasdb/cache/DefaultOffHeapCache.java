@@ -32,6 +32,7 @@ import com.palantir.common.streams.KeyedStream;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.tritium.metrics.registry.MetricName;
 import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -131,6 +132,22 @@ public final class DefaultOffHeapCache<K, V> implements OffHeapCache<K, V> {
         return value.map(v -> entryMapper.deserializeValue(serializedKey, v));
     }
 
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        if (keys.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        List<ByteString> serializedKeys =
+                keys.stream().distinct().map(entryMapper::serializeKey).collect(Collectors.toList());
+        Map<ByteString, ByteString> values = persistentStore.get(cacheDescriptor.get().handle(), serializedKeys);
+        cacheHit.mark(values.size());
+        cacheMiss.mark(serializedKeys.size() - values.size());
+        return KeyedStream.stream(values)
+                .map(entryMapper::deserializeValue)
+                .mapKeys(entryMapper::deserializeKey)
+                .collectToMap();
+    }
+
     private Meter getCacheMeter(boolean cacheOutcome) {
         return cacheOutcome ? cacheHit : cacheMiss;
     }
@@ -16,45 +16,51 @@
 package com.palantir.atlasdb.cache;
 
 import com.codahale.metrics.MetricRegistry;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Policy;
-import com.google.common.annotations.VisibleForTesting;
-import com.palantir.atlasdb.util.AtlasDbMetrics;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.LongSupplier;
 import javax.annotation.Nullable;
 
 public final class DefaultTimestampCache implements TimestampCache {
-    private final LongSupplier size;
+    private static final long NO_COMMIT_TIMESTAMP = Long.MIN_VALUE;
 
-    private final Cache<Long, Long> startToCommitTimestampCache;
-    private final Policy.Eviction<Long, Long> evictionPolicy;
+    private final LongSupplier size;
 
-    @VisibleForTesting
-    static Cache<Long, Long> createCache(long size) {
-        return Caffeine.newBuilder().maximumSize(size).recordStats().build();
-    }
+    private final LongLongClockCache startToCommitTimestampCache;
 
     public DefaultTimestampCache(MetricRegistry metricRegistry, LongSupplier size) {
         this.size = size;
-        startToCommitTimestampCache = createCache(size.getAsLong());
-        evictionPolicy = startToCommitTimestampCache.policy().eviction().get();
-        AtlasDbMetrics.registerCache(
-                metricRegistry,
-                startToCommitTimestampCache,
-                MetricRegistry.name(TimestampCache.class, "startToCommitTimestamp"));
+        startToCommitTimestampCache = LongLongClockCache.create(size.getAsLong());
+        startToCommitTimestampCache.registerMetrics(
+                metricRegistry, MetricRegistry.name(TimestampCache.class, "startToCommitTimestamp"));
     }
 
     @Override
     @Nullable
     public Long getCommitTimestampIfPresent(Long startTimestamp) {
         resizeIfNecessary();
-        return startToCommitTimestampCache.getIfPresent(startTimestamp);
+        long commitTimestamp = startToCommitTimestampCache.getOrDefault(startTimestamp, NO_COMMIT_TIMESTAMP);
+        return commitTimestamp == NO_COMMIT_TIMESTAMP ? null : commitTimestamp;
+    }
+
+    @Override
+    public Map<Long, Long> getCommitTimestampsIfPresent(Collection<Long> startTimestamps) {
+        resizeIfNecessary();
+        Map<Long, Long> result = new HashMap<>();
+        for (Long startTimestamp : startTimestamps) {
+            long commitTimestamp = startToCommitTimestampCache.getOrDefault(startTimestamp, NO_COMMIT_TIMESTAMP);
+            if (commitTimestamp != NO_COMMIT_TIMESTAMP) {
+                result.put(startTimestamp, commitTimestamp);
+            }
+        }
+        return result;
     }
 
     private void resizeIfNecessary() {
-        if (evictionPolicy.getMaximum() != size.getAsLong()) {
-            evictionPolicy.setMaximum(size.getAsLong());
+        long maximumSize = size.getAsLong();
+        if (startToCommitTimestampCache.getMaximumSize() != maximumSize) {
+            startToCommitTimestampCache.setMaximumSize(maximumSize);
         }
     }
 
@@ -65,7 +71,7 @@ public final class DefaultTimestampCache implements TimestampCache {
 
     @Override
     public void clear() {
-        startToCommitTimestampCache.invalidateAll();
+        startToCommitTimestampCache.clear();
     }
 
     public static TimestampCache createForTests() {
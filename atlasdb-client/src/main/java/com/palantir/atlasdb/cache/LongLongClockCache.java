@@ -0,0 +1,409 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.math.LongMath;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache from primitive longs to primitive longs, which does not allocate on reads or on writes to keys that
+ * are already present.
+ *
+ * Entries are stored in open-addressing tables with linear probing, split across a fixed number of independently
+ * locked segments. Reads are optimistic and do not block each other. When a segment is full, an entry is evicted
+ * using the CLOCK algorithm: every entry has a reference bit that is set when the entry is read or overwritten, and
+ * the clock hand evicts the first entry it finds whose bit is clear, clearing bits as it passes them. New entries
+ * start with the bit clear, so entries that are never read again are evicted before ones that are.
+ *
+ * Once the cache as a whole is full, an insert evicts from the segment it goes into; concurrent inserts into different
+ * segments may briefly take the cache a few entries over its maximum size. Tables start small and grow as entries are
+ * added, so memory for the maximum size is only allocated once the cache is that full. {@link Long#MIN_VALUE} is
+ * reserved and cannot be used as a key.
+ */
+public final class LongLongClockCache {
+    private static final Logger log = LoggerFactory.getLogger(LongLongClockCache.class);
+
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int SEGMENT_BITS = 4;
+    private static final int NUM_SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int INITIAL_TABLE_LENGTH = 16;
+    private static final int MAXIMUM_TABLE_LENGTH = 1 << 30;
+
+    private final Segment[] segments = new Segment[NUM_SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong size = new AtomicLong();
+
+    private volatile long maximumSize;
+
+    private LongLongClockCache(long maximumSize) {
+        this.maximumSize = maximumSize;
+        for (int i = 0; i < NUM_SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public static LongLongClockCache create(long maximumSize) {
+        Preconditions.checkArgument(
+                maximumSize > 0, "Maximum size must be positive", SafeArg.of("maximumSize", maximumSize));
+        return new LongLongClockCache(maximumSize);
+    }
+
+    /**
+     * Returns the value cached for the given key, or {@code defaultValue} if there is none. Callers should pick a
+     * default that is never cached as a value, if they need to distinguish between the two.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == EMPTY_KEY) {
+            misses.increment();
+            return defaultValue;
+        }
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash, defaultValue);
+    }
+
+    public void put(long key, long value) {
+        Preconditions.checkArgument(key != EMPTY_KEY, "Long.MIN_VALUE cannot be used as a key");
+        long hash = mix(key);
+        segmentFor(hash).put(key, hash, value);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Changes the maximum number of entries that this cache will hold, evicting entries if the cache is now over
+     * capacity.
+     */
+    public void setMaximumSize(long newMaximumSize) {
+        Preconditions.checkArgument(
+                newMaximumSize > 0, "Maximum size must be positive", SafeArg.of("maximumSize", newMaximumSize));
+        if (newMaximumSize == maximumSize) {
+            return;
+        }
+        maximumSize = newMaximumSize;
+        if (size.get() <= newMaximumSize) {
+            return;
+        }
+        int maxEntriesPerSegment = (int) Math.min(
+                LongMath.divide(newMaximumSize, NUM_SEGMENTS, RoundingMode.CEILING), Integer.MAX_VALUE);
+        for (Segment segment : segments) {
+            segment.shrinkTo(maxEntriesPerSegment);
+        }
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long estimatedSize() {
+        return size.get();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Registers gauges for this cache's statistics, following the naming used for Caffeine caches in
+     * {@link com.palantir.atlasdb.util.AtlasDbMetrics#registerCache}.
+     */
+    public void registerMetrics(MetricRegistry metricRegistry, String metricsPrefix) {
+        Set<String> existingMetrics = metricRegistry.getMetrics().keySet().stream()
+                .filter(name -> name.startsWith(metricsPrefix))
+                .collect(Collectors.toSet());
+        if (!existingMetrics.isEmpty()) {
+            log.info(
+                    "Not registering cache with prefix '{}' as metric registry already contains metrics: {}",
+                    SafeArg.of("metricsPrefix", metricsPrefix),
+                    SafeArg.of("existingMetrics", existingMetrics));
+            return;
+        }
+        metricRegistry.register(MetricRegistry.name(metricsPrefix, "hit", "count"), (Gauge<Long>) this::hitCount);
+        metricRegistry.register(MetricRegistry.name(metricsPrefix, "miss", "count"), (Gauge<Long>) this::missCount);
+        metricRegistry.register(
+                MetricRegistry.name(metricsPrefix, "eviction", "count"), (Gauge<Long>) this::evictionCount);
+        metricRegistry.register(MetricRegistry.name(metricsPrefix, "hit", "ratio"), (Gauge<Double>) this::hitRatio);
+        metricRegistry.register(
+                MetricRegistry.name(metricsPrefix, "estimated", "size"), (Gauge<Long>) this::estimatedSize);
+        metricRegistry.register(
+                MetricRegistry.name(metricsPrefix, "maximum", "size"), (Gauge<Long>) this::getMaximumSize);
+    }
+
+    private double hitRatio() {
+        long hitCount = hitCount();
+        long requestCount = hitCount + missCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    /**
+     * Smallest table length that can hold {@code entries} without exceeding the load limit.
+     */
+    private static int tableLengthFor(int entries) {
+        int length = INITIAL_TABLE_LENGTH;
+        while (loadLimit(length) < entries) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    /**
+     * Keeps tables at most three quarters full, so that probe sequences stay short.
+     */
+    private static int loadLimit(int tableLength) {
+        return tableLength - (tableLength >>> 2);
+    }
+
+    /**
+     * The murmur3 64-bit finalizer; timestamps are mostly sequential, so they need to be spread out before the high
+     * bits can pick a segment and the low bits a slot.
+     */
+    private static long mix(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final long[] values;
+        private final byte[] referenced;
+
+        private Table(int length) {
+            keys = new long[length];
+            values = new long[length];
+            referenced = new byte[length];
+            Arrays.fill(keys, EMPTY_KEY);
+        }
+
+        private int mask() {
+            return keys.length - 1;
+        }
+
+        /**
+         * Returns the slot holding {@code key}, or -1 if it is not present. The probe is bounded by the table length,
+         * so that an optimistic read racing with a writer always terminates.
+         */
+        private int find(long key, long hash) {
+            int mask = mask();
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long candidate = keys[slot];
+                if (candidate == key) {
+                    return slot;
+                }
+                if (candidate == EMPTY_KEY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int insert(long key, long hash, long value) {
+            int mask = mask();
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            referenced[slot] = 0;
+            return slot;
+        }
+
+        /**
+         * Removes the entry in {@code slot}, shifting later entries in its probe sequence back so that lookups do
+         * not need tombstones.
+         */
+        private void remove(int slot) {
+            int mask = mask();
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                long key = keys[next];
+                if (key == EMPTY_KEY) {
+                    break;
+                }
+                int home = (int) mix(key) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = key;
+                    values[hole] = values[next];
+                    referenced[hole] = referenced[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY_KEY;
+            referenced[hole] = 0;
+        }
+    }
+
+    private final class Segment {
+        private final StampedLock lock = new StampedLock();
+
+        // The table may be read optimistically, but it and the fields below are only modified under the write lock.
+        private volatile Table table = new Table(INITIAL_TABLE_LENGTH);
+        private int segmentSize = 0;
+        private int clockHand = 0;
+
+        private long get(long key, long hash, long defaultValue) {
+            long stamp = lock.tryOptimisticRead();
+            Table current = table;
+            int slot = current.find(key, hash);
+            long value = slot >= 0 ? current.values[slot] : defaultValue;
+
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    current = table;
+                    slot = current.find(key, hash);
+                    value = slot >= 0 ? current.values[slot] : defaultValue;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+
+            if (slot < 0) {
+                misses.increment();
+                return defaultValue;
+            }
+            // racy, but at worst this gives the wrong entry a second chance
+            current.referenced[slot] = 1;
+            hits.increment();
+            return value;
+        }
+
+        private void put(long key, long hash, long value) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = table.find(key, hash);
+                if (slot >= 0) {
+                    table.values[slot] = value;
+                    table.referenced[slot] = 1;
+                    return;
+                }
+
+                boolean tableAtMaximumSize =
+                        table.keys.length == MAXIMUM_TABLE_LENGTH && segmentSize >= loadLimit(MAXIMUM_TABLE_LENGTH);
+                if (segmentSize > 0 && (size.get() >= maximumSize || tableAtMaximumSize)) {
+                    evictOne();
+                } else if (segmentSize + 1 > loadLimit(table.keys.length)) {
+                    table = copyOf(table, table.keys.length << 1);
+                }
+                table.insert(key, hash, value);
+                segmentSize++;
+                size.incrementAndGet();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_TABLE_LENGTH);
+                size.addAndGet(-segmentSize);
+                segmentSize = 0;
+                clockHand = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void shrinkTo(int maxEntries) {
+            long stamp = lock.writeLock();
+            try {
+                while (segmentSize > maxEntries) {
+                    evictOne();
+                }
+                int tableLength = tableLengthFor(segmentSize);
+                if (table.keys.length > tableLength * 2) {
+                    table = copyOf(table, tableLength);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void evictOne() {
+            Table current = table;
+            int mask = current.mask();
+            while (true) {
+                int slot = clockHand;
+                clockHand = (slot + 1) & mask;
+                if (current.keys[slot] == EMPTY_KEY) {
+                    continue;
+                }
+                if (current.referenced[slot] != 0) {
+                    current.referenced[slot] = 0;
+                    continue;
+                }
+                current.remove(slot);
+                segmentSize--;
+                size.decrementAndGet();
+                evictions.increment();
+                return;
+            }
+        }
+
+        private Table copyOf(Table old, int newLength) {
+            Table copy = new Table(newLength);
+            for (int slot = 0; slot < old.keys.length; slot++) {
+                long key = old.keys[slot];
+                if (key != EMPTY_KEY) {
+                    int newSlot = copy.insert(key, mix(key), old.values[slot]);
+                    copy.referenced[newSlot] = old.referenced[slot];
+                }
+            }
+            clockHand = 0;
+            return copy;
+        }
+    }
+}
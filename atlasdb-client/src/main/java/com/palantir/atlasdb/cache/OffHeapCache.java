@@ -16,6 +16,8 @@
 
 package com.palantir.atlasdb.cache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface OffHeapCache<K, V> {
@@ -27,6 +29,14 @@ public interface OffHeapCache<K, V> {
      */
     Optional<V> get(K key);
 
+    /**
+     * Retrieves the values for the given {@code keys} in a single lookup against the underlying store.
+     *
+     * @param keys for which we want to get values
+     * @return map from keys to their associated values; keys whose entries are not available are omitted
+     */
+    Map<K, V> getAll(Collection<K> keys);
+
     /**
      * Caches entry pair.
      *
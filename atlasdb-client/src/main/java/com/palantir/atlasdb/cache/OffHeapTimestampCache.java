@@ -18,6 +18,8 @@ package com.palantir.atlasdb.cache;
 
 import com.palantir.atlasdb.persistent.api.PersistentStore;
 import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.util.Collection;
+import java.util.Map;
 import java.util.function.LongSupplier;
 import javax.annotation.Nullable;
 
@@ -52,4 +54,9 @@ public final class OffHeapTimestampCache implements TimestampCache {
     public Long getCommitTimestampIfPresent(Long startTimestamp) {
         return offHeapCache.get(startTimestamp).orElse(null);
     }
+
+    @Override
+    public Map<Long, Long> getCommitTimestampsIfPresent(Collection<Long> startTimestamps) {
+        return offHeapCache.getAll(startTimestamps);
+    }
 }
@@ -17,6 +17,9 @@
 package com.palantir.atlasdb.cache;
 
 import com.palantir.atlasdb.metrics.Timed;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 public interface TimestampCache {
@@ -43,4 +46,23 @@ public interface TimestampCache {
     @Nullable
     @Timed
     Long getCommitTimestampIfPresent(Long startTimestamp);
+
+    /**
+     * Batched version of {@link #getCommitTimestampIfPresent(Long)}. Implementations backed by a store with a batch
+     * read API should override this to resolve all start timestamps in a single lookup.
+     *
+     * @param startTimestamps transaction start timestamps
+     * @return map from start timestamp to commit timestamp, containing only the start timestamps present in cache
+     */
+    @Timed
+    default Map<Long, Long> getCommitTimestampsIfPresent(Collection<Long> startTimestamps) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Long startTimestamp : startTimestamps) {
+            Long commitTimestamp = getCommitTimestampIfPresent(startTimestamp);
+            if (commitTimestamp != null) {
+                result.put(startTimestamp, commitTimestamp);
+            }
+        }
+        return result;
+    }
 }
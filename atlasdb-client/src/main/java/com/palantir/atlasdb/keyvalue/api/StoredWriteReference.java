@@ -31,6 +31,8 @@ public interface StoredWriteReference extends Persistable {
                 return visitor.visitTableNameAsStringBinary(data);
             case 1:
                 return visitor.visitTableIdBinary(data);
+            case 2:
+                return visitor.visitCompactBatch(data);
             case '{':
                 return visitor.visitJson(data);
             default:
@@ -53,5 +55,11 @@ public interface StoredWriteReference extends Persistable {
         T visitTableNameAsStringBinary(byte[] ref);
 
         T visitTableIdBinary(byte[] ref);
+
+        /**
+         * Visits a reference holding several writes of the same transaction, encoded against a dictionary of table
+         * ids and with row and column names delta-encoded against the preceding write.
+         */
+        T visitCompactBatch(byte[] ref);
     }
 }
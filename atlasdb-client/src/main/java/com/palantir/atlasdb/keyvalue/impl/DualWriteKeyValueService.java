@@ -102,6 +102,12 @@ public class DualWriteKeyValueService implements KeyValueService {
         delegate2.putWithTimestamps(tableRef, values);
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        delegate1.bulkPutWithTimestamps(tableRef, values);
+        delegate2.bulkPutWithTimestamps(tableRef, values);
+    }
+
     @Override
     public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
         delegate1.putUnlessExists(tableRef, values);
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -49,6 +50,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -96,27 +98,34 @@ public final class KeyValueServices {
             int batchSize = requestWithHint.getBatchHint();
             final Iterator<RowResult<Value>> withLimit = Iterators.limit(range, batchSize);
             ImmutableList<RowResult<Value>> results = ImmutableList.copyOf(withLimit);
-            if (results.size() != batchSize) {
-                ret.put(request, SimpleTokenBackedResultsPage.create(request.getEndExclusive(), results, false));
-                return;
-            }
-            RowResult<Value> last = results.get(results.size() - 1);
-            byte[] lastRowName = last.getRowName();
-            if (RangeRequests.isTerminalRow(request.isReverse(), lastRowName)) {
-                ret.put(request, SimpleTokenBackedResultsPage.create(lastRowName, results, false));
-                return;
-            }
-            byte[] nextStartRow = RangeRequests.getNextStartRow(request.isReverse(), lastRowName);
-            if (Arrays.equals(request.getEndExclusive(), nextStartRow)) {
-                ret.put(request, SimpleTokenBackedResultsPage.create(nextStartRow, results, false));
-            } else {
-                ret.put(request, SimpleTokenBackedResultsPage.create(nextStartRow, results, true));
-            }
+            ret.put(request, createFirstPage(request, batchSize, results));
         } finally {
             range.close();
         }
     }
 
+    /**
+     * Creates the first page of a range from its first (at most) {@code batchSize} rows, as would be returned from
+     * {@link KeyValueService#getFirstBatchForRanges(TableReference, Iterable, long)}.
+     */
+    public static TokenBackedBasicResultsPage<RowResult<Value>, byte[]> createFirstPage(
+            RangeRequest request, int batchSize, List<RowResult<Value>> results) {
+        if (results.size() != batchSize) {
+            return SimpleTokenBackedResultsPage.create(request.getEndExclusive(), results, false);
+        }
+        RowResult<Value> last = results.get(results.size() - 1);
+        byte[] lastRowName = last.getRowName();
+        if (RangeRequests.isTerminalRow(request.isReverse(), lastRowName)) {
+            return SimpleTokenBackedResultsPage.create(lastRowName, results, false);
+        }
+        byte[] nextStartRow = RangeRequests.getNextStartRow(request.isReverse(), lastRowName);
+        if (Arrays.equals(request.getEndExclusive(), nextStartRow)) {
+            return SimpleTokenBackedResultsPage.create(nextStartRow, results, false);
+        } else {
+            return SimpleTokenBackedResultsPage.create(nextStartRow, results, true);
+        }
+    }
+
     @SuppressWarnings("checkstyle:LineLength")
     public static Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>
             getFirstBatchForRangesUsingGetRangeConcurrent(
@@ -239,6 +248,49 @@ public final class KeyValueServices {
                 return Futures.immediateFuture(keyValueService.get(tableRef, timestampByCell));
             }
 
+            @Override
+            public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+                    TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+                return Futures.immediateFuture(keyValueService.getRows(tableRef, rows, columnSelection, timestamp));
+            }
+
+            @Override
+            public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+                    TableReference tableRef,
+                    Iterable<byte[]> rows,
+                    BatchColumnRangeSelection batchColumnRangeSelection,
+                    long timestamp) {
+                return Futures.immediateFuture(
+                        keyValueService.getRowsColumnRange(tableRef, rows, batchColumnRangeSelection, timestamp));
+            }
+
+            @Override
+            public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+                    getFirstBatchForRangesAsync(
+                            TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+                return Futures.immediateFuture(
+                        keyValueService.getFirstBatchForRanges(tableRef, rangeRequests, timestamp));
+            }
+
+            @Override
+            public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+                keyValueService.put(tableRef, values, timestamp);
+                return Futures.immediateFuture(null);
+            }
+
+            @Override
+            public ListenableFuture<Void> multiPutAsync(
+                    Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+                keyValueService.multiPut(valuesByTable, timestamp);
+                return Futures.immediateFuture(null);
+            }
+
+            @Override
+            public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+                keyValueService.delete(tableRef, keys);
+                return Futures.immediateFuture(null);
+            }
+
             @Override
             public void close() {
                 // NoOp
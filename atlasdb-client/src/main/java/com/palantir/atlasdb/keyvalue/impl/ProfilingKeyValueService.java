@@ -380,6 +380,13 @@ public final class ProfilingKeyValueService implements KeyValueService {
                 logCellsAndSize("putWithTimestamps", tableRef, values.keySet().size(), byteSize(values)));
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        maybeLog(
+                () -> delegate.bulkPutWithTimestamps(tableRef, values),
+                logCellsAndSize("bulkPutWithTimestamps", tableRef, values.keySet().size(), byteSize(values)));
+    }
+
     @Override
     public void close() {
         maybeLog(delegate::close, logTime("close"));
@@ -520,4 +527,75 @@ public final class ProfilingKeyValueService implements KeyValueService {
                         LoggingArgs.durationMillis(stopwatch)),
                 logCellResultSize(4L));
     }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        long startTime = System.currentTimeMillis();
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.getRowsAsync(tableRef, rows, columnSelection, timestamp),
+                (logger, stopwatch) -> logger.log(
+                        "Call to KVS.getRowsAsync at time {}, on table {} requesting {} columns from {} rows took {} "
+                                + "ms ",
+                        LoggingArgs.startTimeMillis(startTime),
+                        LoggingArgs.tableRef(tableRef),
+                        LoggingArgs.columnCount(columnSelection),
+                        LoggingArgs.rowCount(Iterables.size(rows)),
+                        LoggingArgs.durationMillis(stopwatch)),
+                logCellResultSize(0L));
+    }
+
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        long startTime = System.currentTimeMillis();
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.getRowsColumnRangeAsync(tableRef, rows, batchColumnRangeSelection, timestamp),
+                (logger, stopwatch) -> logger.log(
+                        "Call to KVS.getRowsColumnRangeAsync at time {}, on table {} for {} rows with range {} "
+                                + "took {} ms.",
+                        LoggingArgs.startTimeMillis(startTime),
+                        LoggingArgs.tableRef(tableRef),
+                        LoggingArgs.rowCount(Iterables.size(rows)),
+                        LoggingArgs.batchColumnRangeSelection(batchColumnRangeSelection),
+                        LoggingArgs.durationMillis(stopwatch)),
+                (logger, result) -> {});
+    }
+
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.getFirstBatchForRangesAsync(tableRef, rangeRequests, timestamp),
+                logTimeAndTable("getFirstBatchForRangesAsync", tableRef),
+                (logger, result) -> {});
+    }
+
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.putAsync(tableRef, values, timestamp),
+                logCellsAndSize("putAsync", tableRef, values.keySet().size(), byteSize(values)),
+                (logger, result) -> {});
+    }
+
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.multiPutAsync(valuesByTable, timestamp),
+                logTimeAndTableCount("multiPutAsync", valuesByTable.keySet().size()),
+                (logger, result) -> {});
+    }
+
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.deleteAsync(tableRef, keys),
+                logCellsAndSize("deleteAsync", tableRef, keys.keySet().size(), byteSize(keys)),
+                (logger, result) -> {});
+    }
 }
@@ -17,6 +17,9 @@ package com.palantir.atlasdb.keyvalue.impl;
 
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
 import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
@@ -183,6 +186,29 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
         return r;
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        long start = System.currentTimeMillis();
+        return Futures.transform(
+                super.getRowsAsync(tableRef, rows, columnSelection, timestamp),
+                r -> {
+                    long finish = System.currentTimeMillis();
+
+                    // Update stats only after successful get.
+                    TableStats s = getTableStats(tableRef);
+                    for (byte[] row : rows) {
+                        s.totalGetCellBytes.addAndGet(row.length);
+                    }
+                    s.totalGetMillis.addAndGet(finish - start);
+                    s.totalGetCalls.incrementAndGet();
+                    updateGetStats(s, r);
+
+                    return r;
+                },
+                MoreExecutors.directExecutor());
+    }
+
     @Override
     public ClosableIterator<RowResult<Value>> getRange(
             final TableReference tableRef, RangeRequest range, long timestamp) {
@@ -223,19 +249,25 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
 
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
-        TableStats s = getTableStats(tableRef);
-
         long start = System.currentTimeMillis();
         super.put(tableRef, values, timestamp);
         long finish = System.currentTimeMillis();
-        s.totalPutMillis.addAndGet(finish - start);
-        s.totalPutCalls.incrementAndGet();
 
         // Only update stats after put was successful.
-        s.totalPutCells.addAndGet(values.size());
-        for (Map.Entry<Cell, byte[]> e : values.entrySet()) {
-            incrementPutBytes(s, e.getKey(), e.getValue());
-        }
+        updatePutStats(tableRef, values, finish - start);
+    }
+
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        long start = System.currentTimeMillis();
+        return Futures.transform(
+                super.putAsync(tableRef, values, timestamp),
+                result -> {
+                    // Only update stats after put was successful.
+                    updatePutStats(tableRef, values, System.currentTimeMillis() - start);
+                    return result;
+                },
+                MoreExecutors.directExecutor());
     }
 
     @Override
@@ -243,32 +275,60 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
         long start = System.currentTimeMillis();
         super.multiPut(valuesByTable, timestamp);
         long finish = System.currentTimeMillis();
-        for (Map.Entry<TableReference, ? extends Map<Cell, byte[]>> entry : valuesByTable.entrySet()) {
-            TableReference tableRef = entry.getKey();
-            Map<Cell, byte[]> values = entry.getValue();
-            TableStats s = getTableStats(tableRef);
-            s.totalPutMillis.addAndGet(finish - start);
-            s.totalPutCalls.incrementAndGet();
-
-            // Only update stats after put was successful.
-            s.totalPutCells.addAndGet(values.size());
-            for (Map.Entry<Cell, byte[]> e : values.entrySet()) {
-                incrementPutBytes(s, e.getKey(), e.getValue());
-            }
-        }
+
+        // Only update stats after put was successful.
+        valuesByTable.forEach((tableRef, values) -> updatePutStats(tableRef, values, finish - start));
     }
 
     @Override
-    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        long start = System.currentTimeMillis();
+        return Futures.transform(
+                super.multiPutAsync(valuesByTable, timestamp),
+                result -> {
+                    long finish = System.currentTimeMillis();
+                    // Only update stats after put was successful.
+                    valuesByTable.forEach((tableRef, values) -> updatePutStats(tableRef, values, finish - start));
+                    return result;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private void updatePutStats(TableReference tableRef, Map<Cell, byte[]> values, long durationMillis) {
         TableStats s = getTableStats(tableRef);
+        s.totalPutMillis.addAndGet(durationMillis);
+        s.totalPutCalls.incrementAndGet();
+        s.totalPutCells.addAndGet(values.size());
+        for (Map.Entry<Cell, byte[]> e : values.entrySet()) {
+            incrementPutBytes(s, e.getKey(), e.getValue());
+        }
+    }
 
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
         long start = System.currentTimeMillis();
         super.putWithTimestamps(tableRef, values);
         long finish = System.currentTimeMillis();
-        s.totalPutMillis.addAndGet(finish - start);
-        s.totalPutCalls.incrementAndGet();
 
         // Only update stats after put was successful.
+        updatePutWithTimestampsStats(tableRef, values, finish - start);
+    }
+
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        long start = System.currentTimeMillis();
+        super.bulkPutWithTimestamps(tableRef, values);
+        long finish = System.currentTimeMillis();
+
+        // Only update stats after put was successful.
+        updatePutWithTimestampsStats(tableRef, values, finish - start);
+    }
+
+    private void updatePutWithTimestampsStats(TableReference tableRef, Multimap<Cell, Value> values, long putMillis) {
+        TableStats s = getTableStats(tableRef);
+        s.totalPutMillis.addAndGet(putMillis);
+        s.totalPutCalls.incrementAndGet();
         s.totalPutCells.addAndGet(values.size());
         for (Map.Entry<Cell, Value> e : values.entries()) {
             incrementPutBytes(s, e.getKey(), e.getValue().getContents());
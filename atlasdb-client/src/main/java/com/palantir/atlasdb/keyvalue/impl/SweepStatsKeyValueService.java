@@ -26,6 +26,9 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ClusterAvailabilityStatus;
@@ -120,6 +123,21 @@ public final class SweepStatsKeyValueService extends ForwardingKeyValueService {
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
         delegate().put(tableRef, values, timestamp);
+        recordPut(tableRef, values);
+    }
+
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        return Futures.transform(
+                delegate().putAsync(tableRef, values, timestamp),
+                result -> {
+                    recordPut(tableRef, values);
+                    return result;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private void recordPut(TableReference tableRef, Map<Cell, byte[]> values) {
         if (isEnabled.get()) {
             writesByTable.add(tableRef, values.size());
             recordModifications(values.size());
@@ -132,6 +150,22 @@ public final class SweepStatsKeyValueService extends ForwardingKeyValueService {
     @Override
     public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
         delegate().multiPut(valuesByTable, timestamp);
+        recordMultiPut(valuesByTable);
+    }
+
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        return Futures.transform(
+                delegate().multiPutAsync(valuesByTable, timestamp),
+                result -> {
+                    recordMultiPut(valuesByTable);
+                    return result;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private void recordMultiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable) {
         if (isEnabled.get()) {
             int newWrites = 0;
             long writesSize = 0;
@@ -150,6 +184,16 @@ public final class SweepStatsKeyValueService extends ForwardingKeyValueService {
     @Override
     public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues) {
         delegate().putWithTimestamps(tableRef, cellValues);
+        recordPutWithTimestamps(tableRef, cellValues);
+    }
+
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues) {
+        delegate().bulkPutWithTimestamps(tableRef, cellValues);
+        recordPutWithTimestamps(tableRef, cellValues);
+    }
+
+    private void recordPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues) {
         if (isEnabled.get()) {
             writesByTable.add(tableRef, cellValues.size());
             recordModifications(cellValues.size());
@@ -404,6 +404,15 @@ public final class TracingKeyValueService extends ForwardingObject implements Ke
         }
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        //noinspection unused - try-with-resources closes trace
+        try (CloseableTrace trace = startLocalTrace(
+                "bulkPutWithTimestamps({}, {} values)", LoggingArgs.safeTableOrPlaceholder(tableRef), values.size())) {
+            delegate().bulkPutWithTimestamps(tableRef, values);
+        }
+    }
+
     @Override
     public void truncateTable(TableReference tableRef) {
         //noinspection unused - try-with-resources closes trace
@@ -436,6 +445,80 @@ public final class TracingKeyValueService extends ForwardingObject implements Ke
         return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        DetachedSpan detachedSpan = DetachedSpan.start(String.format(
+                "getRowsAsync(%s, %s rows, ts %s)",
+                LoggingArgs.safeTableOrPlaceholder(tableRef),
+                Iterables.size(rows),
+                timestamp));
+
+        ListenableFuture<Map<Cell, Value>> future =
+                delegate().getRowsAsync(tableRef, rows, columnSelection, timestamp);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        DetachedSpan detachedSpan = DetachedSpan.start(String.format(
+                "getRowsColumnRangeAsync(%s, %s rows, ts %s)",
+                LoggingArgs.safeTableOrPlaceholder(tableRef),
+                Iterables.size(rows),
+                timestamp));
+
+        ListenableFuture<Map<byte[], RowColumnRangeIterator>> future =
+                delegate().getRowsColumnRangeAsync(tableRef, rows, batchColumnRangeSelection, timestamp);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        DetachedSpan detachedSpan = DetachedSpan.start(String.format(
+                "getFirstBatchForRangesAsync(%s, %s ranges, ts %s)",
+                LoggingArgs.safeTableOrPlaceholder(tableRef),
+                Iterables.size(rangeRequests),
+                timestamp));
+
+        ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>> future =
+                delegate().getFirstBatchForRangesAsync(tableRef, rangeRequests, timestamp);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        DetachedSpan detachedSpan = DetachedSpan.start(String.format(
+                "putAsync(%s, %s values, ts %s)",
+                LoggingArgs.safeTableOrPlaceholder(tableRef), values.size(), timestamp));
+
+        ListenableFuture<Void> future = delegate().putAsync(tableRef, values, timestamp);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        DetachedSpan detachedSpan = DetachedSpan.start(
+                String.format("multiPutAsync(%s values, ts %s)", valuesByTable.size(), timestamp));
+
+        ListenableFuture<Void> future = delegate().multiPutAsync(valuesByTable, timestamp);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        DetachedSpan detachedSpan = DetachedSpan.start(String.format(
+                "deleteAsync(%s, %s keys)", LoggingArgs.safeTableOrPlaceholder(tableRef), keys.size()));
+
+        ListenableFuture<Void> future = delegate().deleteAsync(tableRef, keys);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
     private static CloseableTrace startLocalTrace(CharSequence operationFormat, Object... formatArguments) {
         return CloseableTrace.startLocalTrace(SERVICE_NAME, operationFormat, formatArguments);
     }
@@ -22,6 +22,8 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ClusterAvailabilityStatus;
@@ -121,6 +123,14 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         delegate.delete(tableRef, keys);
     }
 
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        if (keys.isEmpty()) {
+            return Futures.immediateFuture(null);
+        }
+        return delegate.deleteAsync(tableRef, keys);
+    }
+
     @Override
     public void deleteRange(TableReference tableRef, RangeRequest rangeRequest) {
         if (!rangeRequest.getColumnNames().isEmpty()) {
@@ -166,6 +176,15 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         return delegate.getFirstBatchForRanges(tableRef, rangeRequests, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        if (Iterables.isEmpty(rangeRequests)) {
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+        return delegate.getFirstBatchForRangesAsync(tableRef, rangeRequests, timestamp);
+    }
+
     @Override
     public Map<Cell, Long> getLatestTimestamps(TableReference tableRef, Map<Cell, Long> timestampByCell) {
         if (timestampByCell.isEmpty()) {
@@ -183,6 +202,15 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         return delegate.getRows(tableRef, rows, columnSelection, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        if (Iterables.isEmpty(rows) || columnSelection.noColumnsSelected()) {
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+        return delegate.getRowsAsync(tableRef, rows, columnSelection, timestamp);
+    }
+
     @Override
     public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp)
             throws KeyAlreadyExistsException {
@@ -198,6 +226,20 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         delegate.multiPut(valuesByTable, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        if (valuesByTable.isEmpty()) {
+            return Futures.immediateFuture(null);
+        }
+        if (valuesByTable.size() == 1) {
+            Map.Entry<TableReference, ? extends Map<Cell, byte[]>> entry =
+                    Iterables.getOnlyElement(valuesByTable.entrySet());
+            return putAsync(entry.getKey(), entry.getValue(), timestamp);
+        }
+        return delegate.multiPutAsync(valuesByTable, timestamp);
+    }
+
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp)
             throws KeyAlreadyExistsException {
@@ -210,6 +252,17 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         delegate.put(tableRef, values, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        Preconditions.checkArgument(timestamp != Long.MAX_VALUE);
+        Preconditions.checkArgument(timestamp >= 0);
+        Preconditions.checkArgument(!tableRef.equals(TransactionConstants.TRANSACTION_TABLE), TRANSACTION_ERROR);
+        if (values.isEmpty()) {
+            return Futures.immediateFuture(null);
+        }
+        return delegate.putAsync(tableRef, values, timestamp);
+    }
+
     @Override
     public void putMetadataForTable(TableReference tableRef, byte[] tableMetadata) {
         sanityCheckTableMetadata(tableRef, tableMetadata);
@@ -278,6 +331,20 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         delegate.putWithTimestamps(tableRef, cellValues);
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues)
+            throws KeyAlreadyExistsException {
+        if (cellValues.isEmpty()) {
+            return;
+        }
+        Preconditions.checkArgument(!tableRef.equals(TransactionConstants.TRANSACTION_TABLE), TRANSACTION_ERROR);
+        for (Value value : cellValues.values()) {
+            Preconditions.checkArgument(value.getTimestamp() != Long.MAX_VALUE);
+            Preconditions.checkArgument(value.getTimestamp() >= 0);
+        }
+        delegate.bulkPutWithTimestamps(tableRef, cellValues);
+    }
+
     @Override
     public void truncateTables(Set<TableReference> tableRefs) {
         if (tableRefs.isEmpty()) {
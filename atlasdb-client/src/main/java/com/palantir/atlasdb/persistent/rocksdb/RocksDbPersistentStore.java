@@ -149,7 +149,10 @@ public final class RocksDbPersistentStore implements PersistentStore {
     private List<ByteString> multiGetValueByteStrings(ColumnFamilyHandle columnFamilyHandle, List<ByteString> keys) {
         List<byte[]> values = multiGetValueBytes(
                 columnFamilyHandle, keys.stream().map(ByteString::toByteArray).collect(Collectors.toList()));
-        return values.stream().filter(Objects::nonNull).map(ByteString::of).collect(Collectors.toList());
+        // absent keys stay as nulls so that the values line up with the requested keys
+        return values.stream()
+                .map(value -> value == null ? null : ByteString.of(value))
+                .collect(Collectors.toList());
     }
 
     private List<byte[]> multiGetValueBytes(ColumnFamilyHandle columnFamilyHandle, List<byte[]> keys) {
@@ -0,0 +1,206 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public final class LongLongClockCacheTests {
+    private static final long ABSENT = -17L;
+
+    @Test
+    public void returnsPutValues() {
+        LongLongClockCache cache = LongLongClockCache.create(100);
+        cache.put(1L, 2L);
+        cache.put(3L, -1L);
+
+        assertThat(cache.getOrDefault(1L, ABSENT)).isEqualTo(2L);
+        assertThat(cache.getOrDefault(3L, ABSENT)).isEqualTo(-1L);
+        assertThat(cache.getOrDefault(5L, ABSENT)).isEqualTo(ABSENT);
+    }
+
+    @Test
+    public void overwritesExistingValues() {
+        LongLongClockCache cache = LongLongClockCache.create(100);
+        cache.put(1L, 2L);
+        cache.put(1L, 3L);
+
+        assertThat(cache.getOrDefault(1L, ABSENT)).isEqualTo(3L);
+        assertThat(cache.estimatedSize()).isEqualTo(1L);
+    }
+
+    @Test
+    public void growsBeyondInitialTableSize() {
+        LongLongClockCache cache = LongLongClockCache.create(100_000);
+        for (long i = 0; i < 50_000; i++) {
+            cache.put(i, i * 2);
+        }
+
+        assertThat(cache.estimatedSize()).isEqualTo(50_000L);
+        assertThat(cache.evictionCount()).isZero();
+        for (long i = 0; i < 50_000; i++) {
+            assertThat(cache.getOrDefault(i, ABSENT)).isEqualTo(i * 2);
+        }
+    }
+
+    @Test
+    public void evictsToStayWithinMaximumSize() {
+        LongLongClockCache cache = LongLongClockCache.create(1_000);
+        for (long i = 0; i < 100_000; i++) {
+            cache.put(i, i + 1);
+        }
+
+        assertThat(cache.estimatedSize()).isEqualTo(1_000L);
+        assertThat(cache.evictionCount()).isEqualTo(99_000L);
+    }
+
+    @Test
+    public void doesNotEvictBeforeMaximumSizeIsReached() {
+        LongLongClockCache cache = LongLongClockCache.create(1_000);
+        for (long i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+        }
+
+        assertThat(cache.estimatedSize()).isEqualTo(1_000L);
+        assertThat(cache.evictionCount()).isZero();
+    }
+
+    @Test
+    public void evictionDoesNotLoseOrCorruptRemainingEntries() {
+        LongLongClockCache cache = LongLongClockCache.create(1_000);
+        for (long i = 0; i < 100_000; i++) {
+            cache.put(i, i + 1);
+        }
+
+        long found = 0;
+        for (long i = 0; i < 100_000; i++) {
+            long value = cache.getOrDefault(i, ABSENT);
+            if (value != ABSENT) {
+                assertThat(value).isEqualTo(i + 1);
+                found++;
+            }
+        }
+        assertThat(found).isEqualTo(cache.estimatedSize());
+    }
+
+    @Test
+    public void frequentlyReadEntriesSurviveEviction() {
+        LongLongClockCache cache = LongLongClockCache.create(1_600);
+        long hot = 0L;
+        for (long i = 0; i < 1_600; i++) {
+            cache.put(i, i);
+        }
+
+        for (long i = 1_600; i < 16_000; i++) {
+            assertThat(cache.getOrDefault(hot, ABSENT)).isEqualTo(hot);
+            cache.put(i, i);
+        }
+
+        assertThat(cache.getOrDefault(hot, ABSENT)).isEqualTo(hot);
+        assertThat(cache.evictionCount()).isGreaterThan(0L);
+    }
+
+    @Test
+    public void shrinkingEvictsEntries() {
+        LongLongClockCache cache = LongLongClockCache.create(10_000);
+        for (long i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+        }
+
+        cache.setMaximumSize(160);
+
+        assertThat(cache.getMaximumSize()).isEqualTo(160L);
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(160L);
+        long found = IntStream.range(0, 10_000)
+                .filter(i -> cache.getOrDefault(i, ABSENT) == i)
+                .count();
+        assertThat(found).isEqualTo(cache.estimatedSize());
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        LongLongClockCache cache = LongLongClockCache.create(100);
+        cache.put(1L, 2L);
+        cache.clear();
+
+        assertThat(cache.getOrDefault(1L, ABSENT)).isEqualTo(ABSENT);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    public void reservedKeyIsNeverCached() {
+        LongLongClockCache cache = LongLongClockCache.create(100);
+
+        assertThatThrownBy(() -> cache.put(Long.MIN_VALUE, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.getOrDefault(Long.MIN_VALUE, ABSENT)).isEqualTo(ABSENT);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void registersHitAndMissMetrics() {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        LongLongClockCache cache = LongLongClockCache.create(100);
+        cache.registerMetrics(metricRegistry, "test");
+        cache.put(1L, 2L);
+        cache.getOrDefault(1L, ABSENT);
+        cache.getOrDefault(2L, ABSENT);
+
+        assertThat(((Gauge<Long>) metricRegistry.getGauges().get("test.hit.count")).getValue())
+                .isEqualTo(1L);
+        assertThat(((Gauge<Long>) metricRegistry.getGauges().get("test.miss.count")).getValue())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    public void concurrentReadsAndWritesSeeOnlyWrittenValues() throws Exception {
+        LongLongClockCache cache = LongLongClockCache.create(10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        for (long i = 0; i < 100_000; i++) {
+                            long key = (i * 31 + thread) % 20_000;
+                            if (i % 2 == 0) {
+                                cache.put(key, key * 3);
+                            } else {
+                                long value = cache.getOrDefault(key, ABSENT);
+                                assertThat(value).isIn(ABSENT, key * 3);
+                            }
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // concurrent inserts into different segments may each take the last free space
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(10_016L);
+    }
+}
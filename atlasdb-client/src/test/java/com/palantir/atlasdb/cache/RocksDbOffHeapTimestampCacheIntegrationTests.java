@@ -18,6 +18,8 @@ package com.palantir.atlasdb.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.palantir.atlasdb.persistent.api.PersistentStore;
 import com.palantir.atlasdb.persistent.rocksdb.RocksDbPersistentStore;
 import com.palantir.atlasdb.util.MetricsManagers;
@@ -68,6 +70,23 @@ public final class RocksDbOffHeapTimestampCacheIntegrationTests {
         assertThat(offHeapTimestampCache.getCommitTimestampIfPresent(1L)).isNull();
     }
 
+    @Test
+    public void batchedLookupReturnsOnlyCachedEntries() {
+        offHeapTimestampCache.putAlreadyCommittedTransaction(1L, 3L);
+        offHeapTimestampCache.putAlreadyCommittedTransaction(5L, 6L);
+
+        assertThat(offHeapTimestampCache.getCommitTimestampsIfPresent(ImmutableList.of(1L, 2L, 5L)))
+                .containsExactlyInAnyOrderEntriesOf(ImmutableMap.of(1L, 3L, 5L, 6L));
+    }
+
+    @Test
+    public void batchedLookupOfNothingReturnsNothing() {
+        offHeapTimestampCache.putAlreadyCommittedTransaction(1L, 3L);
+
+        assertThat(offHeapTimestampCache.getCommitTimestampsIfPresent(ImmutableList.of())).isEmpty();
+        assertThat(offHeapTimestampCache.getCommitTimestampsIfPresent(ImmutableList.of(2L, 4L))).isEmpty();
+    }
+
     @Test
     public void cacheNukedWhenSizeLimitExceeded() {
         offHeapTimestampCache.putAlreadyCommittedTransaction(1L, 3L);
@@ -125,4 +125,12 @@ public final class RocksDbPersistentStoreTests {
                         KEY, VALUE,
                         KEY2, VALUE2));
     }
+
+    @Test
+    public void testMultiGetWithMissingKeysInterleaved() {
+        persistentStore.put(defaultNamespace, KEY2, VALUE2);
+
+        assertThat(persistentStore.get(defaultNamespace, ImmutableList.of(KEY, KEY2, ByteString.encodeUtf8("bla"))))
+                .containsExactlyInAnyOrderEntriesOf(ImmutableMap.of(KEY2, VALUE2));
+    }
 }
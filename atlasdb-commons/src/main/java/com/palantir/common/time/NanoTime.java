@@ -62,6 +62,14 @@ public abstract class NanoTime implements Comparable<NanoTime> {
         return create(time() + duration.toNanos());
     }
 
+    /**
+     * Returns the time elapsed from {@code start} to {@code end}, which is negative if {@code end} is before
+     * {@code start}.
+     */
+    public static Duration between(NanoTime start, NanoTime end) {
+        return Duration.ofNanos(nanosBetween(start, end));
+    }
+
     public boolean isBefore(NanoTime other) {
         return compareTo(other) < 0;
     }
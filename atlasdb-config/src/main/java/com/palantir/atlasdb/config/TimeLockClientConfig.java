@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import java.util.Optional;
 import org.immutables.value.Value;
@@ -56,9 +57,38 @@ public abstract class TimeLockClientConfig {
         return ServerListConfigs.namespaceUris(serversList(), getClientOrThrow());
     }
 
+    /**
+     * Number of transactions to start ahead of being requested, so that they can be handed out without a round trip
+     * to TimeLock. Zero, the default, disables prefetching.
+     *
+     * A prefetched transaction is guaranteed to see all writes committed through this client before it is handed out,
+     * but may not see writes committed by other clients up to {@link #transactionStartPrefetchTtlMillis()} before.
+     * Only enable this for services that tolerate this bounded staleness.
+     */
+    @Value.Default
+    public int transactionStartPrefetchSize() {
+        return 0;
+    }
+
+    /**
+     * Maximum age of a prefetched transaction when it is handed out; older prefetched transactions are discarded.
+     */
+    @Value.Default
+    public long transactionStartPrefetchTtlMillis() {
+        return 500;
+    }
+
     @Value.Check
     protected final void check() {
         Preconditions.checkArgument(
                 !client().isPresent() || !client().get().isEmpty(), "Timelock client string cannot be empty");
+        Preconditions.checkArgument(
+                transactionStartPrefetchSize() >= 0,
+                "Transaction start prefetch size cannot be negative",
+                SafeArg.of("transactionStartPrefetchSize", transactionStartPrefetchSize()));
+        Preconditions.checkArgument(
+                transactionStartPrefetchTtlMillis() > 0 && transactionStartPrefetchTtlMillis() <= 5_000,
+                "Transaction start prefetch time to live must be positive and at most 5 seconds",
+                SafeArg.of("transactionStartPrefetchTtlMillis", transactionStartPrefetchTtlMillis()));
     }
 }
@@ -32,6 +32,8 @@ import com.palantir.atlasdb.http.v2.ImmutableRemoteServiceConfiguration;
 import com.palantir.atlasdb.http.v2.RemoteServiceConfiguration;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockServiceBlocking;
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockServiceBlocking;
 import com.palantir.atlasdb.timelock.lock.watch.ConjureLockWatchingServiceBlocking;
 import com.palantir.atlasdb.util.AtlasDbMetrics;
 import com.palantir.conjure.java.api.config.service.UserAgent;
@@ -43,6 +45,7 @@ import com.palantir.lock.ConjureLockV1ServiceBlocking;
 import com.palantir.lock.LockRpcClient;
 import com.palantir.lock.client.ConjureTimelockServiceBlockingMetrics;
 import com.palantir.lock.client.DialogueAdaptingConjureTimelockService;
+import com.palantir.lock.client.DialogueAdaptingMultiClientConjureTimelockService;
 import com.palantir.lock.client.DialogueComposingLockRpcClient;
 import com.palantir.lock.v2.TimelockRpcClient;
 import com.palantir.refreshable.Refreshable;
@@ -155,6 +158,15 @@ public final class AtlasDbDialogueServiceProvider {
                 FastFailoverProxy.newProxyInstance(ConjureLockWatchingServiceBlocking.class, () -> blockingService));
     }
 
+    MultiClientConjureTimelockService getMultiClientConjureTimelockService() {
+        MultiClientConjureTimelockServiceBlocking blockingService =
+                dialogueClientFactory.get(MultiClientConjureTimelockServiceBlocking.class, TIMELOCK_SHORT_TIMEOUT);
+        MultiClientConjureTimelockServiceBlocking failoverService = FastFailoverProxy.newProxyInstance(
+                MultiClientConjureTimelockServiceBlocking.class, () -> blockingService);
+        return new DialogueAdaptingMultiClientConjureTimelockService(AtlasDbMetrics.instrumentWithTaggedMetrics(
+                taggedMetricRegistry, MultiClientConjureTimelockServiceBlocking.class, failoverService));
+    }
+
     private <T> T createDialogueProxyWithShortTimeout(Class<T> type) {
         return createDialogueProxy(type, dialogueClientFactory.getChannel(TIMELOCK_SHORT_TIMEOUT));
     }
@@ -147,9 +147,12 @@ import com.palantir.lock.LockServerOptions;
 import com.palantir.lock.LockService;
 import com.palantir.lock.NamespaceAgnosticLockRpcClient;
 import com.palantir.lock.SimpleTimeDuration;
+import com.palantir.lock.client.BatchingLockRefreshConjureTimelockService;
 import com.palantir.lock.client.LeaderElectionReportingTimelockService;
+import com.palantir.lock.client.LockRefreshBatcherProvider;
 import com.palantir.lock.client.LockRefreshingLockService;
 import com.palantir.lock.client.NamespacedConjureLockWatchingService;
+import com.palantir.lock.client.NamespacedConjureTimelockService;
 import com.palantir.lock.client.ProfilingTimelockService;
 import com.palantir.lock.client.RemoteLockServiceAdapter;
 import com.palantir.lock.client.RemoteTimelockServiceAdapter;
@@ -176,6 +179,7 @@ import com.palantir.timestamp.TimestampStoreInvalidator;
 import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
 import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
 import com.palantir.util.OptionalResolver;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -270,6 +274,11 @@ public abstract class TransactionManagers {
     // TODO(fdesouza): Remove this once PDS-95791 is resolved.
     abstract Optional<LockDiagnosticComponents> lockDiagnosticComponents();
 
+    /**
+     * @deprecated this option is ignored. Values read from tables covered by lock watches are cached by the
+     * {@link com.palantir.atlasdb.keyvalue.api.watch.LockWatchManager} once watches have been registered.
+     */
+    @Deprecated
     @Value.Default
     LockWatchingCache lockWatchingCache() {
         return NoOpLockWatchingCache.INSTANCE;
@@ -292,6 +301,15 @@ public abstract class TransactionManagers {
         return newMinimalDialogueFactory();
     }
 
+    /**
+     * If set, lock refreshes of a {@link com.palantir.atlasdb.transaction.api.TransactionManager} based on this
+     * configuration are batched with those of every other TransactionManager in the JVM given the same provider, and
+     * sent to TimeLock as a single request. All TransactionManagers sharing a provider must use the same TimeLock
+     * cluster, and that cluster must serve the multi-client refreshLocks endpoint. The provider is not closed when the
+     * TransactionManager is closed.
+     */
+    abstract Optional<LockRefreshBatcherProvider> lockRefreshBatcherProvider();
+
     public static ImmutableTransactionManagers.ConfigBuildStage builder() {
         return ImmutableTransactionManagers.builder();
     }
@@ -409,7 +427,8 @@ public abstract class TransactionManagers {
                 userAgent(),
                 lockDiagnosticComponents(),
                 reloadingFactory(),
-                timeLockFeedbackBackgroundTask);
+                timeLockFeedbackBackgroundTask,
+                lockRefreshBatcherProvider());
         adapter.setTimestampService(lockAndTimestampServices.managedTimestampService());
 
         KvsProfilingLogger.setSlowLogThresholdMillis(config().getKvsSlowLogThresholdMillis());
@@ -993,7 +1012,8 @@ public abstract class TransactionManagers {
             UserAgent userAgent,
             Optional<LockDiagnosticComponents> lockDiagnosticComponents,
             DialogueClients.ReloadingFactory reloadingFactory,
-            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask) {
+            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask,
+            Optional<LockRefreshBatcherProvider> lockRefreshBatcherProvider) {
         LockAndTimestampServices lockAndTimestampServices = createRawInstrumentedServices(
                 metricsManager,
                 config,
@@ -1005,7 +1025,8 @@ public abstract class TransactionManagers {
                 userAgent,
                 lockDiagnosticComponents,
                 reloadingFactory,
-                timeLockFeedbackBackgroundTask);
+                timeLockFeedbackBackgroundTask,
+                lockRefreshBatcherProvider);
         return withMetrics(
                 metricsManager, withCorroboratingTimestampService(withRefreshingLockService(lockAndTimestampServices)));
     }
@@ -1061,7 +1082,8 @@ public abstract class TransactionManagers {
             UserAgent userAgent,
             Optional<LockDiagnosticComponents> lockDiagnosticComponents,
             DialogueClients.ReloadingFactory reloadingFactory,
-            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask) {
+            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask,
+            Optional<LockRefreshBatcherProvider> lockRefreshBatcherProvider) {
         AtlasDbRuntimeConfig initialRuntimeConfig = runtimeConfig.get();
         assertNoSpuriousTimeLockBlockInRuntimeConfig(config, initialRuntimeConfig);
         if (config.leader().isPresent()) {
@@ -1077,7 +1099,8 @@ public abstract class TransactionManagers {
                     userAgent,
                     lockDiagnosticComponents,
                     reloadingFactory,
-                    timeLockFeedbackBackgroundTask);
+                    timeLockFeedbackBackgroundTask,
+                    lockRefreshBatcherProvider);
         } else {
             return createRawEmbeddedServices(metricsManager, env, lock, time);
         }
@@ -1109,20 +1132,25 @@ public abstract class TransactionManagers {
             UserAgent userAgent,
             Optional<LockDiagnosticComponents> lockDiagnosticComponents,
             DialogueClients.ReloadingFactory reloadingFactory,
-            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask) {
+            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask,
+            Optional<LockRefreshBatcherProvider> lockRefreshBatcherProvider) {
         Refreshable<ServerListConfig> serverListConfigSupplier =
                 getServerListConfigSupplierForTimeLock(config, runtimeConfig);
 
         String timelockNamespace =
                 OptionalResolver.resolve(config.timelock().flatMap(TimeLockClientConfig::client), config.namespace());
+        TimeLockClientConfig timeLockClientConfig = config.timelock()
+                .orElseGet(() -> ImmutableTimeLockClientConfig.builder().build());
         LockAndTimestampServices lockAndTimestampServices = getLockAndTimestampServices(
                 metricsManager,
                 serverListConfigSupplier,
                 userAgent,
                 timelockNamespace,
+                timeLockClientConfig,
                 lockDiagnosticComponents,
                 reloadingFactory,
-                timeLockFeedbackBackgroundTask);
+                timeLockFeedbackBackgroundTask,
+                lockRefreshBatcherProvider);
 
         TimeLockMigrator migrator = TimeLockMigrator.create(
                 lockAndTimestampServices.managedTimestampService(), invalidator, config.initializeAsync());
@@ -1148,9 +1176,11 @@ public abstract class TransactionManagers {
             Refreshable<ServerListConfig> timelockServerListConfig,
             UserAgent userAgent,
             String timelockNamespace,
+            TimeLockClientConfig timeLockClientConfig,
             Optional<LockDiagnosticComponents> lockDiagnosticComponents,
             DialogueClients.ReloadingFactory reloadingFactory,
-            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask) {
+            Optional<TimeLockFeedbackBackgroundTask> timeLockFeedbackBackgroundTask,
+            Optional<LockRefreshBatcherProvider> lockRefreshBatcherProvider) {
         AtlasDbDialogueServiceProvider serviceProvider = AtlasDbDialogueServiceProvider.create(
                 timelockServerListConfig, reloadingFactory, userAgent, metricsManager.getTaggedRegistry());
 
@@ -1178,13 +1208,23 @@ public abstract class TransactionManagers {
 
         timeLockFeedbackBackgroundTask.ifPresent(
                 task -> task.registerLeaderElectionStatistics(namespacedConjureTimelockService));
+        NamespacedConjureTimelockService refreshBatchingConjureTimelockService = lockRefreshBatcherProvider
+                .<NamespacedConjureTimelockService>map(provider -> new BatchingLockRefreshConjureTimelockService(
+                        namespacedConjureTimelockService,
+                        timelockNamespace,
+                        provider.getBatcher(serviceProvider::getMultiClientConjureTimelockService)))
+                .orElse(namespacedConjureTimelockService);
 
         LockWatchEventCache lockWatchEventCache = LockWatchEventCacheImpl.create(metricsManager);
         NamespacedConjureLockWatchingService lockWatchingService = new NamespacedConjureLockWatchingService(
                 serviceProvider.getConjureLockWatchingService(), timelockNamespace);
         LockWatchManagerImpl lockWatchManager = new LockWatchManagerImpl(lockWatchEventCache, lockWatchingService);
         RemoteTimelockServiceAdapter remoteTimelockServiceAdapter = RemoteTimelockServiceAdapter.create(
-                namespacedTimelockRpcClient, namespacedConjureTimelockService, lockWatchEventCache);
+                namespacedTimelockRpcClient,
+                refreshBatchingConjureTimelockService,
+                lockWatchEventCache,
+                timeLockClientConfig.transactionStartPrefetchSize(),
+                Duration.ofMillis(timeLockClientConfig.transactionStartPrefetchTtlMillis()));
         TimestampManagementService timestampManagementService = new RemoteTimestampManagementAdapter(
                 serviceProvider.getTimestampManagementRpcClient(), timelockNamespace);
 
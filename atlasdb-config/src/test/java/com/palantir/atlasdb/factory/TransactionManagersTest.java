@@ -346,6 +346,7 @@ public class TransactionManagersTest {
                         USER_AGENT,
                         Optional.empty(),
                         reloadingFactory,
+                        Optional.empty(),
                         Optional.empty());
 
         LockRequest lockRequest = LockRequest.builder(
@@ -884,6 +885,7 @@ public class TransactionManagersTest {
                 USER_AGENT,
                 Optional.empty(),
                 reloadingFactory,
+                Optional.empty(),
                 Optional.empty());
     }
 
@@ -905,6 +907,7 @@ public class TransactionManagersTest {
                         USER_AGENT,
                         Optional.empty(),
                         reloadingFactory,
+                        Optional.empty(),
                         Optional.empty());
 
         lockAndTimestamp.timelock().getFreshTimestamp();
@@ -15,11 +15,23 @@
  */
 package com.palantir.atlasdb.keyvalue.dbkvs;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres.PostgresDdlTable;
 import com.palantir.atlasdb.keyvalue.impl.TestResourceManager;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
 import org.junit.ClassRule;
@@ -33,6 +45,8 @@ public class DbkvsPostgresKeyValueServiceTest extends AbstractDbKvsKeyValueServi
     private static final String TEST_LONG_TABLE_NAME =
             "ThisShouldAlwaysBeAVeryLongTableNameThatExceedsPostgresLengthLimit";
     private static final int TWO_UNDERSCORES = 2;
+    private static final TableReference BULK_LOAD_TABLE = TableReference.create(TEST_NAMESPACE, "bulkLoad");
+    private static final byte[] VALUE = PtBytes.toBytes("value");
 
     public DbkvsPostgresKeyValueServiceTest() {
         super(TRM);
@@ -85,6 +99,55 @@ public class DbkvsPostgresKeyValueServiceTest extends AbstractDbKvsKeyValueServi
         createTwoTablesWithSamePrefix(TEST_LONG_TABLE_NAME);
     }
 
+    @Test
+    public void bulkLoadedPutUnlessExistsThrowsIfAnyCellExistsWithTheSameValue() {
+        keyValueService.createTable(BULK_LOAD_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        Map<Cell, byte[]> values = bulkLoadValues();
+        Cell existingCell = values.keySet().iterator().next();
+        keyValueService.putUnlessExists(BULK_LOAD_TABLE, ImmutableMap.of(existingCell, VALUE));
+
+        assertThatThrownBy(() -> keyValueService.putUnlessExists(BULK_LOAD_TABLE, values))
+                .isInstanceOf(KeyAlreadyExistsException.class);
+        assertThat(readAll(values.keySet())).containsOnlyKeys(existingCell);
+    }
+
+    @Test
+    public void bulkLoadedPutThrowsIfAnyCellExistsWithADifferentValue() {
+        keyValueService.createTable(BULK_LOAD_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        Map<Cell, byte[]> values = bulkLoadValues();
+        Cell existingCell = values.keySet().iterator().next();
+        keyValueService.put(BULK_LOAD_TABLE, ImmutableMap.of(existingCell, PtBytes.toBytes("other")), 1L);
+
+        assertThatThrownBy(() -> keyValueService.put(BULK_LOAD_TABLE, values, 1L))
+                .isInstanceOf(KeyAlreadyExistsException.class);
+    }
+
+    @Test
+    public void bulkLoadedPutIsIdempotent() {
+        keyValueService.createTable(BULK_LOAD_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        Map<Cell, byte[]> values = bulkLoadValues();
+        Cell existingCell = values.keySet().iterator().next();
+        keyValueService.put(BULK_LOAD_TABLE, ImmutableMap.of(existingCell, VALUE), 1L);
+
+        keyValueService.put(BULK_LOAD_TABLE, values, 1L);
+        keyValueService.put(BULK_LOAD_TABLE, values, 1L);
+
+        assertThat(readAll(values.keySet())).containsOnlyKeys(values.keySet());
+    }
+
+    private static Map<Cell, byte[]> bulkLoadValues() {
+        int numCells = DbkvsPostgresTestSuite.getKvsConfig().ddl().bulkLoadThreshold();
+        return IntStream.range(0, numCells)
+                .boxed()
+                .collect(Collectors.toMap(
+                        i -> Cell.create(PtBytes.toBytes("row" + i), PtBytes.toBytes("col")), i -> VALUE));
+    }
+
+    private Map<Cell, Value> readAll(Set<Cell> cells) {
+        return keyValueService.get(
+                BULK_LOAD_TABLE, cells.stream().collect(Collectors.toMap(cell -> cell, cell -> Long.MAX_VALUE)));
+    }
+
     private void createTwoTablesWithSamePrefix(String tableNamePrefix) {
         TableReference longTableName1 = TableReference.create(TEST_NAMESPACE, tableNamePrefix + "1");
         TableReference longTableName2 = TableReference.create(TEST_NAMESPACE, tableNamePrefix + "2");
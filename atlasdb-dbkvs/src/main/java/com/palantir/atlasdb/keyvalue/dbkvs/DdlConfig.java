@@ -57,10 +57,65 @@ public abstract class DdlConfig {
         return 2 * 1024 * 1024;
     }
 
+    /**
+     * Puts of at least this many cells into a single table are written in batches of up to
+     * {@link #bulkLoadBatchCount()} cells, and may use a database-specific bulk loading mechanism.
+     * By default, this is only enabled for databases that have such a mechanism.
+     */
+    @Value.Default
+    public int bulkLoadThreshold() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The maximum number of cells written to the database at a time when bulk loading.
+     */
+    @Value.Default
+    public int bulkLoadBatchCount() {
+        return 100_000;
+    }
+
+    /**
+     * The maximum number of bytes written to the database at a time when bulk loading.
+     */
+    @Value.Default
+    public int bulkLoadBatchSizeBytes() {
+        return 64 * 1024 * 1024;
+    }
+
+    /**
+     * The number of threads used to serve asynchronous reads, each of which holds a database connection while running.
+     */
+    @Value.Default
+    public int asyncReadThreads() {
+        return 16;
+    }
+
+    /**
+     * The maximum number of asynchronous reads against a single table that may run at the same time.
+     */
+    @Value.Default
+    public int asyncReadConcurrencyPerTable() {
+        return 8;
+    }
+
+    /**
+     * The maximum number of asynchronous reads that may be queued or running. Further reads run synchronously on the
+     * calling thread until the backlog drains.
+     */
+    @Value.Default
+    public int asyncReadMaxOutstanding() {
+        return 1024;
+    }
+
     @Value.Check
     protected final void check() {
         Preconditions.checkState(
                 metadataTable().getNamespace().isEmptyNamespace(), "'metadataTable' should have empty namespace'");
+        Preconditions.checkState(asyncReadThreads() > 0, "'asyncReadThreads' should be positive");
+        Preconditions.checkState(
+                asyncReadConcurrencyPerTable() > 0, "'asyncReadConcurrencyPerTable' should be positive");
+        Preconditions.checkState(asyncReadMaxOutstanding() > 0, "'asyncReadMaxOutstanding' should be positive");
     }
 
     public interface Visitor<T> {
@@ -36,6 +36,16 @@ public abstract class PostgresDdlConfig extends DdlConfig {
         return AtlasDbConstants.DEFAULT_METADATA_TABLE;
     }
 
+    /**
+     * Batches of at least this many cells are streamed into a temporary staging table using the COPY protocol and
+     * then merged into the target table, rather than being written with multi-row INSERTs.
+     */
+    @Value.Default
+    @Override
+    public int bulkLoadThreshold() {
+        return 5_000;
+    }
+
     @Override
     public final String type() {
         return TYPE;
@@ -0,0 +1,146 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.dbkvs.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.dbkvs.DdlConfig;
+import com.palantir.common.concurrent.PTExecutors;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Runs asynchronous reads on a dedicated, bounded pool of threads, so that each read holds its own connection and
+ * independent reads proceed in parallel.
+ *
+ * At most {@link DdlConfig#asyncReadConcurrencyPerTable()} reads against any one table run at the same time; the rest
+ * are queued per table, so that a burst of reads against a single table cannot starve the others. Once
+ * {@link DdlConfig#asyncReadMaxOutstanding()} reads are queued or running, further reads are run on the calling
+ * thread, which pushes back on callers instead of growing the queues without bound.
+ */
+final class BoundedAsyncReadExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final int maxConcurrentReadsPerTable;
+    private final int maxOutstandingReads;
+    private final AtomicInteger outstandingReads = new AtomicInteger();
+    private final ConcurrentMap<TableReference, TableReadQueue> tableQueues = new ConcurrentHashMap<>();
+
+    @VisibleForTesting
+    BoundedAsyncReadExecutor(ExecutorService executor, int maxConcurrentReadsPerTable, int maxOutstandingReads) {
+        this.executor = executor;
+        this.maxConcurrentReadsPerTable = maxConcurrentReadsPerTable;
+        this.maxOutstandingReads = maxOutstandingReads;
+    }
+
+    static BoundedAsyncReadExecutor create(DdlConfig config) {
+        return new BoundedAsyncReadExecutor(
+                PTExecutors.newFixedThreadPool(config.asyncReadThreads(), "Atlas DbKvs async reader"),
+                config.asyncReadConcurrencyPerTable(),
+                config.asyncReadMaxOutstanding());
+    }
+
+    <T> ListenableFuture<T> submit(TableReference tableRef, Callable<T> read) {
+        if (outstandingReads.incrementAndGet() > maxOutstandingReads) {
+            outstandingReads.decrementAndGet();
+            return runOnCallingThread(read);
+        }
+        ListenableFutureTask<T> task = ListenableFutureTask.create(read);
+        tableQueues.computeIfAbsent(tableRef, unused -> new TableReadQueue()).enqueue(task);
+        return task;
+    }
+
+    @VisibleForTesting
+    int outstandingReads() {
+        return outstandingReads.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static <T> ListenableFuture<T> runOnCallingThread(Callable<T> read) {
+        try {
+            return Futures.immediateFuture(read.call());
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    private final class TableReadQueue {
+        @GuardedBy("this")
+        private final Queue<ListenableFutureTask<?>> pending = new ArrayDeque<>();
+
+        @GuardedBy("this")
+        private int running = 0;
+
+        void enqueue(ListenableFutureTask<?> task) {
+            synchronized (this) {
+                if (running >= maxConcurrentReadsPerTable) {
+                    pending.add(task);
+                    return;
+                }
+                running++;
+            }
+            dispatch(task);
+        }
+
+        private void dispatch(ListenableFutureTask<?> task) {
+            try {
+                executor.execute(() -> runAndRelease(task));
+            } catch (RejectedExecutionException e) {
+                task.cancel(false);
+                onReadFinished();
+            }
+        }
+
+        /**
+         * Slots are released once the read itself returns, rather than when its future completes, as a caller may
+         * cancel the future while the read is still running. A read cancelled before it starts returns immediately.
+         */
+        private void runAndRelease(ListenableFutureTask<?> task) {
+            try {
+                task.run();
+            } finally {
+                onReadFinished();
+            }
+        }
+
+        private void onReadFinished() {
+            outstandingReads.decrementAndGet();
+            ListenableFutureTask<?> next;
+            synchronized (this) {
+                next = pending.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            dispatch(next);
+        }
+    }
+}
@@ -34,7 +34,6 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Atomics;
-import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
@@ -146,6 +145,7 @@ public final class DbKvs extends AbstractKeyValueService {
     private final OverflowValueLoader overflowValueLoader;
     private final DbKvsGetRange getRangeStrategy;
     private final DbKvsGetCandidateCellsForSweeping getCandidateCellsForSweepingStrategy;
+    private final BoundedAsyncReadExecutor asyncReadExecutor;
 
     public static DbKvs create(DbKeyValueServiceConfig config, SqlConnectionSupplier sqlConnSupplier) {
         DbKvs dbKvs = createNoInit(config.ddl(), sqlConnSupplier);
@@ -195,7 +195,8 @@ public final class DbKvs extends AbstractKeyValueService {
                 new ParallelTaskRunner(newFixedThreadPool(config.poolSize()), config.fetchBatchSize()),
                 (conns, tbl, ids) -> Collections.emptyMap(), // no overflow on postgres
                 new PostgresGetRange(prefixedTableNames, connections, tableMetadataCache),
-                new DbKvsGetCandidateCellsForSweeping(cellTsPairLoader));
+                new DbKvsGetCandidateCellsForSweeping(cellTsPairLoader),
+                BoundedAsyncReadExecutor.create(config));
     }
 
     private static DbKvs createOracle(
@@ -229,7 +230,8 @@ public final class DbKvs extends AbstractKeyValueService {
                 new ImmediateSingleBatchTaskRunner(),
                 overflowValueLoader,
                 getRange,
-                new DbKvsGetCandidateCellsForSweeping(cellTsPageLoader));
+                new DbKvsGetCandidateCellsForSweeping(cellTsPageLoader),
+                BoundedAsyncReadExecutor.create(oracleDdlConfig));
     }
 
     private DbKvs(
@@ -240,7 +242,8 @@ public final class DbKvs extends AbstractKeyValueService {
             BatchingTaskRunner batchingQueryRunner,
             OverflowValueLoader overflowValueLoader,
             DbKvsGetRange getRangeStrategy,
-            DbKvsGetCandidateCellsForSweeping getCandidateCellsForSweepingStrategy) {
+            DbKvsGetCandidateCellsForSweeping getCandidateCellsForSweepingStrategy,
+            BoundedAsyncReadExecutor asyncReadExecutor) {
         super(executor);
         this.config = config;
         this.dbTables = dbTables;
@@ -249,6 +252,7 @@ public final class DbKvs extends AbstractKeyValueService {
         this.overflowValueLoader = overflowValueLoader;
         this.getRangeStrategy = getRangeStrategy;
         this.getCandidateCellsForSweepingStrategy = getCandidateCellsForSweepingStrategy;
+        this.asyncReadExecutor = asyncReadExecutor;
     }
 
     private static ExecutorService newFixedThreadPool(int maxPoolSize) {
@@ -285,6 +289,7 @@ public final class DbKvs extends AbstractKeyValueService {
         dbTables.close();
         connections.close();
         batchingQueryRunner.close();
+        asyncReadExecutor.close();
     }
 
     @Override
@@ -438,10 +443,11 @@ public final class DbKvs extends AbstractKeyValueService {
     }
 
     private void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp, boolean idempotent) {
+        boolean bulkLoad = values.size() >= config.bulkLoadThreshold();
         Iterable<List<Map.Entry<Cell, byte[]>>> batches = IterablePartitioner.partitionByCountAndBytes(
                 values.entrySet(),
-                config.mutationBatchCount(),
-                config.mutationBatchSizeBytes(),
+                bulkLoad ? config.bulkLoadBatchCount() : config.mutationBatchCount(),
+                bulkLoad ? config.bulkLoadBatchSizeBytes() : config.mutationBatchSizeBytes(),
                 tableRef,
                 getByteSizingFunction());
 
@@ -506,12 +512,23 @@ public final class DbKvs extends AbstractKeyValueService {
     @Override
     public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues)
             throws KeyAlreadyExistsException {
+        if (cellValues.size() >= config.bulkLoadThreshold()) {
+            bulkPutWithTimestamps(tableRef, cellValues);
+        } else {
+            putWithTimestamps(tableRef, cellValues, config.mutationBatchCount(), config.mutationBatchSizeBytes());
+        }
+    }
+
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues)
+            throws KeyAlreadyExistsException {
+        putWithTimestamps(tableRef, cellValues, config.bulkLoadBatchCount(), config.bulkLoadBatchSizeBytes());
+    }
+
+    private void putWithTimestamps(
+            TableReference tableRef, Multimap<Cell, Value> cellValues, int batchCount, int batchSizeBytes) {
         Iterable<List<Map.Entry<Cell, Value>>> batches = IterablePartitioner.partitionByCountAndBytes(
-                cellValues.entries(),
-                config.mutationBatchCount(),
-                config.mutationBatchSizeBytes(),
-                tableRef,
-                getValueSizingFunction());
+                cellValues.entries(), batchCount, batchSizeBytes, tableRef, getValueSizingFunction());
 
         runReadWrite(tableRef, (readTable, writeTable) -> {
             for (List<Map.Entry<Cell, Value>> batch : batches) {
@@ -1200,7 +1217,13 @@ public final class DbKvs extends AbstractKeyValueService {
 
     @Override
     public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
-        return Futures.immediateFuture(get(tableRef, timestampByCell));
+        return asyncReadExecutor.submit(tableRef, () -> get(tableRef, timestampByCell));
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        return asyncReadExecutor.submit(tableRef, () -> getRows(tableRef, rows, columnSelection, timestamp));
     }
 
     @Override
@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Encodes (row_name, col_name, ts, val) tuples in the Postgres binary COPY format, as described in the documentation
+ * for the COPY command. Using the binary format avoids escaping byte array columns, which would roughly double the
+ * size of the data sent in the text and CSV formats.
+ */
+final class PostgresBinaryCopyWriter {
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short FIELD_COUNT = 4;
+    private static final short TRAILER = -1;
+    private static final int NULL_LENGTH = -1;
+
+    private final DataOutputStream output;
+
+    private PostgresBinaryCopyWriter(OutputStream output) {
+        this.output = new DataOutputStream(output);
+    }
+
+    static PostgresBinaryCopyWriter start(OutputStream output) throws IOException {
+        PostgresBinaryCopyWriter writer = new PostgresBinaryCopyWriter(output);
+        writer.output.write(SIGNATURE);
+        writer.output.writeInt(0); // flags
+        writer.output.writeInt(0); // header extension length
+        return writer;
+    }
+
+    void writeRow(byte[] rowName, byte[] columnName, long timestamp, @Nullable byte[] value) throws IOException {
+        output.writeShort(FIELD_COUNT);
+        writeBytes(rowName);
+        writeBytes(columnName);
+        output.writeInt(Long.BYTES);
+        output.writeLong(timestamp);
+        writeBytes(value);
+    }
+
+    private void writeBytes(@Nullable byte[] bytes) throws IOException {
+        if (bytes == null) {
+            output.writeInt(NULL_LENGTH);
+        } else {
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Writes the trailer and closes the underlying stream, which for a COPY stream completes the COPY.
+     */
+    void finish() throws IOException {
+        output.writeShort(TRAILER);
+        output.close();
+    }
+}
@@ -15,18 +15,165 @@
  */
 package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
 
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
-import com.palantir.atlasdb.keyvalue.dbkvs.DdlConfig;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.dbkvs.PostgresDdlConfig;
 import com.palantir.atlasdb.keyvalue.dbkvs.impl.AbstractDbWriteTable;
 import com.palantir.atlasdb.keyvalue.dbkvs.impl.ConnectionSupplier;
 import com.palantir.atlasdb.keyvalue.dbkvs.impl.PrefixedTableNames;
+import com.palantir.common.base.Throwables;
+import com.palantir.exception.PalantirSqlException;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.nexus.db.sql.ExceptionCheck;
+import com.palantir.nexus.db.sql.SqlConnection;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class PostgresWriteTable extends AbstractDbWriteTable {
+    private static final Logger log = LoggerFactory.getLogger(PostgresWriteTable.class);
+
+    private static final String STAGING_TABLE = "atlasdb_copy_staging";
+    private static final int COPY_BUFFER_SIZE_BYTES = 1024 * 1024;
+
+    private final PrefixedTableNames prefixedTableNames;
+    private final int bulkLoadThreshold;
+
     public PostgresWriteTable(
-            DdlConfig config,
+            PostgresDdlConfig config,
             ConnectionSupplier conns,
             TableReference tableRef,
             PrefixedTableNames prefixedTableNames) {
         super(config, conns, tableRef, prefixedTableNames);
+        this.prefixedTableNames = prefixedTableNames;
+        this.bulkLoadThreshold = config.bulkLoadThreshold();
+    }
+
+    @Override
+    public void put(Collection<Map.Entry<Cell, byte[]>> data, long ts) {
+        boolean copied = data.size() >= bulkLoadThreshold
+                && copyAndMerge(data, (writer, entry) -> writer.writeRow(
+                        entry.getKey().getRowName(), entry.getKey().getColumnName(), ts, entry.getValue()));
+        if (!copied) {
+            super.put(data, ts);
+        }
+    }
+
+    @Override
+    public void put(Collection<Map.Entry<Cell, Value>> data) {
+        boolean copied = data.size() >= bulkLoadThreshold
+                && copyAndMerge(data, (writer, entry) -> writer.writeRow(
+                        entry.getKey().getRowName(),
+                        entry.getKey().getColumnName(),
+                        entry.getValue().getTimestamp(),
+                        entry.getValue().getContents()));
+        if (!copied) {
+            super.put(data);
+        }
+    }
+
+    /**
+     * Streams the given rows into a temporary staging table with COPY, and then merges them into the target table in
+     * the same transaction. As for the INSERT based path, if any row already exists, whatever its value, nothing is
+     * written and a {@link KeyAlreadyExistsException} is thrown; idempotent puts then retry the rows that do not exist
+     * yet, while put unless exists fails.
+     *
+     * @return false if the load was not attempted because the connection is already part of a larger transaction, in
+     * which case the caller should fall back to the INSERT based path
+     */
+    private <T> boolean copyAndMerge(Collection<T> rows, RowWriter<T> rowWriter) {
+        String prefixedTableName = prefixedTableNames.get(tableRef, conns);
+        SqlConnection conn = conns.get();
+        Connection underlyingConnection = conn.getUnderlyingConnection();
+        if (!isAutoCommit(underlyingConnection)) {
+            return false;
+        }
+
+        boolean committed = false;
+        try {
+            underlyingConnection.setAutoCommit(false);
+
+            conn.executeUnregisteredQuery("/* CREATE_COPY_STAGING (" + prefixedTableName + ") */"
+                    + " CREATE TEMPORARY TABLE " + STAGING_TABLE
+                    + " (LIKE " + prefixedTableName + ") ON COMMIT DROP");
+            copyIntoStagingTable(underlyingConnection.unwrap(PGConnection.class), rows, rowWriter);
+            mergeStagingTable(conn, prefixedTableName);
+
+            underlyingConnection.commit();
+            committed = true;
+            return true;
+        } catch (SQLException e) {
+            throw PalantirSqlException.create(e);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } finally {
+            restoreAutoCommit(underlyingConnection, committed);
+        }
+    }
+
+    private static void mergeStagingTable(SqlConnection conn, String prefixedTableName) {
+        try {
+            conn.executeUnregisteredQuery("/* MERGE_COPY_STAGING (" + prefixedTableName + ") */"
+                    + " INSERT INTO " + prefixedTableName + " (row_name, col_name, ts, val)"
+                    + " SELECT row_name, col_name, ts, val FROM " + STAGING_TABLE);
+        } catch (PalantirSqlException e) {
+            if (ExceptionCheck.isUniqueConstraintViolation(e)) {
+                throw new KeyAlreadyExistsException("primary key violation", e);
+            }
+            throw e;
+        }
+    }
+
+    private static <T> void copyIntoStagingTable(PGConnection connection, Collection<T> rows, RowWriter<T> rowWriter)
+            throws SQLException, IOException {
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(
+                connection,
+                "COPY " + STAGING_TABLE + " (row_name, col_name, ts, val) FROM STDIN WITH (FORMAT binary)",
+                COPY_BUFFER_SIZE_BYTES);
+        try {
+            PostgresBinaryCopyWriter writer = PostgresBinaryCopyWriter.start(copyStream);
+            for (T row : rows) {
+                rowWriter.write(writer, row);
+            }
+            writer.finish();
+        } finally {
+            if (copyStream.isActive()) {
+                copyStream.cancelCopy();
+            }
+        }
+    }
+
+    private static boolean isAutoCommit(Connection connection) {
+        try {
+            return connection.getAutoCommit();
+        } catch (SQLException e) {
+            throw PalantirSqlException.create(e);
+        }
+    }
+
+    private static void restoreAutoCommit(Connection connection, boolean committed) {
+        try {
+            if (!committed) {
+                connection.rollback();
+            }
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            log.warn(
+                    "Failed to restore the connection after a COPY bulk load",
+                    SafeArg.of("committed", committed),
+                    e);
+        }
+    }
+
+    private interface RowWriter<T> {
+        void write(PostgresBinaryCopyWriter writer, T row) throws IOException;
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.dbkvs.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class BoundedAsyncReadExecutorTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("ns.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("ns.table2");
+
+    private final ExecutorService delegate = Executors.newFixedThreadPool(4);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        delegate.shutdownNow();
+    }
+
+    @Test
+    public void limitsConcurrentReadsPerTable() throws Exception {
+        BoundedAsyncReadExecutor executor = new BoundedAsyncReadExecutor(delegate, 1, 100);
+        ListenableFuture<Integer> first = executor.submit(TABLE_1, this::blockingRead);
+        ListenableFuture<Integer> second = executor.submit(TABLE_1, this::blockingRead);
+
+        waitForRunningReads(1);
+        assertThat(second).isNotDone();
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(maxRunning).hasValue(1);
+        waitForOutstandingReads(executor, 0);
+    }
+
+    @Test
+    public void cancelledReadsKeepTheirSlotUntilTheReadReturns() throws Exception {
+        BoundedAsyncReadExecutor executor = new BoundedAsyncReadExecutor(delegate, 1, 100);
+        ListenableFuture<Integer> first = executor.submit(TABLE_1, this::blockingRead);
+        waitForRunningReads(1);
+
+        first.cancel(false);
+        ListenableFuture<Integer> second = executor.submit(TABLE_1, this::blockingRead);
+        Thread.sleep(100);
+        assertThat(running).hasValue(1);
+        assertThat(second).isNotDone();
+
+        release.countDown();
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(maxRunning).hasValue(1);
+        waitForOutstandingReads(executor, 0);
+    }
+
+    @Test
+    public void readsAgainstDifferentTablesRunConcurrently() throws Exception {
+        BoundedAsyncReadExecutor executor = new BoundedAsyncReadExecutor(delegate, 1, 100);
+        ListenableFuture<Integer> first = executor.submit(TABLE_1, this::blockingRead);
+        ListenableFuture<Integer> second = executor.submit(TABLE_2, this::blockingRead);
+
+        waitForRunningReads(2);
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+    }
+
+    @Test
+    public void runsReadsOnCallingThreadOnceOutstandingLimitIsReached() throws Exception {
+        BoundedAsyncReadExecutor executor = new BoundedAsyncReadExecutor(delegate, 1, 1);
+        ListenableFuture<Integer> blocked = executor.submit(TABLE_1, this::blockingRead);
+        waitForRunningReads(1);
+
+        Thread callingThread = Thread.currentThread();
+        ListenableFuture<Boolean> inline = executor.submit(TABLE_2, () -> Thread.currentThread() == callingThread);
+        assertThat(inline).isDone();
+        assertThat(inline.get()).isTrue();
+
+        release.countDown();
+        blocked.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void failedReadsPropagateAndReleaseTheirSlot() throws Exception {
+        BoundedAsyncReadExecutor executor = new BoundedAsyncReadExecutor(delegate, 1, 100);
+        ListenableFuture<Object> failed = executor.submit(TABLE_1, () -> {
+            throw new IllegalStateException("boom");
+        });
+        ListenableFuture<String> next = executor.submit(TABLE_1, () -> "ok");
+
+        assertThatThrownBy(() -> failed.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(next.get(10, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    @Test
+    public void cancelsReadsOnceClosed() {
+        BoundedAsyncReadExecutor executor = new BoundedAsyncReadExecutor(delegate, 1, 100);
+        executor.close();
+
+        assertThat(executor.submit(TABLE_1, () -> "unused")).isCancelled();
+        assertThat(executor.outstandingReads()).isZero();
+    }
+
+    private int blockingRead() throws InterruptedException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            release.await();
+            return maxRunning.get();
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private static void waitForOutstandingReads(BoundedAsyncReadExecutor executor, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (executor.outstandingReads() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.outstandingReads()).isEqualTo(expected);
+    }
+
+    private void waitForRunningReads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (running.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(running).hasValue(expected);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class PostgresBinaryCopyWriterTest {
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int HEADER_LENGTH = SIGNATURE.length + 2 * Integer.BYTES;
+
+    @Test
+    public void writesHeaderAndTrailerForEmptyCopy() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PostgresBinaryCopyWriter.start(output).finish();
+
+        ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray());
+        assertSignatureAndHeader(buffer);
+        assertThat(buffer.getShort()).isEqualTo((short) -1);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void writesRowsAsLengthPrefixedFields() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PostgresBinaryCopyWriter writer = PostgresBinaryCopyWriter.start(output);
+        writer.writeRow(new byte[] {1, 2}, new byte[] {3}, 42L, new byte[] {4, 5, 6});
+        writer.finish();
+
+        ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray());
+        assertSignatureAndHeader(buffer);
+        assertThat(buffer.getShort()).isEqualTo((short) 4);
+        assertThat(readField(buffer)).containsExactly(1, 2);
+        assertThat(readField(buffer)).containsExactly(3);
+        assertThat(buffer.getInt()).isEqualTo(Long.BYTES);
+        assertThat(buffer.getLong()).isEqualTo(42L);
+        assertThat(readField(buffer)).containsExactly(4, 5, 6);
+        assertThat(buffer.getShort()).isEqualTo((short) -1);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void writesNullValuesWithNegativeLength() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PostgresBinaryCopyWriter writer = PostgresBinaryCopyWriter.start(output);
+        writer.writeRow(new byte[] {1}, new byte[] {2}, 0L, null);
+        writer.finish();
+
+        ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray(), HEADER_LENGTH, output.size() - HEADER_LENGTH);
+        assertThat(buffer.getShort()).isEqualTo((short) 4);
+        readField(buffer);
+        readField(buffer);
+        buffer.getInt();
+        buffer.getLong();
+        assertThat(buffer.getInt()).isEqualTo(-1);
+        assertThat(buffer.getShort()).isEqualTo((short) -1);
+    }
+
+    private static void assertSignatureAndHeader(ByteBuffer buffer) {
+        byte[] signature = new byte[SIGNATURE.length];
+        buffer.get(signature);
+        assertThat(signature).isEqualTo(SIGNATURE);
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getInt()).isZero();
+    }
+
+    private static byte[] readField(ByteBuffer buffer) {
+        byte[] field = new byte[buffer.getInt()];
+        buffer.get(field);
+        return field;
+    }
+}
@@ -18,16 +18,36 @@ package com.palantir.atlasdb.keyvalue.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.primitives.Ints;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.sweep.queue.id.SweepTableIndices;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
 
 public final class WriteReferencePersister {
     private static final byte[] writePrefix = {1};
+    private static final byte[] compactBatchPrefix = {2};
+    private static final long NO_FLAGS = 0;
+    private static final long LZ4_COMPRESSED = 1;
     private static final ObjectMapper OBJECT_MAPPER =
             new ObjectMapper().registerModule(new Jdk8Module()).registerModule(new AfterburnerModule());
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
 
     private final SweepTableIndices tableIndices;
 
@@ -36,18 +56,31 @@ public final class WriteReferencePersister {
     }
 
     public WriteReference unpersist(StoredWriteReference writeReference) {
-        return writeReference.accept(new StoredWriteReference.Visitor<WriteReference>() {
+        List<WriteReference> writes = unpersistAll(writeReference);
+        Preconditions.checkArgument(
+                writes.size() == 1,
+                "Expected a stored write reference holding exactly one write.",
+                SafeArg.of("numberOfWrites", writes.size()));
+        return Iterables.getOnlyElement(writes);
+    }
+
+    /**
+     * Returns all writes held by the stored reference. This is a single write for every format except compact batches
+     * created by {@link #persistCompactBatch(List, boolean)}.
+     */
+    public List<WriteReference> unpersistAll(StoredWriteReference writeReference) {
+        return writeReference.accept(new StoredWriteReference.Visitor<List<WriteReference>>() {
             @Override
-            public WriteReference visitJson(byte[] ref) {
+            public List<WriteReference> visitJson(byte[] ref) {
                 try {
-                    return OBJECT_MAPPER.readValue(ref, WriteReference.class);
+                    return ImmutableList.of(OBJECT_MAPPER.readValue(ref, WriteReference.class));
                 } catch (IOException e) {
                     throw new SafeRuntimeException("Exception hydrating object.");
                 }
             }
 
             @Override
-            public WriteReference visitTableNameAsStringBinary(byte[] ref) {
+            public List<WriteReference> visitTableNameAsStringBinary(byte[] ref) {
                 int offset = 1;
                 String tableReferenceString = EncodingUtils.decodeVarString(ref, offset);
                 TableReference tableReference = TableReference.fromString(tableReferenceString);
@@ -57,15 +90,15 @@ public final class WriteReferencePersister {
                 byte[] column = EncodingUtils.decodeSizedBytes(ref, offset);
                 offset += EncodingUtils.sizeOfSizedBytes(column);
                 long isTombstone = EncodingUtils.decodeUnsignedVarLong(ref, offset);
-                return ImmutableWriteReference.builder()
+                return ImmutableList.of(ImmutableWriteReference.builder()
                         .tableRef(tableReference)
                         .cell(Cell.create(row, column))
                         .isTombstone(isTombstone == 1)
-                        .build();
+                        .build());
             }
 
             @Override
-            public WriteReference visitTableIdBinary(byte[] ref) {
+            public List<WriteReference> visitTableIdBinary(byte[] ref) {
                 int offset = 1;
                 int tableId = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(ref, offset));
                 TableReference tableReference = tableIndices.getTableReference(tableId);
@@ -75,11 +108,16 @@ public final class WriteReferencePersister {
                 byte[] column = EncodingUtils.decodeSizedBytes(ref, offset);
                 offset += EncodingUtils.sizeOfSizedBytes(column);
                 long isTombstone = EncodingUtils.decodeUnsignedVarLong(ref, offset);
-                return ImmutableWriteReference.builder()
+                return ImmutableList.of(ImmutableWriteReference.builder()
                         .tableRef(tableReference)
                         .cell(Cell.create(row, column))
                         .isTombstone(isTombstone == 1)
-                        .build();
+                        .build());
+            }
+
+            @Override
+            public List<WriteReference> visitCompactBatch(byte[] ref) {
+                return unpersistCompactBatch(ref);
             }
         });
     }
@@ -91,4 +129,132 @@ public final class WriteReferencePersister {
         byte[] isTombstone = EncodingUtils.encodeUnsignedVarLong(writeReference.isTombstone() ? 1 : 0);
         return ImmutableStoredWriteReference.of(EncodingUtils.add(writePrefix, tableId, row, column, isTombstone));
     }
+
+    /**
+     * Persists several writes into a single stored reference. The format starts with a dictionary of the table ids
+     * referenced, followed by the writes sorted by table, row and column, where each row and column name is stored as
+     * the length of the prefix it shares with the previous write together with the remaining suffix. If compress is
+     * true, the encoded writes are additionally compressed using LZ4, unless this would not reduce their size.
+     */
+    public StoredWriteReference persistCompactBatch(List<WriteReference> writeReferences, boolean compress) {
+        Map<TableReference, Integer> tableIds = new HashMap<>();
+        writeReferences.forEach(write -> tableIds.computeIfAbsent(write.tableRef(), tableIndices::getTableId));
+        List<Integer> dictionary = new ArrayList<>(tableIds.values());
+        dictionary.sort(Comparator.naturalOrder());
+        Map<Integer, Integer> dictionaryIndices = new HashMap<>();
+        for (int index = 0; index < dictionary.size(); index++) {
+            dictionaryIndices.put(dictionary.get(index), index);
+        }
+
+        List<WriteReference> sortedWrites = new ArrayList<>(writeReferences);
+        sortedWrites.sort(Comparator.<WriteReference>comparingInt(write -> tableIds.get(write.tableRef()))
+                .thenComparing(WriteReference::cell));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeVarLong(body, dictionary.size());
+        dictionary.forEach(tableId -> writeVarLong(body, tableId));
+        writeVarLong(body, sortedWrites.size());
+        byte[] previousRow = new byte[0];
+        byte[] previousColumn = new byte[0];
+        for (WriteReference write : sortedWrites) {
+            int dictionaryIndex = dictionaryIndices.get(tableIds.get(write.tableRef()));
+            writeVarLong(body, ((long) dictionaryIndex << 1) | (write.isTombstone() ? 1 : 0));
+            writeDelta(body, previousRow, write.cell().getRowName());
+            writeDelta(body, previousColumn, write.cell().getColumnName());
+            previousRow = write.cell().getRowName();
+            previousColumn = write.cell().getColumnName();
+        }
+        byte[] encoded = body.toByteArray();
+
+        if (compress) {
+            byte[] compressed = COMPRESSOR.compress(encoded);
+            byte[] uncompressedLength = EncodingUtils.encodeUnsignedVarLong(encoded.length);
+            if (compressed.length + uncompressedLength.length < encoded.length) {
+                return ImmutableStoredWriteReference.of(EncodingUtils.add(
+                        compactBatchPrefix,
+                        EncodingUtils.encodeUnsignedVarLong(LZ4_COMPRESSED),
+                        uncompressedLength,
+                        compressed));
+            }
+        }
+        return ImmutableStoredWriteReference.of(
+                EncodingUtils.add(compactBatchPrefix, EncodingUtils.encodeUnsignedVarLong(NO_FLAGS), encoded));
+    }
+
+    private List<WriteReference> unpersistCompactBatch(byte[] ref) {
+        int offset = 1;
+        long flags = EncodingUtils.decodeUnsignedVarLong(ref, offset);
+        offset += EncodingUtils.sizeOfUnsignedVarLong(flags);
+        byte[] body;
+        if (flags == LZ4_COMPRESSED) {
+            int uncompressedLength = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(ref, offset));
+            offset += EncodingUtils.sizeOfUnsignedVarLong(uncompressedLength);
+            body = DECOMPRESSOR.decompress(ref, offset, uncompressedLength);
+            offset = 0;
+        } else if (flags == NO_FLAGS) {
+            body = ref;
+        } else {
+            throw new SafeIllegalArgumentException(
+                    "Compact batch stored in targeted sweep queue uses unknown flags", SafeArg.of("flags", flags));
+        }
+
+        int dictionarySize = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(body, offset));
+        offset += EncodingUtils.sizeOfUnsignedVarLong(dictionarySize);
+        List<TableReference> dictionary = new ArrayList<>(dictionarySize);
+        for (int index = 0; index < dictionarySize; index++) {
+            int tableId = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(body, offset));
+            offset += EncodingUtils.sizeOfUnsignedVarLong(tableId);
+            dictionary.add(tableIndices.getTableReference(tableId));
+        }
+
+        int numberOfWrites = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(body, offset));
+        offset += EncodingUtils.sizeOfUnsignedVarLong(numberOfWrites);
+        ImmutableList.Builder<WriteReference> writes = ImmutableList.builderWithExpectedSize(numberOfWrites);
+        byte[] row = new byte[0];
+        byte[] column = new byte[0];
+        for (int index = 0; index < numberOfWrites; index++) {
+            long tableAndTombstone = EncodingUtils.decodeUnsignedVarLong(body, offset);
+            offset += EncodingUtils.sizeOfUnsignedVarLong(tableAndTombstone);
+
+            int sharedRowPrefix = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(body, offset));
+            offset += EncodingUtils.sizeOfUnsignedVarLong(sharedRowPrefix);
+            byte[] rowSuffix = EncodingUtils.decodeSizedBytes(body, offset);
+            offset += EncodingUtils.sizeOfSizedBytes(rowSuffix);
+            row = EncodingUtils.add(Arrays.copyOf(row, sharedRowPrefix), rowSuffix);
+
+            int sharedColumnPrefix = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(body, offset));
+            offset += EncodingUtils.sizeOfUnsignedVarLong(sharedColumnPrefix);
+            byte[] columnSuffix = EncodingUtils.decodeSizedBytes(body, offset);
+            offset += EncodingUtils.sizeOfSizedBytes(columnSuffix);
+            column = EncodingUtils.add(Arrays.copyOf(column, sharedColumnPrefix), columnSuffix);
+
+            writes.add(ImmutableWriteReference.builder()
+                    .tableRef(dictionary.get(Ints.checkedCast(tableAndTombstone >>> 1)))
+                    .cell(Cell.create(row, column))
+                    .isTombstone((tableAndTombstone & 1) == 1)
+                    .build());
+        }
+        return writes.build();
+    }
+
+    private static void writeDelta(ByteArrayOutputStream output, byte[] previous, byte[] current) {
+        int sharedPrefix = sharedPrefixLength(previous, current);
+        writeVarLong(output, sharedPrefix);
+        byte[] suffix = EncodingUtils.encodeSizedBytes(Arrays.copyOfRange(current, sharedPrefix, current.length));
+        output.write(suffix, 0, suffix.length);
+    }
+
+    private static int sharedPrefixLength(byte[] first, byte[] second) {
+        int maxLength = Math.min(first.length, second.length);
+        int length = 0;
+        while (length < maxLength && first[length] == second[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        byte[] encoded = EncodingUtils.encodeUnsignedVarLong(value);
+        output.write(encoded, 0, encoded.length);
+    }
 }
@@ -28,24 +28,24 @@ import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.lock.watch.LockWatchVersion;
 import com.palantir.lock.watch.UnlockEvent;
 import com.palantir.logsafe.Preconditions;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class ClientLockWatchSnapshot {
     private final Set<LockWatchReferences.LockWatchReference> watches;
     private final Set<LockDescriptor> locked;
     private final EventVisitor visitor;
-    private Optional<LockWatchVersion> snapshotVersion;
+    private volatile Optional<LockWatchVersion> snapshotVersion;
 
     static ClientLockWatchSnapshot create() {
         return new ClientLockWatchSnapshot();
     }
 
     private ClientLockWatchSnapshot() {
-        this.watches = new HashSet<>();
-        this.locked = new HashSet<>();
+        this.watches = ConcurrentHashMap.newKeySet();
+        this.locked = ConcurrentHashMap.newKeySet();
         this.visitor = new EventVisitor();
         this.snapshotVersion = Optional.empty();
     }
@@ -31,10 +31,17 @@ import com.palantir.logsafe.Preconditions;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
- * This class should only be used through {@link ResilientLockWatchEventCache} as a proxy; failure to do so will result
- * in concurrency issues and inconsistency in the cache state.
+ * This class should only be used through {@link ResilientLockWatchEventCache} as a proxy, which falls back to a no-op
+ * cache if this cache fails unexpectedly.
+ *
+ * Updates from TimeLock are applied under a write lock, so that the event log and the timestamp state store are
+ * updated atomically with respect to each other. Reads spanning both are performed optimistically without taking the
+ * lock, and are only retried under the read lock if an update was applied concurrently. Reads and removals of the
+ * state of a single transaction do not need the lock at all.
  */
 public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     // This value should be the same as in TimeLock's LockEventLogImpl.
@@ -42,6 +49,7 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
 
     private final LockWatchEventLog eventLog;
     private final TimestampStateStore timestampStateStore;
+    private final StampedLock lock = new StampedLock();
 
     public static LockWatchEventCache create(MetricsManager metricsManager) {
         return ResilientLockWatchEventCache.newProxyInstance(
@@ -68,19 +76,33 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
 
     @Override
     public void processStartTransactionsUpdate(Set<Long> startTimestamps, LockWatchStateUpdate update) {
-        Optional<LockWatchVersion> updateVersion = processEventLogUpdate(update);
-        updateVersion.ifPresent(version -> timestampStateStore.putStartTimestamps(startTimestamps, version));
+        long stamp = lock.writeLock();
+        try {
+            Optional<LockWatchVersion> updateVersion = processEventLogUpdate(update);
+            updateVersion.ifPresent(version -> timestampStateStore.putStartTimestamps(startTimestamps, version));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
     public void processGetCommitTimestampsUpdate(
             Collection<TransactionUpdate> transactionUpdates, LockWatchStateUpdate update) {
-        Optional<LockWatchVersion> updateVersion = processEventLogUpdate(update);
-        updateVersion.ifPresent(version -> timestampStateStore.putCommitUpdates(transactionUpdates, version));
+        long stamp = lock.writeLock();
+        try {
+            Optional<LockWatchVersion> updateVersion = processEventLogUpdate(update);
+            updateVersion.ifPresent(version -> timestampStateStore.putCommitUpdates(transactionUpdates, version));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
     public CommitUpdate getCommitUpdate(long startTs) {
+        return readConsistently(() -> getCommitUpdateInternal(startTs));
+    }
+
+    private CommitUpdate getCommitUpdateInternal(long startTs) {
         Optional<LockWatchVersion> startVersion = timestampStateStore.getStartVersion(startTs);
         Optional<CommitInfo> maybeCommitInfo = timestampStateStore.getCommitInfo(startTs);
 
@@ -97,10 +119,16 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     public TransactionsLockWatchUpdate getUpdateForTransactions(
             Set<Long> startTimestamps, Optional<LockWatchVersion> lastKnownVersion) {
         Preconditions.checkArgument(!startTimestamps.isEmpty(), "Cannot get events for empty set of transactions");
-        TimestampMapping timestampMapping = getTimestampMappings(startTimestamps);
+        return readConsistently(() -> {
+            TimestampMapping timestampMapping = getTimestampMappings(startTimestamps);
+            return eventLog.getEventsBetweenVersions(lastKnownVersion, timestampMapping.lastVersion())
+                    .toTransactionsLockWatchUpdate(timestampMapping, lastKnownVersion);
+        });
+    }
 
-        return eventLog.getEventsBetweenVersions(lastKnownVersion, timestampMapping.lastVersion())
-                .toTransactionsLockWatchUpdate(timestampMapping, lastKnownVersion);
+    @Override
+    public Optional<LockWatchVersion> getStartTransactionVersion(long startTimestamp) {
+        return timestampStateStore.getStartVersion(startTimestamp);
     }
 
     @Override
@@ -110,10 +138,43 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
 
     @VisibleForTesting
     LockWatchEventCacheState getStateForTesting() {
-        return ImmutableLockWatchEventCacheState.builder()
-                .timestampStoreState(timestampStateStore.getStateForTesting())
-                .logState(eventLog.getStateForTesting())
-                .build();
+        long stamp = lock.readLock();
+        try {
+            return ImmutableLockWatchEventCacheState.builder()
+                    .timestampStoreState(timestampStateStore.getStateForTesting())
+                    .logState(eventLog.getStateForTesting())
+                    .build();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Performs the read without locking, returning the result only if no update was applied in the meantime. The
+     * underlying stores are concurrent, so a racing update can at worst make the optimistic read observe an
+     * inconsistent state or fail, in which case the read is retried under the read lock.
+     */
+    private <T> T readConsistently(Supplier<T> read) {
+        long optimisticStamp = lock.tryOptimisticRead();
+        if (optimisticStamp != 0) {
+            try {
+                T result = read.get();
+                if (lock.validate(optimisticStamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(optimisticStamp)) {
+                    throw e;
+                }
+            }
+        }
+
+        long stamp = lock.readLock();
+        try {
+            return read.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     private TimestampMapping getTimestampMappings(Set<Long> startTimestamps) {
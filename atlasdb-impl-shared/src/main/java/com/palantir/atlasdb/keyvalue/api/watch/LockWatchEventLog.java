@@ -28,7 +28,7 @@ import java.util.Optional;
 final class LockWatchEventLog {
     private final ClientLockWatchSnapshot snapshot;
     private final VersionedEventStore eventStore;
-    private Optional<LockWatchVersion> latestVersion = Optional.empty();
+    private volatile Optional<LockWatchVersion> latestVersion = Optional.empty();
 
     static LockWatchEventLog create(int maxEvents) {
         return new LockWatchEventLog(ClientLockWatchSnapshot.create(), maxEvents);
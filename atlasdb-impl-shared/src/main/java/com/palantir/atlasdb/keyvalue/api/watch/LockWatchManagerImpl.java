@@ -16,12 +16,17 @@
 
 package com.palantir.atlasdb.keyvalue.api.watch;
 
+import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.timelock.api.LockWatchRequest;
+import com.palantir.atlasdb.transaction.api.LockWatchingCache;
+import com.palantir.atlasdb.transaction.api.NoOpTransactionLockWatchingCacheView;
+import com.palantir.atlasdb.transaction.api.TransactionLockWatchingCacheView;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.lock.client.NamespacedConjureLockWatchingService;
 import com.palantir.lock.watch.CommitUpdate;
 import com.palantir.lock.watch.LockWatchEventCache;
 import com.palantir.lock.watch.LockWatchReferences;
+import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.lock.watch.LockWatchVersion;
 import com.palantir.lock.watch.TransactionsLockWatchUpdate;
 import com.palantir.logsafe.UnsafeArg;
@@ -37,17 +42,30 @@ import org.slf4j.LoggerFactory;
 public final class LockWatchManagerImpl extends LockWatchManager implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(LockWatchManagerImpl.class);
+    private static final int DEFAULT_MAX_CACHED_CELLS = 100_000;
 
     private final Set<LockWatchReferences.LockWatchReference> lockWatchReferences = ConcurrentHashMap.newKeySet();
     private final LockWatchEventCache lockWatchEventCache;
     private final NamespacedConjureLockWatchingService lockWatchingService;
+    private final LockWatchingCache valueCache;
     private final ScheduledExecutorService executorService = PTExecutors.newSingleThreadScheduledExecutor();
     private final ScheduledFuture<?> refreshTask;
 
     public LockWatchManagerImpl(
             LockWatchEventCache lockWatchEventCache, NamespacedConjureLockWatchingService lockWatchingService) {
+        this(
+                lockWatchEventCache,
+                lockWatchingService,
+                LockWatchValueCacheImpl.create(lockWatchEventCache, DEFAULT_MAX_CACHED_CELLS));
+    }
+
+    public LockWatchManagerImpl(
+            LockWatchEventCache lockWatchEventCache,
+            NamespacedConjureLockWatchingService lockWatchingService,
+            LockWatchingCache valueCache) {
         this.lockWatchEventCache = lockWatchEventCache;
         this.lockWatchingService = lockWatchingService;
+        this.valueCache = valueCache;
         refreshTask = executorService.scheduleWithFixedDelay(this::registerWatchesWithTimelock, 0, 5, TimeUnit.SECONDS);
     }
 
@@ -62,6 +80,22 @@ public final class LockWatchManagerImpl extends LockWatchManager implements Auto
         return lockWatchEventCache.getUpdateForTransactions(startTimestamps, version);
     }
 
+    /**
+     * Values are only cached once this client has registered lock watches; until then, there is nothing the cache
+     * could safely serve, and we avoid paying for keeping it up to date.
+     */
+    @Override
+    public TransactionLockWatchingCacheView getCacheView(long startTs) {
+        if (lockWatchReferences.isEmpty() || !lockWatchEventCache.isEnabled()) {
+            return NoOpTransactionLockWatchingCacheView.INSTANCE;
+        }
+        return lockWatchEventCache
+                .getStartTransactionVersion(startTs)
+                .map(version -> valueCache.getView(
+                        startTs, LockWatchStateUpdate.success(version.id(), version.version(), ImmutableList.of())))
+                .orElse(NoOpTransactionLockWatchingCacheView.INSTANCE);
+    }
+
     @Override
     public void close() {
         refreshTask.cancel(false);
@@ -0,0 +1,341 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.api.watch;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.TreeRangeSet;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CellReference;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.GuardedValue;
+import com.palantir.atlasdb.transaction.api.LockWatchingCache;
+import com.palantir.atlasdb.transaction.api.NoOpTransactionLockWatchingCacheView;
+import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
+import com.palantir.atlasdb.transaction.api.TransactionLockWatchingCacheView;
+import com.palantir.lock.AtlasCellLockDescriptor;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.watch.LockEvent;
+import com.palantir.lock.watch.LockWatchCreatedEvent;
+import com.palantir.lock.watch.LockWatchEvent;
+import com.palantir.lock.watch.LockWatchEventCache;
+import com.palantir.lock.watch.LockWatchReferences;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.LockWatchVersion;
+import com.palantir.lock.watch.TransactionsLockWatchUpdate;
+import com.palantir.lock.watch.UnlockEvent;
+import com.palantir.logsafe.Preconditions;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded, client-side cache of values for tables covered by lock watches.
+ *
+ * The cache follows the lock watch event log of the {@link LockWatchEventCache}: every lock, unlock or watch creation
+ * event invalidates the cached values of the affected cells. A value is cached together with the lock watch version
+ * of the transaction that read it, and is only served to transactions whose start version is at least that version.
+ * Since no events touching the cell have been processed after the value was cached, no transaction can have written
+ * to the cell in the meantime, and the cached value is exactly what the reader would have seen in the KVS.
+ *
+ * Values are only cached for cells that are watched at both cell and row granularity and are not locked at the time
+ * of caching. It is the responsibility of callers to only use the cache for tables whose writes take out locks.
+ */
+public final class LockWatchValueCacheImpl implements LockWatchingCache {
+    private static final Logger log = LoggerFactory.getLogger(LockWatchValueCacheImpl.class);
+
+    private final LockWatchEventCache eventCache;
+    private final CacheEventVisitor eventVisitor = new CacheEventVisitor();
+
+    @GuardedBy("this")
+    private final Map<CellReference, CacheEntry> values;
+
+    @GuardedBy("this")
+    private final SetMultimap<LockDescriptor, CellReference> cellsByDescriptor = HashMultimap.create();
+
+    @GuardedBy("this")
+    private final Set<LockDescriptor> lockedDescriptors = new HashSet<>();
+
+    @GuardedBy("this")
+    private final RangeSet<LockDescriptor> watchedRanges = TreeRangeSet.create();
+
+    @GuardedBy("this")
+    private Optional<LockWatchVersion> currentVersion = Optional.empty();
+
+    public static LockWatchValueCacheImpl create(LockWatchEventCache eventCache, int maxCachedCells) {
+        Preconditions.checkArgument(maxCachedCells > 0, "Maximum number of cached cells must be positive");
+        return new LockWatchValueCacheImpl(eventCache, maxCachedCells);
+    }
+
+    private LockWatchValueCacheImpl(LockWatchEventCache eventCache, int maxCachedCells) {
+        this.eventCache = eventCache;
+        this.values = new LinkedHashMap<CellReference, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellReference, CacheEntry> eldest) {
+                if (size() <= maxCachedCells) {
+                    return false;
+                }
+                removeFromIndex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Map<Cell, GuardedValue> getCached(TableReference tableRef, Set<Cell> reads) {
+        Map<Cell, GuardedValue> result = new HashMap<>();
+        for (Cell cell : reads) {
+            CacheEntry entry = values.get(CellReference.of(tableRef, cell));
+            if (entry != null) {
+                result.put(cell, GuardedValue.of(entry.value(), entry.version()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values written by a committed transaction are not cached, as readers with a start version between the commit
+     * lock event and the unlock event may or may not see them, depending on their start timestamp. The written cells
+     * are, however, eagerly invalidated.
+     */
+    @Override
+    public synchronized void maybeCacheCommittedWrites(TableReference tableRef, Map<Cell, byte[]> writes) {
+        writes.keySet().forEach(cell -> invalidate(CellReference.of(tableRef, cell)));
+    }
+
+    @Override
+    public synchronized void maybeCacheEntriesRead(
+            TableReference tableRef, Map<Cell, byte[]> writes, LockWatchStateUpdate lockWatchState) {
+        LockWatchVersion readVersion = toVersion(lockWatchState);
+        if (!currentVersion.filter(readVersion::equals).isPresent()) {
+            // Events after the reader's version may have already invalidated some of these values.
+            return;
+        }
+
+        writes.forEach((cell, value) -> {
+            CellReference cellReference = CellReference.of(tableRef, cell);
+            CacheEntry entry = CacheEntry.of(
+                    value,
+                    readVersion.version(),
+                    AtlasCellLockDescriptor.of(tableRef.getQualifiedName(), cell.getRowName(), cell.getColumnName()),
+                    AtlasRowLockDescriptor.of(tableRef.getQualifiedName(), cell.getRowName()));
+            if (isCacheable(entry)) {
+                invalidate(cellReference);
+                values.put(cellReference, entry);
+                cellsByDescriptor.put(entry.cellDescriptor(), cellReference);
+                cellsByDescriptor.put(entry.rowDescriptor(), cellReference);
+            }
+        });
+    }
+
+    /**
+     * Brings the cache up to date with the lock watch version of the transaction, and returns a view of the cache as
+     * of that version. If the cache cannot be brought up to date, the returned view will not serve or cache any values.
+     */
+    @Override
+    public TransactionLockWatchingCacheView getView(long startTimestamp, LockWatchStateUpdate lockWatchState) {
+        LockWatchVersion startVersion = toVersion(lockWatchState);
+        try {
+            catchUpTo(startTimestamp, startVersion);
+        } catch (TransactionLockWatchFailedException e) {
+            log.info("Failed to update the lock watch value cache; clearing it", e);
+            clear();
+            return NoOpTransactionLockWatchingCacheView.INSTANCE;
+        }
+        return new View(startVersion, lockWatchState);
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return values.size();
+    }
+
+    private synchronized void catchUpTo(long startTimestamp, LockWatchVersion startVersion) {
+        boolean upToDate = currentVersion
+                .filter(version -> version.id().equals(startVersion.id()))
+                .filter(version -> version.version() >= startVersion.version())
+                .isPresent();
+        if (upToDate) {
+            return;
+        }
+
+        TransactionsLockWatchUpdate update =
+                eventCache.getUpdateForTransactions(ImmutableSet.of(startTimestamp), currentVersion);
+        if (update.clearCache()) {
+            clear();
+        }
+        update.events().forEach(event -> event.accept(eventVisitor));
+        currentVersion = Optional.of(startVersion);
+    }
+
+    private synchronized Map<Cell, byte[]> readCached(
+            TableReference tableRef, Set<Cell> cells, LockWatchVersion startVersion) {
+        boolean processedStartVersion = currentVersion
+                .filter(version -> version.id().equals(startVersion.id()))
+                .filter(version -> version.version() >= startVersion.version())
+                .isPresent();
+        if (!processedStartVersion) {
+            return new HashMap<>();
+        }
+
+        Map<Cell, byte[]> result = new HashMap<>();
+        for (Cell cell : cells) {
+            CacheEntry entry = values.get(CellReference.of(tableRef, cell));
+            if (entry != null && entry.version() <= startVersion.version()) {
+                result.put(cell, entry.value());
+            }
+        }
+        return result;
+    }
+
+    @GuardedBy("this")
+    private boolean isCacheable(CacheEntry entry) {
+        return watchedRanges.contains(entry.cellDescriptor())
+                && watchedRanges.contains(entry.rowDescriptor())
+                && !lockedDescriptors.contains(entry.cellDescriptor())
+                && !lockedDescriptors.contains(entry.rowDescriptor());
+    }
+
+    @GuardedBy("this")
+    private void invalidate(Set<LockDescriptor> descriptors) {
+        for (LockDescriptor descriptor : descriptors) {
+            for (CellReference cellReference : ImmutableSet.copyOf(cellsByDescriptor.get(descriptor))) {
+                invalidate(cellReference);
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private void invalidate(CellReference cellReference) {
+        CacheEntry entry = values.remove(cellReference);
+        if (entry != null) {
+            removeFromIndex(cellReference, entry);
+        }
+    }
+
+    @GuardedBy("this")
+    private void removeFromIndex(CellReference cellReference, CacheEntry entry) {
+        cellsByDescriptor.remove(entry.cellDescriptor(), cellReference);
+        cellsByDescriptor.remove(entry.rowDescriptor(), cellReference);
+    }
+
+    private synchronized void clear() {
+        values.clear();
+        cellsByDescriptor.clear();
+        lockedDescriptors.clear();
+        watchedRanges.clear();
+        currentVersion = Optional.empty();
+    }
+
+    private static LockWatchVersion toVersion(LockWatchStateUpdate lockWatchState) {
+        return lockWatchState.accept(new LockWatchStateUpdate.Visitor<LockWatchVersion>() {
+            @Override
+            public LockWatchVersion visit(LockWatchStateUpdate.Success success) {
+                return LockWatchVersion.of(success.logId(), success.lastKnownVersion());
+            }
+
+            @Override
+            public LockWatchVersion visit(LockWatchStateUpdate.Snapshot snapshot) {
+                return LockWatchVersion.of(snapshot.logId(), snapshot.lastKnownVersion());
+            }
+        });
+    }
+
+    private final class View implements TransactionLockWatchingCacheView {
+        private final LockWatchVersion startVersion;
+        private final LockWatchStateUpdate lockWatchState;
+
+        private View(LockWatchVersion startVersion, LockWatchStateUpdate lockWatchState) {
+            this.startVersion = startVersion;
+            this.lockWatchState = lockWatchState;
+        }
+
+        @Override
+        public Map<Cell, byte[]> readCached(TableReference tableRef, Set<Cell> cells) {
+            return LockWatchValueCacheImpl.this.readCached(tableRef, cells, startVersion);
+        }
+
+        @Override
+        public void tryCacheNewValuesRead(TableReference tableRef, Map<Cell, byte[]> writes) {
+            maybeCacheEntriesRead(tableRef, writes, lockWatchState);
+        }
+
+        @Override
+        public void tryCacheWrittenValues(TableReference tableRef, Map<Cell, byte[]> writes, long lockTs) {
+            maybeCacheCommittedWrites(tableRef, writes);
+        }
+    }
+
+    /**
+     * Only invoked while holding the monitor of the enclosing cache, from {@link #catchUpTo(long, LockWatchVersion)}.
+     */
+    private final class CacheEventVisitor implements LockWatchEvent.Visitor<Void> {
+        @Override
+        public Void visit(LockEvent lockEvent) {
+            lockedDescriptors.addAll(lockEvent.lockDescriptors());
+            invalidate(lockEvent.lockDescriptors());
+            return null;
+        }
+
+        @Override
+        public Void visit(UnlockEvent unlockEvent) {
+            lockedDescriptors.removeAll(unlockEvent.lockDescriptors());
+            invalidate(unlockEvent.lockDescriptors());
+            return null;
+        }
+
+        @Override
+        public Void visit(LockWatchCreatedEvent lockWatchCreatedEvent) {
+            lockWatchCreatedEvent.references().stream()
+                    .map(reference -> reference.accept(LockWatchReferences.TO_RANGES_VISITOR))
+                    .forEach(watchedRanges::add);
+            lockedDescriptors.addAll(lockWatchCreatedEvent.lockDescriptors());
+            invalidate(lockWatchCreatedEvent.lockDescriptors());
+            return null;
+        }
+    }
+
+    @Value.Immutable
+    interface CacheEntry {
+        @Value.Parameter
+        byte[] value();
+
+        @Value.Parameter
+        long version();
+
+        @Value.Parameter
+        LockDescriptor cellDescriptor();
+
+        @Value.Parameter
+        LockDescriptor rowDescriptor();
+
+        static CacheEntry of(byte[] value, long version, LockDescriptor cellDescriptor, LockDescriptor rowDescriptor) {
+            return ImmutableCacheEntry.of(value, version, cellDescriptor, rowDescriptor);
+        }
+    }
+}
@@ -18,7 +18,6 @@ package com.palantir.atlasdb.keyvalue.api.watch;
 
 import com.codahale.metrics.Counter;
 import com.google.common.reflect.AbstractInvocationHandler;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.lock.watch.LockWatchEventCache;
@@ -29,6 +28,10 @@ import java.lang.reflect.Proxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Delegates to the default cache until it fails unexpectedly, after which the fallback cache is used. Invocations are
+ * not serialised by this proxy; the caches are expected to be thread safe.
+ */
 final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
 
     private static final Logger log = LoggerFactory.getLogger(ResilientLockWatchEventCache.class);
@@ -44,8 +47,7 @@ final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
     private final LockWatchEventCache fallbackCache;
     private final Counter fallbackCacheSelectedCounter;
 
-    @GuardedBy("this")
-    private LockWatchEventCache delegate;
+    private volatile LockWatchEventCache delegate;
 
     private ResilientLockWatchEventCache(
             LockWatchEventCache defaultCache, LockWatchEventCache fallbackCache, MetricsManager metricsManager) {
@@ -56,30 +58,32 @@ final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
     }
 
     @Override
-    protected synchronized Object handleInvocation(Object proxy, Method method, Object[] args)
-            throws IllegalAccessException {
+    protected Object handleInvocation(Object proxy, Method method, Object[] args) throws IllegalAccessException {
+        LockWatchEventCache cache = delegate;
         try {
-            return method.invoke(delegate, args);
+            return method.invoke(cache, args);
         } catch (InvocationTargetException e) {
-            throw handleException(e);
+            throw handleException(cache, e);
         }
     }
 
-    synchronized RuntimeException handleException(InvocationTargetException rethrow) {
+    synchronized RuntimeException handleException(LockWatchEventCache failedCache, InvocationTargetException rethrow) {
         try {
             throw rethrow.getCause();
         } catch (TransactionLockWatchFailedException e) {
             throw e;
         } catch (Throwable t) {
-            if (delegate == fallbackCache) {
+            if (failedCache == fallbackCache) {
                 throw new SafeRuntimeException("Fallback cache threw an exception", t);
             } else {
-                log.warn(
-                        "Unexpected failure occurred when trying to use the default cache. "
-                                + "Switching to the fallback implementation",
-                        t);
-                fallbackCacheSelectedCounter.inc();
-                delegate = fallbackCache;
+                if (delegate != fallbackCache) {
+                    log.warn(
+                            "Unexpected failure occurred when trying to use the default cache. "
+                                    + "Switching to the fallback implementation",
+                            t);
+                    fallbackCacheSelectedCounter.inc();
+                    delegate = fallbackCache;
+                }
                 throw new TransactionLockWatchFailedException("Unexpected failure in the default lock watch cache", t);
             }
         }
@@ -25,13 +25,17 @@ import com.palantir.lock.watch.LockWatchVersion;
 import com.palantir.lock.watch.TransactionUpdate;
 import com.palantir.logsafe.Preconditions;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.immutables.value.Value;
 
+/**
+ * Thread safe, allowing transactions to look up and remove their own state concurrently with one another. Updates to
+ * the store that must be consistent with the event log are expected to be serialised by the caller.
+ */
 final class TimestampStateStore {
-    private final Map<Long, MapEntry> timestampMap = new HashMap<>();
+    private final Map<Long, MapEntry> timestampMap = new ConcurrentHashMap<>();
 
     void putStartTimestamps(Collection<Long> startTimestamps, LockWatchVersion version) {
         startTimestamps.forEach(startTimestamp -> {
@@ -50,9 +54,13 @@ final class TimestampStateStore {
             Preconditions.checkArgument(
                     !previousEntry.commitInfo().isPresent(), "Commit info already present for given timestamp");
 
-            timestampMap.replace(
+            boolean replaced = timestampMap.replace(
                     transactionUpdate.startTs(),
+                    previousEntry,
                     previousEntry.withCommitInfo(CommitInfo.of(transactionUpdate.writesToken(), newVersion)));
+            if (!replaced) {
+                throw new TransactionLockWatchFailedException("start timestamp removed from map concurrently");
+            }
         });
     }
 
@@ -24,13 +24,13 @@ import com.palantir.logsafe.Preconditions;
 import java.util.Collection;
 import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 final class VersionedEventStore {
     private static final boolean INCLUSIVE = true;
 
     private final int maxEvents;
-    private final NavigableMap<Long, LockWatchEvent> eventMap = new TreeMap<>();
+    private final NavigableMap<Long, LockWatchEvent> eventMap = new ConcurrentSkipListMap<>();
 
     VersionedEventStore(int maxEvents) {
         Preconditions.checkArgument(maxEvents > 0, "maxEvents must be positive");
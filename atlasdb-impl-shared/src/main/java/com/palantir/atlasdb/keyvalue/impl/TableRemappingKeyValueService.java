@@ -103,6 +103,15 @@ public final class TableRemappingKeyValueService extends ForwardingObject implem
         }
     }
 
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        try {
+            return delegate().deleteAsync(tableMapper.getMappedTableName(tableRef), keys);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     @Override
     public void deleteRange(TableReference tableRef, RangeRequest range) {
         try {
@@ -314,6 +323,16 @@ public final class TableRemappingKeyValueService extends ForwardingObject implem
         }
     }
 
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        try {
+            return delegate().multiPutAsync(tableMapper.mapToShortTableNames(valuesByTable), timestamp);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
         try {
@@ -323,6 +342,15 @@ public final class TableRemappingKeyValueService extends ForwardingObject implem
         }
     }
 
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        try {
+            return delegate().putAsync(tableMapper.getMappedTableName(tableRef), values, timestamp);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     @Override
     public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
         try {
@@ -382,6 +410,15 @@ public final class TableRemappingKeyValueService extends ForwardingObject implem
         }
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        try {
+            delegate().bulkPutWithTimestamps(tableMapper.getMappedTableName(tableRef), values);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     @Override
     public void close() {
         delegate().close();
@@ -445,4 +482,42 @@ public final class TableRemappingKeyValueService extends ForwardingObject implem
             throw new IllegalArgumentException(e);
         }
     }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        try {
+            return delegate()
+                    .getRowsAsync(tableMapper.getMappedTableName(tableRef), rows, columnSelection, timestamp);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        try {
+            return delegate()
+                    .getRowsColumnRangeAsync(
+                            tableMapper.getMappedTableName(tableRef), rows, batchColumnRangeSelection, timestamp);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        try {
+            return delegate()
+                    .getFirstBatchForRangesAsync(
+                            tableMapper.getMappedTableName(tableRef), rangeRequests, timestamp);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
 }
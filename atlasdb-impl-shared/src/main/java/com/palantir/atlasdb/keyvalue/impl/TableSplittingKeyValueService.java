@@ -21,7 +21,9 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweepingRequest;
@@ -43,6 +45,7 @@ import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.common.base.ClosableIterator;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.util.paging.TokenBackedBasicResultsPage;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -134,6 +137,11 @@ public final class TableSplittingKeyValueService implements KeyValueService {
         getDelegate(tableRef).delete(tableRef, keys);
     }
 
+    @Override
+    public ListenableFuture<Void> deleteAsync(TableReference tableRef, Multimap<Cell, Long> keys) {
+        return getDelegate(tableRef).deleteAsync(tableRef, keys);
+    }
+
     @Override
     public void deleteRange(TableReference tableRef, RangeRequest range) {
         getDelegate(tableRef).deleteRange(tableRef, range);
@@ -292,6 +300,25 @@ public final class TableSplittingKeyValueService implements KeyValueService {
 
     @Override
     public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        for (Map.Entry<KeyValueService, Map<TableReference, Map<Cell, byte[]>>> e :
+                groupByDelegate(valuesByTable).entrySet()) {
+            e.getKey().multiPut(e.getValue(), timestamp);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        List<ListenableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<KeyValueService, Map<TableReference, Map<Cell, byte[]>>> e :
+                groupByDelegate(valuesByTable).entrySet()) {
+            futures.add(e.getKey().multiPutAsync(e.getValue(), timestamp));
+        }
+        return Futures.whenAllSucceed(futures).call(() -> null, MoreExecutors.directExecutor());
+    }
+
+    private Map<KeyValueService, Map<TableReference, Map<Cell, byte[]>>> groupByDelegate(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable) {
         Map<KeyValueService, Map<TableReference, Map<Cell, byte[]>>> mapByDelegate = new HashMap<>();
         for (Map.Entry<TableReference, ? extends Map<Cell, byte[]>> e : valuesByTable.entrySet()) {
             KeyValueService delegate = getDelegate(e.getKey());
@@ -299,9 +326,7 @@ public final class TableSplittingKeyValueService implements KeyValueService {
                     mapByDelegate.computeIfAbsent(delegate, table -> new HashMap<>());
             map.put(e.getKey(), e.getValue());
         }
-        for (Map.Entry<KeyValueService, Map<TableReference, Map<Cell, byte[]>>> e : mapByDelegate.entrySet()) {
-            e.getKey().multiPut(e.getValue(), timestamp);
-        }
+        return mapByDelegate;
     }
 
     @Override
@@ -309,6 +334,11 @@ public final class TableSplittingKeyValueService implements KeyValueService {
         getDelegate(tableRef).put(tableRef, values, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        return getDelegate(tableRef).putAsync(tableRef, values, timestamp);
+    }
+
     @Override
     public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
         getDelegate(tableRef).putMetadataForTable(tableRef, metadata);
@@ -341,6 +371,11 @@ public final class TableSplittingKeyValueService implements KeyValueService {
         getDelegate(tableRef).putWithTimestamps(tableRef, values);
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        getDelegate(tableRef).bulkPutWithTimestamps(tableRef, values);
+    }
+
     @Override
     public void close() {
         for (KeyValueService delegate : delegates) {
@@ -391,4 +426,25 @@ public final class TableSplittingKeyValueService implements KeyValueService {
     public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
         return getDelegate(tableRef).getAsync(tableRef, timestampByCell);
     }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        return getDelegate(tableRef).getRowsAsync(tableRef, rows, columnSelection, timestamp);
+    }
+
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        return getDelegate(tableRef).getRowsColumnRangeAsync(tableRef, rows, batchColumnRangeSelection, timestamp);
+    }
+
+    @Override
+    public ListenableFuture<Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>>>
+            getFirstBatchForRangesAsync(TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        return getDelegate(tableRef).getFirstBatchForRangesAsync(tableRef, rangeRequests, timestamp);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Decides the order in which the background threads of targeted sweep for one strategy try to lock shards. Shards
+ * whose progress is furthest behind come first, so that backlogs left by bursts of writes are drained first. Shards
+ * already claimed by another thread of this node are left out: an idle thread steals the next most backed up shard
+ * rather than waiting on a lock that its neighbour holds. Shards with equal progress are rotated through, as they were
+ * when shards were picked round robin.
+ */
+final class ShardPrioritizer {
+    private static final Duration PROGRESS_REFRESH = Duration.ofSeconds(5);
+
+    private final SweeperStrategy strategy;
+    private final IntSupplier numShards;
+    private final Function<Collection<ShardAndStrategy>, Map<ShardAndStrategy, Long>> progressReader;
+    private final Supplier<Map<ShardAndStrategy, Long>> persistedProgress;
+    private final Map<Integer, Long> locallyObservedProgress = new ConcurrentHashMap<>();
+    private final Set<Integer> claimedShards = ConcurrentHashMap.newKeySet();
+    private final AtomicLong counter = new AtomicLong();
+
+    ShardPrioritizer(
+            SweeperStrategy strategy,
+            IntSupplier numShards,
+            Function<Collection<ShardAndStrategy>, Map<ShardAndStrategy, Long>> progressReader) {
+        this.strategy = strategy;
+        this.numShards = numShards;
+        this.progressReader = progressReader;
+        this.persistedProgress = Suppliers.memoizeWithExpiration(
+                this::readAllProgress, PROGRESS_REFRESH.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the shards not claimed by any thread of this node, most backed up first.
+     */
+    List<Integer> getShardsInPriorityOrder() {
+        int shards = numShards.getAsInt();
+        int offset = (int) (counter.getAndIncrement() % shards);
+        Map<ShardAndStrategy, Long> persisted = persistedProgress.get();
+        return IntStream.range(0, shards)
+                .map(index -> (index + offset) % shards)
+                .filter(shard -> !claimedShards.contains(shard))
+                .boxed()
+                .sorted(Comparator.comparingLong(shard -> lastSweptTimestamp(persisted, shard)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Claims the shard for the calling thread, returning false if another thread of this node already holds it.
+     */
+    boolean tryClaim(int shard) {
+        return claimedShards.add(shard);
+    }
+
+    void release(int shard) {
+        claimedShards.remove(shard);
+    }
+
+    /**
+     * Refreshes the progress of a shard after it was swept, so that it does not keep its old priority until the next
+     * refresh of all shards.
+     */
+    void recordProgress(int shard) {
+        ShardAndStrategy shardAndStrategy = ShardAndStrategy.of(shard, strategy);
+        Long lastSwept = progressReader.apply(ImmutableSet.of(shardAndStrategy)).get(shardAndStrategy);
+        if (lastSwept != null) {
+            locallyObservedProgress.merge(shard, lastSwept, Math::max);
+        }
+    }
+
+    private long lastSweptTimestamp(Map<ShardAndStrategy, Long> persisted, int shard) {
+        long persistedTimestamp =
+                persisted.getOrDefault(ShardAndStrategy.of(shard, strategy), SweepQueueUtils.INITIAL_TIMESTAMP);
+        return Math.max(
+                persistedTimestamp, locallyObservedProgress.getOrDefault(shard, SweepQueueUtils.INITIAL_TIMESTAMP));
+    }
+
+    private Map<ShardAndStrategy, Long> readAllProgress() {
+        return progressReader.apply(IntStream.range(0, numShards.getAsInt())
+                .mapToObj(shard -> ShardAndStrategy.of(shard, strategy))
+                .collect(Collectors.toList()));
+    }
+}
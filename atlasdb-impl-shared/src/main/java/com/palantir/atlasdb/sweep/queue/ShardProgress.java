@@ -17,6 +17,7 @@ package com.palantir.atlasdb.sweep.queue;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
@@ -29,8 +30,11 @@ import com.palantir.atlasdb.schema.generated.TargetedSweepTableFactory;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.util.PersistableBoolean;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,6 +78,21 @@ public class ShardProgress {
         return maybeGet(shardAndStrategy).orElse(SweepQueueUtils.INITIAL_TIMESTAMP);
     }
 
+    /**
+     * Returns the last swept timestamps for the given shards and strategies, reading them all in a single request.
+     */
+    public Map<ShardAndStrategy, Long> getLastSweptTimestamps(Collection<ShardAndStrategy> shardsAndStrategies) {
+        Map<Cell, ShardAndStrategy> shardsByCell = shardsAndStrategies.stream()
+                .collect(Collectors.toMap(ShardProgress::cellForShard, Function.identity()));
+        Map<Cell, Value> entries =
+                kvs.get(TABLE_REF, Maps.toMap(shardsByCell.keySet(), unused -> SweepQueueUtils.READ_TS));
+        return shardsByCell.entrySet().stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getValue, entry -> Optional.ofNullable(entries.get(entry.getKey()))
+                                .map(ShardProgress::getValue)
+                                .orElse(SweepQueueUtils.INITIAL_TIMESTAMP)));
+    }
+
     /**
      * Updates the persisted last swept timestamp for the given shard and strategy to timestamp if it is greater than
      * the currently persisted last swept timestamp.
@@ -86,6 +105,28 @@ public class ShardProgress {
         return increaseValueFromToAtLeast(shardAndStrategy, getLastSweptTimestamp(shardAndStrategy), timestamp);
     }
 
+    /**
+     * Lowers the persisted last swept timestamp for the given shard and strategy to timestamp, if it is currently
+     * greater, so that entries added to the shard's queue at or before timestamp + 1 are swept. Callers must hold the
+     * {@link TargetedSweeperLock} for the shard and strategy, as a concurrent sweep could otherwise progress past them.
+     *
+     * @param shardAndStrategy shard and strategy to update for
+     * @param timestamp timestamp to lower to
+     */
+    public void lowerLastSweptTimestampTo(ShardAndStrategy shardAndStrategy, long timestamp) {
+        long currentValue = getLastSweptTimestamp(shardAndStrategy);
+        while (currentValue > timestamp) {
+            CheckAndSetRequest casRequest =
+                    createSingleCellRequest(shardAndStrategy, currentValue, createColumnValue(timestamp));
+            try {
+                kvs.checkAndSet(casRequest);
+                return;
+            } catch (CheckAndSetException e) {
+                currentValue = rethrowIfUnchanged(shardAndStrategy, currentValue, e);
+            }
+        }
+    }
+
     private Optional<Long> maybeGet(ShardAndStrategy shardAndStrategy) {
         Map<Cell, Value> result = getEntry(shardAndStrategy);
         if (result.isEmpty()) {
@@ -107,8 +148,12 @@ public class ShardProgress {
     }
 
     private static long getValue(Map<Cell, Value> entry) {
-        SweepShardProgressTable.Value value = SweepShardProgressTable.Value.BYTES_HYDRATOR.hydrateFromBytes(
-                Iterables.getOnlyElement(entry.values()).getContents());
+        return getValue(Iterables.getOnlyElement(entry.values()));
+    }
+
+    private static long getValue(Value entry) {
+        SweepShardProgressTable.Value value =
+                SweepShardProgressTable.Value.BYTES_HYDRATOR.hydrateFromBytes(entry.getContents());
         return value.getValue();
     }
 
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.sweep.queue;
 
 import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.schema.TargetedSweepSchema;
 import com.palantir.atlasdb.sweep.Sweeper;
@@ -28,8 +29,11 @@ import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionServices;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.logsafe.SafeArg;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -42,15 +46,21 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
     private final SweepQueueReader reader;
     private final SweepQueueDeleter deleter;
     private final SweepQueueCleaner cleaner;
+    private final SweepQueueResharder resharder;
     private final Supplier<Integer> numShards;
     private final TargetedSweepMetrics metrics;
 
-    private SweepQueue(SweepQueueFactory factory, TargetedSweepFollower follower) {
+    private SweepQueue(
+            SweepQueueFactory factory,
+            TargetedSweepFollower follower,
+            ListeningExecutorService deleteExecutor,
+            IntSupplier reshardLockAttempts) {
         this.progress = factory.progress;
         this.writer = factory.createWriter();
         this.reader = factory.createReader();
-        this.deleter = factory.createDeleter(follower);
+        this.deleter = factory.createDeleter(follower, deleteExecutor);
         this.cleaner = factory.createCleaner();
+        this.resharder = factory.createResharder(reshardLockAttempts);
         this.numShards = factory.numShards;
         this.metrics = factory.metrics;
     }
@@ -62,10 +72,13 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             Supplier<Integer> shardsConfig,
             TransactionService transaction,
             TargetedSweepFollower follower,
-            IntSupplier partitionBatchLimitSupplier) {
+            IntSupplier partitionBatchLimitSupplier,
+            ListeningExecutorService deleteExecutor,
+            BooleanSupplier compactEncodingEnabled,
+            IntSupplier reshardLockAttempts) {
         SweepQueueFactory factory = SweepQueueFactory.create(
-                metrics, kvs, timelock, shardsConfig, transaction, partitionBatchLimitSupplier);
-        return new SweepQueue(factory, follower);
+                metrics, kvs, timelock, shardsConfig, transaction, partitionBatchLimitSupplier, compactEncodingEnabled);
+        return new SweepQueue(factory, follower, deleteExecutor, reshardLockAttempts);
     }
 
     /**
@@ -159,6 +172,33 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         return sweepBatch.entriesRead();
     }
 
+    /**
+     * Returns the last swept timestamp for each of the given shards and strategies.
+     */
+    public Map<ShardAndStrategy, Long> getLastSweptTimestamps(Collection<ShardAndStrategy> shardsAndStrategies) {
+        return progress.getLastSweptTimestamps(shardsAndStrategies);
+    }
+
+    /**
+     * Raises the number of shards to newNumberOfShards and moves the backlog of the existing shards onto the new ones,
+     * while sweep keeps running. Sweep threads pick up the new shards once they next refresh the number of shards.
+     *
+     * @return the number of entries that were moved
+     */
+    public long reshard(int newNumberOfShards) {
+        return resharder.reshard(newNumberOfShards);
+    }
+
+    /**
+     * Resumes a reshard from previousNumberOfShards to newNumberOfShards, moving whatever backlog is left in the
+     * first previousNumberOfShards shards.
+     *
+     * @return the number of entries that were moved
+     */
+    public long reshard(int previousNumberOfShards, int newNumberOfShards) {
+        return resharder.reshard(previousNumberOfShards, newNumberOfShards);
+    }
+
     /**
      * Returns the most recently known number of shards.
      */
@@ -205,7 +245,7 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             // as transaction services must not hold any local state in them that would affect correctness.
             TransactionService transaction =
                     TransactionServices.createRaw(kvs, new TimelockTimestampServiceAdapter(timelock), false);
-            return create(metrics, kvs, timelock, shardsConfig, transaction, partitionBatchLimitSupplier);
+            return create(metrics, kvs, timelock, shardsConfig, transaction, partitionBatchLimitSupplier, () -> false);
         }
 
         static SweepQueueFactory create(
@@ -214,13 +254,14 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                 TimelockService timelock,
                 Supplier<Integer> shardsConfig,
                 TransactionService transaction,
-                IntSupplier partitionBatchLimitSupplier) {
+                IntSupplier partitionBatchLimitSupplier,
+                BooleanSupplier compactEncodingEnabled) {
             Schemas.createTablesAndIndexes(TargetedSweepSchema.INSTANCE.getLatestSchema(), kvs);
             ShardProgress shardProgress = new ShardProgress(kvs);
             Supplier<Integer> shards =
                     createProgressUpdatingSupplier(shardsConfig, shardProgress, SweepQueueUtils.REFRESH_TIME);
             WriteInfoPartitioner partitioner = new WriteInfoPartitioner(kvs, shards);
-            SweepableCells cells = new SweepableCells(kvs, partitioner, metrics, transaction);
+            SweepableCells cells = new SweepableCells(kvs, partitioner, metrics, transaction, compactEncodingEnabled);
             SweepableTimestamps timestamps = new SweepableTimestamps(kvs, partitioner);
             return new SweepQueueFactory(
                     shardProgress, shards, cells, timestamps, metrics, kvs, timelock, partitionBatchLimitSupplier);
@@ -234,12 +275,18 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             return new SweepQueueReader(timestamps, cells, partitionBatchLimitSupplier);
         }
 
-        private SweepQueueDeleter createDeleter(TargetedSweepFollower follower) {
-            return new SweepQueueDeleter(kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp));
+        private SweepQueueDeleter createDeleter(
+                TargetedSweepFollower follower, ListeningExecutorService deleteExecutor) {
+            return new SweepQueueDeleter(
+                    kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp), deleteExecutor);
         }
 
         private SweepQueueCleaner createCleaner() {
             return new SweepQueueCleaner(cells, timestamps, progress);
         }
+
+        private SweepQueueResharder createResharder(IntSupplier reshardLockAttempts) {
+            return SweepQueueResharder.create(progress, cells, timestamps, timelock, reshardLockAttempts);
+        }
     }
 }
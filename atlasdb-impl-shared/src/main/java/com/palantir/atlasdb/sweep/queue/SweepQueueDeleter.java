@@ -16,6 +16,10 @@
 package com.palantir.atlasdb.sweep.queue;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
@@ -23,9 +27,14 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.sweep.Sweeper;
+import com.palantir.common.base.Throwables;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -37,11 +46,26 @@ public class SweepQueueDeleter {
     private final KeyValueService kvs;
     private final TargetedSweepFollower follower;
     private final TargetedSweepFilter filter;
+    private final ListeningExecutorService deleteExecutor;
 
     SweepQueueDeleter(KeyValueService kvs, TargetedSweepFollower follower, TargetedSweepFilter filter) {
+        this(kvs, follower, filter, MoreExecutors.newDirectExecutorService());
+    }
+
+    /**
+     * @param deleteExecutor executor running the deletes for each partition of at most
+     * {@link SweepQueueUtils#BATCH_SIZE_KVS} cells. The partitions of a batch are disjoint, so they may be swept in
+     * parallel; {@link #sweep(Collection, Sweeper)} only returns once all of them are done.
+     */
+    SweepQueueDeleter(
+            KeyValueService kvs,
+            TargetedSweepFollower follower,
+            TargetedSweepFilter filter,
+            ListeningExecutorService deleteExecutor) {
         this.kvs = kvs;
         this.follower = follower;
         this.filter = filter;
+        this.deleteExecutor = deleteExecutor;
     }
 
     /**
@@ -56,28 +80,44 @@ public class SweepQueueDeleter {
     public void sweep(Collection<WriteInfo> unfilteredWrites, Sweeper sweeper) {
         Collection<WriteInfo> writes = filter.filter(unfilteredWrites);
         Map<TableReference, Map<Cell, TimestampRangeDelete>> maxTimestampByCell = writesPerTable(writes, sweeper);
+        Map<TableReference, ListenableFuture<?>> deletesPerTable = new LinkedHashMap<>();
         for (Map.Entry<TableReference, Map<Cell, TimestampRangeDelete>> entry : maxTimestampByCell.entrySet()) {
-            try {
-                Iterables.partition(entry.getValue().keySet(), SweepQueueUtils.BATCH_SIZE_KVS)
-                        .forEach(cells -> {
-                            Map<Cell, TimestampRangeDelete> maxTimestampByCellPartition = cells.stream()
-                                    .collect(Collectors.toMap(Function.identity(), entry.getValue()::get));
-                            follower.run(entry.getKey(), maxTimestampByCellPartition.keySet());
-                            if (sweeper.shouldAddSentinels()) {
-                                kvs.addGarbageCollectionSentinelValues(
-                                        entry.getKey(), maxTimestampByCellPartition.keySet());
-                            }
-                            kvs.deleteAllTimestamps(entry.getKey(), maxTimestampByCellPartition);
-                        });
-            } catch (Exception e) {
-                if (tableWasDropped(entry.getKey())) {
-                    log.debug(
-                            "Dropping sweeper work for table {}, which has been dropped.",
-                            LoggingArgs.tableRef(entry.getKey()),
-                            e);
-                } else {
-                    throw e;
-                }
+            List<ListenableFuture<?>> partitionDeletes = new ArrayList<>();
+            Iterables.partition(entry.getValue().keySet(), SweepQueueUtils.BATCH_SIZE_KVS)
+                    .forEach(cells -> {
+                        Map<Cell, TimestampRangeDelete> maxTimestampByCellPartition = cells.stream()
+                                .collect(Collectors.toMap(Function.identity(), entry.getValue()::get));
+                        partitionDeletes.add(deleteExecutor.submit(
+                                () -> sweepPartition(entry.getKey(), maxTimestampByCellPartition, sweeper)));
+                    });
+            deletesPerTable.put(entry.getKey(), Futures.allAsList(partitionDeletes));
+        }
+        deletesPerTable.forEach(this::waitForDeletes);
+    }
+
+    private void sweepPartition(
+            TableReference tableRef, Map<Cell, TimestampRangeDelete> maxTimestampByCellPartition, Sweeper sweeper) {
+        follower.run(tableRef, maxTimestampByCellPartition.keySet());
+        if (sweeper.shouldAddSentinels()) {
+            kvs.addGarbageCollectionSentinelValues(tableRef, maxTimestampByCellPartition.keySet());
+        }
+        kvs.deleteAllTimestamps(tableRef, maxTimestampByCellPartition);
+    }
+
+    private void waitForDeletes(TableReference tableRef, ListenableFuture<?> deletes) {
+        try {
+            deletes.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } catch (ExecutionException e) {
+            if (tableWasDropped(tableRef)) {
+                log.debug(
+                        "Dropping sweeper work for table {}, which has been dropped.",
+                        LoggingArgs.tableRef(tableRef),
+                        e.getCause());
+            } else {
+                throw Throwables.throwUncheckedException(e.getCause());
             }
         }
     }
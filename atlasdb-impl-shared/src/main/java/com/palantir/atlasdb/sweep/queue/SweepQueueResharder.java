@@ -0,0 +1,237 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Increases the number of shards of the sweep queue and moves the existing backlog onto the new shards, while
+ * targeted sweep keeps running.
+ *
+ * Raising the number of shards on its own only spreads writes enqueued from then on, so the backlog built up in the
+ * existing shards would still be swept by one thread per shard. Instead, the entries of each fine partition of an
+ * existing shard are re-enqueued into the new shards, spread by cell as writes are, and then removed from the existing
+ * shard. Each partition is moved while holding the {@link TargetedSweeperLock} of the source shard and of every
+ * shard it is moved to, so sweep only pauses for those shards, and only for the duration of the move. The progress of
+ * each destination shard is lowered below the earliest entry moved to it, so that the moved entries get swept.
+ *
+ * Only partitions whose timestamps are all below the immutable timestamp are moved, as transactions that started
+ * before the immutable timestamp can no longer add entries to them. An interrupted reshard is resumed by calling
+ * {@link #reshard(int, int)} again with the same arguments.
+ *
+ * Targeted sweep holds the lock of a shard while it sweeps a batch, so acquiring a lock may take several attempts.
+ * Attempts back off exponentially with jitter, and the reshard fails once the configured number of attempts for a
+ * single lock is exhausted.
+ */
+public final class SweepQueueResharder {
+    private static final Logger log = LoggerFactory.getLogger(SweepQueueResharder.class);
+    private static final long INITIAL_LOCK_BACKOFF_MILLIS = 100L;
+    private static final long MAX_LOCK_BACKOFF_MILLIS = 5_000L;
+
+    private final ShardProgress progress;
+    private final SweepableCells sweepableCells;
+    private final SweepableTimestamps sweepableTimestamps;
+    private final TimelockService timelock;
+    private final LongSupplier immutableTimestamp;
+    private final IntSupplier maxLockAttempts;
+    private final long initialLockBackoffMillis;
+
+    @VisibleForTesting
+    SweepQueueResharder(
+            ShardProgress progress,
+            SweepableCells sweepableCells,
+            SweepableTimestamps sweepableTimestamps,
+            TimelockService timelock,
+            LongSupplier immutableTimestamp,
+            IntSupplier maxLockAttempts,
+            long initialLockBackoffMillis) {
+        this.progress = progress;
+        this.sweepableCells = sweepableCells;
+        this.sweepableTimestamps = sweepableTimestamps;
+        this.timelock = timelock;
+        this.immutableTimestamp = immutableTimestamp;
+        this.maxLockAttempts = maxLockAttempts;
+        this.initialLockBackoffMillis = initialLockBackoffMillis;
+    }
+
+    static SweepQueueResharder create(
+            ShardProgress progress,
+            SweepableCells sweepableCells,
+            SweepableTimestamps sweepableTimestamps,
+            TimelockService timelock,
+            IntSupplier maxLockAttempts) {
+        return new SweepQueueResharder(
+                progress,
+                sweepableCells,
+                sweepableTimestamps,
+                timelock,
+                timelock::getImmutableTimestamp,
+                maxLockAttempts,
+                INITIAL_LOCK_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Raises the persisted number of shards to newNumberOfShards and moves the backlog of the existing shards onto the
+     * new ones. The number of shards cannot be decreased.
+     *
+     * @return the number of entries that were moved
+     */
+    public long reshard(int newNumberOfShards) {
+        return reshard(progress.getNumberOfShards(), newNumberOfShards);
+    }
+
+    /**
+     * Raises the persisted number of shards to newNumberOfShards if necessary, and moves the backlog of shards
+     * [0, previousNumberOfShards) onto the remaining ones. Calling this again with the same arguments resumes an
+     * interrupted reshard; entries that were moved twice are just swept twice.
+     *
+     * @return the number of entries that were moved
+     */
+    public long reshard(int previousNumberOfShards, int newNumberOfShards) {
+        Preconditions.checkArgument(
+                newNumberOfShards >= previousNumberOfShards,
+                "The number of sweep queue shards cannot be decreased.",
+                SafeArg.of("previousNumberOfShards", previousNumberOfShards),
+                SafeArg.of("newNumberOfShards", newNumberOfShards));
+        int numberOfShards = progress.updateNumberOfShards(newNumberOfShards);
+        if (previousNumberOfShards >= numberOfShards) {
+            return 0L;
+        }
+        long moved = 0L;
+        for (SweeperStrategy strategy : ImmutableList.of(SweeperStrategy.CONSERVATIVE, SweeperStrategy.THOROUGH)) {
+            for (int shard = 0; shard < previousNumberOfShards; shard++) {
+                moved += moveShard(ShardAndStrategy.of(shard, strategy), previousNumberOfShards, numberOfShards);
+            }
+        }
+        log.info(
+                "Moved {} sweep queue entries from the first {} shards onto the remaining shards, out of {}.",
+                SafeArg.of("entriesMoved", moved),
+                SafeArg.of("previousNumberOfShards", previousNumberOfShards),
+                SafeArg.of("numberOfShards", numberOfShards));
+        return moved;
+    }
+
+    private long moveShard(ShardAndStrategy source, int sourceShards, int numberOfShards) {
+        long maxTsExclusive = immutableTimestamp.getAsLong();
+        long moved = 0L;
+        long previousPartitionMaxTs = progress.getLastSweptTimestamp(source);
+        while (true) {
+            Optional<Long> nextPartition =
+                    sweepableTimestamps.nextSweepableTimestampPartition(source, previousPartitionMaxTs, maxTsExclusive);
+            if (!nextPartition.isPresent()
+                    || SweepQueueUtils.maxTsForFinePartition(nextPartition.get()) >= maxTsExclusive) {
+                return moved;
+            }
+            long partitionFine = nextPartition.get();
+            moved += withLock(source, () -> movePartition(source, partitionFine, sourceShards, numberOfShards));
+            previousPartitionMaxTs = SweepQueueUtils.maxTsForFinePartition(partitionFine);
+        }
+    }
+
+    private long movePartition(ShardAndStrategy source, long partitionFine, int sourceShards, int numberOfShards) {
+        if (progress.getLastSweptTimestamp(source) >= SweepQueueUtils.maxTsForFinePartition(partitionFine)) {
+            return 0L;
+        }
+        SweepBatch entries = sweepableCells.getAllWritesInPartition(source, partitionFine);
+        Map<PartitionInfo, List<WriteInfo>> destinations = entries.writes().stream()
+                .collect(Collectors.groupingBy(
+                        write -> PartitionInfo.of(
+                                sourceShards + write.toShard(numberOfShards - sourceShards),
+                                source.isConservative(),
+                                write.timestamp()),
+                        Collectors.toList()));
+        Map<ShardAndStrategy, Long> earliestEntryByShard = destinations.keySet().stream()
+                .collect(Collectors.toMap(ShardAndStrategy::fromInfo, PartitionInfo::timestamp, Math::min));
+
+        List<ShardAndStrategy> destinationShards = earliestEntryByShard.keySet().stream()
+                .sorted(Comparator.comparingInt(ShardAndStrategy::shard))
+                .collect(Collectors.toList());
+        withLocks(destinationShards, () -> {
+            earliestEntryByShard.forEach((destination, earliestEntry) ->
+                    progress.lowerLastSweptTimestampTo(destination, earliestEntry - 1));
+            sweepableTimestamps.enqueue(destinations);
+            sweepableCells.enqueue(destinations);
+            return null;
+        });
+        sweepableCells.deleteDedicatedRows(entries.dedicatedRows());
+        sweepableCells.deleteNonDedicatedRows(source, ImmutableList.of(partitionFine));
+        return entries.writes().size();
+    }
+
+    private <T> T withLocks(List<ShardAndStrategy> shardsAndStrategies, Supplier<T> task) {
+        if (shardsAndStrategies.isEmpty()) {
+            return task.get();
+        }
+        return withLock(
+                shardsAndStrategies.get(0),
+                () -> withLocks(shardsAndStrategies.subList(1, shardsAndStrategies.size()), task));
+    }
+
+    private <T> T withLock(ShardAndStrategy shardAndStrategy, Supplier<T> task) {
+        TargetedSweeperLock lock = acquire(shardAndStrategy);
+        try {
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TargetedSweeperLock acquire(ShardAndStrategy shardAndStrategy) {
+        int attempts = maxLockAttempts.getAsInt();
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            if (attempt > 0) {
+                backOff(attempt);
+            }
+            Optional<TargetedSweeperLock> maybeLock =
+                    TargetedSweeperLock.tryAcquire(shardAndStrategy.shard(), shardAndStrategy.strategy(), timelock);
+            if (maybeLock.isPresent()) {
+                return maybeLock.get();
+            }
+        }
+        throw new SafeIllegalStateException(
+                "Unable to acquire the targeted sweep lock while resharding the sweep queue.",
+                SafeArg.of("shardStrategy", shardAndStrategy.toText()),
+                SafeArg.of("attempts", attempts));
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = Math.min(MAX_LOCK_BACKOFF_MILLIS, initialLockBackoffMillis << Math.min(attempt - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SafeIllegalStateException("Interrupted while waiting to retry acquiring a sweep lock.", e);
+        }
+    }
+}
@@ -51,9 +51,16 @@ public abstract class SweepQueueTable {
     }
 
     public void enqueue(List<WriteInfo> allWrites) {
+        enqueue(partitioner.filterAndPartition(allWrites));
+    }
+
+    /**
+     * Persists writes that have already been assigned to their partitions, bypassing the partitioner. Used to move
+     * existing entries of the queue to a different shard.
+     */
+    void enqueue(Map<PartitionInfo, List<WriteInfo>> partitionedWrites) {
         Map<Cell, byte[]> referencesToDedicatedCells = new HashMap<>();
         Map<Cell, byte[]> cellsToWrite = new HashMap<>();
-        Map<PartitionInfo, List<WriteInfo>> partitionedWrites = partitioner.filterAndPartition(allWrites);
 
         SweepQueueUtils.validateNumberOfCellsWritten(partitionedWrites.values());
 
@@ -33,6 +33,7 @@ import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.ImmutableTargetedSweepMetadata;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.StoredWriteReference;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.TargetedSweepMetadata;
 import com.palantir.atlasdb.keyvalue.api.Value;
@@ -57,14 +58,17 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class SweepableCells extends SweepQueueTable {
     private static final Logger log = LoggerFactory.getLogger(SweepableCells.class);
+    private static final int MAX_WRITES_PER_COMPACT_DEDICATED_CELL = 1_000;
     private final CommitTsCache commitTsCache;
     private final WriteReferencePersister writeReferencePersister;
+    private final BooleanSupplier compactEncodingEnabled;
 
     private static final WriteReference DUMMY = WriteReference.of(
             TableReference.createFromFullyQualifiedName("dum.my"), Cell.create(new byte[] {0}, new byte[] {0}), false);
@@ -74,9 +78,23 @@ public class SweepableCells extends SweepQueueTable {
             WriteInfoPartitioner partitioner,
             TargetedSweepMetrics metrics,
             TransactionService transactionService) {
+        this(kvs, partitioner, metrics, transactionService, () -> false);
+    }
+
+    /**
+     * @param compactEncodingEnabled if true, the writes of each transaction are persisted as compact batches rather
+     * than as one cell per write. Entries in either format can always be read.
+     */
+    public SweepableCells(
+            KeyValueService kvs,
+            WriteInfoPartitioner partitioner,
+            TargetedSweepMetrics metrics,
+            TransactionService transactionService,
+            BooleanSupplier compactEncodingEnabled) {
         super(kvs, TargetedSweepTableFactory.of().getSweepableCellsTable(null).getTableRef(), partitioner, metrics);
         this.commitTsCache = CommitTsCache.create(transactionService);
         this.writeReferencePersister = new WriteReferencePersister(new SweepTableIndices(kvs));
+        this.compactEncodingEnabled = compactEncodingEnabled;
     }
 
     @Override
@@ -91,9 +109,12 @@ public class SweepableCells extends SweepQueueTable {
 
     @Override
     Map<Cell, byte[]> populateCells(PartitionInfo partitionInfo, List<WriteInfo> writes) {
-        Map<Cell, byte[]> cells = new HashMap<>();
         boolean dedicate = writes.size() > SweepQueueUtils.MAX_CELLS_GENERIC;
+        if (compactEncodingEnabled.getAsBoolean()) {
+            return populateCompactCells(partitionInfo, writes, dedicate);
+        }
 
+        Map<Cell, byte[]> cells = new HashMap<>();
         long index = 0;
         for (WriteInfo write : writes) {
             cells.putAll(addWrite(partitionInfo, write, dedicate, index));
@@ -102,8 +123,33 @@ public class SweepableCells extends SweepQueueTable {
         return cells;
     }
 
+    /**
+     * Persists the writes of a transaction as compact batches: a single cell if the writes fit in a non-dedicated row,
+     * and otherwise LZ4 compressed blocks of at most {@link #MAX_WRITES_PER_COMPACT_DEDICATED_CELL} writes, spread
+     * over the same number of dedicated rows as would be used for one cell per write.
+     */
+    private Map<Cell, byte[]> populateCompactCells(PartitionInfo info, List<WriteInfo> writes, boolean dedicate) {
+        List<WriteReference> writeRefs = Lists.transform(writes, WriteInfo::writeRef);
+        if (!dedicate) {
+            return addCell(info, writeReferencePersister.persistCompactBatch(writeRefs, false), false, 0, 0);
+        }
+
+        Map<Cell, byte[]> cells = new HashMap<>();
+        List<List<WriteReference>> rows = Lists.partition(writeRefs, SweepQueueUtils.MAX_CELLS_DEDICATED);
+        for (int rowNumber = 0; rowNumber < rows.size(); rowNumber++) {
+            List<List<WriteReference>> blocks =
+                    Lists.partition(rows.get(rowNumber), MAX_WRITES_PER_COMPACT_DEDICATED_CELL);
+            for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+                StoredWriteReference block = writeReferencePersister.persistCompactBatch(blocks.get(blockIndex), true);
+                cells.putAll(addCell(info, block, true, rowNumber, blockIndex));
+            }
+        }
+        return cells;
+    }
+
     private Map<Cell, byte[]> addReferenceToDedicatedRows(PartitionInfo info, List<WriteInfo> writes) {
-        return addCell(info, DUMMY, false, 0, entryIndicatingNumberOfRequiredRows(writes));
+        return addCell(
+                info, writeReferencePersister.persist(DUMMY), false, 0, entryIndicatingNumberOfRequiredRows(writes));
     }
 
     private long entryIndicatingNumberOfRequiredRows(List<WriteInfo> writes) {
@@ -112,7 +158,7 @@ public class SweepableCells extends SweepQueueTable {
 
     private Map<Cell, byte[]> addCell(
             PartitionInfo info,
-            WriteReference writeRef,
+            StoredWriteReference writeRef,
             boolean isDedicatedRow,
             long dedicatedRowNumber,
             long writeIndex) {
@@ -148,9 +194,9 @@ public class SweepableCells extends SweepQueueTable {
         return isDedicatedRow ? info.timestamp() : SweepQueueUtils.tsPartitionFine(info.timestamp());
     }
 
-    private SweepableCellsColumnValue createColVal(long ts, long index, WriteReference writeRef) {
+    private SweepableCellsColumnValue createColVal(long ts, long index, StoredWriteReference writeRef) {
         SweepableCellsTable.SweepableCellsColumn col = SweepableCellsTable.SweepableCellsColumn.of(tsMod(ts), index);
-        return SweepableCellsColumnValue.of(col, writeReferencePersister.persist(writeRef));
+        return SweepableCellsColumnValue.of(col, writeRef);
     }
 
     private static long tsMod(long timestamp) {
@@ -175,6 +221,23 @@ public class SweepableCells extends SweepQueueTable {
         return SweepBatch.of(writes, filteredDedicatedRows, lastSweptTs, tsToSweep.processedAll(), entriesRead);
     }
 
+    /**
+     * Returns every write recorded in the given fine partition for the shard and strategy, together with the dedicated
+     * rows holding any of them. Unlike {@link #getBatchForPartition(ShardAndStrategy, long, long, long)}, this neither
+     * limits the size of the batch nor consults the transactions table.
+     */
+    SweepBatch getAllWritesInPartition(ShardAndStrategy shardStrategy, long partitionFine) {
+        SweepableCellsRow row = computeRow(partitionFine, shardStrategy);
+        RowColumnRangeIterator resultIterator = getWithColumnRangeAll(ImmutableList.of(row.persistToBytes()));
+        WriteBatch writeBatch = new WriteBatch();
+        resultIterator.forEachRemaining(
+                entry -> writeBatch.merge(getWrites(row, computeColumn(entry), entry.getValue())));
+        return SweepBatch.of(
+                writeBatch.writesByStartTs.values(),
+                DedicatedRows.of(writeBatch.dedicatedRows),
+                SweepQueueUtils.maxTsForFinePartition(partitionFine));
+    }
+
     private DedicatedRows getDedicatedRowsToClear(List<SweepableCellsRow> rows, TimestampsToSweep tsToSweep) {
         return DedicatedRows.of(rows.stream()
                 .filter(row -> {
@@ -194,7 +257,7 @@ public class SweepableCells extends SweepQueueTable {
             SweepableCellsTable.SweepableCellsColumn col = computeColumn(entry);
             long startTs = getTimestamp(row, col);
             if (knownToBeCommittedAfterSweepTs(startTs, sweepTs)) {
-                writeBatch.add(ImmutableList.of(getWriteInfo(startTs, entry.getValue())));
+                writeBatch.add(getWriteInfos(startTs, entry.getValue()));
                 return writeBatch;
             }
             writeBatch.merge(getWrites(row, col, entry.getValue()));
@@ -225,11 +288,6 @@ public class SweepableCells extends SweepQueueTable {
             return this;
         }
 
-        static WriteBatch single(WriteInfo writeInfo) {
-            WriteBatch batch = new WriteBatch();
-            return batch.add(ImmutableList.of(writeInfo));
-        }
-
         WriteBatch add(List<SweepableCellsRow> newDedicatedRows, List<WriteInfo> writeInfos) {
             dedicatedRows.addAll(newDedicatedRows);
             return add(writeInfos);
@@ -335,7 +393,7 @@ public class SweepableCells extends SweepQueueTable {
         if (isReferenceToDedicatedRows(col)) {
             return writesFromDedicated(row, col);
         } else {
-            return WriteBatch.single(getWriteInfo(getTimestamp(row, col), value));
+            return new WriteBatch().add(getWriteInfos(getTimestamp(row, col), value));
         }
     }
 
@@ -351,7 +409,7 @@ public class SweepableCells extends SweepQueueTable {
         return batch.add(
                 dedicatedRows,
                 Streams.stream(iterator)
-                        .map(entry -> getWriteInfo(getTimestamp(row, col), entry.getValue()))
+                        .flatMap(entry -> getWriteInfos(getTimestamp(row, col), entry.getValue()).stream())
                         .collect(Collectors.toList()));
     }
 
@@ -393,10 +451,12 @@ public class SweepableCells extends SweepQueueTable {
         return getRowsColumnRange(rows, SweepQueueUtils.ALL_COLUMNS, SweepQueueUtils.BATCH_SIZE_KVS);
     }
 
-    private WriteInfo getWriteInfo(long timestamp, Value value) {
-        return WriteInfo.of(
-                writeReferencePersister.unpersist(SweepableCellsColumnValue.hydrateValue(value.getContents())),
-                timestamp);
+    private List<WriteInfo> getWriteInfos(long timestamp, Value value) {
+        return writeReferencePersister
+                .unpersistAll(SweepableCellsColumnValue.hydrateValue(value.getContents()))
+                .stream()
+                .map(writeRef -> WriteInfo.of(writeRef, timestamp))
+                .collect(Collectors.toList());
     }
 
     private boolean exhaustedAllColumns(Iterator<Map.Entry<Cell, Value>> resultIterator) {
@@ -425,7 +485,7 @@ public class SweepableCells extends SweepQueueTable {
     private Map<Cell, byte[]> addWrite(PartitionInfo info, WriteInfo write, boolean dedicate, long index) {
         return addCell(
                 info,
-                write.writeRef(),
+                writeReferencePersister.persist(write.writeRef()),
                 dedicate,
                 index / SweepQueueUtils.MAX_CELLS_DEDICATED,
                 index % SweepQueueUtils.MAX_CELLS_DEDICATED);
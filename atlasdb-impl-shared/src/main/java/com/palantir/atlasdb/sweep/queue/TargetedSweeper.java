@@ -18,6 +18,8 @@ package com.palantir.atlasdb.sweep.queue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.cleaner.Follower;
 import com.palantir.atlasdb.keyvalue.api.InsufficientConsistencyException;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
@@ -34,15 +36,14 @@ import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.atlasdb.util.MetricsManagers;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.exception.NotInitializedException;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,11 +55,13 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     private final List<Follower> followers;
     private final MetricsManager metricsManager;
     private final TargetedSweepMetrics.MetricsConfiguration metricsConfiguration;
+    private final int deleteThreads;
 
     private TargetedSweepMetrics metrics;
     private SweepQueue queue;
     private SpecialTimestampsSupplier timestampsSupplier;
     private TimelockService timeLock;
+    private ListeningExecutorService deleteExecutor;
     private BackgroundSweepScheduler conservativeScheduler;
     private BackgroundSweepScheduler thoroughScheduler;
 
@@ -76,6 +79,7 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         this.thoroughScheduler = new BackgroundSweepScheduler(install.thoroughThreads(), SweeperStrategy.THOROUGH);
         this.followers = followers;
         this.metricsConfiguration = install.metricsConfiguration();
+        this.deleteThreads = install.deleteThreads();
     }
 
     /**
@@ -149,6 +153,7 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         Preconditions.checkState(
                 kvs.isInitialized(), "Attempted to initialize targeted sweeper with an uninitialized backing KVS.");
         metrics = TargetedSweepMetrics.create(metricsManager, timelockService, kvs, metricsConfiguration);
+        deleteExecutor = createDeleteExecutor(deleteThreads);
         queue = SweepQueue.create(
                 metrics,
                 kvs,
@@ -156,7 +161,10 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                 Suppliers.compose(TargetedSweepRuntimeConfig::shards, runtime::get),
                 transaction,
                 follower,
-                this::getPartitionBatchLimit);
+                this::getPartitionBatchLimit,
+                deleteExecutor,
+                () -> runtime.get().useCompactQueueEncoding(),
+                () -> runtime.get().reshardLockAttempts());
         timestampsSupplier = timestamps;
         timeLock = timelockService;
         isInitialized = true;
@@ -189,6 +197,30 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         return queue.sweepNextBatch(shardStrategy, maxTsExclusive);
     }
 
+    /**
+     * Raises the number of shards of the sweep queue to newNumberOfShards, and moves the entries already enqueued in
+     * the existing shards onto the new ones so that they are swept in parallel. Sweep keeps running while this happens.
+     *
+     * @param newNumberOfShards desired number of shards, which must not be lower than the current number
+     * @return number of sweep queue entries moved
+     */
+    public long reshard(int newNumberOfShards) {
+        assertInitialized();
+        return queue.reshard(newNumberOfShards);
+    }
+
+    /**
+     * Resumes an interrupted {@link #reshard(int)}, moving the entries left in the first previousNumberOfShards shards.
+     *
+     * @param previousNumberOfShards number of shards before the interrupted reshard
+     * @param newNumberOfShards number of shards the interrupted reshard was raising to
+     * @return number of sweep queue entries moved
+     */
+    public long reshard(int previousNumberOfShards, int newNumberOfShards) {
+        assertInitialized();
+        return queue.reshard(previousNumberOfShards, newNumberOfShards);
+    }
+
     @VisibleForTesting
     long processShard(ShardAndStrategy shardAndStrategy) {
         long maxTsExclusive = Sweeper.of(shardAndStrategy).getSweepTimestamp(timestampsSupplier);
@@ -199,6 +231,9 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     public void close() {
         conservativeScheduler.close();
         thoroughScheduler.close();
+        if (deleteExecutor != null) {
+            deleteExecutor.shutdown();
+        }
     }
 
     @Override
@@ -212,6 +247,13 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         }
     }
 
+    private static ListeningExecutorService createDeleteExecutor(int threads) {
+        if (threads == 0) {
+            return MoreExecutors.newDirectExecutorService();
+        }
+        return MoreExecutors.listeningDecorator(PTExecutors.newFixedThreadPool(threads, "Targeted Sweep Deletes"));
+    }
+
     private int getPartitionBatchLimit() {
         return runtime.get().enableAutoTuning()
                 ? Integer.MAX_VALUE
@@ -221,9 +263,9 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     private class BackgroundSweepScheduler implements AutoCloseable {
         private final int numThreads;
         private final SweeperStrategy sweepStrategy;
-        private final AtomicLong counter = new AtomicLong(0);
         private final SweepDelay delay;
 
+        private ShardPrioritizer prioritizer;
         private ScalingSweepTaskScheduler scheduler;
 
         private BackgroundSweepScheduler(int numThreads, SweeperStrategy sweepStrategy) {
@@ -235,6 +277,7 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
 
         private void scheduleBackgroundThreads() {
             if (numThreads > 0 && scheduler == null) {
+                prioritizer = new ShardPrioritizer(sweepStrategy, queue::getNumShards, queue::getLastSweptTimestamps);
                 scheduler = ScalingSweepTaskScheduler.createStarted(
                         delay, numThreads, this::runOneIteration, () -> runtime.get()
                                 .enableAutoTuning());
@@ -250,8 +293,8 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
             try {
                 maybeLock = tryToAcquireLockForNextShardAndStrategy();
                 return maybeLock
-                        .map(targetedSweeperLock ->
-                                SweepIterationResults.success(processShard(targetedSweeperLock.getShardAndStrategy())))
+                        .map(targetedSweeperLock -> SweepIterationResults.success(
+                                processShardAndRecordProgress(targetedSweeperLock.getShardAndStrategy())))
                         .orElseGet(SweepIterationResults::unableToAcquireShard);
             } catch (InsufficientConsistencyException e) {
                 metrics.registerOccurrenceOf(sweepStrategy, SweepOutcome.NOT_ENOUGH_DB_NODES_ONLINE);
@@ -267,20 +310,33 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                 } catch (Throwable th) {
                     logUnlockException(th, maybeLock);
                 }
+                maybeLock.ifPresent(lock -> prioritizer.release(lock.getShardAndStrategy().shard()));
             }
         }
 
-        private Optional<TargetedSweeperLock> tryToAcquireLockForNextShardAndStrategy() {
-            return IntStream.range(0, queue.getNumShards())
-                    .map(ignore -> getShardAndIncrement())
-                    .mapToObj(shard -> TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .findFirst();
+        private long processShardAndRecordProgress(ShardAndStrategy shardAndStrategy) {
+            long entriesSwept = processShard(shardAndStrategy);
+            prioritizer.recordProgress(shardAndStrategy.shard());
+            return entriesSwept;
         }
 
-        private int getShardAndIncrement() {
-            return (int) (counter.getAndIncrement() % queue.getNumShards());
+        private Optional<TargetedSweeperLock> tryToAcquireLockForNextShardAndStrategy() {
+            for (int shard : prioritizer.getShardsInPriorityOrder()) {
+                if (prioritizer.tryClaim(shard)) {
+                    Optional<TargetedSweeperLock> maybeLock = Optional.empty();
+                    try {
+                        maybeLock = TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock);
+                        if (maybeLock.isPresent()) {
+                            return maybeLock;
+                        }
+                    } finally {
+                        if (!maybeLock.isPresent()) {
+                            prioritizer.release(shard);
+                        }
+                    }
+                }
+            }
+            return Optional.empty();
         }
 
         private void logException(Throwable th, Optional<TargetedSweeperLock> maybeLock) {
@@ -74,6 +74,24 @@ public class TargetedSweepInstallConfig {
                 thoroughThreads());
     }
 
+    /**
+     * The number of background threads, shared by both sweep strategies, that sweep the fine partitions of a batch in
+     * parallel. Progress is only recorded once every partition of the batch has been swept. If 0, each batch is swept
+     * on the thread that read it.
+     */
+    @Value.Default
+    public int deleteThreads() {
+        return 0;
+    }
+
+    @Value.Check
+    void checkDeleteThreads() {
+        Preconditions.checkArgument(
+                deleteThreads() >= 0,
+                "Number of targeted sweep delete threads must not be negative, but is %s instead.",
+                deleteThreads());
+    }
+
     /**
      * Specifies how metrics are tracked for this instance of Targeted Sweep.
      */
@@ -98,6 +98,35 @@ public abstract class TargetedSweepRuntimeConfig {
         return true;
     }
 
+    /**
+     * If true, the writes of each transaction are persisted to the sweep queue as a single compact entry, with
+     * entries for large transactions additionally compressed, instead of as one entry per write. This substantially
+     * reduces the size of the sweep queue. Entries written in either format can be read regardless of this setting,
+     * but versions of AtlasDB predating this format cannot read the compact entries, so this must only be enabled once
+     * all nodes have been upgraded.
+     */
+    @Value.Default
+    public boolean useCompactQueueEncoding() {
+        return false;
+    }
+
+    /**
+     * The number of attempts made to acquire the lock of a single shard while resharding the sweep queue, before the
+     * reshard fails. Attempts back off exponentially with jitter, up to 5 seconds between attempts.
+     */
+    @Value.Default
+    public int reshardLockAttempts() {
+        return 30;
+    }
+
+    @Value.Check
+    void checkReshardLockAttempts() {
+        Preconditions.checkArgument(
+                reshardLockAttempts() > 0,
+                "The number of attempts to acquire a sweep lock while resharding must be positive.",
+                SafeArg.of("reshardLockAttempts", reshardLockAttempts()));
+    }
+
     @Value.Check
     public void checkPauseDuration() {
         Preconditions.checkArgument(
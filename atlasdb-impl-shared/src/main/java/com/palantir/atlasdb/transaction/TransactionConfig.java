@@ -20,6 +20,8 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.transaction.impl.TransactionRetryStrategy;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 import org.immutables.value.Value;
 
 @JsonDeserialize(as = ImmutableTransactionConfig.class)
@@ -51,6 +53,37 @@ public abstract class TransactionConfig {
         return false;
     }
 
+    /**
+     * If true, committing transactions write to the targeted sweep queue while they acquire commit locks and check
+     * for write/write conflicts, instead of afterwards. The write to the key value service and everything after it
+     * still happen in protocol order. A transaction that then fails to commit leaves entries in the sweep queue,
+     * which sweep processes as it would for any other failed transaction.
+     */
+    @Value.Default
+    public boolean pipelinedCommit() {
+        return false;
+    }
+
+    /**
+     * If positive, read-only transactions that do not lock the immutable timestamp may start at a timestamp leased by
+     * this client up to this many milliseconds earlier, instead of fetching a fresh one. Such transactions may not see
+     * writes committed by other clients within that window, but always see writes committed through this client.
+     * The immutable timestamp such transactions read with is leased together with their start timestamp, so a
+     * transaction starting from a valid lease makes no remote call to start. Must be at most 5 seconds.
+     */
+    @Value.Default
+    public long readOnlyTransactionTimestampLeaseMillis() {
+        return 0;
+    }
+
+    @Value.Check
+    void checkReadOnlyTransactionTimestampLease() {
+        Preconditions.checkArgument(
+                readOnlyTransactionTimestampLeaseMillis() >= 0 && readOnlyTransactionTimestampLeaseMillis() <= 5_000,
+                "Read-only transaction timestamp lease must be between 0 and 5 seconds",
+                SafeArg.of("readOnlyTransactionTimestampLeaseMillis", readOnlyTransactionTimestampLeaseMillis()));
+    }
+
     /**
      * TODO(fdesouza): Remove this once PDS-95791 is resolved.
      * @deprecated Remove this once PDS-95791 is resolved.
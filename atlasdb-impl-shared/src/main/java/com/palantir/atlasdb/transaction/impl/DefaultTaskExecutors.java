@@ -32,6 +32,12 @@ final class DefaultTaskExecutors {
     @VisibleForTesting
     static final int DEFAULT_QUEUE_CAPACITY = 50_000;
 
+    @VisibleForTesting
+    static final int SWEEP_QUEUE_WRITE_THREADS = 8;
+
+    @VisibleForTesting
+    static final int SWEEP_QUEUE_WRITE_QUEUE_CAPACITY = 64;
+
     private DefaultTaskExecutors() {
         // factory
     }
@@ -46,4 +52,21 @@ final class DefaultTaskExecutors {
                 new NamedThreadFactory("atlas-delete-executor", true),
                 new ThreadPoolExecutor.AbortPolicy());
     }
+
+    /**
+     * Background sweep queue writes are only an optimisation, as a committing transaction runs its write itself if no
+     * thread has picked it up, so rather than queueing deeply this executor rejects work once it is saturated.
+     */
+    static ExecutorService createDefaultSweepQueueWriteExecutor() {
+        ThreadPoolExecutor executor = PTExecutors.newThreadPoolExecutor(
+                SWEEP_QUEUE_WRITE_THREADS,
+                SWEEP_QUEUE_WRITE_THREADS,
+                DEFAULT_IDLE_TIMEOUT.toMillis(),
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(SWEEP_QUEUE_WRITE_QUEUE_CAPACITY),
+                new NamedThreadFactory("atlas-sweep-queue-write-executor", true),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
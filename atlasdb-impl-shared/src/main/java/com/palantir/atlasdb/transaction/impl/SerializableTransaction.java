@@ -145,6 +145,7 @@ public class SerializableTransaction extends SnapshotTransaction {
             int defaultGetRangesConcurrency,
             MultiTableSweepQueueWriter sweepQueue,
             ExecutorService deleteExecutor,
+            ExecutorService sweepQueueWriteExecutor,
             boolean validateLocksOnReads,
             Supplier<TransactionConfig> transactionConfig,
             ConflictTracer conflictTracer,
@@ -171,6 +172,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                 defaultGetRangesConcurrency,
                 sweepQueue,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
@@ -768,6 +770,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
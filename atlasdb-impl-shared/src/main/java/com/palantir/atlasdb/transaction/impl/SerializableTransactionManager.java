@@ -434,6 +434,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
                 DefaultTaskExecutors.createDefaultDeleteExecutor(),
+                DefaultTaskExecutors.createDefaultSweepQueueWriteExecutor(),
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
@@ -487,6 +488,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 defaultGetRangesConcurrency,
                 sweepQueue,
                 DefaultTaskExecutors.createDefaultDeleteExecutor(),
+                DefaultTaskExecutors.createDefaultSweepQueueWriteExecutor(),
                 true,
                 () -> ImmutableTransactionConfig.builder().build(),
                 ConflictTracer.NO_OP,
@@ -512,6 +514,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
             int defaultGetRangesConcurrency,
             MultiTableSweepQueueWriter sweepQueueWriter,
             ExecutorService deleteExecutor,
+            ExecutorService sweepQueueWriteExecutor,
             boolean validateLocksOnReads,
             Supplier<TransactionConfig> transactionConfig,
             ConflictTracer conflictTracer,
@@ -535,6 +538,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 timestampCache,
                 sweepQueueWriter,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
@@ -570,6 +574,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
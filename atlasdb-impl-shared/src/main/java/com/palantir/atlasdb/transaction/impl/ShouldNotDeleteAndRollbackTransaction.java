@@ -102,6 +102,7 @@ public class ShouldNotDeleteAndRollbackTransaction extends SnapshotTransaction {
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
                 IGNORING_EXECUTOR,
+                IGNORING_EXECUTOR,
                 true,
                 transactionConfig,
                 ConflictTracer.NO_OP,
@@ -23,6 +23,7 @@ import com.google.common.base.Functions;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.FluentIterable;
@@ -87,6 +88,7 @@ import com.palantir.atlasdb.transaction.api.TransactionFailedException;
 import com.palantir.atlasdb.transaction.api.TransactionFailedRetriableException;
 import com.palantir.atlasdb.transaction.api.TransactionLockAcquisitionTimeoutException;
 import com.palantir.atlasdb.transaction.api.TransactionLockTimeoutException;
+import com.palantir.atlasdb.transaction.api.TransactionLockWatchingCacheView;
 import com.palantir.atlasdb.transaction.api.TransactionReadSentinelBehavior;
 import com.palantir.atlasdb.transaction.impl.metrics.TableLevelMetricsController;
 import com.palantir.atlasdb.transaction.impl.metrics.TransactionOutcomeMetrics;
@@ -147,6 +149,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -196,6 +199,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
     protected final TimelockService timelockService;
     protected final LockWatchManager lockWatchManager;
+    private final Supplier<TransactionLockWatchingCacheView> lockWatchingCacheView;
     final KeyValueService keyValueService;
     final AsyncKeyValueService immediateKeyValueService;
     final TransactionService defaultTransactionService;
@@ -233,6 +237,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
     protected final int defaultGetRangesConcurrency;
     private final Set<TableReference> involvedTables = ConcurrentHashMap.newKeySet();
     protected final ExecutorService deleteExecutor;
+    protected final ExecutorService sweepQueueWriteExecutor;
     private final Timer.Context transactionTimerContext;
     protected final TransactionOutcomeMetrics transactionOutcomeMetrics;
     protected final boolean validateLocksOnReads;
@@ -268,12 +273,14 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             int defaultGetRangesConcurrency,
             MultiTableSweepQueueWriter sweepQueue,
             ExecutorService deleteExecutor,
+            ExecutorService sweepQueueWriteExecutor,
             boolean validateLocksOnReads,
             Supplier<TransactionConfig> transactionConfig,
             ConflictTracer conflictTracer,
             TableLevelMetricsController tableLevelMetricsController) {
         this.metricsManager = metricsManager;
         this.lockWatchManager = lockWatchManager;
+        this.lockWatchingCacheView = Suppliers.memoize(() -> lockWatchManager.getCacheView(getStartTimestamp()));
         this.conflictTracer = conflictTracer;
         this.transactionTimerContext = getTimer("transactionMillis").time();
         this.keyValueService = keyValueService;
@@ -297,6 +304,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
         this.sweepQueue = sweepQueue;
         this.deleteExecutor = deleteExecutor;
+        this.sweepQueueWriteExecutor = sweepQueueWriteExecutor;
         this.hasReads = false;
         this.transactionOutcomeMetrics = TransactionOutcomeMetrics.create(metricsManager);
         this.validateLocksOnReads = validateLocksOnReads;
@@ -681,14 +689,20 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             }
         }
 
-        // We don't need to read any cells that were written locally.
+        // We don't need to read any cells that were written locally, or that can be served from the lock watch cache.
+        Set<Cell> cellsToRead = ImmutableSet.copyOf(Sets.difference(cells, result.keySet()));
+        boolean lockWatchCachingPermitted = isLockWatchCachingPermitted(tableRef);
+        if (lockWatchCachingPermitted) {
+            result.putAll(lockWatchingCacheView.get().readCached(tableRef, cellsToRead));
+            cellsToRead = ImmutableSet.copyOf(Sets.difference(cellsToRead, result.keySet()));
+        }
+
         return Futures.transform(
-                getFromKeyValueService(
-                        tableRef,
-                        Sets.difference(cells, result.keySet()),
-                        asyncKeyValueService,
-                        asyncTransactionService),
+                getFromKeyValueService(tableRef, cellsToRead, asyncKeyValueService, asyncTransactionService),
                 fromKeyValueService -> {
+                    if (lockWatchCachingPermitted) {
+                        lockWatchingCacheView.get().tryCacheNewValuesRead(tableRef, fromKeyValueService);
+                    }
                     result.putAll(fromKeyValueService);
 
                     long getMillis = TimeUnit.NANOSECONDS.toMillis(timer.stop());
@@ -1585,76 +1599,118 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
 
         timedAndTraced("commitStage", () -> {
-            // Acquire row locks and a lock on the start timestamp row in the transactions table.
-            // This must happen before conflict checking, otherwise we could complete the checks and then have someone
-            // else write underneath us before we proceed (thus missing a write/write conflict).
-            // Timing still useful to distinguish bad lock percentiles from user-generated lock requests.
-            LockToken commitLocksToken = timedAndTraced("commitAcquireLocks", this::acquireLocksForCommit);
+            // In pipelined mode the write to the targeted sweep queue, which depends on neither the commit locks nor
+            // the outcome of conflict checking, starts straight away and overlaps with both.
+            Optional<FutureTask<Void>> backgroundSweepQueueWrite = transactionConfig.get().pipelinedCommit()
+                    ? Optional.of(startSweepQueueWriteInBackground())
+                    : Optional.empty();
             try {
-                // Conflict checking. We can actually do this later without compromising correctness, but there is no
-                // reason to postpone this check - we waste resources writing unnecessarily if these are going to fail.
-                timedAndTraced(
-                        "commitCheckingForConflicts",
-                        () -> throwIfConflictOnCommit(commitLocksToken, transactionService));
-
-                // Write to the targeted sweep queue. We must do this before writing to the key value service -
-                // otherwise we may have hanging values that targeted sweep won't know about.
-                timedAndTraced("writingToSweepQueue", () -> sweepQueue.enqueue(writesByTable, getStartTimestamp()));
-
-                // Write to the key value service. We must do this before getting the commit timestamp - otherwise
-                // we risk another transaction starting at a timestamp after our commit timestamp not seeing our writes.
-                timedAndTraced("commitWrite", () -> keyValueService.multiPut(writesByTable, getStartTimestamp()));
-
-                // Now that all writes are done, get the commit timestamp
-                // We must do this before we check that our locks are still valid to ensure that other transactions that
-                // will hold these locks are sure to have start timestamps after our commit timestamp.
-                // Timing is still useful, as this may perform operations pertaining to lock watches.
-                long commitTimestamp = timedAndTraced(
-                        "getCommitTimestamp",
-                        () -> timelockService.getCommitTimestamp(getStartTimestamp(), commitLocksToken));
-                commitTsForScrubbing = commitTimestamp;
-
-                // Punch on commit so that if hard delete is the only thing happening on a system,
-                // we won't block forever waiting for the unreadable timestamp to advance past the
-                // scrub timestamp (same as the hard delete transaction's start timestamp).
-                // May not need to be here specifically, but this is a very cheap operation - scheduling another thread
-                // might well cost more.
-                // Not timed as this is generally an asynchronous operation.
-                traced("microsForPunch", () -> cleaner.punch(commitTimestamp));
-
-                // Serializable transactions need to check their reads haven't changed, by reading again at
-                // commitTs + 1. This must happen before the lock check for thorough tables, because the lock check
-                // verifies the immutable timestamp hasn't moved forward - thorough sweep might sweep a conflict out
-                // from underneath us.
-                timedAndTraced(
-                        "readWriteConflictCheck", () -> throwIfReadWriteConflictForSerializable(commitTimestamp));
-
-                // Verify that our locks and pre-commit conditions are still valid before we actually commit;
-                // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness.
-                // We check the pre-commit conditions first since they may operate similarly to read write conflict
-                // handling - we should check lock validity last to ensure that sweep hasn't affected the checks.
-                timedAndTraced("userPreCommitCondition", () -> throwIfPreCommitConditionInvalid(commitTimestamp));
-
-                // Not timed, because this just calls ConjureTimelockServiceBlocking.refreshLockLeases, and that is
-                // timed.
-                traced("preCommitLockCheck", () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken));
-
-                // Not timed, because this just calls TransactionService.putUnlessExists, and that is timed.
-                traced(
-                        "commitPutCommitTs",
-                        () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService));
-
-                long microsSinceCreation = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - timeCreated);
-                getTimer("commitTotalTimeSinceTxCreation").update(microsSinceCreation, TimeUnit.MICROSECONDS);
-                getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN)
-                        .update(byteCount.get());
+                commitWritesHoldingCommitLocks(transactionService, backgroundSweepQueueWrite);
             } finally {
-                // Not timed because tryUnlock() is an asynchronous operation.
-                traced("postCommitUnlock", () -> timelockService.tryUnlock(ImmutableSet.of(commitLocksToken)));
+                // A no-op unless we failed before needing the sweep queue write; there is no point starting it then.
+                backgroundSweepQueueWrite.ifPresent(write -> write.cancel(false));
             }
         });
     }
 
+    private void commitWritesHoldingCommitLocks(
+            TransactionService transactionService, Optional<FutureTask<Void>> backgroundSweepQueueWrite) {
+        // Acquire row locks and a lock on the start timestamp row in the transactions table.
+        // This must happen before conflict checking, otherwise we could complete the checks and then have someone
+        // else write underneath us before we proceed (thus missing a write/write conflict).
+        // Timing still useful to distinguish bad lock percentiles from user-generated lock requests.
+        LockToken commitLocksToken = timedAndTraced("commitAcquireLocks", this::acquireLocksForCommit);
+        try {
+            // Conflict checking. We can actually do this later without compromising correctness, but there is no
+            // reason to postpone this check - we waste resources writing unnecessarily if these are going to fail.
+            timedAndTraced(
+                    "commitCheckingForConflicts", () -> throwIfConflictOnCommit(commitLocksToken, transactionService));
+
+            // Write to the targeted sweep queue. We must do this before writing to the key value service -
+            // otherwise we may have hanging values that targeted sweep won't know about.
+            if (backgroundSweepQueueWrite.isPresent()) {
+                timedAndTraced(
+                        "commitAwaitingSweepQueueWrite", () -> awaitSweepQueueWrite(backgroundSweepQueueWrite.get()));
+            } else {
+                writeToSweepQueue();
+            }
+
+            // Write to the key value service. We must do this before getting the commit timestamp - otherwise
+            // we risk another transaction starting at a timestamp after our commit timestamp not seeing our writes.
+            timedAndTraced(
+                    "commitWrite",
+                    () -> AtlasFutures.getUnchecked(keyValueService.multiPutAsync(writesByTable, getStartTimestamp())));
+
+            // Now that all writes are done, get the commit timestamp
+            // We must do this before we check that our locks are still valid to ensure that other transactions that
+            // will hold these locks are sure to have start timestamps after our commit timestamp.
+            // Timing is still useful, as this may perform operations pertaining to lock watches.
+            long commitTimestamp = timedAndTraced(
+                    "getCommitTimestamp",
+                    () -> timelockService.getCommitTimestamp(getStartTimestamp(), commitLocksToken));
+            commitTsForScrubbing = commitTimestamp;
+
+            // Punch on commit so that if hard delete is the only thing happening on a system,
+            // we won't block forever waiting for the unreadable timestamp to advance past the
+            // scrub timestamp (same as the hard delete transaction's start timestamp).
+            // May not need to be here specifically, but this is a very cheap operation - scheduling another thread
+            // might well cost more.
+            // Not timed as this is generally an asynchronous operation.
+            traced("microsForPunch", () -> cleaner.punch(commitTimestamp));
+
+            // Serializable transactions need to check their reads haven't changed, by reading again at
+            // commitTs + 1. This must happen before the lock check for thorough tables, because the lock check
+            // verifies the immutable timestamp hasn't moved forward - thorough sweep might sweep a conflict out
+            // from underneath us.
+            timedAndTraced("readWriteConflictCheck", () -> throwIfReadWriteConflictForSerializable(commitTimestamp));
+
+            // Verify that our locks and pre-commit conditions are still valid before we actually commit;
+            // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness.
+            // We check the pre-commit conditions first since they may operate similarly to read write conflict
+            // handling - we should check lock validity last to ensure that sweep hasn't affected the checks.
+            timedAndTraced("userPreCommitCondition", () -> throwIfPreCommitConditionInvalid(commitTimestamp));
+
+            // Not timed, because this just calls ConjureTimelockServiceBlocking.refreshLockLeases, and that is
+            // timed.
+            traced("preCommitLockCheck", () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken));
+
+            // Not timed, because this just calls TransactionService.putUnlessExists, and that is timed.
+            traced(
+                    "commitPutCommitTs",
+                    () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService));
+
+            long microsSinceCreation = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - timeCreated);
+            getTimer("commitTotalTimeSinceTxCreation").update(microsSinceCreation, TimeUnit.MICROSECONDS);
+            getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN).update(byteCount.get());
+        } finally {
+            // Not timed because tryUnlock() is an asynchronous operation.
+            traced("postCommitUnlock", () -> timelockService.tryUnlock(ImmutableSet.of(commitLocksToken)));
+        }
+    }
+
+    private void writeToSweepQueue() {
+        timedAndTraced("writingToSweepQueue", () -> sweepQueue.enqueue(writesByTable, getStartTimestamp()));
+    }
+
+    private FutureTask<Void> startSweepQueueWriteInBackground() {
+        FutureTask<Void> sweepQueueWrite = new FutureTask<>(this::writeToSweepQueue, null);
+        try {
+            sweepQueueWriteExecutor.execute(sweepQueueWrite);
+        } catch (RejectedExecutionException e) {
+            log.debug("Could not write to the sweep queue in the background; writing when committing instead", e);
+        }
+        return sweepQueueWrite;
+    }
+
+    /**
+     * Runs the write on this thread if no background thread has picked it up yet, so that a busy executor never
+     * delays a commit by more than running the phases one after another would.
+     */
+    private static void awaitSweepQueueWrite(FutureTask<Void> sweepQueueWrite) {
+        sweepQueueWrite.run();
+        AtlasFutures.getUnchecked(sweepQueueWrite);
+    }
+
     private void traced(String spanName, Runnable runnable) {
         try (CloseableTracer tracer = CloseableTracer.startSpan(spanName)) {
             runnable.run();
@@ -1686,6 +1742,16 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         return hasReads;
     }
 
+    /**
+     * Values may only be served from the lock watch cache if every write to the table takes out a lock, as the cache
+     * relies on lock events to learn about writes.
+     */
+    private boolean isLockWatchCachingPermitted(TableReference tableRef) {
+        ConflictHandler conflictHandler = conflictDetectionManager.get(tableRef);
+        return conflictHandler != null
+                && (conflictHandler.lockCellsForConflicts() || conflictHandler.lockRowsForConflicts());
+    }
+
     protected ConflictHandler getConflictHandlerForTable(TableReference tableRef) {
         return com.google.common.base.Preconditions.checkNotNull(
                 conflictDetectionManager.get(tableRef),
@@ -2138,16 +2204,10 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         if (Iterables.isEmpty(startTimestamps)) {
             return Futures.immediateFuture(ImmutableMap.of());
         }
-        Map<Long, Long> startToCommitTimestamps = new HashMap<>();
-        Set<Long> gets = new HashSet<>();
-        for (Long startTs : startTimestamps) {
-            Long cached = timestampValidationReadCache.getCommitTimestampIfPresent(startTs);
-            if (cached != null) {
-                startToCommitTimestamps.put(startTs, cached);
-            } else {
-                gets.add(startTs);
-            }
-        }
+        Set<Long> requested = ImmutableSet.copyOf(startTimestamps);
+        Map<Long, Long> startToCommitTimestamps =
+                new HashMap<>(timestampValidationReadCache.getCommitTimestampsIfPresent(requested));
+        Set<Long> gets = new HashSet<>(Sets.difference(requested, startToCommitTimestamps.keySet()));
 
         if (gets.isEmpty()) {
             return Futures.immediateFuture(startToCommitTimestamps);
@@ -55,6 +55,8 @@ import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.lock.watch.LockWatchEventCache;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.timestamp.ReadOnlyTimestampCache;
+import com.palantir.timestamp.ReadOnlyTimestampCache.LeasedTimestamps;
 import com.palantir.timestamp.TimestampManagementService;
 import com.palantir.timestamp.TimestampService;
 import com.palantir.util.SafeShutdownRunner;
@@ -94,6 +96,7 @@ import org.slf4j.LoggerFactory;
     final boolean allowHiddenTableAccess;
     final ExecutorService getRangesExecutor;
     final ExecutorService deleteExecutor;
+    final ExecutorService sweepQueueWriteExecutor;
     final int defaultGetRangesConcurrency;
     final MultiTableSweepQueueWriter sweepQueueWriter;
     final boolean validateLocksOnReads;
@@ -101,6 +104,7 @@ import org.slf4j.LoggerFactory;
     final List<Runnable> closingCallbacks;
     final AtomicBoolean isClosed;
     final TableLevelMetricsController tableLevelMetricsController;
+    final ReadOnlyTimestampCache readOnlyTimestampCache;
 
     private final ConflictTracer conflictTracer;
 
@@ -123,6 +127,7 @@ import org.slf4j.LoggerFactory;
             TimestampCache timestampCache,
             MultiTableSweepQueueWriter sweepQueueWriter,
             ExecutorService deleteExecutor,
+            ExecutorService sweepQueueWriteExecutor,
             boolean validateLocksOnReads,
             Supplier<TransactionConfig> transactionConfig,
             ConflictTracer conflictTracer,
@@ -148,9 +153,12 @@ import org.slf4j.LoggerFactory;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
         this.sweepQueueWriter = sweepQueueWriter;
         this.deleteExecutor = deleteExecutor;
+        this.sweepQueueWriteExecutor = sweepQueueWriteExecutor;
         this.validateLocksOnReads = validateLocksOnReads;
         this.transactionConfig = transactionConfig;
         this.conflictTracer = conflictTracer;
+        this.readOnlyTimestampCache = ReadOnlyTimestampCache.create(
+                new TimelockTimestampServiceAdapter(timelockService), this::getImmutableTimestamp);
         this.tableLevelMetricsController =
                 new MemoizingTableLevelMetricsController(ToplistDeltaFilteringTableLevelMetricsController.create(
                         metricsManager, metricsFilterEvaluationContext));
@@ -243,6 +251,7 @@ import org.slf4j.LoggerFactory;
                 lockWatchEventCache.removeTransactionStateFromCache(getTimestamp());
                 postTaskContext = postTaskTimer.time();
                 timelockService.tryUnlock(ImmutableSet.of(immutableTsLock));
+                readOnlyTimestampCache.observeTimestamp(extractSnapshotTransaction(tx).getCommitTimestamp());
             }
             scrubForAggressiveHardDelete(extractSnapshotTransaction(tx));
             postTaskContext.stop();
@@ -296,6 +305,7 @@ import org.slf4j.LoggerFactory;
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
@@ -315,7 +325,17 @@ import org.slf4j.LoggerFactory;
     private <T, C extends PreCommitCondition, E extends Exception> T runTaskWithConditionReadOnlyInternal(
             C condition, ConditionAwareTransactionTask<T, C, E> task) throws E {
         checkOpen();
-        long immutableTs = getApproximateImmutableTimestamp();
+        long leaseMillis = transactionConfig.get().readOnlyTransactionTimestampLeaseMillis();
+        long immutableTs;
+        Supplier<Long> startTimestampSupplier;
+        if (leaseMillis > 0) {
+            LeasedTimestamps leased = readOnlyTimestampCache.getTimestamps(Duration.ofMillis(leaseMillis));
+            immutableTs = leased.immutableTimestamp();
+            startTimestampSupplier = Suppliers.ofInstance(leased.startTimestamp());
+        } else {
+            immutableTs = getApproximateImmutableTimestamp();
+            startTimestampSupplier = getStartTimestampSupplier();
+        }
         SnapshotTransaction transaction = new SnapshotTransaction(
                 metricsManager,
                 keyValueService,
@@ -323,7 +343,7 @@ import org.slf4j.LoggerFactory;
                 lockWatchManager,
                 transactionService,
                 NoOpCleaner.INSTANCE,
-                getStartTimestampSupplier(),
+                startTimestampSupplier,
                 conflictDetectionManager,
                 sweepStrategyManager,
                 immutableTs,
@@ -338,6 +358,7 @@ import org.slf4j.LoggerFactory;
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
                 conflictTracer,
@@ -378,6 +399,7 @@ import org.slf4j.LoggerFactory;
             shutdownRunner.shutdownSafely(cleaner::close);
             shutdownRunner.shutdownSafely(keyValueService::close);
             shutdownRunner.shutdownSafely(() -> shutdownExecutor(deleteExecutor));
+            shutdownRunner.shutdownSafely(() -> shutdownExecutor(sweepQueueWriteExecutor));
             shutdownRunner.shutdownSafely(() -> shutdownExecutor(getRangesExecutor));
             shutdownRunner.shutdownSafely(this::closeLockServiceIfPossible);
 
@@ -22,6 +22,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Multimaps;
+import com.google.common.math.LongMath;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.autobatch.Autobatchers;
 import com.palantir.atlasdb.autobatch.BatchElement;
@@ -29,6 +30,7 @@ import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
 import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.transaction.impl.TransactionConstants;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.logsafe.Preconditions;
@@ -40,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.CheckForNull;
 import org.immutables.value.Value;
 import org.slf4j.Logger;
@@ -47,29 +50,46 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class coalesces write (that is, put-unless-exists) requests to an underlying {@link EncodingTransactionService},
- * such that there is at most one request in flight at a given time. Read requests (gets) are not batched.
+ * such that there is at most one request in flight at a given time for each shard. Requests are assigned to shards
+ * based on their start timestamp, each shard batching and flushing independently. Read requests (gets) are not
+ * batched.
+ *
+ * Shards are chosen as the start timestamp modulo the number of shards, so all requests for a given start timestamp go
+ * to the same shard. When the number of shards divides {@link TransactionConstants#V2_TRANSACTION_NUM_PARTITIONS},
+ * each row partition of the _transactions2 table is also only written to by a single shard.
  *
  * Delegates are expected to throw {@link KeyAlreadyExistsException}s that have meaningful values for
  * {@link KeyAlreadyExistsException#getExistingKeys()}.
  */
 public final class WriteBatchingTransactionService implements TransactionService {
     private static final Logger log = LoggerFactory.getLogger(WriteBatchingTransactionService.class);
+    private static final int DEFAULT_SHARDS = Integer.highestOneBit(Math.min(
+            Runtime.getRuntime().availableProcessors(), TransactionConstants.V2_TRANSACTION_NUM_PARTITIONS));
 
     private final EncodingTransactionService delegate;
-    private final DisruptorAutobatcher<TimestampPair, Void> autobatcher;
+    private final List<DisruptorAutobatcher<TimestampPair, Void>> autobatchers;
 
     private WriteBatchingTransactionService(
-            EncodingTransactionService delegate, DisruptorAutobatcher<TimestampPair, Void> autobatcher) {
+            EncodingTransactionService delegate, List<DisruptorAutobatcher<TimestampPair, Void>> autobatchers) {
         this.delegate = delegate;
-        this.autobatcher = autobatcher;
+        this.autobatchers = autobatchers;
     }
 
     public static TransactionService create(EncodingTransactionService delegate) {
-        DisruptorAutobatcher<TimestampPair, Void> autobatcher = Autobatchers.<TimestampPair, Void>independent(
-                        elements -> processBatch(delegate, elements))
-                .safeLoggablePurpose("write-batching-transaction-service")
-                .build();
-        return new WriteBatchingTransactionService(delegate, autobatcher);
+        return create(delegate, DEFAULT_SHARDS);
+    }
+
+    public static TransactionService create(EncodingTransactionService delegate, int numShards) {
+        Preconditions.checkArgument(
+                numShards > 0, "Number of shards must be positive", SafeArg.of("numShards", numShards));
+        List<DisruptorAutobatcher<TimestampPair, Void>> autobatchers = IntStream.range(0, numShards)
+                .mapToObj(shard -> Autobatchers.<TimestampPair, Void>independent(
+                                elements -> processBatch(delegate, elements))
+                        .safeLoggablePurpose("write-batching-transaction-service")
+                        .safeTag("shard", Integer.toString(shard))
+                        .build())
+                .collect(ImmutableList.toImmutableList());
+        return new WriteBatchingTransactionService(delegate, autobatchers);
     }
 
     @CheckForNull
@@ -95,12 +115,14 @@ public final class WriteBatchingTransactionService implements TransactionService
 
     @Override
     public void putUnlessExists(long startTimestamp, long commitTimestamp) throws KeyAlreadyExistsException {
+        DisruptorAutobatcher<TimestampPair, Void> autobatcher =
+                autobatchers.get(LongMath.mod(startTimestamp, autobatchers.size()));
         AtlasFutures.getUnchecked(autobatcher.apply(TimestampPair.of(startTimestamp, commitTimestamp)));
     }
 
     @Override
     public void close() {
-        autobatcher.close();
+        autobatchers.forEach(DisruptorAutobatcher::close);
         delegate.close();
     }
 
@@ -16,11 +16,18 @@
 package com.palantir.atlasdb.keyvalue.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.sweep.queue.id.SweepTableIndices;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Test;
 
 public final class WriteReferencePersisterTest {
@@ -30,6 +37,7 @@ public final class WriteReferencePersisterTest {
     private static final Cell CELL = Cell.create(row, column);
     private static final boolean IS_TOMBSTONE = true;
     private static final WriteReference WRITE_REFERENCE = WriteReference.of(TABLE, CELL, IS_TOMBSTONE);
+    private static final TableReference OTHER_TABLE = TableReference.create(Namespace.create("test_ctx"), "other");
 
     private final KeyValueService kvs = new InMemoryKeyValueService(true);
     private final SweepTableIndices tableIndices = new SweepTableIndices(kvs);
@@ -62,4 +70,54 @@ public final class WriteReferencePersisterTest {
                         persister.persist(WRITE_REFERENCE).persistToBytes())))
                 .isEqualTo(WRITE_REFERENCE);
     }
+
+    @Test
+    public void testCanUnpersistAllSingleReference() {
+        assertThat(persister.unpersistAll(persister.persist(WRITE_REFERENCE))).containsExactly(WRITE_REFERENCE);
+    }
+
+    @Test
+    public void testCanUnpersistCompactBatch() {
+        List<WriteReference> writes = ImmutableList.of(
+                WriteReference.of(OTHER_TABLE, Cell.create(row, column), false),
+                WRITE_REFERENCE,
+                WriteReference.of(TABLE, Cell.create(row, new byte[] {118, 1}), false),
+                WriteReference.of(TABLE, Cell.create(new byte[] {63}, column), true));
+
+        assertThat(persister.unpersistAll(hydrate(persister.persistCompactBatch(writes, false))))
+                .hasSameElementsAs(writes);
+        assertThat(persister.unpersistAll(hydrate(persister.persistCompactBatch(writes, true))))
+                .hasSameElementsAs(writes);
+    }
+
+    @Test
+    public void testCompressedCompactBatchIsSmallerThanSeparateReferences() {
+        List<WriteReference> writes = IntStream.range(0, 1_000)
+                .mapToObj(index -> WriteReference.of(
+                        index % 2 == 0 ? TABLE : OTHER_TABLE,
+                        Cell.create(PtBytes.toBytes("row" + index / 10), PtBytes.toBytes((long) index)),
+                        false))
+                .collect(Collectors.toList());
+
+        StoredWriteReference uncompressed = persister.persistCompactBatch(writes, false);
+        StoredWriteReference compressed = persister.persistCompactBatch(writes, true);
+        int separateSize = writes.stream()
+                .mapToInt(write -> persister.persist(write).persistToBytes().length)
+                .sum();
+
+        assertThat(uncompressed.persistToBytes().length).isLessThan(separateSize);
+        assertThat(compressed.persistToBytes().length).isLessThan(uncompressed.persistToBytes().length);
+        assertThat(persister.unpersistAll(hydrate(compressed))).hasSameElementsAs(writes);
+    }
+
+    @Test
+    public void testUnpersistThrowsForCompactBatchOfSeveralWrites() {
+        StoredWriteReference batch = persister.persistCompactBatch(
+                ImmutableList.of(WRITE_REFERENCE, WriteReference.of(OTHER_TABLE, CELL, false)), false);
+        assertThatThrownBy(() -> persister.unpersist(batch)).isInstanceOf(SafeIllegalArgumentException.class);
+    }
+
+    private static StoredWriteReference hydrate(StoredWriteReference stored) {
+        return StoredWriteReference.BYTES_HYDRATOR.hydrateFromBytes(stored.persistToBytes());
+    }
 }
@@ -56,9 +56,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -436,6 +443,40 @@ public class LockWatchEventCacheIntegrationTest {
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    public void concurrentTransactionsCanStartCommitAndBeRemoved() throws Exception {
+        setupInitialState();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CommitUpdate>> futures = LongStream.range(100L, 1_100L)
+                    .mapToObj(timestamp -> executor.submit(() -> startAndCommitTransaction(timestamp)))
+                    .collect(Collectors.toList());
+            for (Future<CommitUpdate> future : futures) {
+                assertThat(future.get(1, TimeUnit.MINUTES).accept(new CommitUpdateVisitor()))
+                        .isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(eventCache.getStateForTesting().timestampStoreState().timestampMap())
+                .containsOnlyKeys(START_TS);
+    }
+
+    private CommitUpdate startAndCommitTransaction(long startTimestamp) {
+        eventCache.processStartTransactionsUpdate(ImmutableSet.of(startTimestamp), SUCCESS);
+        eventCache.processGetCommitTimestampsUpdate(
+                ImmutableSet.of(ImmutableTransactionUpdate.builder()
+                        .startTs(startTimestamp)
+                        .commitTs(startTimestamp + 1)
+                        .writesToken(COMMIT_TOKEN)
+                        .build()),
+                SUCCESS);
+        CommitUpdate commitUpdate = eventCache.getCommitUpdate(startTimestamp);
+        eventCache.removeTransactionStateFromCache(startTimestamp);
+        return commitUpdate;
+    }
+
     private void setupInitialState() {
         eventCache.processStartTransactionsUpdate(TIMESTAMPS, SNAPSHOT);
     }
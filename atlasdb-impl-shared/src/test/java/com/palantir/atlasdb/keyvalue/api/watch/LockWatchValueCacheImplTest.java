@@ -0,0 +1,167 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.keyvalue.api.watch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.TransactionLockWatchingCacheView;
+import com.palantir.lock.AtlasCellLockDescriptor;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.watch.ImmutableTransactionsLockWatchUpdate;
+import com.palantir.lock.watch.LockEvent;
+import com.palantir.lock.watch.LockWatchCreatedEvent;
+import com.palantir.lock.watch.LockWatchEvent;
+import com.palantir.lock.watch.LockWatchEventCache;
+import com.palantir.lock.watch.LockWatchReferences;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.LockWatchVersion;
+import com.palantir.lock.watch.UnlockEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class LockWatchValueCacheImplTest {
+    private static final UUID LEADER = UUID.randomUUID();
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final TableReference OTHER_TABLE = TableReference.createFromFullyQualifiedName("test.other");
+    private static final Cell CELL = Cell.create(new byte[] {1}, new byte[] {2});
+    private static final Cell OTHER_CELL = Cell.create(new byte[] {3}, new byte[] {4});
+    private static final LockDescriptor CELL_DESCRIPTOR =
+            AtlasCellLockDescriptor.of(TABLE.getQualifiedName(), CELL.getRowName(), CELL.getColumnName());
+    private static final byte[] VALUE = new byte[] {42};
+    private static final LockWatchEvent WATCH_TABLE = LockWatchCreatedEvent.builder(
+                    ImmutableSet.of(LockWatchReferences.entireTable(TABLE.getQualifiedName())), ImmutableSet.of())
+            .build(1L);
+
+    @Mock
+    private LockWatchEventCache eventCache;
+
+    private LockWatchValueCacheImpl valueCache;
+
+    @Before
+    public void before() {
+        valueCache = LockWatchValueCacheImpl.create(eventCache, 2);
+    }
+
+    @Test
+    public void servesValuesReadAtEarlierVersion() {
+        TransactionLockWatchingCacheView reader = startTransaction(1L, 1L, true, WATCH_TABLE);
+        reader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE));
+
+        TransactionLockWatchingCacheView laterReader = startTransaction(2L, 2L, false, unrelatedEvent(2L));
+        assertThat(laterReader.readCached(TABLE, ImmutableSet.of(CELL))).containsEntry(CELL, VALUE);
+    }
+
+    @Test
+    public void doesNotCacheUnwatchedTables() {
+        TransactionLockWatchingCacheView reader = startTransaction(1L, 1L, true, WATCH_TABLE);
+        reader.tryCacheNewValuesRead(OTHER_TABLE, ImmutableMap.of(CELL, VALUE));
+
+        assertThat(reader.readCached(OTHER_TABLE, ImmutableSet.of(CELL))).isEmpty();
+    }
+
+    @Test
+    public void lockEventsInvalidateCachedValues() {
+        TransactionLockWatchingCacheView reader = startTransaction(1L, 1L, true, WATCH_TABLE);
+        reader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE));
+
+        TransactionLockWatchingCacheView laterReader = startTransaction(2L, 2L, false, lockEvent(2L));
+        assertThat(laterReader.readCached(TABLE, ImmutableSet.of(CELL))).isEmpty();
+    }
+
+    @Test
+    public void doesNotCacheLockedCells() {
+        startTransaction(1L, 1L, true, WATCH_TABLE);
+        TransactionLockWatchingCacheView reader = startTransaction(2L, 2L, false, lockEvent(2L));
+        reader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE));
+        assertThat(reader.readCached(TABLE, ImmutableSet.of(CELL))).isEmpty();
+
+        TransactionLockWatchingCacheView readerAfterUnlock = startTransaction(
+                3L, 3L, false, UnlockEvent.builder(ImmutableSet.of(CELL_DESCRIPTOR)).build(3L));
+        readerAfterUnlock.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE));
+        assertThat(readerAfterUnlock.readCached(TABLE, ImmutableSet.of(CELL))).containsEntry(CELL, VALUE);
+    }
+
+    @Test
+    public void doesNotCacheValuesReadByTransactionsBehindTheCache() {
+        TransactionLockWatchingCacheView olderReader = startTransaction(1L, 1L, true, WATCH_TABLE);
+        startTransaction(2L, 2L, false, lockEvent(2L));
+
+        olderReader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE));
+        assertThat(valueCache.size()).isZero();
+    }
+
+    @Test
+    public void doesNotServeValuesCachedAfterTransactionStart() {
+        TransactionLockWatchingCacheView olderReader = startTransaction(1L, 1L, true, WATCH_TABLE);
+        TransactionLockWatchingCacheView newerReader = startTransaction(2L, 2L, false, unrelatedEvent(2L));
+        newerReader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE));
+
+        assertThat(olderReader.readCached(TABLE, ImmutableSet.of(CELL))).isEmpty();
+        assertThat(newerReader.readCached(TABLE, ImmutableSet.of(CELL))).containsEntry(CELL, VALUE);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedValuesWhenFull() {
+        Cell thirdCell = Cell.create(new byte[] {5}, new byte[] {6});
+        TransactionLockWatchingCacheView reader = startTransaction(1L, 1L, true, WATCH_TABLE);
+        reader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(CELL, VALUE, OTHER_CELL, VALUE));
+        reader.readCached(TABLE, ImmutableSet.of(CELL));
+        reader.tryCacheNewValuesRead(TABLE, ImmutableMap.of(thirdCell, VALUE));
+
+        Map<Cell, byte[]> cached = reader.readCached(TABLE, ImmutableSet.of(CELL, OTHER_CELL, thirdCell));
+        assertThat(cached).containsOnlyKeys(CELL, thirdCell);
+    }
+
+    private TransactionLockWatchingCacheView startTransaction(
+            long startTs, long version, boolean clearCache, LockWatchEvent... events) {
+        List<LockWatchEvent> eventList = ImmutableList.copyOf(events);
+        when(eventCache.getUpdateForTransactions(eq(ImmutableSet.of(startTs)), any()))
+                .thenReturn(ImmutableTransactionsLockWatchUpdate.builder()
+                        .clearCache(clearCache)
+                        .events(eventList)
+                        .startTsToSequence(ImmutableMap.of(startTs, LockWatchVersion.of(LEADER, version)))
+                        .build());
+        return valueCache.getView(startTs, LockWatchStateUpdate.success(LEADER, version, ImmutableList.of()));
+    }
+
+    private static LockWatchEvent unrelatedEvent(long sequence) {
+        return UnlockEvent.builder(ImmutableSet.of(AtlasCellLockDescriptor.of(
+                        OTHER_TABLE.getQualifiedName(), CELL.getRowName(), CELL.getColumnName())))
+                .build(sequence);
+    }
+
+    private static LockWatchEvent lockEvent(long sequence) {
+        return LockEvent.builder(ImmutableSet.of(CELL_DESCRIPTOR), LockToken.of(UUID.randomUUID()))
+                .build(sequence);
+    }
+}
@@ -30,6 +30,11 @@ import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.lock.watch.LockWatchEventCache;
 import com.palantir.logsafe.exceptions.SafeRuntimeException;
 import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -76,6 +81,32 @@ public final class ResilientLockWatchEventCacheTest {
         verifyNoMoreInteractions(defaultCache, fallbackCache);
     }
 
+    @Test
+    public void invocationsAreNotSerialised() throws Exception {
+        CountDownLatch invoked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(defaultCache.getCommitUpdate(anyLong())).thenAnswer(invocation -> {
+            invoked.countDown();
+            release.await();
+            return null;
+        });
+        when(defaultCache.isEnabled()).thenReturn(true);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blockedCall = executor.submit(() -> proxyCache.getCommitUpdate(0L));
+            assertThat(invoked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(proxyCache.isEnabled()).isTrue();
+
+            release.countDown();
+            blockedCall.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void failCausesFallbackCacheToBeUsed() {
         RuntimeException runtimeException = new RuntimeException();
@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ShardPrioritizerTest {
+    private static final int SHARDS = 4;
+
+    private final Map<ShardAndStrategy, Long> persistedProgress = new ConcurrentHashMap<>();
+    private final ShardPrioritizer prioritizer =
+            new ShardPrioritizer(SweeperStrategy.CONSERVATIVE, () -> SHARDS, this::readProgress);
+
+    @Test
+    public void mostBackedUpShardsComeFirst() {
+        persistProgress(0, 300L);
+        persistProgress(1, 100L);
+        persistProgress(2, 400L);
+        persistProgress(3, 200L);
+
+        assertThat(prioritizer.getShardsInPriorityOrder()).containsExactly(1, 3, 0, 2);
+    }
+
+    @Test
+    public void shardsWithEqualProgressAreRotatedThrough() {
+        assertThat(prioritizer.getShardsInPriorityOrder()).containsExactly(0, 1, 2, 3);
+        assertThat(prioritizer.getShardsInPriorityOrder()).containsExactly(1, 2, 3, 0);
+        assertThat(prioritizer.getShardsInPriorityOrder()).containsExactly(2, 3, 0, 1);
+    }
+
+    @Test
+    public void claimedShardsAreSkippedUntilReleased() {
+        assertThat(prioritizer.tryClaim(0)).isTrue();
+        assertThat(prioritizer.tryClaim(0)).isFalse();
+        assertThat(prioritizer.getShardsInPriorityOrder()).doesNotContain(0);
+
+        prioritizer.release(0);
+        assertThat(prioritizer.getShardsInPriorityOrder()).contains(0);
+    }
+
+    @Test
+    public void recordedProgressLowersPriorityBeforeNextRefresh() {
+        persistProgress(0, 100L);
+        persistProgress(1, 200L);
+        assertThat(prioritizer.getShardsInPriorityOrder().get(0)).isEqualTo(2);
+
+        persistProgress(2, 1000L);
+        persistProgress(3, 1000L);
+        prioritizer.recordProgress(2);
+        prioritizer.recordProgress(3);
+
+        List<Integer> shards = prioritizer.getShardsInPriorityOrder();
+        assertThat(shards.subList(0, 2)).containsExactlyInAnyOrder(0, 1);
+    }
+
+    private void persistProgress(int shard, long lastSwept) {
+        persistedProgress.put(ShardAndStrategy.conservative(shard), lastSwept);
+    }
+
+    private Map<ShardAndStrategy, Long> readProgress(Collection<ShardAndStrategy> shardsAndStrategies) {
+        return shardsAndStrategies.stream()
+                .collect(Collectors.toMap(
+                        shardAndStrategy -> shardAndStrategy,
+                        shardAndStrategy ->
+                                persistedProgress.getOrDefault(shardAndStrategy, SweepQueueUtils.INITIAL_TIMESTAMP)));
+    }
+}
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -104,6 +105,19 @@ public class ShardProgressTest {
         assertThat(progress.getLastSweptTimestamp(CONSERVATIVE_TEN)).isEqualTo(INITIAL_TIMESTAMP);
     }
 
+    @Test
+    public void canReadSweptTimestampsForManyShardsAtOnce() {
+        progress.updateLastSweptTimestamp(CONSERVATIVE_TEN, 1024L);
+        progress.updateLastSweptTimestamp(CONSERVATIVE_TWENTY, 512L);
+
+        assertThat(progress.getLastSweptTimestamps(
+                        ImmutableList.of(CONSERVATIVE_TEN, THOROUGH_TEN, CONSERVATIVE_TWENTY)))
+                .containsExactlyInAnyOrderEntriesOf(ImmutableMap.of(
+                        CONSERVATIVE_TEN, 1024L,
+                        THOROUGH_TEN, INITIAL_TIMESTAMP,
+                        CONSERVATIVE_TWENTY, 512L));
+    }
+
     @Test
     public void canUpdateSweptTimestamp() {
         progress.updateLastSweptTimestamp(CONSERVATIVE_TEN, 1024L);
@@ -0,0 +1,154 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.palantir.lock.v2.LockResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SweepQueueResharderTest extends AbstractSweepQueueTest {
+    private static final int NEW_SHARDS = 2 * DEFAULT_SHARDS;
+    private static final int LOCK_ATTEMPTS = 3;
+
+    private final TimelockService timelock = mock(TimelockService.class);
+
+    private ShardProgress progress;
+    private SweepableCells sweepableCells;
+    private SweepableTimestamps sweepableTimestamps;
+    private SweepQueueResharder resharder;
+
+    @Before
+    @Override
+    public void setup() {
+        super.setup();
+        progress = new ShardProgress(spiedKvs);
+        progress.updateNumberOfShards(DEFAULT_SHARDS);
+        sweepableCells = new SweepableCells(spiedKvs, partitioner, null, txnService);
+        sweepableTimestamps = new SweepableTimestamps(spiedKvs, partitioner);
+        resharder = new SweepQueueResharder(
+                progress, sweepableCells, sweepableTimestamps, timelock, () -> immutableTs, () -> LOCK_ATTEMPTS, 0L);
+        when(timelock.lock(any())).thenReturn(LockResponse.successful(LockToken.of(UUID.randomUUID())));
+    }
+
+    @Test
+    public void movesBacklogOntoNewShards() {
+        List<WriteInfo> writes = enqueueInFixedShard(TS, 10);
+
+        assertThat(resharder.reshard(NEW_SHARDS)).isEqualTo(10L);
+
+        assertThat(progress.getNumberOfShards()).isEqualTo(NEW_SHARDS);
+        assertThat(writesInPartition(ShardAndStrategy.conservative(FIXED_SHARD), TS_FINE_PARTITION))
+                .isEmpty();
+        ShardAndStrategy destination = destinationOf(writes.get(0));
+        assertThat(destination.shard()).isGreaterThanOrEqualTo(DEFAULT_SHARDS);
+        assertThat(writesInPartition(destination, TS_FINE_PARTITION)).containsExactlyInAnyOrderElementsOf(writes);
+        assertThat(sweepableTimestamps.nextSweepableTimestampPartition(destination, -1L, immutableTs))
+                .contains(TS_FINE_PARTITION);
+    }
+
+    @Test
+    public void lowersProgressOfDestinationShardsBelowMovedEntries() {
+        List<WriteInfo> writes = enqueueInFixedShard(TS, 1);
+        ShardAndStrategy destination = destinationOf(writes.get(0));
+        progress.updateLastSweptTimestamp(destination, TS2);
+
+        resharder.reshard(NEW_SHARDS);
+
+        assertThat(progress.getLastSweptTimestamp(destination)).isEqualTo(TS - 1);
+    }
+
+    @Test
+    public void doesNotMovePartitionsThatMayStillReceiveWrites() {
+        enqueueInFixedShard(TS, 1);
+        immutableTs = TS + 1;
+
+        assertThat(resharder.reshard(NEW_SHARDS)).isZero();
+        assertThat(writesInPartition(ShardAndStrategy.conservative(FIXED_SHARD), TS_FINE_PARTITION))
+                .hasSize(1);
+    }
+
+    @Test
+    public void doesNotMovePartitionsAlreadySwept() {
+        enqueueInFixedShard(TS, 1);
+        progress.updateLastSweptTimestamp(
+                ShardAndStrategy.conservative(FIXED_SHARD), SweepQueueUtils.maxTsForFinePartition(TS_FINE_PARTITION));
+
+        assertThat(resharder.reshard(NEW_SHARDS)).isZero();
+    }
+
+    @Test
+    public void resumingAnInterruptedReshardMovesRemainingBacklog() {
+        progress.updateNumberOfShards(NEW_SHARDS);
+        enqueueInFixedShard(TS, 3);
+
+        assertThat(resharder.reshard(NEW_SHARDS)).isZero();
+        assertThat(resharder.reshard(DEFAULT_SHARDS, NEW_SHARDS)).isEqualTo(3L);
+    }
+
+    @Test
+    public void retriesLockAcquisition() {
+        enqueueInFixedShard(TS, 1);
+        when(timelock.lock(any()))
+                .thenReturn(LockResponse.timedOut())
+                .thenReturn(LockResponse.successful(LockToken.of(UUID.randomUUID())));
+
+        assertThat(resharder.reshard(NEW_SHARDS)).isEqualTo(1L);
+    }
+
+    @Test
+    public void failsOnceLockAttemptsAreExhausted() {
+        enqueueInFixedShard(TS, 1);
+        when(timelock.lock(any())).thenReturn(LockResponse.timedOut());
+
+        assertThatThrownBy(() -> resharder.reshard(NEW_SHARDS)).isInstanceOf(SafeIllegalStateException.class);
+        verify(timelock, times(LOCK_ATTEMPTS)).lock(any());
+    }
+
+    @Test
+    public void cannotDecreaseNumberOfShards() {
+        assertThatThrownBy(() -> resharder.reshard(DEFAULT_SHARDS - 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<WriteInfo> enqueueInFixedShard(long timestamp, int number) {
+        writeToCellsInFixedShard(sweepableTimestamps, timestamp, number, TABLE_CONS);
+        return writeToCellsInFixedShard(sweepableCells, timestamp, number, TABLE_CONS);
+    }
+
+    private static ShardAndStrategy destinationOf(WriteInfo write) {
+        return ShardAndStrategy.conservative(DEFAULT_SHARDS + write.toShard(NEW_SHARDS - DEFAULT_SHARDS));
+    }
+
+    private Set<WriteInfo> writesInPartition(ShardAndStrategy shardAndStrategy, long partitionFine) {
+        return sweepableCells.getAllWritesInPartition(shardAndStrategy, partitionFine).writes().stream()
+                .collect(Collectors.toSet());
+    }
+}
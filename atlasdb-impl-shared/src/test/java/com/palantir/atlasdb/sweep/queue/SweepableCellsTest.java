@@ -58,6 +58,7 @@ public class SweepableCellsTest extends AbstractSweepQueueTest {
 
     private TargetedSweepMetrics metrics;
     private SweepableCells sweepableCells;
+    private boolean compactEncoding = false;
 
     @Before
     @Override
@@ -70,7 +71,7 @@ public class SweepableCellsTest extends AbstractSweepQueueTest {
                 TargetedSweepMetrics.MetricsConfiguration.builder()
                         .millisBetweenRecomputingMetrics(1)
                         .build());
-        sweepableCells = new SweepableCells(spiedKvs, partitioner, metrics, txnService);
+        sweepableCells = new SweepableCells(spiedKvs, partitioner, metrics, txnService, () -> compactEncoding);
 
         shardCons = writeToDefaultCellCommitted(sweepableCells, TS, TABLE_CONS);
         shardThor = writeToDefaultCellCommitted(sweepableCells, TS2, TABLE_THOR);
@@ -335,6 +336,51 @@ public class SweepableCellsTest extends AbstractSweepQueueTest {
                 .hasAbortedWritesDeletedConservativeEquals(MAX_CELLS_DEDICATED + 1);
     }
 
+    @Test
+    public void canReadCompactEntriesInSingleShardSameTransactionNotDedicated() {
+        compactEncoding = true;
+        List<WriteInfo> writes = writeToCellsInFixedShard(sweepableCells, TS, 10, TABLE_CONS);
+        SweepBatch conservativeBatch = readConservative(FIXED_SHARD, TS_FINE_PARTITION, TS - 1, TS + 1);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(writes);
+    }
+
+    @Test
+    public void canReadCompactEntriesInSingleShardSameTransactionMultipleDedicated() {
+        useSingleShard();
+        compactEncoding = true;
+        List<WriteInfo> writes = writeCommittedConservativeRowForTimestamp(TS + 1, MAX_CELLS_DEDICATED + 1);
+
+        SweepBatch conservativeBatch = readConservative(0, TS_FINE_PARTITION, TS, TS + 2);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(writes);
+        assertThat(conservativeBatch.dedicatedRows().getDedicatedRows()).hasSize(2);
+    }
+
+    @Test
+    public void canReadCompactAndLegacyEntriesInSamePartition() {
+        useSingleShard();
+        List<WriteInfo> legacy = writeCommittedConservativeRowForTimestamp(TS + 1, MAX_CELLS_GENERIC + 1);
+        compactEncoding = true;
+        List<WriteInfo> compact = writeCommittedConservativeRowForTimestamp(TS + 2, MAX_CELLS_GENERIC + 1);
+        List<WriteInfo> compactNotDedicated = writeCommittedConservativeRowForTimestamp(TS + 3, 5);
+
+        List<WriteInfo> expected = new ArrayList<>(legacy);
+        expected.addAll(compact);
+        expected.addAll(compactNotDedicated);
+        SweepBatch conservativeBatch = readConservative(0, TS_FINE_PARTITION, TS, TS + 4);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(expected);
+    }
+
+    @Test
+    public void uncommittedCompactWritesInDedicatedRowsGetDeleted() {
+        useSingleShard();
+        compactEncoding = true;
+        writeWithoutCommitConservative(TS + 1, 0L, MAX_CELLS_DEDICATED + 1);
+
+        SweepBatch conservativeBatch = readConservative(0, TS_FINE_PARTITION, TS, TS + 2);
+        assertThat(conservativeBatch.writes()).isEmpty();
+        assertDeletedNumber(TABLE_CONS, MAX_CELLS_DEDICATED + 1);
+    }
+
     @Test
     public void cleanupNonDedicatedRow() {
         useSingleShard();
@@ -38,4 +38,20 @@ public class DefaultTaskExecutorsTest {
                 .isInstanceOf(RejectedExecutionException.class)
                 .hasMessageContaining("rejected from");
     }
+
+    @Test
+    public void sweepQueueWriteExecutorHasBoundedTaskQueue() {
+        ExecutorService service = DefaultTaskExecutors.createDefaultSweepQueueWriteExecutor();
+        int capacity =
+                DefaultTaskExecutors.SWEEP_QUEUE_WRITE_THREADS + DefaultTaskExecutors.SWEEP_QUEUE_WRITE_QUEUE_CAPACITY;
+        for (int i = 0; i < capacity; i++) {
+            service.submit(() -> {
+                Uninterruptibles.sleepUninterruptibly(1, TimeUnit.DAYS);
+                return 1;
+            });
+        }
+        assertThatThrownBy(() -> service.submit(() -> 0))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("rejected from");
+    }
 }
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -39,6 +40,7 @@ import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.watch.NoOpLockWatchManager;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
 import com.palantir.atlasdb.transaction.ImmutableTransactionConfig;
+import com.palantir.atlasdb.transaction.TransactionConfig;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.OpenTransaction;
 import com.palantir.atlasdb.transaction.impl.metrics.DefaultMetricsFilterEvaluationContext;
@@ -74,6 +76,7 @@ public class SnapshotTransactionManagerTest {
 
     private final MetricsManager metricsManager = MetricsManagers.createForTests();
     private final ExecutorService deleteExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService sweepQueueWriteExecutor = Executors.newSingleThreadExecutor();
 
     private final InMemoryTimestampService timestampService = new InMemoryTimestampService();
     private final SnapshotTransactionManager snapshotTransactionManager = new SnapshotTransactionManager(
@@ -95,6 +98,7 @@ public class SnapshotTransactionManagerTest {
             DefaultTimestampCache.createForTests(),
             MultiTableSweepQueueWriter.NO_OP,
             deleteExecutor,
+            sweepQueueWriteExecutor,
             true,
             () -> ImmutableTransactionConfig.builder().build(),
             ConflictTracer.NO_OP,
@@ -129,6 +133,12 @@ public class SnapshotTransactionManagerTest {
         assertThat(deleteExecutor.isTerminated()).isTrue();
     }
 
+    @Test
+    public void closesSweepQueueWriteExecutorOnClosingTransactionManager() {
+        snapshotTransactionManager.close();
+        assertThat(sweepQueueWriteExecutor.isTerminated()).isTrue();
+    }
+
     @Test
     public void canCloseTransactionManagerWithNonCloseableLockService() {
         InMemoryTimestampService ts = new InMemoryTimestampService();
@@ -151,6 +161,8 @@ public class SnapshotTransactionManagerTest {
                 DefaultTimestampCache.createForTests(),
                 MultiTableSweepQueueWriter.NO_OP,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
+            sweepQueueWriteExecutor,
                 true,
                 () -> ImmutableTransactionConfig.builder().build(),
                 ConflictTracer.NO_OP,
@@ -250,6 +262,26 @@ public class SnapshotTransactionManagerTest {
         verify(timelockService, never()).startIdentifiedAtlasDbTransactionBatch(1);
     }
 
+    @Test
+    public void readOnlyTransactionsStartingFromALeaseDoNotCallTimelockService() {
+        TimelockService timelockService =
+                spy(new LegacyTimelockService(timestampService, closeableLockService, LockClient.of("lock")));
+        SnapshotTransactionManager transactionManager = createSnapshotTransactionManager(
+                timelockService,
+                ImmutableTransactionConfig.builder()
+                        .readOnlyTransactionTimestampLeaseMillis(1_000)
+                        .build());
+
+        transactionManager.runTaskReadOnly(tx -> "ignored");
+        verify(timelockService).getImmutableTimestamp();
+        verify(timelockService).getFreshTimestamps(anyInt());
+
+        clearInvocations(timelockService);
+        transactionManager.runTaskReadOnly(tx -> "ignored");
+        transactionManager.runTaskWithConditionReadOnly(PreCommitConditions.NO_OP, (tx, condition) -> "ignored");
+        verifyNoMoreInteractions(timelockService);
+    }
+
     @Test
     public void startEmptyBatchOfTransactionsDoesNotCallTimelockService() {
         TimelockService timelockService =
@@ -263,6 +295,15 @@ public class SnapshotTransactionManagerTest {
 
     private SnapshotTransactionManager createSnapshotTransactionManager(
             TimelockService timelockService, boolean grabImmutableTsLockOnReads) {
+        return createSnapshotTransactionManager(
+                timelockService,
+                ImmutableTransactionConfig.builder()
+                        .lockImmutableTsOnReadOnlyTransactions(grabImmutableTsLockOnReads)
+                        .build());
+    }
+
+    private SnapshotTransactionManager createSnapshotTransactionManager(
+            TimelockService timelockService, TransactionConfig transactionConfig) {
         return new SnapshotTransactionManager(
                 metricsManager,
                 keyValueService,
@@ -282,10 +323,10 @@ public class SnapshotTransactionManagerTest {
                 DefaultTimestampCache.createForTests(),
                 MultiTableSweepQueueWriter.NO_OP,
                 deleteExecutor,
+                sweepQueueWriteExecutor,
+            sweepQueueWriteExecutor,
                 true,
-                () -> ImmutableTransactionConfig.builder()
-                        .lockImmutableTsOnReadOnlyTransactions(grabImmutableTsLockOnReads)
-                        .build(),
+                () -> transactionConfig,
                 ConflictTracer.NO_OP,
                 DefaultMetricsFilterEvaluationContext.createDefault());
     }
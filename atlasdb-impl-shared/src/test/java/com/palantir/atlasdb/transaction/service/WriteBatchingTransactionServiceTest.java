@@ -39,12 +39,14 @@ import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
 import com.palantir.atlasdb.transaction.encoding.V1EncodingStrategy;
 import com.palantir.common.annotation.Output;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.immutables.value.Value;
 import org.junit.After;
 import org.junit.Before;
@@ -83,6 +85,22 @@ public class WriteBatchingTransactionServiceTest {
         verify(mockTransactionService).putUnlessExistsMultiple(ImmutableMap.of(7L, 66L));
     }
 
+    @Test
+    public void putsUnlessExistsToUnderlyingAcrossShards() {
+        TransactionService shardedService = WriteBatchingTransactionService.create(mockTransactionService, 4);
+        LongStream.range(0, 8).forEach(timestamp -> shardedService.putUnlessExists(timestamp, timestamp + 1));
+
+        LongStream.range(0, 8)
+                .forEach(timestamp -> verify(mockTransactionService)
+                        .putUnlessExistsMultiple(ImmutableMap.of(timestamp, timestamp + 1)));
+    }
+
+    @Test
+    public void cannotCreateWithNonPositiveNumberOfShards() {
+        assertThatThrownBy(() -> WriteBatchingTransactionService.create(mockTransactionService, 0))
+                .isInstanceOf(SafeIllegalArgumentException.class);
+    }
+
     @Test
     public void batchesElementsAndDelegates() {
         WriteBatchingTransactionService.processBatch(
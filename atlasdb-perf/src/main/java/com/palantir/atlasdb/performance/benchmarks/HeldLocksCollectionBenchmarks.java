@@ -0,0 +1,54 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.performance.benchmarks.lock.PopulatedHeldLocksCollection;
+import com.palantir.atlasdb.timelock.lock.Leased;
+import com.palantir.lock.v2.LockToken;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+public class HeldLocksCollectionBenchmarks {
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(1)
+    public void removeExpiredWithNoLeasesDue(PopulatedHeldLocksCollection heldLocks) {
+        heldLocks.removeExpired();
+    }
+
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(16)
+    public Set<LockToken> manyThreadsAcquireAndUnlock(PopulatedHeldLocksCollection heldLocks) {
+        return heldLocks.unlock(ImmutableSet.of(heldLocks.acquire()));
+    }
+
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(4)
+    public Leased<Set<LockToken>> fewThreadsRefreshBatch(PopulatedHeldLocksCollection heldLocks) {
+        return heldLocks.refresh();
+    }
+}
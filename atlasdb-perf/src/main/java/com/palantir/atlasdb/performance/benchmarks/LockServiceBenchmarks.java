@@ -0,0 +1,68 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.palantir.atlasdb.performance.benchmarks.lock.InProcessLockService;
+import com.palantir.atlasdb.performance.benchmarks.lock.LockRequests;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.RefreshLockResponseV2;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+public class LockServiceBenchmarks {
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(1)
+    public boolean singleThreadLockAndUnlock(InProcessLockService lockService, LockRequests requests) {
+        return lockAndUnlock(lockService, requests.uncontended());
+    }
+
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(16)
+    public boolean manyThreadsLockAndUnlockUncontended(InProcessLockService lockService, LockRequests requests) {
+        return lockAndUnlock(lockService, requests.uncontended());
+    }
+
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(16)
+    public boolean manyThreadsLockAndUnlockContended(InProcessLockService lockService, LockRequests requests) {
+        return lockAndUnlock(lockService, requests.nextContended());
+    }
+
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(4)
+    public RefreshLockResponseV2 fewThreadsRefreshHeldLocks(InProcessLockService lockService, LockRequests requests) {
+        return lockService.refresh(requests.held());
+    }
+
+    private static boolean lockAndUnlock(InProcessLockService lockService, Set<LockDescriptor> descriptors) {
+        LockToken token = lockService.lock(descriptors);
+        return lockService.unlock(token);
+    }
+}
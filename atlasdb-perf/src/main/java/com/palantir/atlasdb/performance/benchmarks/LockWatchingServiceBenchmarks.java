@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.palantir.atlasdb.performance.benchmarks.lock.InProcessLockService;
+import com.palantir.atlasdb.performance.benchmarks.lock.LockRequests;
+import com.palantir.atlasdb.performance.benchmarks.lock.LockWatchClient;
+import com.palantir.atlasdb.timelock.lock.watch.LockWatchingService;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+public class LockWatchingServiceBenchmarks {
+    @Benchmark
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    @Threads(16)
+    public void manyThreadsRegisterLockAndUnlock(InProcessLockService lockService, LockRequests requests) {
+        LockWatchingService lockWatchingService = lockService.lockWatchingService();
+        Set<LockDescriptor> descriptors = requests.uncontended();
+        lockWatchingService.registerLock(descriptors, LockToken.of(UUID.randomUUID()));
+        lockWatchingService.registerUnlock(descriptors);
+    }
+
+    @Benchmark
+    @Group("lockWatchFanOut")
+    @GroupThreads(8)
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public boolean lockAndUnlockWhileWatched(InProcessLockService lockService, LockRequests requests) {
+        LockToken token = lockService.lock(requests.uncontended());
+        return lockService.unlock(token);
+    }
+
+    @Benchmark
+    @Group("lockWatchFanOut")
+    @GroupThreads(8)
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public LockWatchStateUpdate pollLockWatchUpdates(InProcessLockService lockService, LockWatchClient client) {
+        return client.poll(lockService.lockWatchingService());
+    }
+}
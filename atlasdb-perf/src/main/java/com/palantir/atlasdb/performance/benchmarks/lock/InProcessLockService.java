@@ -0,0 +1,134 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks.lock;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.timelock.api.LockWatchRequest;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.atlasdb.timelock.lock.Leased;
+import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.lock.TimeLimit;
+import com.palantir.atlasdb.timelock.lock.watch.LockWatchingService;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.lock.AtlasCellLockDescriptor;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.RefreshLockResponseV2;
+import com.palantir.lock.watch.LockWatchReferences;
+import com.palantir.lock.watch.LockWatchReferences.LockWatchReference;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * An {@link AsyncLockService} running in the benchmark JVM, with the same wiring TimeLock uses for a single
+ * namespace. Lock descriptors are cells of a single table, whose rows are drawn from a fixed range of
+ * {@link #WATCHABLE_ROWS} rows so that the number of lock watches also determines the fraction of lock and unlock
+ * events that fan out into the lock watch event log.
+ */
+@State(Scope.Benchmark)
+public class InProcessLockService {
+    static final String TABLE = "benchmarks.locks";
+    static final int WATCHABLE_ROWS = 1024;
+    static final long SLOW_LOCK_LOG_THRESHOLD_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private static final TimeLimit ACQUIRE_TIMEOUT = TimeLimit.of(Duration.ofMinutes(1).toMillis());
+
+    @Param({"1", "10", "100"})
+    public int descriptorsPerRequest;
+
+    /**
+     * Number of rows, spread evenly over the watchable rows, that are covered by a lock watch.
+     */
+    @Param({"0", "64", "1024"})
+    public int lockWatches;
+
+    private final AtomicLong uniqueColumns = new AtomicLong();
+    private AsyncLockService lockService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        lockService = AsyncLockService.createDefault(
+                new LockLog(new MetricRegistry(), () -> SLOW_LOCK_LOG_THRESHOLD_MILLIS),
+                PTExecutors.newSingleThreadScheduledExecutor(),
+                PTExecutors.newSingleThreadScheduledExecutor());
+        if (lockWatches > 0) {
+            Set<LockWatchReference> references = IntStream.range(0, WATCHABLE_ROWS)
+                    .filter(row -> row % (WATCHABLE_ROWS / lockWatches) == 0)
+                    .mapToObj(row -> LockWatchReferences.rowPrefix(TABLE, rowName(row)))
+                    .collect(Collectors.toSet());
+            lockService.getLockWatchingService().startWatching(LockWatchRequest.of(references));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        lockService.close();
+    }
+
+    public LockToken lock(Set<LockDescriptor> descriptors) {
+        AsyncResult<Leased<LockToken>> result = lockService.lock(UUID.randomUUID(), descriptors, ACQUIRE_TIMEOUT);
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        result.onComplete(() -> completed.complete(null));
+        completed.join();
+        return result.get().value();
+    }
+
+    public boolean unlock(LockToken token) {
+        return lockService.unlock(token);
+    }
+
+    public RefreshLockResponseV2 refresh(Set<LockToken> tokens) {
+        return lockService.refresh(tokens);
+    }
+
+    public LockWatchingService lockWatchingService() {
+        return lockService.getLockWatchingService();
+    }
+
+    /**
+     * Descriptors that no other caller of this method will be given, so that locking them never contends.
+     */
+    Set<LockDescriptor> uniqueDescriptors(int count, int firstRow) {
+        long column = uniqueColumns.incrementAndGet();
+        return IntStream.range(0, count)
+                .mapToObj(index -> cell((firstRow + index) % WATCHABLE_ROWS, column))
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    static LockDescriptor cell(int row, long column) {
+        return AtlasCellLockDescriptor.of(TABLE, rowName(row), PtBytes.toBytes("column" + column));
+    }
+
+    private static byte[] rowName(int row) {
+        // fixed width, so that a row prefix watch covers exactly one row
+        return PtBytes.toBytes(String.format("row%04d", row));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks.lock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread lock requests against an {@link InProcessLockService}. Requests are generated up front so that the
+ * benchmarks measure the lock service rather than descriptor construction.
+ */
+@State(Scope.Thread)
+public class LockRequests {
+    /**
+     * Cells that every thread draws its contended requests from.
+     */
+    private static final int HOT_CELLS = 128;
+    private static final int CONTENDED_REQUESTS = 64;
+    private static final int HOT_CELL_ROW_SPACING = InProcessLockService.WATCHABLE_ROWS / HOT_CELLS;
+    private static final int HELD_REQUESTS = 100;
+
+    private Set<LockDescriptor> uncontended;
+    private List<Set<LockDescriptor>> contended;
+    private Set<LockToken> held;
+    private int nextContended = 0;
+
+    @Setup(Level.Trial)
+    public void setup(InProcessLockService lockService) {
+        int descriptorsPerRequest = lockService.descriptorsPerRequest;
+        uncontended = uniqueDescriptors(lockService);
+        contended = IntStream.range(0, CONTENDED_REQUESTS)
+                .mapToObj(ignored -> hotDescriptors(Math.min(descriptorsPerRequest, HOT_CELLS)))
+                .collect(ImmutableList.toImmutableList());
+        held = IntStream.range(0, HELD_REQUESTS)
+                .mapToObj(ignored -> lockService.lock(uniqueDescriptors(lockService)))
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    /**
+     * Descriptors that no other thread locks.
+     */
+    public Set<LockDescriptor> uncontended() {
+        return uncontended;
+    }
+
+    /**
+     * Descriptors drawn from a small pool shared with every other thread.
+     */
+    public Set<LockDescriptor> nextContended() {
+        Set<LockDescriptor> descriptors = contended.get(nextContended);
+        nextContended = (nextContended + 1) % contended.size();
+        return descriptors;
+    }
+
+    /**
+     * Tokens for requests that this thread acquired during setup and never unlocks.
+     */
+    public Set<LockToken> held() {
+        return held;
+    }
+
+    private static Set<LockDescriptor> hotDescriptors(int count) {
+        return ThreadLocalRandom.current()
+                .ints(0, HOT_CELLS)
+                .distinct()
+                .limit(count)
+                .mapToObj(cell -> InProcessLockService.cell(cell * HOT_CELL_ROW_SPACING, 0))
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    private static Set<LockDescriptor> uniqueDescriptors(InProcessLockService lockService) {
+        int firstRow = ThreadLocalRandom.current().nextInt(InProcessLockService.WATCHABLE_ROWS);
+        return lockService.uniqueDescriptors(lockService.descriptorsPerRequest, firstRow);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks.lock;
+
+import com.palantir.atlasdb.timelock.lock.watch.LockWatchingService;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.LockWatchVersion;
+import java.util.Optional;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A client polling for lock watch updates, tracking the last version it has seen as a real client would.
+ */
+@State(Scope.Thread)
+public class LockWatchClient {
+    private static final LockWatchStateUpdate.Visitor<Long> LAST_KNOWN_VERSION =
+            new LockWatchStateUpdate.Visitor<Long>() {
+                @Override
+                public Long visit(LockWatchStateUpdate.Success success) {
+                    return success.lastKnownVersion();
+                }
+
+                @Override
+                public Long visit(LockWatchStateUpdate.Snapshot snapshot) {
+                    return snapshot.lastKnownVersion();
+                }
+            };
+
+    private Optional<LockWatchVersion> lastKnownVersion = Optional.empty();
+
+    public LockWatchStateUpdate poll(LockWatchingService lockWatchingService) {
+        LockWatchStateUpdate update = lockWatchingService.getWatchStateUpdate(lastKnownVersion);
+        lastKnownVersion = Optional.of(LockWatchVersion.of(update.logId(), update.accept(LAST_KNOWN_VERSION)));
+        return update;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks.lock;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.atlasdb.timelock.lock.HeldLocks;
+import com.palantir.atlasdb.timelock.lock.HeldLocksCollection;
+import com.palantir.atlasdb.timelock.lock.LeaderClock;
+import com.palantir.atlasdb.timelock.lock.Leased;
+import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.lock.watch.LockWatchingService;
+import com.palantir.atlasdb.timelock.lock.watch.LockWatchingServiceImpl;
+import com.palantir.lock.v2.LockToken;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A {@link HeldLocksCollection} already tracking a number of live, lock-free requests, so that the benchmarks
+ * measure the bookkeeping of the collection itself rather than lock acquisition.
+ */
+@State(Scope.Benchmark)
+public class PopulatedHeldLocksCollection {
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    public int heldRequests;
+
+    private final LeaderClock leaderClock = LeaderClock.create();
+    private final LockLog lockLog =
+            new LockLog(new MetricRegistry(), () -> InProcessLockService.SLOW_LOCK_LOG_THRESHOLD_MILLIS);
+    private HeldLocksCollection heldLocksCollection;
+    private LockWatchingService lockWatchingService;
+    private Set<LockToken> heldTokens;
+    private Set<LockToken> refreshBatch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        heldLocksCollection = HeldLocksCollection.create(leaderClock);
+        lockWatchingService = new LockWatchingServiceImpl(heldLocksCollection, leaderClock.id());
+        List<LockToken> tokens = IntStream.range(0, heldRequests)
+                .mapToObj(ignored -> acquire())
+                .collect(Collectors.toList());
+        heldTokens = ImmutableSet.copyOf(tokens);
+        refreshBatch = ImmutableSet.copyOf(tokens.subList(0, Math.min(REFRESH_BATCH_SIZE, tokens.size())));
+    }
+
+    /**
+     * Nothing refreshes the held requests during a benchmark, so their leases are renewed before each iteration to
+     * keep them from being reaped while it runs.
+     */
+    @Setup(Level.Iteration)
+    public void refreshAll() {
+        heldLocksCollection.refresh(heldTokens);
+    }
+
+    public LockToken acquire() {
+        UUID requestId = UUID.randomUUID();
+        AsyncResult<Leased<LockToken>> result =
+                heldLocksCollection.getExistingOrAcquire(requestId, () -> acquireNothing(requestId));
+        return result.get().value();
+    }
+
+    public Set<LockToken> unlock(Set<LockToken> tokens) {
+        return heldLocksCollection.unlock(tokens);
+    }
+
+    public Leased<Set<LockToken>> refresh() {
+        return heldLocksCollection.refresh(refreshBatch);
+    }
+
+    public void removeExpired() {
+        heldLocksCollection.removeExpired();
+    }
+
+    private AsyncResult<HeldLocks> acquireNothing(UUID requestId) {
+        AsyncResult<HeldLocks> result = new AsyncResult<>();
+        result.complete(HeldLocks.create(lockLog, ImmutableList.of(), requestId, leaderClock, lockWatchingService));
+        return result;
+    }
+}
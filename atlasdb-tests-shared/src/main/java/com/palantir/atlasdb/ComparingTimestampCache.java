@@ -23,6 +23,9 @@ import com.palantir.atlasdb.persistent.api.PersistentStore;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -79,4 +82,21 @@ public final class ComparingTimestampCache implements TimestampCache {
                 SafeArg.of("secondCommitTimestamp", secondCommitTimestamp));
         return firstCommitTimestamp;
     }
+
+    @Override
+    public synchronized Map<Long, Long> getCommitTimestampsIfPresent(Collection<Long> startTimestamps) {
+        Map<Long, Long> firstCommitTimestamps = first.getCommitTimestampsIfPresent(startTimestamps);
+        Map<Long, Long> secondCommitTimestamps = second.getCommitTimestampsIfPresent(startTimestamps);
+        Map<Long, Long> result = new HashMap<>(secondCommitTimestamps);
+        firstCommitTimestamps.forEach((startTimestamp, firstCommitTimestamp) -> {
+            Long secondCommitTimestamp = result.put(startTimestamp, firstCommitTimestamp);
+            Preconditions.checkState(
+                    secondCommitTimestamp == null || firstCommitTimestamp.equals(secondCommitTimestamp),
+                    "There is a bug in cache implementation",
+                    SafeArg.of("startTimestamp", startTimestamp),
+                    SafeArg.of("firstCommitTimestamp", firstCommitTimestamp),
+                    SafeArg.of("secondCommitTimestamp", secondCommitTimestamp));
+        });
+        return result;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.keyvalue.impl;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -49,7 +50,17 @@ public class AssertLockedKeyValueService extends ForwardingKeyValueService {
 
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        assertTransactionTableLocksHeld(tableRef, values);
+        super.put(tableRef, values, timestamp);
+    }
 
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        assertTransactionTableLocksHeld(tableRef, values);
+        return super.putAsync(tableRef, values, timestamp);
+    }
+
+    private void assertTransactionTableLocksHeld(TableReference tableRef, Map<Cell, byte[]> values) {
         if (tableRef.equals(TransactionConstants.TRANSACTION_TABLE)) {
             SortedMap<LockDescriptor, LockMode> mapToAssertLockHeld = new TreeMap<>();
             SortedMap<LockDescriptor, LockMode> mapToAssertLockNotHeld = new TreeMap<>();
@@ -86,7 +97,5 @@ public class AssertLockedKeyValueService extends ForwardingKeyValueService {
                 throw Throwables.throwUncheckedException(e);
             }
         }
-
-        super.put(tableRef, values, timestamp);
     }
 }
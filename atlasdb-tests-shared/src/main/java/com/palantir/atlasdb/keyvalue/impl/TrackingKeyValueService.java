@@ -18,6 +18,7 @@ package com.palantir.atlasdb.keyvalue.impl;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
 import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
@@ -59,6 +60,13 @@ public class TrackingKeyValueService extends ForwardingKeyValueService {
         return super.getRows(tableRef, rows, columnSelection, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection, long timestamp) {
+        tablesReadFrom.add(tableRef);
+        return super.getRowsAsync(tableRef, rows, columnSelection, timestamp);
+    }
+
     @Override
     public ClosableIterator<RowResult<Value>> getRange(
             TableReference tableRef, RangeRequest rangeRequest, long timestamp) {
@@ -78,12 +86,31 @@ public class TrackingKeyValueService extends ForwardingKeyValueService {
         super.multiPut(valuesByTable, timestamp);
     }
 
+    @Override
+    public ListenableFuture<Void> putAsync(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        tablesWrittenTo.add(tableRef);
+        return super.putAsync(tableRef, values, timestamp);
+    }
+
+    @Override
+    public ListenableFuture<Void> multiPutAsync(
+            Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        tablesWrittenTo.addAll(valuesByTable.keySet());
+        return super.multiPutAsync(valuesByTable, timestamp);
+    }
+
     @Override
     public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
         tablesWrittenTo.add(tableRef);
         super.putWithTimestamps(tableRef, values);
     }
 
+    @Override
+    public void bulkPutWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        tablesWrittenTo.add(tableRef);
+        super.bulkPutWithTimestamps(tableRef, values);
+    }
+
     @Override
     public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
         tablesWrittenTo.add(tableRef);
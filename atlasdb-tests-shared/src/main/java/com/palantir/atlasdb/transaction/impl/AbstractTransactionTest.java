@@ -154,6 +154,7 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
                 DEFAULT_GET_RANGES_CONCURRENCY,
                 MultiTableSweepQueueWriter.NO_OP,
                 MoreExecutors.newDirectExecutorService(),
+                MoreExecutors.newDirectExecutorService(),
                 true,
                 () -> TRANSACTION_CONFIG,
                 ConflictTracer.NO_OP,
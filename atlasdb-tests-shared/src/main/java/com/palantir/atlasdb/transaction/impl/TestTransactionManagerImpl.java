@@ -118,6 +118,7 @@ public class TestTransactionManagerImpl extends SerializableTransactionManager i
                 AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY,
                 MultiTableSweepQueueWriter.NO_OP,
                 MoreExecutors.newDirectExecutorService(),
+                MoreExecutors.newDirectExecutorService(),
                 true,
                 () -> TRANSACTION_CONFIG,
                 ConflictTracer.NO_OP,
@@ -161,6 +162,7 @@ public class TestTransactionManagerImpl extends SerializableTransactionManager i
                 AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY,
                 sweepQueue,
                 deleteExecutor,
+                MoreExecutors.newDirectExecutorService(),
                 true,
                 () -> TRANSACTION_CONFIG,
                 ConflictTracer.NO_OP,
@@ -211,6 +213,7 @@ public class TestTransactionManagerImpl extends SerializableTransactionManager i
                         defaultGetRangesConcurrency,
                         sweepQueueWriter,
                         deleteExecutor,
+                        sweepQueueWriteExecutor,
                         validateLocksOnReads,
                         () -> TRANSACTION_CONFIG,
                         ConflictTracer.NO_OP,
@@ -248,6 +251,7 @@ public class TestTransactionManagerImpl extends SerializableTransactionManager i
                         defaultGetRangesConcurrency,
                         sweepQueueWriter,
                         deleteExecutor,
+                        sweepQueueWriteExecutor,
                         validateLocksOnReads,
                         transactionConfig,
                         ConflictTracer.NO_OP,
@@ -420,6 +420,7 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                         defaultGetRangesConcurrency,
                         MultiTableSweepQueueWriter.NO_OP,
                         MoreExecutors.newDirectExecutorService(),
+                        MoreExecutors.newDirectExecutorService(),
                         true,
                         () -> transactionConfig,
                         ConflictTracer.NO_OP,
@@ -495,6 +496,7 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                         defaultGetRangesConcurrency,
                         MultiTableSweepQueueWriter.NO_OP,
                         MoreExecutors.newDirectExecutorService(),
+                        MoreExecutors.newDirectExecutorService(),
                         true,
                         () -> transactionConfig,
                         ConflictTracer.NO_OP,
@@ -1456,6 +1458,45 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
         timelockService.unlock(ImmutableSet.of(res.getLock()));
     }
 
+    @Test
+    public void pipelinedCommitWritesValues() {
+        setTransactionConfig(ImmutableTransactionConfig.builder().pipelinedCommit(true).build());
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res = timelockService.lockImmutableTimestamp();
+        long transactionTs = timelockService.getFreshTimestamp();
+
+        Transaction transaction =
+                getSnapshotTransactionWith(timelockService, () -> transactionTs, res, PreCommitConditions.NO_OP);
+        transaction.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        transaction.commit();
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        Transaction reader = txManager.createNewTransaction();
+        assertThat(reader.get(TABLE, ImmutableSet.of(TEST_CELL)).get(TEST_CELL), is(PtBytes.toBytes("value")));
+    }
+
+    @Test
+    public void pipelinedCommitStillDetectsWriteWriteConflicts() {
+        setTransactionConfig(ImmutableTransactionConfig.builder().pipelinedCommit(true).build());
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res = timelockService.lockImmutableTimestamp();
+        long firstTs = timelockService.getFreshTimestamp();
+        long secondTs = timelockService.getFreshTimestamp();
+
+        Transaction first = getSnapshotTransactionWith(timelockService, () -> firstTs, res, PreCommitConditions.NO_OP);
+        Transaction second =
+                getSnapshotTransactionWith(timelockService, () -> secondTs, res, PreCommitConditions.NO_OP);
+        first.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("first")));
+        second.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("second")));
+
+        second.commit();
+        assertThatExceptionOfType(TransactionConflictException.class).isThrownBy(first::commit);
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        Transaction reader = txManager.createNewTransaction();
+        assertThat(reader.get(TABLE, ImmutableSet.of(TEST_CELL)).get(TEST_CELL), is(PtBytes.toBytes("second")));
+    }
+
     private void setTransactionConfig(TransactionConfig config) {
         transactionConfig = config;
     }
@@ -1500,6 +1541,7 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                         defaultGetRangesConcurrency,
                         MultiTableSweepQueueWriter.NO_OP,
                         MoreExecutors.newDirectExecutorService(),
+                        MoreExecutors.newDirectExecutorService(),
                         validateLocksOnReads,
                         () -> transactionConfig,
                         ConflictTracer.NO_OP,
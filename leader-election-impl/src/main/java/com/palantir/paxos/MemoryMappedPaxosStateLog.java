@@ -0,0 +1,558 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PaxosStateLog} backed by an append-only log of checksummed records, kept in fixed size segment files that
+ * are memory mapped. Writing a round appends a record and then waits for it to be durable. Writers that are waiting
+ * at the same time share a single sync of the segment (group commit), rather than each paying for their own.
+ *
+ * An in-memory index maps each sequence number to its latest record, and is rebuilt by replaying the segments on
+ * startup. A round is only published to the index, and so made visible to readers, once its record is durable.
+ * Truncations are persisted as marker records, and the oldest segments are deleted once none of the rounds in them are
+ * live any more.
+ */
+public final class MemoryMappedPaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V> {
+    private static final Logger log = LoggerFactory.getLogger(MemoryMappedPaxosStateLog.class);
+
+    @VisibleForTesting
+    static final int DEFAULT_SEGMENT_SIZE_BYTES = 64 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    // Record layout: type, payload length, checksum, sequence, version, payload. The checksum covers everything else.
+    private static final int HEADER_BYTES = Byte.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int CHECKSUMMED_HEADER_BYTES = HEADER_BYTES - Integer.BYTES;
+    private static final byte END_OF_SEGMENT = 0;
+    private static final byte ROUND_RECORD = 1;
+    private static final byte TRUNCATION_RECORD = 2;
+
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final Lock appendLock = new ReentrantLock();
+    private final Lock syncLock = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, RecordLocation> index = new ConcurrentSkipListMap<>();
+    // guarded by appendLock; the latest record appended for each round that is not yet durable
+    private final NavigableMap<Long, RecordLocation> pendingRounds = new TreeMap<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private volatile Segment activeSegment;
+
+    private MemoryMappedPaxosStateLog(Path directory, int segmentSizeBytes) {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    public static <V extends Persistable & Versionable> PaxosStateLog<V> create(Path directory) {
+        return create(directory, DEFAULT_SEGMENT_SIZE_BYTES);
+    }
+
+    @VisibleForTesting
+    static <V extends Persistable & Versionable> PaxosStateLog<V> create(Path directory, int segmentSizeBytes) {
+        Preconditions.checkArgument(
+                segmentSizeBytes > HEADER_BYTES,
+                "Segments must be able to hold at least one record",
+                SafeArg.of("segmentSizeBytes", segmentSizeBytes));
+        MemoryMappedPaxosStateLog<V> stateLog = new MemoryMappedPaxosStateLog<>(directory, segmentSizeBytes);
+        stateLog.recover();
+        return stateLog;
+    }
+
+    @Override
+    public void writeRound(long seq, V round) {
+        RecordLocation location;
+        appendLock.lock();
+        try {
+            location = appendRound(seq, round);
+        } finally {
+            appendLock.unlock();
+        }
+        if (location != null) {
+            awaitDurableAndPublish(ImmutableList.of(location), location);
+        }
+    }
+
+    /**
+     * Appends all rounds and then waits for them to become durable together. If this fails part way through, only a
+     * prefix of the batch will have been applied.
+     */
+    @Override
+    public void writeBatchOfRounds(Iterable<PaxosRound<V>> rounds) {
+        List<RecordLocation> locations = new ArrayList<>();
+        appendLock.lock();
+        try {
+            for (PaxosRound<V> round : rounds) {
+                RecordLocation location = appendRound(round.sequence(), round.value());
+                if (location != null) {
+                    locations.add(location);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (!locations.isEmpty()) {
+            // records in earlier segments were made durable when rolling over to later ones
+            awaitDurableAndPublish(locations, locations.get(locations.size() - 1));
+        }
+    }
+
+    @Override
+    public byte[] readRound(long seq) throws IOException {
+        RecordLocation location = index.get(seq);
+        if (location == null) {
+            return null;
+        }
+        return location.readPayload();
+    }
+
+    @Override
+    public long getLeastLogEntry() {
+        Map.Entry<Long, RecordLocation> least = index.firstEntry();
+        return least == null ? PaxosAcceptor.NO_LOG_ENTRY : least.getKey();
+    }
+
+    @Override
+    public long getGreatestLogEntry() {
+        Map.Entry<Long, RecordLocation> greatest = index.lastEntry();
+        return greatest == null ? PaxosAcceptor.NO_LOG_ENTRY : greatest.getKey();
+    }
+
+    /**
+     * As with {@link PaxosStateLogImpl}, the most recent entry is never removed.
+     */
+    @Override
+    public void truncate(long toDeleteInclusive) {
+        Map.Entry<Long, RecordLocation> greatest = index.lastEntry();
+        if (greatest != null) {
+            truncateUpTo(Math.min(greatest.getKey() - 1, toDeleteInclusive));
+        }
+    }
+
+    @Override
+    public void truncateAllRounds() {
+        truncateUpTo(Long.MAX_VALUE);
+    }
+
+    private void truncateUpTo(long toDeleteInclusive) {
+        RecordLocation marker;
+        appendLock.lock();
+        try {
+            Map.Entry<Long, RecordLocation> least = index.firstEntry();
+            if (least == null || least.getKey() > toDeleteInclusive) {
+                return;
+            }
+            marker = append(TRUNCATION_RECORD, toDeleteInclusive, 0, NO_PAYLOAD);
+            removeFromIndexUpTo(toDeleteInclusive);
+            removePendingUpTo(toDeleteInclusive);
+        } finally {
+            appendLock.unlock();
+        }
+        awaitDurable(marker);
+
+        appendLock.lock();
+        try {
+            deleteSegmentsWithoutLiveRounds();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the round without publishing it to the index. Until it is published, it counts towards the live rounds
+     * of its segment, so that the segment is not deleted while the round may still become visible.
+     */
+    private RecordLocation appendRound(long seq, V round) {
+        RecordLocation existing = pendingRounds.containsKey(seq) ? pendingRounds.get(seq) : index.get(seq);
+        if (existing != null && round.getVersion() < existing.version) {
+            return null;
+        }
+        RecordLocation location = append(ROUND_RECORD, seq, round.getVersion(), round.persistToBytes());
+        location.segment.liveRounds++;
+        RecordLocation superseded = pendingRounds.put(seq, location);
+        if (superseded != null) {
+            superseded.segment.liveRounds--;
+        }
+        return location;
+    }
+
+    /**
+     * Publishes the given rounds once the last of them is durable. A round is not published if it has since been
+     * truncated, or if a later record for the same sequence number has been appended, matching what replaying the log
+     * would recover.
+     */
+    private void awaitDurableAndPublish(List<RecordLocation> locations, RecordLocation last) {
+        try {
+            awaitDurable(last);
+        } finally {
+            appendLock.lock();
+            try {
+                for (RecordLocation location : locations) {
+                    if (pendingRounds.remove(location.seq, location)) {
+                        location.segment.liveRounds--;
+                        if (location.segment.durablePosition >= location.end()) {
+                            addToIndex(location.seq, location);
+                        }
+                    }
+                }
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    private RecordLocation append(byte type, long seq, long version, byte[] payload) {
+        int recordBytes = HEADER_BYTES + payload.length;
+        Preconditions.checkArgument(
+                recordBytes <= segmentSizeBytes,
+                "Paxos round is too large to fit in a log segment",
+                SafeArg.of("seq", seq),
+                SafeArg.of("recordBytes", recordBytes),
+                SafeArg.of("segmentSizeBytes", segmentSizeBytes));
+        Segment segment = activeSegment;
+        if (segment.capacity() - segment.writePosition < recordBytes) {
+            segment = rollSegment();
+        }
+
+        int offset = segment.writePosition;
+        ByteBuffer buffer = segment.view(offset);
+        buffer.put(type)
+                .putInt(payload.length)
+                .putInt(checksum(type, payload.length, seq, version, ByteBuffer.wrap(payload)))
+                .putLong(seq)
+                .putLong(version)
+                .put(payload);
+        segment.writePosition = offset + recordBytes;
+        return new RecordLocation(segment, offset, payload.length, seq, version);
+    }
+
+    private Segment rollSegment() {
+        Segment previous = activeSegment;
+        previous.force();
+        previous.markDurable(previous.writePosition);
+
+        Segment next = createSegment(previous.id + 1);
+        segments.addLast(next);
+        activeSegment = next;
+        return next;
+    }
+
+    /**
+     * Returns once the given record is durable. If another writer is already syncing the segment, we wait for it and
+     * then only sync again if our record was appended after that sync started.
+     */
+    private void awaitDurable(RecordLocation location) {
+        Segment segment = location.segment;
+        int end = location.end();
+        if (segment.durablePosition >= end) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (segment.durablePosition >= end) {
+                return;
+            }
+            int appended = segment.writePosition;
+            segment.force();
+            segment.markDurable(appended);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void addToIndex(long seq, RecordLocation location) {
+        RecordLocation previous = index.put(seq, location);
+        if (previous != null) {
+            previous.segment.liveRounds--;
+        }
+        location.segment.liveRounds++;
+    }
+
+    private void removeFromIndexUpTo(long toDeleteInclusive) {
+        Map<Long, RecordLocation> truncated = index.headMap(toDeleteInclusive, true);
+        truncated.values().forEach(location -> location.segment.liveRounds--);
+        truncated.clear();
+    }
+
+    private void removePendingUpTo(long toDeleteInclusive) {
+        Map<Long, RecordLocation> truncated = pendingRounds.headMap(toDeleteInclusive, true);
+        truncated.values().forEach(location -> location.segment.liveRounds--);
+        truncated.clear();
+    }
+
+    /**
+     * Only a prefix of segments may be deleted: a truncation marker in a deleted segment could otherwise be needed to
+     * keep rounds in an older, retained segment truncated when replaying the log.
+     */
+    private void deleteSegmentsWithoutLiveRounds() {
+        while (segments.size() > 1 && segments.getFirst().liveRounds == 0) {
+            Segment segment = segments.removeFirst();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Failed to delete paxos state log segment {}", SafeArg.of("segment", segment.id), e);
+            }
+        }
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> segmentFiles = listSegmentFiles();
+            for (int i = 0; i < segmentFiles.size(); i++) {
+                Segment segment = openSegment(segmentFiles.get(i));
+                replay(segment, i == segmentFiles.size() - 1);
+                segments.addLast(segment);
+            }
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Failed to open memory mapped paxos state log", e);
+        }
+        if (segments.isEmpty()) {
+            segments.addLast(createSegment(0));
+        }
+        activeSegment = segments.getLast();
+    }
+
+    private List<Path> listSegmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(MemoryMappedPaxosStateLog::segmentId))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * A torn record at the end of the last segment is expected after a crash part way through an append, and is
+     * cleared so that we can append over it. Anywhere else, it means that the log has been corrupted.
+     */
+    private void replay(Segment segment, boolean isLastSegment) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.capacity()) {
+            ByteBuffer header = segment.view(position);
+            byte type = header.get();
+            if (type == END_OF_SEGMENT) {
+                break;
+            }
+            int length = header.getInt();
+            int checksum = header.getInt();
+            long seq = header.getLong();
+            long version = header.getLong();
+            if (!isValidRecord(segment, position, type, length, checksum, seq, version)) {
+                if (isLastSegment) {
+                    log.warn(
+                            "Found a torn record at the end of the paxos state log, in segment {} at offset {}. "
+                                    + "Discarding it.",
+                            SafeArg.of("segment", segment.id),
+                            SafeArg.of("offset", position));
+                    segment.zeroFrom(position);
+                } else {
+                    log.error(
+                            "Found a corrupt record in paxos state log segment {} at offset {}. Ignoring it and "
+                                    + "everything after it in this segment.",
+                            SafeArg.of("segment", segment.id),
+                            SafeArg.of("offset", position));
+                }
+                break;
+            }
+
+            if (type == ROUND_RECORD) {
+                addToIndex(seq, new RecordLocation(segment, position, length, seq, version));
+            } else {
+                removeFromIndexUpTo(seq);
+            }
+            position += HEADER_BYTES + length;
+        }
+        segment.writePosition = position;
+        segment.markDurable(position);
+    }
+
+    private static boolean isValidRecord(
+            Segment segment, int position, byte type, int length, int checksum, long seq, long version) {
+        if ((type != ROUND_RECORD && type != TRUNCATION_RECORD)
+                || length < 0
+                || length > segment.capacity() - position - HEADER_BYTES) {
+            return false;
+        }
+        return checksum == checksum(type, length, seq, version, segment.payload(position, length));
+    }
+
+    private Segment createSegment(long id) {
+        Path path = directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSizeBytes);
+            syncDirectory();
+            return new Segment(id, path, buffer);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Failed to create paxos state log segment", e);
+        }
+    }
+
+    private static Segment openSegment(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return new Segment(segmentId(path), path, buffer);
+        }
+    }
+
+    /**
+     * Makes the creation of a new segment file durable. Not every platform supports syncing a directory, in which case
+     * we carry on as the legacy file based log does.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync paxos state log directory", e);
+        }
+    }
+
+    private static long segmentId(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(byte type, int length, long seq, long version, ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(CHECKSUMMED_HEADER_BYTES)
+                .put(type)
+                .putInt(length)
+                .putLong(seq)
+                .putLong(version)
+                .array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+
+        // guarded by appendLock, but read when syncing
+        private volatile int writePosition;
+        private volatile int durablePosition;
+
+        // guarded by appendLock
+        private int liveRounds;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+
+        private ByteBuffer view(int position) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(position);
+            return view;
+        }
+
+        private ByteBuffer payload(int recordPosition, int length) {
+            ByteBuffer payload = view(recordPosition + HEADER_BYTES);
+            payload.limit(recordPosition + HEADER_BYTES + length);
+            return payload;
+        }
+
+        private void zeroFrom(int position) {
+            ByteBuffer view = view(position);
+            while (view.hasRemaining()) {
+                view.put(END_OF_SEGMENT);
+            }
+            buffer.force();
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+        private synchronized void markDurable(int position) {
+            durablePosition = Math.max(durablePosition, position);
+        }
+    }
+
+    private static final class RecordLocation {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final long seq;
+        private final long version;
+
+        private RecordLocation(Segment segment, int offset, int length, long seq, long version) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.seq = seq;
+            this.version = version;
+        }
+
+        private int end() {
+            return offset + HEADER_BYTES + length;
+        }
+
+        private byte[] readPayload() throws CorruptLogFileException {
+            ByteBuffer header = segment.view(offset);
+            byte type = header.get();
+            int storedLength = header.getInt();
+            int checksum = header.getInt();
+            long storedSeq = header.getLong();
+            long storedVersion = header.getLong();
+            ByteBuffer payload = segment.payload(offset, length);
+            if (storedLength != length
+                    || checksum != checksum(type, length, storedSeq, storedVersion, payload.duplicate())) {
+                throw new CorruptLogFileException();
+            }
+            byte[] bytes = new byte[length];
+            payload.get(bytes);
+            return bytes;
+        }
+    }
+}
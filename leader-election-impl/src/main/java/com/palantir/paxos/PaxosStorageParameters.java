@@ -29,6 +29,12 @@ public interface PaxosStorageParameters {
 
     Optional<String> fileBasedLogDirectory();
 
+    /**
+     * If present, rounds are persisted to a {@link MemoryMappedPaxosStateLog} in this directory, after migrating
+     * recent rounds from the SQLite backed log. Older rounds continue to be served from the SQLite and file based logs.
+     */
+    Optional<String> memoryMappedLogDirectory();
+
     @Default
     default boolean skipConsistencyCheckAndTruncateOldPaxosLog() {
         return false;
@@ -21,6 +21,7 @@ import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicLong;
 import org.immutables.value.Value;
@@ -34,6 +35,12 @@ import org.slf4j.LoggerFactory;
  */
 public final class SplittingPaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V> {
     private static final Logger log = LoggerFactory.getLogger(SplittingPaxosStateLog.class);
+    private static final String MEMORY_MAPPED_MIGRATION_SUFFIX = "!memoryMapped";
+    private static final LegacyOperationMarkers NO_OP_LEGACY_OPERATION_MARKERS =
+            ImmutableLegacyOperationMarkers.builder()
+                    .markLegacyWrite(() -> {})
+                    .markLegacyRead(() -> {})
+                    .build();
 
     private final PaxosStateLog<V> legacyLog;
     private final PaxosStateLog<V> currentLog;
@@ -76,6 +83,21 @@ public final class SplittingPaxosStateLog<V extends Persistable & Versionable> i
             Persistable.Hydrator<V> hydrator,
             LegacyOperationMarkers legacyOperationMarkers,
             OptionalLong migrateFrom) {
+        if (!params.memoryMappedLogDirectory().isPresent()) {
+            checkNotMigratedToMemoryMappedLog(params);
+            return createWithMigrationToSqlite(params, hydrator, legacyOperationMarkers, migrateFrom);
+        }
+        PaxosStateLog<V> sqliteBackedLog =
+                createWithMigrationToSqlite(params, hydrator, NO_OP_LEGACY_OPERATION_MARKERS, migrateFrom);
+        return createWithMigrationToMemoryMappedLog(
+                params, hydrator, legacyOperationMarkers, migrateFrom, sqliteBackedLog);
+    }
+
+    private static <V extends Persistable & Versionable> PaxosStateLog<V> createWithMigrationToSqlite(
+            PaxosStorageParameters params,
+            Persistable.Hydrator<V> hydrator,
+            LegacyOperationMarkers legacyOperationMarkers,
+            OptionalLong migrateFrom) {
         String logDirectory = params.fileBasedLogDirectory()
                 .orElseThrow(() -> new SafeIllegalStateException("We currently need to have file-based storage"));
         NamespaceAndUseCase namespaceUseCase = params.namespaceAndUseCase();
@@ -109,6 +131,71 @@ public final class SplittingPaxosStateLog<V extends Persistable & Versionable> i
         return SplittingPaxosStateLog.create(splittingParameters);
     }
 
+    /**
+     * Once rounds have started being written to the memory mapped log, that log is the only place where they exist, so
+     * going back to the SQLite backed log would silently lose them.
+     */
+    private static void checkNotMigratedToMemoryMappedLog(PaxosStorageParameters params) {
+        NamespaceAndUseCase namespaceUseCase = params.namespaceAndUseCase();
+        SqlitePaxosStateLogMigrationState migrationState = SqlitePaxosStateLogMigrationState.create(
+                memoryMappedMigrationStateKey(namespaceUseCase), params.sqliteDataSource());
+        if (migrationState.hasMigratedFromInitialState()) {
+            throw new SafeIllegalStateException(
+                    "This paxos state log has been migrated to the memory mapped log, which must stay enabled",
+                    SafeArg.of("namespaceAndUseCase", namespaceUseCase));
+        }
+    }
+
+    private static NamespaceAndUseCase memoryMappedMigrationStateKey(NamespaceAndUseCase namespaceUseCase) {
+        return ImmutableNamespaceAndUseCase.of(
+                namespaceUseCase.namespace(), namespaceUseCase.useCase() + MEMORY_MAPPED_MIGRATION_SUFFIX);
+    }
+
+    /**
+     * Migrates recent rounds from the SQLite backed log into a {@link MemoryMappedPaxosStateLog}, in the same way as
+     * the file based log was migrated to SQLite. The migration state is tracked separately from that migration, and
+     * rounds before the cutoff are still served by the SQLite (and possibly file) backed log.
+     */
+    private static <V extends Persistable & Versionable> PaxosStateLog<V> createWithMigrationToMemoryMappedLog(
+            PaxosStorageParameters params,
+            Persistable.Hydrator<V> hydrator,
+            LegacyOperationMarkers legacyOperationMarkers,
+            OptionalLong migrateFrom,
+            PaxosStateLog<V> sqliteBackedLog) {
+        NamespaceAndUseCase namespaceUseCase = params.namespaceAndUseCase();
+        NamespaceAndUseCase migrationStateKey = memoryMappedMigrationStateKey(namespaceUseCase);
+
+        PaxosStateLogMigrator.MigrationContext<V> migrationContext = ImmutableMigrationContext.<V>builder()
+                .sourceLog(SqlitePaxosStateLog.create(namespaceUseCase, params.sqliteDataSource()))
+                .destinationLog(MemoryMappedPaxosStateLog.create(
+                        Paths.get(params.memoryMappedLogDirectory().get())))
+                .hydrator(hydrator)
+                .migrationState(SqlitePaxosStateLogMigrationState.create(migrationStateKey, params.sqliteDataSource()))
+                .migrateFrom(migrateFrom)
+                .namespaceAndUseCase(namespaceUseCase)
+                .skipValidationAndTruncateSourceIfMigrated(params.skipConsistencyCheckAndTruncateOldPaxosLog())
+                .build();
+
+        log.info(
+                "Starting migration to the memory mapped paxos state log for namespace and use case {} if migration "
+                        + "has not run before.",
+                SafeArg.of("namespaceAndUseCase", namespaceUseCase));
+        long cutoff = PaxosStateLogMigrator.migrateAndReturnCutoff(migrationContext);
+
+        if (params.skipConsistencyCheckAndTruncateOldPaxosLog()) {
+            return migrationContext.destinationLog();
+        }
+
+        SplittingParameters<V> splittingParameters = ImmutableSplittingParameters.<V>builder()
+                .legacyLog(sqliteBackedLog)
+                .currentLog(migrationContext.destinationLog())
+                .cutoffInclusive(cutoff)
+                .legacyOperationMarkers(legacyOperationMarkers)
+                .build();
+
+        return SplittingPaxosStateLog.create(splittingParameters);
+    }
+
     @Override
     public void writeRound(long seq, V round) {
         if (seq >= cutoffInclusive) {
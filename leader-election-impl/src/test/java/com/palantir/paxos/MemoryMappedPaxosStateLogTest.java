@@ -0,0 +1,277 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static com.palantir.paxos.PaxosStateLogTestUtils.generateRounds;
+import static com.palantir.paxos.PaxosStateLogTestUtils.getPaxosValue;
+import static com.palantir.paxos.PaxosStateLogTestUtils.valueForRound;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MemoryMappedPaxosStateLogTest {
+    private static final int SMALL_SEGMENT_SIZE_BYTES = 4096;
+    private static final SplittingPaxosStateLog.LegacyOperationMarkers NO_OP_MARKERS =
+            ImmutableLegacyOperationMarkers.builder()
+                    .markLegacyWrite(() -> {})
+                    .markLegacyRead(() -> {})
+                    .build();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path logDirectory;
+    private PaxosStateLog<PaxosValue> stateLog;
+
+    @Before
+    public void setup() throws IOException {
+        logDirectory = tempFolder.newFolder("mapped").toPath();
+        stateLog = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+    }
+
+    @Test
+    public void readingNonExistentRoundReturnsNull() throws IOException {
+        assertThat(stateLog.readRound(10L)).isNull();
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void canWriteAndRetrieveValuesAcrossSegments() {
+        LongStream.rangeClosed(1, 200).forEach(round -> stateLog.writeRound(round, valueForRound(round)));
+
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+        LongStream.rangeClosed(1, 200)
+                .forEach(round -> assertThat(getPaxosValue(stateLog, round)).isEqualTo(valueForRound(round)));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(1L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(200L);
+    }
+
+    @Test
+    public void canWriteAndRetrieveBatch() {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.rangeClosed(5, 100)));
+
+        LongStream.rangeClosed(5, 100)
+                .forEach(round -> assertThat(getPaxosValue(stateLog, round)).isEqualTo(valueForRound(round)));
+    }
+
+    @Test
+    public void valuesSurviveReopening() {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.rangeClosed(1, 100)));
+
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        LongStream.rangeClosed(1, 100)
+                .forEach(round -> assertThat(getPaxosValue(reopened, round)).isEqualTo(valueForRound(round)));
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(100L);
+    }
+
+    @Test
+    public void doesNotOverwriteWithOlderVersion() throws IOException {
+        PaxosStateLog<PaxosAcceptorState> acceptorLog =
+                MemoryMappedPaxosStateLog.create(tempFolder.newFolder("acceptor").toPath());
+        PaxosAcceptorState initial = PaxosAcceptorState.newState(new PaxosProposalId(1L, "uuid"));
+        PaxosAcceptorState promised = initial.withPromise(new PaxosProposalId(2L, "uuid"));
+
+        acceptorLog.writeRound(1L, promised);
+        acceptorLog.writeRound(1L, initial);
+
+        assertThat(PaxosAcceptorState.BYTES_HYDRATOR
+                        .hydrateFromBytes(acceptorLog.readRound(1L))
+                        .getVersion())
+                .isEqualTo(promised.getVersion());
+    }
+
+    @Test
+    public void truncateRetainsGreatestEntryAndIsDurable() {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.rangeClosed(1, 200)));
+        int segmentsBeforeTruncation = segmentFiles().size();
+
+        stateLog.truncate(500L);
+
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(200L);
+        assertThat(segmentFiles()).hasSizeLessThan(segmentsBeforeTruncation);
+
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(reopened.getLeastLogEntry()).isEqualTo(200L);
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(200L);
+        assertThat(getPaxosValue(reopened, 200L)).isEqualTo(valueForRound(200L));
+    }
+
+    @Test
+    public void rewritingTruncatedRoundIsRecoveredAfterReopening() {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.rangeClosed(1, 10)));
+        stateLog.truncate(5L);
+        stateLog.writeRound(3L, valueForRound(3L));
+
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(reopened.getLeastLogEntry()).isEqualTo(3L);
+        assertThat(PaxosStateLogTestUtils.readRoundUnchecked(reopened, 4L)).isNull();
+    }
+
+    @Test
+    public void truncateAllRoundsRemovesEverything() {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.rangeClosed(1, 10)));
+        stateLog.truncateAllRounds();
+
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void tornTailIsDiscardedOnRecovery() throws IOException {
+        stateLog.writeRound(1L, valueForRound(1L));
+        stateLog.writeRound(2L, valueForRound(2L));
+
+        int firstRecordBytes = 25 + valueForRound(1L).persistToBytes().length;
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(firstRecordBytes + 30);
+            file.write(~file.read());
+        }
+
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(getPaxosValue(reopened, 1L)).isEqualTo(valueForRound(1L));
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(1L);
+
+        reopened.writeRound(3L, valueForRound(3L));
+        PaxosStateLog<PaxosValue> reopenedAgain =
+                MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(getPaxosValue(reopenedAgain, 3L)).isEqualTo(valueForRound(3L));
+        assertThat(PaxosStateLogTestUtils.readRoundUnchecked(reopenedAgain, 2L)).isNull();
+    }
+
+    @Test
+    public void concurrentWritesAreAllDurable() throws Exception {
+        ExecutorService executor = PTExecutors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = LongStream.rangeClosed(1, 1_000)
+                    .mapToObj(round -> executor.submit(() -> stateLog.writeRound(round, valueForRound(round))))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        LongStream.rangeClosed(1, 1_000)
+                .forEach(round -> assertThat(getPaxosValue(reopened, round)).isEqualTo(valueForRound(round)));
+    }
+
+    @Test
+    public void visibleRoundsMatchRecoveredRoundsAfterConcurrentWritesAndTruncations() throws Exception {
+        ExecutorService executor = PTExecutors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = LongStream.rangeClosed(1, 1_000)
+                    .mapToObj(round -> executor.submit(() -> {
+                        stateLog.writeRound(round, valueForRound(round));
+                        if (round % 100 == 0) {
+                            stateLog.truncate(round - 50);
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PaxosStateLog<PaxosValue> reopened = MemoryMappedPaxosStateLog.create(logDirectory, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(reopened.getLeastLogEntry()).isEqualTo(stateLog.getLeastLogEntry());
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(stateLog.getGreatestLogEntry());
+        LongStream.rangeClosed(1, 1_000)
+                .forEach(round -> assertThat(PaxosStateLogTestUtils.readRoundUnchecked(reopened, round))
+                        .isEqualTo(PaxosStateLogTestUtils.readRoundUnchecked(stateLog, round)));
+    }
+
+    @Test
+    public void migratesRecentRoundsFromSqlite() throws IOException {
+        Path fileBasedLogDirectory = tempFolder.newFolder("file").toPath();
+        PaxosStateLog<PaxosValue> fileBasedLog = PaxosStateLogImpl.createFileBacked(fileBasedLogDirectory.toString());
+        LongStream.rangeClosed(1, 100).forEach(round -> fileBasedLog.writeRound(round, valueForRound(round)));
+        Path migratedLogDirectory = tempFolder.newFolder("migrated").toPath();
+
+        PaxosStorageParameters parameters = ImmutablePaxosStorageParameters.builder()
+                .fileBasedLogDirectory(fileBasedLogDirectory.toString())
+                .memoryMappedLogDirectory(migratedLogDirectory.toString())
+                .sqliteDataSource(SqliteConnections.getPooledDataSource(
+                        tempFolder.newFolder("sqlite").toPath()))
+                .namespaceAndUseCase(PaxosStateLogTestUtils.NAMESPACE)
+                .build();
+        PaxosStateLog<PaxosValue> splittingLog = SplittingPaxosStateLog.createWithMigration(
+                parameters, PaxosValue.BYTES_HYDRATOR, NO_OP_MARKERS, OptionalLong.empty());
+
+        LongStream.rangeClosed(1, 100)
+                .forEach(round -> assertThat(getPaxosValue(splittingLog, round)).isEqualTo(valueForRound(round)));
+        splittingLog.writeRound(101L, valueForRound(101L));
+
+        PaxosStateLog<PaxosValue> migratedLog = MemoryMappedPaxosStateLog.create(migratedLogDirectory);
+        assertThat(migratedLog.getLeastLogEntry()).isEqualTo(50L);
+        assertThat(migratedLog.getGreatestLogEntry()).isEqualTo(101L);
+        assertThat(getPaxosValue(migratedLog, 101L)).isEqualTo(valueForRound(101L));
+    }
+
+    @Test
+    public void refusesToStartWithoutMemoryMappedLogOnceMigrated() throws IOException {
+        ImmutablePaxosStorageParameters parameters = ImmutablePaxosStorageParameters.builder()
+                .fileBasedLogDirectory(tempFolder.newFolder("file").toPath().toString())
+                .memoryMappedLogDirectory(tempFolder.newFolder("migrated").toPath().toString())
+                .sqliteDataSource(SqliteConnections.getPooledDataSource(
+                        tempFolder.newFolder("sqlite").toPath()))
+                .namespaceAndUseCase(PaxosStateLogTestUtils.NAMESPACE)
+                .build();
+        SplittingPaxosStateLog.createWithMigration(
+                        parameters, PaxosValue.BYTES_HYDRATOR, NO_OP_MARKERS, OptionalLong.empty())
+                .writeRound(1L, valueForRound(1L));
+
+        PaxosStorageParameters withoutMemoryMappedLog =
+                parameters.withMemoryMappedLogDirectory(Optional.empty());
+        assertThatThrownBy(() -> SplittingPaxosStateLog.createWithMigration(
+                        withoutMemoryMappedLog, PaxosValue.BYTES_HYDRATOR, NO_OP_MARKERS, OptionalLong.empty()))
+                .isInstanceOf(SafeIllegalStateException.class)
+                .hasMessageContaining("must stay enabled");
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            return files.sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
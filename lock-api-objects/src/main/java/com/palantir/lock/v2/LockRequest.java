@@ -37,6 +37,13 @@ public interface LockRequest {
     @Value.Parameter
     Optional<String> getClientDescription();
 
+    /**
+     * Locks to be acquired in shared mode alongside {@link #getLockDescriptors()}. Any number of requests may hold a
+     * shared lock at once, but a shared lock cannot be held at the same time as an exclusive lock on the same
+     * descriptor. Descriptors present in both sets are acquired exclusively.
+     */
+    Set<LockDescriptor> getSharedLockDescriptors();
+
     static LockRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs) {
         return ImmutableLockRequest.of(lockDescriptors, acquireTimeoutMs, Optional.empty());
     }
@@ -45,6 +52,15 @@ public interface LockRequest {
         return ImmutableLockRequest.of(lockDescriptors, acquireTimeoutMs, Optional.of(clientDescription));
     }
 
+    static LockRequest of(
+            Set<LockDescriptor> lockDescriptors, Set<LockDescriptor> sharedLockDescriptors, long acquireTimeoutMs) {
+        return ImmutableLockRequest.builder()
+                .lockDescriptors(lockDescriptors)
+                .sharedLockDescriptors(sharedLockDescriptors)
+                .acquireTimeoutMs(acquireTimeoutMs)
+                .build();
+    }
+
     @Value.Check
     default void check() {
         Preconditions.checkState(getAcquireTimeoutMs() >= 0, "Acquire timeout cannot be negative.");
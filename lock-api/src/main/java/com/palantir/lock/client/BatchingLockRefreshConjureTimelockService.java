@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.palantir.atlasdb.timelock.api.ConjureGetFreshTimestampsRequest;
+import com.palantir.atlasdb.timelock.api.ConjureGetFreshTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureLockRequest;
+import com.palantir.atlasdb.timelock.api.ConjureLockResponse;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksRequest;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponse;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureUnlockRequest;
+import com.palantir.atlasdb.timelock.api.ConjureUnlockResponse;
+import com.palantir.atlasdb.timelock.api.ConjureWaitForLocksResponse;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.Namespace;
+import com.palantir.lock.v2.LeaderTime;
+
+/**
+ * This class maintains the context of namespace for a client and directs lock refresh requests to a
+ * {@link LockRefreshBatcher} that batches them across clients. All other requests go to the namespaced delegate.
+ */
+public class BatchingLockRefreshConjureTimelockService implements NamespacedConjureTimelockService {
+    private final NamespacedConjureTimelockService delegate;
+    private final Namespace namespace;
+    private final LockRefreshBatcher batcher;
+
+    public BatchingLockRefreshConjureTimelockService(
+            NamespacedConjureTimelockService delegate, String namespace, LockRefreshBatcher batcher) {
+        this.delegate = delegate;
+        this.namespace = Namespace.of(namespace);
+        this.batcher = batcher;
+    }
+
+    @Override
+    public ConjureUnlockResponse unlock(ConjureUnlockRequest request) {
+        return delegate.unlock(request);
+    }
+
+    @Override
+    public ConjureRefreshLocksResponse refreshLocks(ConjureRefreshLocksRequest request) {
+        return batcher.refreshLocks(namespace, request);
+    }
+
+    @Override
+    public ConjureWaitForLocksResponse waitForLocks(ConjureLockRequest request) {
+        return delegate.waitForLocks(request);
+    }
+
+    @Override
+    public ConjureLockResponse lock(ConjureLockRequest request) {
+        return delegate.lock(request);
+    }
+
+    @Override
+    public LeaderTime leaderTime() {
+        return delegate.leaderTime();
+    }
+
+    @Override
+    public GetCommitTimestampsResponse getCommitTimestamps(GetCommitTimestampsRequest request) {
+        return delegate.getCommitTimestamps(request);
+    }
+
+    @Override
+    public ConjureGetFreshTimestampsResponse getFreshTimestamps(ConjureGetFreshTimestampsRequest request) {
+        return delegate.getFreshTimestamps(request);
+    }
+
+    @Override
+    public ConjureStartTransactionsResponse startTransactions(ConjureStartTransactionsRequest request) {
+        return delegate.startTransactions(request);
+    }
+}
@@ -41,6 +41,8 @@ public interface IdentifiedLockRequest {
     @Value.Parameter
     Optional<String> getClientDescription();
 
+    Set<LockDescriptor> getSharedLockDescriptors();
+
     static IdentifiedLockRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs) {
         return ImmutableIdentifiedLockRequest.of(
                 UUID.randomUUID(), lockDescriptors, acquireTimeoutMs, Optional.empty());
@@ -53,12 +55,12 @@ public interface IdentifiedLockRequest {
     }
 
     static IdentifiedLockRequest from(LockRequest lockRequest) {
-        if (lockRequest.getClientDescription().isPresent()) {
-            return of(
-                    lockRequest.getLockDescriptors(),
-                    lockRequest.getAcquireTimeoutMs(),
-                    lockRequest.getClientDescription().get());
-        }
-        return of(lockRequest.getLockDescriptors(), lockRequest.getAcquireTimeoutMs());
+        return ImmutableIdentifiedLockRequest.builder()
+                .requestId(UUID.randomUUID())
+                .lockDescriptors(lockRequest.getLockDescriptors())
+                .sharedLockDescriptors(lockRequest.getSharedLockDescriptors())
+                .acquireTimeoutMs(lockRequest.getAcquireTimeoutMs())
+                .clientDescription(lockRequest.getClientDescription())
+                .build();
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.timelock.api.ConjureLockToken;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksRequest;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponse;
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
+import com.palantir.atlasdb.timelock.api.Namespace;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import com.palantir.tokens.auth.AuthHeader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.immutables.value.Value;
+
+/**
+ * Batches lock refresh requests across namespaces into a single call to the multi client refresh endpoint. Tokens
+ * requested for the same namespace by several callers are refreshed once, and every caller is told which of its own
+ * tokens were refreshed.
+ *
+ * A single instance should be shared by all namespaces in a process, through
+ * {@link BatchingLockRefreshConjureTimelockService}.
+ */
+public class LockRefreshBatcher implements AutoCloseable {
+    private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("Bearer omitted");
+    private final DisruptorAutobatcher<RefreshRequest, ConjureRefreshLocksResponse> batcher;
+
+    public LockRefreshBatcher(MultiClientConjureTimelockService delegate) {
+        this.batcher = Autobatchers.independent(consumer(delegate))
+                .safeLoggablePurpose("refresh-locks")
+                .build();
+    }
+
+    public ConjureRefreshLocksResponse refreshLocks(Namespace namespace, ConjureRefreshLocksRequest request) {
+        return AtlasFutures.getUnchecked(batcher.apply(ImmutableRefreshRequest.of(namespace, request)));
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+    }
+
+    @VisibleForTesting
+    static Consumer<List<BatchElement<RefreshRequest, ConjureRefreshLocksResponse>>> consumer(
+            MultiClientConjureTimelockService delegate) {
+        return batch -> {
+            Map<Namespace, Set<ConjureLockToken>> tokensByNamespace = new HashMap<>();
+            for (BatchElement<RefreshRequest, ConjureRefreshLocksResponse> element : batch) {
+                tokensByNamespace
+                        .computeIfAbsent(element.argument().namespace(), unused -> new HashSet<>())
+                        .addAll(element.argument().request().getTokens());
+            }
+            Map<Namespace, ConjureRefreshLocksRequest> requests = ImmutableMap.copyOf(
+                    Maps.transformValues(tokensByNamespace, ConjureRefreshLocksRequest::of));
+
+            Map<Namespace, ConjureRefreshLocksResponse> responses = delegate.refreshLocks(AUTH_HEADER, requests);
+
+            for (BatchElement<RefreshRequest, ConjureRefreshLocksResponse> element : batch) {
+                Namespace namespace = element.argument().namespace();
+                ConjureRefreshLocksResponse response = responses.get(namespace);
+                if (response == null) {
+                    element.result()
+                            .setException(new SafeIllegalStateException(
+                                    "No refresh response was returned for a namespace",
+                                    SafeArg.of("namespace", namespace)));
+                } else {
+                    Set<ConjureLockToken> refreshedTokens = ImmutableSet.copyOf(Sets.intersection(
+                            element.argument().request().getTokens(), response.getRefreshedTokens()));
+                    element.result().set(ConjureRefreshLocksResponse.of(refreshedTokens, response.getLease()));
+                }
+            }
+        };
+    }
+
+    @Value.Immutable
+    interface RefreshRequest {
+        @Value.Parameter
+        Namespace namespace();
+
+        @Value.Parameter
+        ConjureRefreshLocksRequest request();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
+import com.palantir.logsafe.Preconditions;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Shares a single {@link LockRefreshBatcher} between the clients of one TimeLock cluster in a JVM, so that their lock
+ * refreshes are sent to TimeLock as one request. The batcher is created from the TimeLock client of the first caller,
+ * and lives until this provider is closed.
+ */
+public final class LockRefreshBatcherProvider implements AutoCloseable {
+    @GuardedBy("this")
+    private LockRefreshBatcher batcher;
+
+    @GuardedBy("this")
+    private boolean closed = false;
+
+    public synchronized LockRefreshBatcher getBatcher(Supplier<MultiClientConjureTimelockService> timelockClient) {
+        Preconditions.checkState(!closed, "The lock refresh batcher provider has been closed");
+        if (batcher == null) {
+            batcher = new LockRefreshBatcher(timelockClient.get());
+        }
+        return batcher;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+}
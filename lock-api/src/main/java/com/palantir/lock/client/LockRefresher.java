@@ -15,6 +15,7 @@
  */
 package com.palantir.lock.client;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
@@ -26,13 +27,22 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Periodically refreshes registered lock tokens. Refreshes are aligned to a random phase chosen once per JVM, so that
+ * refreshers in the same process sharing an interval refresh at the same time, while different processes refresh at
+ * different times; with a {@link LockRefreshBatcher}, the refreshes of one process are then combined into a single
+ * request to TimeLock.
+ */
 public class LockRefresher implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(LockRefresher.class);
+    private static final long PROCESS_PHASE_MILLIS = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
 
     private final ScheduledExecutorService executor;
     private final TimelockService timelockService;
@@ -42,15 +52,27 @@ public class LockRefresher implements AutoCloseable {
 
     public LockRefresher(
             ScheduledExecutorService executor, TimelockService timelockService, long refreshIntervalMillis) {
+        this(executor, timelockService, refreshIntervalMillis, System::currentTimeMillis, PROCESS_PHASE_MILLIS);
+    }
+
+    @VisibleForTesting
+    LockRefresher(
+            ScheduledExecutorService executor,
+            TimelockService timelockService,
+            long refreshIntervalMillis,
+            LongSupplier clock,
+            long phaseMillis) {
         this.executor = executor;
         this.timelockService = timelockService;
 
-        scheduleRefresh(refreshIntervalMillis);
+        scheduleRefresh(refreshIntervalMillis, clock.getAsLong(), phaseMillis);
     }
 
-    private void scheduleRefresh(long refreshIntervalMillis) {
+    private void scheduleRefresh(long refreshIntervalMillis, long currentTimeMillis, long phaseMillis) {
+        long initialDelay =
+                refreshIntervalMillis - Math.floorMod(currentTimeMillis - phaseMillis, refreshIntervalMillis);
         task = executor.scheduleAtFixedRate(
-                this::refreshLocks, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+                this::refreshLocks, initialDelay, refreshIntervalMillis, TimeUnit.MILLISECONDS);
     }
 
     private void refreshLocks() {
@@ -29,6 +29,7 @@ import com.palantir.lock.v2.WaitForLocksRequest;
 import com.palantir.lock.v2.WaitForLocksResponse;
 import com.palantir.lock.watch.LockWatchEventCache;
 import com.palantir.timestamp.TimestampRange;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -43,10 +44,16 @@ public final class RemoteTimelockServiceAdapter implements TimelockService, Auto
             NamespacedTimelockRpcClient rpcClient,
             NamespacedConjureTimelockService conjureTimelockService,
             LockWatchEventCache lockWatchEventCache,
-            LeaderTimeGetter leaderTimeGetter) {
+            LeaderTimeGetter leaderTimeGetter,
+            int transactionStartPrefetchSize,
+            Duration transactionStartPrefetchTimeToLive) {
         this.rpcClient = rpcClient;
         this.lockLeaseService = LockLeaseService.create(conjureTimelockService, leaderTimeGetter);
-        this.transactionStarter = TransactionStarter.create(lockLeaseService, lockWatchEventCache);
+        this.transactionStarter = TransactionStarter.create(
+                lockLeaseService,
+                lockWatchEventCache,
+                transactionStartPrefetchSize,
+                transactionStartPrefetchTimeToLive);
         this.commitTimestampGetter = CommitTimestampGetter.create(lockLeaseService, lockWatchEventCache);
         this.conjureTimelockService = conjureTimelockService;
     }
@@ -63,7 +70,27 @@ public final class RemoteTimelockServiceAdapter implements TimelockService, Auto
             NamespacedConjureTimelockService conjureClient,
             LockWatchEventCache lockWatchEventCache,
             LeaderTimeGetter leaderTimeGetter) {
-        return new RemoteTimelockServiceAdapter(rpcClient, conjureClient, lockWatchEventCache, leaderTimeGetter);
+        return new RemoteTimelockServiceAdapter(
+                rpcClient, conjureClient, lockWatchEventCache, leaderTimeGetter, 0, Duration.ZERO);
+    }
+
+    /**
+     * Creates an adapter that keeps up to transactionStartPrefetchSize transactions started ahead of being requested.
+     * See {@link TransactionStartBuffer} for the consistency implications.
+     */
+    public static RemoteTimelockServiceAdapter create(
+            NamespacedTimelockRpcClient rpcClient,
+            NamespacedConjureTimelockService conjureClient,
+            LockWatchEventCache lockWatchEventCache,
+            int transactionStartPrefetchSize,
+            Duration transactionStartPrefetchTimeToLive) {
+        return new RemoteTimelockServiceAdapter(
+                rpcClient,
+                conjureClient,
+                lockWatchEventCache,
+                new LegacyLeaderTimeGetter(conjureClient),
+                transactionStartPrefetchSize,
+                transactionStartPrefetchTimeToLive);
     }
 
     @Override
@@ -73,13 +100,16 @@ public final class RemoteTimelockServiceAdapter implements TimelockService, Auto
 
     @Override
     public long getCommitTimestamp(long startTs, LockToken commitLocksToken) {
-        return commitTimestampGetter.getCommitTimestamp(startTs, commitLocksToken);
+        long commitTimestamp = commitTimestampGetter.getCommitTimestamp(startTs, commitLocksToken);
+        transactionStarter.observeTimestamp(commitTimestamp);
+        return commitTimestamp;
     }
 
     @Override
     public TimestampRange getFreshTimestamps(int numTimestampsRequested) {
         ConjureGetFreshTimestampsResponse response =
                 conjureTimelockService.getFreshTimestamps(ConjureGetFreshTimestampsRequest.of(numTimestampsRequested));
+        transactionStarter.observeTimestamp(response.getInclusiveUpper());
         return TimestampRange.createInclusiveRange(response.getInclusiveLower(), response.getInclusiveUpper());
     }
 
@@ -41,7 +41,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 public class TimeLockClient implements AutoCloseable, TimelockService {
-    private static final ScheduledExecutorService refreshExecutor = createSingleThreadScheduledExecutor("refresh");
+    // Refreshes of different clients run concurrently, so that they can be batched by a LockRefreshBatcher
+    private static final ScheduledExecutorService refreshExecutor = createScheduledExecutor("refresh", 4);
 
     private static final long REFRESH_INTERVAL_MILLIS = 5_000;
 
@@ -196,9 +197,9 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
         return new LockRefresher(refreshExecutor, timelockService, REFRESH_INTERVAL_MILLIS);
     }
 
-    private static ScheduledExecutorService createSingleThreadScheduledExecutor(String operation) {
-        return PTExecutors.newSingleThreadScheduledExecutor(
-                new NamedThreadFactory(TimeLockClient.class.getSimpleName() + "-" + operation, true));
+    private static ScheduledExecutorService createScheduledExecutor(String operation, int threads) {
+        return PTExecutors.newScheduledThreadPool(
+                threads, new NamedThreadFactory(TimeLockClient.class.getSimpleName() + "-" + operation, true));
     }
 
     private static final class TimelockServiceErrorDecorator implements CloseableTimestampService {
@@ -0,0 +1,234 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded pool of transactions started ahead of being requested, so that transactions can be started without a
+ * round trip to TimeLock. The pool is refilled and pruned in the background.
+ *
+ * A buffered transaction is handed out only if it was started less than the time to live ago, and if its start
+ * timestamp is greater than every timestamp passed to {@link #observeTimestamp(long)}. Callers must observe all
+ * fresh and commit timestamps they obtain, so that transactions taken from the pool see all writes committed through
+ * this client. Writes committed by other clients since the transaction was buffered may not be visible, so the time
+ * to live bounds how stale buffered transactions can be.
+ *
+ * Transactions that can no longer be handed out are discarded in the background, releasing their immutable timestamp
+ * locks. The time to live must therefore be well below the lease of those locks.
+ */
+final class TransactionStartBuffer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TransactionStartBuffer.class);
+    private static final Duration MAX_TIME_TO_LIVE = Duration.ofSeconds(5);
+
+    private final IntFunction<List<StartIdentifiedAtlasDbTransactionResponse>> transactionStarter;
+    private final Consumer<List<StartIdentifiedAtlasDbTransactionResponse>> transactionDiscarder;
+    private final int capacity;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService executor;
+
+    @GuardedBy("this")
+    private final Deque<BufferedTransaction> buffer = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private final List<StartIdentifiedAtlasDbTransactionResponse> pendingDiscards = new ArrayList<>();
+
+    @GuardedBy("this")
+    private long latestObservedTimestamp = Long.MIN_VALUE;
+
+    @VisibleForTesting
+    TransactionStartBuffer(
+            IntFunction<List<StartIdentifiedAtlasDbTransactionResponse>> transactionStarter,
+            Consumer<List<StartIdentifiedAtlasDbTransactionResponse>> transactionDiscarder,
+            int capacity,
+            Duration timeToLive,
+            LongSupplier nanoClock,
+            ScheduledExecutorService executor) {
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive", SafeArg.of("capacity", capacity));
+        Preconditions.checkArgument(
+                !timeToLive.isNegative() && !timeToLive.isZero() && timeToLive.compareTo(MAX_TIME_TO_LIVE) <= 0,
+                "Time to live must be positive and at most the maximum",
+                SafeArg.of("timeToLive", timeToLive),
+                SafeArg.of("maximum", MAX_TIME_TO_LIVE));
+        this.transactionStarter = transactionStarter;
+        this.transactionDiscarder = transactionDiscarder;
+        this.capacity = capacity;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.executor = executor;
+    }
+
+    static TransactionStartBuffer create(
+            IntFunction<List<StartIdentifiedAtlasDbTransactionResponse>> transactionStarter,
+            Consumer<List<StartIdentifiedAtlasDbTransactionResponse>> transactionDiscarder,
+            int capacity,
+            Duration timeToLive) {
+        ScheduledExecutorService executor = PTExecutors.newSingleThreadScheduledExecutor(
+                new NamedThreadFactory(TransactionStartBuffer.class.getSimpleName(), true));
+        TransactionStartBuffer buffer = new TransactionStartBuffer(
+                transactionStarter, transactionDiscarder, capacity, timeToLive, System::nanoTime, executor);
+        long periodNanos = Math.max(1, timeToLive.toNanos() / 2);
+        executor.scheduleWithFixedDelay(buffer::maintain, 0, periodNanos, TimeUnit.NANOSECONDS);
+        return buffer;
+    }
+
+    /**
+     * Takes up to count usable transactions from the buffer; fewer, possibly none, are returned if the buffer does not
+     * hold enough of them.
+     */
+    synchronized List<StartIdentifiedAtlasDbTransactionResponse> take(int count) {
+        List<StartIdentifiedAtlasDbTransactionResponse> taken = new ArrayList<>(Math.min(count, buffer.size()));
+        long now = nanoClock.getAsLong();
+        while (taken.size() < count && !buffer.isEmpty()) {
+            BufferedTransaction transaction = buffer.pollFirst();
+            if (isUsable(transaction, now)) {
+                taken.add(transaction.response());
+            } else {
+                pendingDiscards.add(transaction.response());
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Records that a timestamp was obtained by this client, so that only transactions starting after it are handed out
+     * from now on. Buffered transactions starting at or before it are evicted, and discarded in the background.
+     */
+    synchronized void observeTimestamp(long timestamp) {
+        if (timestamp <= latestObservedTimestamp) {
+            return;
+        }
+        latestObservedTimestamp = timestamp;
+        for (Iterator<BufferedTransaction> iterator = buffer.iterator(); iterator.hasNext(); ) {
+            BufferedTransaction transaction = iterator.next();
+            if (transaction.response().startTimestampAndPartition().timestamp() <= timestamp) {
+                pendingDiscards.add(transaction.response());
+                iterator.remove();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void maintain() {
+        try {
+            discard(removeUnusableTransactions());
+            int missing = missingTransactions();
+            if (missing > 0) {
+                add(transactionStarter.apply(missing));
+            }
+        } catch (Throwable t) {
+            log.warn("Failed to refill the buffer of started transactions", t);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        List<StartIdentifiedAtlasDbTransactionResponse> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(pendingDiscards);
+            buffer.forEach(transaction -> remaining.add(transaction.response()));
+            pendingDiscards.clear();
+            buffer.clear();
+        }
+        discard(remaining);
+    }
+
+    private synchronized List<StartIdentifiedAtlasDbTransactionResponse> removeUnusableTransactions() {
+        long now = nanoClock.getAsLong();
+        List<StartIdentifiedAtlasDbTransactionResponse> unusable = new ArrayList<>(pendingDiscards);
+        pendingDiscards.clear();
+        for (Iterator<BufferedTransaction> iterator = buffer.iterator(); iterator.hasNext(); ) {
+            BufferedTransaction transaction = iterator.next();
+            if (!isUsable(transaction, now)) {
+                unusable.add(transaction.response());
+                iterator.remove();
+            }
+        }
+        return unusable;
+    }
+
+    private synchronized int missingTransactions() {
+        return capacity - buffer.size();
+    }
+
+    private void add(List<StartIdentifiedAtlasDbTransactionResponse> responses) {
+        List<StartIdentifiedAtlasDbTransactionResponse> unusable = new ArrayList<>();
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            for (StartIdentifiedAtlasDbTransactionResponse response : responses) {
+                BufferedTransaction transaction = new BufferedTransaction(response, now);
+                if (buffer.size() < capacity && isUsable(transaction, now)) {
+                    buffer.addLast(transaction);
+                } else {
+                    unusable.add(response);
+                }
+            }
+        }
+        discard(unusable);
+    }
+
+    @GuardedBy("this")
+    private boolean isUsable(BufferedTransaction transaction, long now) {
+        return now - transaction.startedAtNanos() < timeToLiveNanos
+                && transaction.response().startTimestampAndPartition().timestamp() > latestObservedTimestamp;
+    }
+
+    private void discard(List<StartIdentifiedAtlasDbTransactionResponse> responses) {
+        if (!responses.isEmpty()) {
+            transactionDiscarder.accept(responses);
+        }
+    }
+
+    private static final class BufferedTransaction {
+        private final StartIdentifiedAtlasDbTransactionResponse response;
+        private final long startedAtNanos;
+
+        private BufferedTransaction(StartIdentifiedAtlasDbTransactionResponse response, long startedAtNanos) {
+            this.response = response;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        StartIdentifiedAtlasDbTransactionResponse response() {
+            return response;
+        }
+
+        long startedAtNanos() {
+            return startedAtNanos;
+        }
+    }
+}
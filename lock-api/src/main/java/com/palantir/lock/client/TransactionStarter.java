@@ -35,11 +35,14 @@ import com.palantir.lock.v2.TimestampAndPartition;
 import com.palantir.lock.watch.LockWatchEventCache;
 import com.palantir.lock.watch.LockWatchVersion;
 import com.palantir.logsafe.Preconditions;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,29 +53,101 @@ import java.util.stream.Stream;
  *
  * Callers of this class should use {@link #unlock(Set)} and {@link #refreshLockLeases(Set)} for returned lock tokens,
  * rather than directly calling delegate lock service.
+ *
+ * Optionally, transactions can be started ahead of being requested and handed out from a
+ * {@link TransactionStartBuffer}. In that case callers must pass every fresh and commit timestamp they obtain to
+ * {@link #observeTimestamp(long)}, so that buffered transactions which would not see those timestamps are not handed
+ * out. Start timestamps of transactions started directly rather than taken from the buffer are observed here, so that
+ * the buffer never hands out a start timestamp lower than one this client has already handed out.
  */
 final class TransactionStarter implements AutoCloseable {
+    private static final Duration MAX_LINGER = Duration.ofMillis(1);
+
     private final DisruptorAutobatcher<Integer, List<StartIdentifiedAtlasDbTransactionResponse>> autobatcher;
     private final LockLeaseService lockLeaseService;
+    private final Optional<TransactionStartBuffer> startBuffer;
 
     private TransactionStarter(
             DisruptorAutobatcher<Integer, List<StartIdentifiedAtlasDbTransactionResponse>> autobatcher,
-            LockLeaseService lockLeaseService) {
+            LockLeaseService lockLeaseService,
+            Optional<TransactionStartBuffer> startBuffer) {
         this.autobatcher = autobatcher;
         this.lockLeaseService = lockLeaseService;
+        this.startBuffer = startBuffer;
     }
 
     static TransactionStarter create(LockLeaseService lockLeaseService, LockWatchEventCache lockWatchEventCache) {
+        return new TransactionStarter(
+                createAutobatcher(lockLeaseService, lockWatchEventCache), lockLeaseService, Optional.empty());
+    }
+
+    /**
+     * Creates a starter that keeps up to prefetchSize transactions started ahead of being requested, each handed out
+     * for at most prefetchTimeToLive after being started. A prefetchSize of zero disables prefetching.
+     */
+    static TransactionStarter create(
+            LockLeaseService lockLeaseService,
+            LockWatchEventCache lockWatchEventCache,
+            int prefetchSize,
+            Duration prefetchTimeToLive) {
+        if (prefetchSize == 0) {
+            return create(lockLeaseService, lockWatchEventCache);
+        }
+        return create(
+                lockLeaseService,
+                lockWatchEventCache,
+                (transactionStarter, transactionDiscarder) -> TransactionStartBuffer.create(
+                        transactionStarter, transactionDiscarder, prefetchSize, prefetchTimeToLive));
+    }
+
+    @VisibleForTesting
+    static TransactionStarter create(
+            LockLeaseService lockLeaseService,
+            LockWatchEventCache lockWatchEventCache,
+            BiFunction<
+                            IntFunction<List<StartIdentifiedAtlasDbTransactionResponse>>,
+                            Consumer<List<StartIdentifiedAtlasDbTransactionResponse>>,
+                            TransactionStartBuffer>
+                    startBufferFactory) {
         DisruptorAutobatcher<Integer, List<StartIdentifiedAtlasDbTransactionResponse>> autobatcher =
-                Autobatchers.independent(consumer(lockLeaseService, lockWatchEventCache))
-                        .safeLoggablePurpose("transaction-starter")
-                        .build();
-        return new TransactionStarter(autobatcher, lockLeaseService);
+                createAutobatcher(lockLeaseService, lockWatchEventCache);
+        TransactionStartBuffer startBuffer = startBufferFactory.apply(
+                count -> AtlasFutures.getUnchecked(autobatcher.apply(count)),
+                responses -> discard(responses, lockLeaseService, lockWatchEventCache));
+        return new TransactionStarter(autobatcher, lockLeaseService, Optional.of(startBuffer));
+    }
+
+    private static DisruptorAutobatcher<Integer, List<StartIdentifiedAtlasDbTransactionResponse>> createAutobatcher(
+            LockLeaseService lockLeaseService, LockWatchEventCache lockWatchEventCache) {
+        return Autobatchers.independent(consumer(lockLeaseService, lockWatchEventCache))
+                .safeLoggablePurpose("transaction-starter")
+                .maxLinger(MAX_LINGER)
+                .build();
     }
 
     List<StartIdentifiedAtlasDbTransactionResponse> startIdentifiedAtlasDbTransactionBatch(int count) {
         Preconditions.checkArgument(count > 0, "Cannot start 0 or fewer transactions");
-        return AtlasFutures.getUnchecked(autobatcher.apply(count));
+        if (!startBuffer.isPresent()) {
+            return AtlasFutures.getUnchecked(autobatcher.apply(count));
+        }
+        List<StartIdentifiedAtlasDbTransactionResponse> buffered = startBuffer.get().take(count);
+        if (buffered.size() == count) {
+            return buffered;
+        }
+        List<StartIdentifiedAtlasDbTransactionResponse> started =
+                AtlasFutures.getUnchecked(autobatcher.apply(count - buffered.size()));
+        started.stream()
+                .mapToLong(response -> response.startTimestampAndPartition().timestamp())
+                .max()
+                .ifPresent(startBuffer.get()::observeTimestamp);
+        return ImmutableList.<StartIdentifiedAtlasDbTransactionResponse>builder()
+                .addAll(buffered)
+                .addAll(started)
+                .build();
+    }
+
+    void observeTimestamp(long timestamp) {
+        startBuffer.ifPresent(buffer -> buffer.observeTimestamp(timestamp));
     }
 
     Set<LockToken> refreshLockLeases(Set<LockToken> tokens) {
@@ -132,9 +207,23 @@ final class TransactionStarter implements AutoCloseable {
 
     @Override
     public void close() {
+        startBuffer.ifPresent(TransactionStartBuffer::close);
         autobatcher.close();
     }
 
+    private static void discard(
+            List<StartIdentifiedAtlasDbTransactionResponse> responses,
+            LockLeaseService lockLeaseService,
+            LockWatchEventCache lockWatchEventCache) {
+        responses.forEach(response ->
+                lockWatchEventCache.removeTransactionStateFromCache(response.startTimestampAndPartition().timestamp()));
+        unlock(
+                responses.stream()
+                        .map(response -> response.immutableTimestamp().getLock())
+                        .collect(Collectors.toSet()),
+                lockLeaseService);
+    }
+
     @VisibleForTesting
     static Consumer<List<BatchElement<Integer, List<StartIdentifiedAtlasDbTransactionResponse>>>> consumer(
             LockLeaseService lockLeaseService, LockWatchEventCache lockWatchEventCache) {
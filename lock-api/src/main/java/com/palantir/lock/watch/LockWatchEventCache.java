@@ -56,6 +56,11 @@ public interface LockWatchEventCache {
      */
     TransactionsLockWatchUpdate getUpdateForTransactions(Set<Long> startTimestamps, Optional<LockWatchVersion> version);
 
+    /**
+     * Returns the lock watch version the given start timestamp was identified with, if the cache knows about it.
+     */
+    Optional<LockWatchVersion> getStartTransactionVersion(long startTimestamp);
+
     /**
      * Removes the given timestamp from the cache, along with all associated state. This may update the earliest
      * still-held version, and therefore may trigger retention in the underlying event log.
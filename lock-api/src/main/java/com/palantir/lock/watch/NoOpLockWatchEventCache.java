@@ -63,6 +63,11 @@ public class NoOpLockWatchEventCache implements LockWatchEventCache {
                 .build();
     }
 
+    @Override
+    public Optional<LockWatchVersion> getStartTransactionVersion(long startTimestamp) {
+        return Optional.empty();
+    }
+
     @Override
     public void removeTransactionStateFromCache(long startTimestamp) {}
 }
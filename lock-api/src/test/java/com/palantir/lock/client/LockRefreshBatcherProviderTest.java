@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Test;
+
+public class LockRefreshBatcherProviderTest {
+    private final LockRefreshBatcherProvider provider = new LockRefreshBatcherProvider();
+
+    @SuppressWarnings("unchecked")
+    private final Supplier<MultiClientConjureTimelockService> timelockClient = mock(Supplier.class);
+
+    @After
+    public void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    public void sharesOneBatcherBetweenCallers() {
+        when(timelockClient.get()).thenReturn(mock(MultiClientConjureTimelockService.class));
+
+        LockRefreshBatcher batcher = provider.getBatcher(timelockClient);
+
+        assertThat(provider.getBatcher(timelockClient)).isSameAs(batcher);
+        verify(timelockClient, times(1)).get();
+    }
+
+    @Test
+    public void cannotGetBatcherOnceClosed() {
+        provider.close();
+
+        assertThatThrownBy(() -> provider.getBatcher(timelockClient)).isInstanceOf(SafeIllegalStateException.class);
+    }
+}
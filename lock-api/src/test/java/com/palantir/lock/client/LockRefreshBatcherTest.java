@@ -0,0 +1,147 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.timelock.api.ConjureLockToken;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksRequest;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponse;
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
+import com.palantir.atlasdb.timelock.api.Namespace;
+import com.palantir.common.time.NanoTime;
+import com.palantir.lock.v2.LeaderTime;
+import com.palantir.lock.v2.LeadershipId;
+import com.palantir.lock.v2.Lease;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import org.junit.Test;
+
+public class LockRefreshBatcherTest {
+    private static final Namespace NAMESPACE_1 = Namespace.of("alpha");
+    private static final Namespace NAMESPACE_2 = Namespace.of("beta");
+    private static final Lease LEASE_1 = lease();
+    private static final Lease LEASE_2 = lease();
+
+    private static final ConjureLockToken TOKEN_1 = token();
+    private static final ConjureLockToken TOKEN_2 = token();
+    private static final ConjureLockToken TOKEN_3 = token();
+    private static final ConjureLockToken TOKEN_4 = token();
+
+    private final MultiClientConjureTimelockService delegate = mock(MultiClientConjureTimelockService.class);
+    private final Consumer<List<BatchElement<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>>>
+            consumer = LockRefreshBatcher.consumer(delegate);
+
+    @Test
+    public void mergesRequestsAcrossNamespacesIntoOneCall() throws Exception {
+        when(delegate.refreshLocks(any(), any()))
+                .thenReturn(ImmutableMap.of(
+                        NAMESPACE_1, ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_1, TOKEN_3), LEASE_1),
+                        NAMESPACE_2, ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_4), LEASE_2)));
+
+        List<BatchElement<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>> elements = process(
+                request(NAMESPACE_1, TOKEN_1, TOKEN_2), request(NAMESPACE_1, TOKEN_3), request(NAMESPACE_2, TOKEN_4));
+
+        verify(delegate)
+                .refreshLocks(
+                        any(),
+                        eq(ImmutableMap.of(
+                                NAMESPACE_1, ConjureRefreshLocksRequest.of(ImmutableSet.of(TOKEN_1, TOKEN_2, TOKEN_3)),
+                                NAMESPACE_2, ConjureRefreshLocksRequest.of(ImmutableSet.of(TOKEN_4)))));
+        assertThat(elements.get(0).result().get())
+                .isEqualTo(ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_1), LEASE_1));
+        assertThat(elements.get(1).result().get())
+                .isEqualTo(ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_3), LEASE_1));
+        assertThat(elements.get(2).result().get())
+                .isEqualTo(ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_4), LEASE_2));
+    }
+
+    @Test
+    public void deduplicatesTokensRequestedByMultipleCallers() throws Exception {
+        when(delegate.refreshLocks(any(), any()))
+                .thenReturn(ImmutableMap.of(
+                        NAMESPACE_1, ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_1, TOKEN_2), LEASE_1)));
+
+        List<BatchElement<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>> elements =
+                process(request(NAMESPACE_1, TOKEN_1, TOKEN_2), request(NAMESPACE_1, TOKEN_2));
+
+        verify(delegate)
+                .refreshLocks(
+                        any(),
+                        eq(ImmutableMap.of(
+                                NAMESPACE_1, ConjureRefreshLocksRequest.of(ImmutableSet.of(TOKEN_1, TOKEN_2)))));
+        assertThat(elements.get(0).result().get().getRefreshedTokens()).containsExactlyInAnyOrder(TOKEN_1, TOKEN_2);
+        assertThat(elements.get(1).result().get().getRefreshedTokens()).containsExactly(TOKEN_2);
+    }
+
+    @Test
+    public void failsRequestsForNamespacesMissingFromTheResponse() throws Exception {
+        when(delegate.refreshLocks(any(), any()))
+                .thenReturn(ImmutableMap.of(
+                        NAMESPACE_1, ConjureRefreshLocksResponse.of(ImmutableSet.of(TOKEN_1), LEASE_1)));
+
+        List<BatchElement<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>> elements =
+                process(request(NAMESPACE_1, TOKEN_1), request(NAMESPACE_2, TOKEN_4));
+
+        assertThat(elements.get(0).result().get().getRefreshedTokens()).containsExactly(TOKEN_1);
+        assertThatThrownBy(() -> elements.get(1).result().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(SafeIllegalStateException.class);
+    }
+
+    private List<BatchElement<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>> process(
+            LockRefreshBatcher.RefreshRequest... requests) {
+        List<BatchElement<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>> elements =
+                Arrays.stream(requests)
+                        .map(request -> ImmutableTestBatchElement
+                                .<LockRefreshBatcher.RefreshRequest, ConjureRefreshLocksResponse>builder()
+                                .argument(request)
+                                .result(new DisruptorAutobatcher.DisruptorFuture<>("test"))
+                                .build())
+                        .collect(toList());
+        consumer.accept(elements);
+        return elements;
+    }
+
+    private static LockRefreshBatcher.RefreshRequest request(Namespace namespace, ConjureLockToken... tokens) {
+        return ImmutableRefreshRequest.of(namespace, ConjureRefreshLocksRequest.of(ImmutableSet.copyOf(tokens)));
+    }
+
+    private static ConjureLockToken token() {
+        return ConjureLockToken.of(UUID.randomUUID());
+    }
+
+    private static Lease lease() {
+        return Lease.of(LeaderTime.of(LeadershipId.random(), NanoTime.createForTests(1L)), Duration.ofSeconds(1L));
+    }
+}
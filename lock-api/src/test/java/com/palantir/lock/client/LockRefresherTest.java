@@ -40,7 +40,8 @@ public class LockRefresherTest {
 
     private final DeterministicScheduler executor = new DeterministicScheduler();
     private final TimelockService timelock = mock(TimelockService.class);
-    private final LockRefresher refresher = new LockRefresher(executor, timelock, REFRESH_INTERVAL_MILLIS);
+    private final LockRefresher refresher =
+            new LockRefresher(executor, timelock, REFRESH_INTERVAL_MILLIS, () -> 0L, 0L);
 
     @Test
     public void continuesRefreshingLocksThatAreReturned() {
@@ -95,6 +96,20 @@ public class LockRefresherTest {
         verify(timelock, times(2)).refreshLockLeases(lockTokensToRefresh);
     }
 
+    @Test
+    public void alignsRefreshesToThePhase() {
+        when(timelock.refreshLockLeases(TOKENS)).thenReturn(TOKENS);
+        LockRefresher alignedRefresher = new LockRefresher(
+                executor, timelock, REFRESH_INTERVAL_MILLIS, () -> 10 * REFRESH_INTERVAL_MILLIS + 1000, 300L);
+        alignedRefresher.registerLocks(TOKENS);
+
+        executor.tick(REFRESH_INTERVAL_MILLIS - 701, TimeUnit.MILLISECONDS);
+        verifyNoMoreInteractions(timelock);
+
+        executor.tick(1, TimeUnit.MILLISECONDS);
+        verify(timelock).refreshLockLeases(TOKENS);
+    }
+
     private void registerLocks() {
         refresher.registerLocks(TOKENS);
     }
@@ -0,0 +1,172 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.lock.v2.TimestampAndPartition;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.jmock.lib.concurrent.DeterministicScheduler;
+import org.junit.Test;
+
+public class TransactionStartBufferTest {
+    private static final int CAPACITY = 4;
+    private static final Duration TIME_TO_LIVE = Duration.ofMillis(500);
+
+    private final AtomicLong timestamps = new AtomicLong(100);
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final List<StartIdentifiedAtlasDbTransactionResponse> discarded = new ArrayList<>();
+    private final DeterministicScheduler executor = new DeterministicScheduler();
+    private final TransactionStartBuffer buffer = new TransactionStartBuffer(
+            this::startTransactions, discarded::addAll, CAPACITY, TIME_TO_LIVE, nanoClock::get, executor);
+
+    @Test
+    public void emptyBufferHandsOutNothing() {
+        assertThat(buffer.take(2)).isEmpty();
+    }
+
+    @Test
+    public void maintenanceFillsBufferToCapacity() {
+        buffer.maintain();
+
+        assertThat(startTimestamps(buffer.take(CAPACITY + 1))).containsExactly(101L, 102L, 103L, 104L);
+        assertThat(discarded).isEmpty();
+    }
+
+    @Test
+    public void maintenanceOnlyStartsMissingTransactions() {
+        buffer.maintain();
+        buffer.take(1);
+        buffer.maintain();
+
+        assertThat(startTimestamps(buffer.take(CAPACITY))).containsExactly(102L, 103L, 104L, 105L);
+    }
+
+    @Test
+    public void expiredTransactionsAreDiscardedAndNotHandedOut() {
+        buffer.maintain();
+        nanoClock.addAndGet(TIME_TO_LIVE.toNanos());
+
+        assertThat(buffer.take(1)).isEmpty();
+        buffer.maintain();
+
+        assertThat(startTimestamps(discarded)).containsExactly(101L, 102L, 103L, 104L);
+        assertThat(startTimestamps(buffer.take(CAPACITY))).containsExactly(105L, 106L, 107L, 108L);
+    }
+
+    @Test
+    public void transactionsStartingBeforeObservedTimestampAreNotHandedOut() {
+        buffer.maintain();
+        buffer.observeTimestamp(102L);
+
+        assertThat(startTimestamps(buffer.take(CAPACITY))).containsExactly(103L, 104L);
+        buffer.maintain();
+        assertThat(startTimestamps(discarded)).containsExactly(101L, 102L);
+    }
+
+    @Test
+    public void refilledTransactionsStartingBeforeObservedTimestampAreDiscarded() {
+        buffer.observeTimestamp(102L);
+        buffer.maintain();
+
+        assertThat(startTimestamps(discarded)).containsExactly(101L, 102L);
+        assertThat(startTimestamps(buffer.take(CAPACITY))).containsExactly(103L, 104L);
+    }
+
+    @Test
+    public void observingATimestampEvictsBufferedTransactionsStartingBeforeIt() {
+        buffer.maintain();
+        buffer.observeTimestamp(103L);
+        buffer.maintain();
+
+        assertThat(startTimestamps(discarded)).containsExactly(101L, 102L, 103L);
+        assertThat(startTimestamps(buffer.take(CAPACITY))).containsExactly(104L, 105L, 106L, 107L);
+    }
+
+    @Test
+    public void refillRacingADirectStartDoesNotHandOutLowerTimestamps() {
+        AtomicReference<TransactionStartBuffer> racingBuffer = new AtomicReference<>();
+        racingBuffer.set(new TransactionStartBuffer(
+                count -> {
+                    List<StartIdentifiedAtlasDbTransactionResponse> refill = startTransactions(count);
+                    racingBuffer.get().observeTimestamp(timestamps.incrementAndGet());
+                    return refill;
+                },
+                discarded::addAll,
+                CAPACITY,
+                TIME_TO_LIVE,
+                nanoClock::get,
+                executor));
+
+        racingBuffer.get().maintain();
+
+        assertThat(racingBuffer.get().take(CAPACITY)).isEmpty();
+        assertThat(startTimestamps(discarded)).containsExactly(101L, 102L, 103L, 104L);
+    }
+
+    @Test
+    public void closeDiscardsBufferedTransactions() {
+        buffer.maintain();
+        buffer.take(1);
+        buffer.close();
+
+        assertThat(startTimestamps(discarded)).containsExactly(102L, 103L, 104L);
+        assertThat(buffer.take(CAPACITY)).isEmpty();
+    }
+
+    @Test
+    public void failuresToStartTransactionsAreNotPropagated() {
+        TransactionStartBuffer failingBuffer = new TransactionStartBuffer(
+                count -> {
+                    throw new RuntimeException("TimeLock is unavailable");
+                },
+                discarded::addAll,
+                CAPACITY,
+                TIME_TO_LIVE,
+                nanoClock::get,
+                executor);
+
+        failingBuffer.maintain();
+
+        assertThat(failingBuffer.take(1)).isEmpty();
+    }
+
+    private List<StartIdentifiedAtlasDbTransactionResponse> startTransactions(int count) {
+        LockImmutableTimestampResponse immutableTimestamp =
+                LockImmutableTimestampResponse.of(1L, LockToken.of(UUID.randomUUID()));
+        return LongStream.range(0, count)
+                .mapToObj(unused -> StartIdentifiedAtlasDbTransactionResponse.of(
+                        immutableTimestamp, TimestampAndPartition.of(timestamps.incrementAndGet(), 0)))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> startTimestamps(List<StartIdentifiedAtlasDbTransactionResponse> responses) {
+        return responses.stream()
+                .map(response -> response.startTimestampAndPartition().timestamp())
+                .collect(Collectors.toList());
+    }
+}
@@ -54,7 +54,9 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
+import org.jmock.lib.concurrent.DeterministicScheduler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -165,6 +167,37 @@ public class TransactionStarterTest {
         verify(lockWatchEventCache).processStartTransactionsUpdate(ImmutableSet.of(40L, 56L), UPDATE);
     }
 
+    @Test
+    public void bufferedTransactionsNeverStartBelowTransactionsStartedDirectly() {
+        AtomicReference<TransactionStartBuffer> startBuffer = new AtomicReference<>();
+        TransactionStarter prefetchingStarter =
+                TransactionStarter.create(lockLeaseService, lockWatchEventCache, (starter, discarder) -> {
+                    startBuffer.set(new TransactionStartBuffer(
+                            starter, discarder, 2, Duration.ofSeconds(1), () -> 0L, new DeterministicScheduler()));
+                    return startBuffer.get();
+                });
+        when(lockLeaseService.startTransactionsWithWatches(eq(version), anyInt()))
+                .thenReturn(getStartTransactionResponse(100, 1))
+                .thenReturn(getStartTransactionResponse(40, 2))
+                .thenReturn(getStartTransactionResponse(200, 1));
+
+        try {
+            assertThat(startTimestamps(prefetchingStarter.startIdentifiedAtlasDbTransactionBatch(1)))
+                    .containsExactly(100L);
+            startBuffer.get().maintain();
+            assertThat(startTimestamps(prefetchingStarter.startIdentifiedAtlasDbTransactionBatch(1)))
+                    .containsExactly(200L);
+        } finally {
+            prefetchingStarter.close();
+        }
+    }
+
+    private static List<Long> startTimestamps(List<StartIdentifiedAtlasDbTransactionResponse> responses) {
+        return responses.stream()
+                .map(response -> response.startTimestampAndPartition().timestamp())
+                .collect(toList());
+    }
+
     private List<List<StartIdentifiedAtlasDbTransactionResponse>> requestBatches(List<Integer> counts) {
         List<BatchElement<Integer, List<StartIdentifiedAtlasDbTransactionResponse>>> elements = counts.stream()
                 .map(count ->
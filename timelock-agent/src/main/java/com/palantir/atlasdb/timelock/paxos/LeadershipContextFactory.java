@@ -68,7 +68,8 @@ public abstract class LeadershipContextFactory
                 install().timeLockVersion(),
                 install()
                         .install()
-                        .iAmOnThePersistenceTeamAndKnowWhatImDoingSkipSqliteConsistencyCheckAndTruncateFileBasedLog());
+                        .iAmOnThePersistenceTeamAndKnowWhatImDoingSkipSqliteConsistencyCheckAndTruncateFileBasedLog(),
+                install().install().paxos().memoryMappedStateLog());
     }
 
     @Override
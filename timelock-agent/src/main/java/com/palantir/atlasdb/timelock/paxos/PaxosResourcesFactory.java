@@ -178,7 +178,8 @@ public final class PaxosResourcesFactory {
                 install.install().paxos().canCreateNewClients(),
                 install.timeLockVersion(),
                 install.install()
-                        .iAmOnThePersistenceTeamAndKnowWhatImDoingSkipSqliteConsistencyCheckAndTruncateFileBasedLog());
+                        .iAmOnThePersistenceTeamAndKnowWhatImDoingSkipSqliteConsistencyCheckAndTruncateFileBasedLog(),
+                install.install().paxos().memoryMappedStateLog());
 
         NetworkClientFactories batchClientFactories = ImmutableBatchingNetworkClientFactories.builder()
                 .useCase(PaxosUseCase.TIMESTAMP)
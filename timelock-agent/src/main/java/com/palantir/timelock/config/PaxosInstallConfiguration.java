@@ -48,6 +48,20 @@ public interface PaxosInstallConfiguration {
         return SqlitePaxosPersistenceConfiguration.DEFAULT;
     }
 
+    /**
+     * If true, Paxos rounds are written to a memory-mapped, append-only log next to the file-based log, after
+     * migrating recent rounds from SQLite. Older rounds continue to be read from the SQLite and file-based logs.
+     *
+     * Once enabled, this cannot be turned off again: newer rounds only exist in the memory-mapped log, so TimeLock
+     * refuses to start with this set to false after the migration has begun.
+     */
+    @Beta
+    @JsonProperty("memory-mapped-state-log")
+    @Value.Default
+    default boolean memoryMappedStateLog() {
+        return false;
+    }
+
     /**
      * Set to true if this is a new stack. Otherwise, set to false.
      */
@@ -114,6 +114,7 @@ public final class ConjureTimelockResource implements UndertowConjureTimelockSer
         return handleExceptions(() -> {
             IdentifiedLockRequest lockRequest = ImmutableIdentifiedLockRequest.builder()
                     .lockDescriptors(fromConjureLockDescriptors(request.getLockDescriptors()))
+                    .sharedLockDescriptors(fromConjureLockDescriptors(request.getSharedLockDescriptors()))
                     .clientDescription(request.getClientDescription())
                     .requestId(request.getRequestId())
                     .acquireTimeoutMs(request.getAcquireTimeoutMs())
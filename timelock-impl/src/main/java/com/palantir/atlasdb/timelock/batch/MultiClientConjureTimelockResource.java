@@ -26,6 +26,9 @@ import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.http.RedirectRetryTargeter;
 import com.palantir.atlasdb.timelock.AsyncTimelockService;
 import com.palantir.atlasdb.timelock.ConjureResourceExceptionHandler;
+import com.palantir.atlasdb.timelock.api.ConjureLockToken;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksRequest;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponse;
 import com.palantir.atlasdb.timelock.api.LeaderTimes;
 import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockServiceEndpoints;
@@ -33,6 +36,8 @@ import com.palantir.atlasdb.timelock.api.Namespace;
 import com.palantir.atlasdb.timelock.api.UndertowMultiClientConjureTimelockService;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
 import com.palantir.lock.v2.LeaderTime;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.RefreshLockResponseV2;
 import com.palantir.tokens.auth.AuthHeader;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +79,35 @@ public final class MultiClientConjureTimelockResource implements UndertowMultiCl
                 MoreExecutors.directExecutor()));
     }
 
+    @Override
+    public ListenableFuture<Map<Namespace, ConjureRefreshLocksResponse>> refreshLocks(
+            AuthHeader authHeader, Map<Namespace, ConjureRefreshLocksRequest> requests) {
+        List<ListenableFuture<Map.Entry<Namespace, ConjureRefreshLocksResponse>>> futures = requests.entrySet().stream()
+                .map(entry -> refreshNamespacedLocks(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+
+        return handleExceptions(() -> Futures.transform(
+                Futures.allAsList(futures), ImmutableMap::copyOf, MoreExecutors.directExecutor()));
+    }
+
+    private ListenableFuture<Map.Entry<Namespace, ConjureRefreshLocksResponse>> refreshNamespacedLocks(
+            Namespace namespace, ConjureRefreshLocksRequest request) {
+        Set<LockToken> tokens = request.getTokens().stream()
+                .map(token -> LockToken.of(token.getRequestId()))
+                .collect(Collectors.toSet());
+        return Futures.transform(
+                getServiceForNamespace(namespace).refreshLockLeases(tokens),
+                refreshed -> Maps.immutableEntry(namespace, toConjureResponse(refreshed)),
+                MoreExecutors.directExecutor());
+    }
+
+    private static ConjureRefreshLocksResponse toConjureResponse(RefreshLockResponseV2 refreshed) {
+        Set<ConjureLockToken> refreshedTokens = refreshed.refreshedTokens().stream()
+                .map(token -> ConjureLockToken.of(token.getRequestId()))
+                .collect(Collectors.toSet());
+        return ConjureRefreshLocksResponse.of(refreshedTokens, refreshed.getLease());
+    }
+
     private ListenableFuture<Map.Entry<Namespace, LeaderTime>> getNamespacedLeaderTimes(Namespace namespace) {
         ListenableFuture<LeaderTime> leaderTimeListenableFuture =
                 getServiceForNamespace(namespace).leaderTime();
@@ -103,6 +137,12 @@ public final class MultiClientConjureTimelockResource implements UndertowMultiCl
             return unwrap(resource.leaderTimes(authHeader, namespaces));
         }
 
+        @Override
+        public Map<Namespace, ConjureRefreshLocksResponse> refreshLocks(
+                AuthHeader authHeader, Map<Namespace, ConjureRefreshLocksRequest> requests) {
+            return unwrap(resource.refreshLocks(authHeader, requests));
+        }
+
         private static <T> T unwrap(ListenableFuture<T> future) {
             return AtlasFutures.getUnchecked(future);
         }
@@ -120,6 +120,22 @@ public class AsyncLockService implements Closeable {
         return heldLocks.getExistingOrAcquire(requestId, () -> acquireLocks(requestId, lockDescriptors, timeout));
     }
 
+    /**
+     * Acquires {@code lockDescriptors} exclusively and {@code sharedLockDescriptors} in shared mode, as a single
+     * request. Descriptors present in both sets are acquired exclusively.
+     */
+    public AsyncResult<Leased<LockToken>> lock(
+            UUID requestId,
+            Set<LockDescriptor> lockDescriptors,
+            Set<LockDescriptor> sharedLockDescriptors,
+            TimeLimit timeout) {
+        if (sharedLockDescriptors.isEmpty()) {
+            return lock(requestId, lockDescriptors, timeout);
+        }
+        return heldLocks.getExistingOrAcquire(
+                requestId, () -> acquireLocks(requestId, lockDescriptors, sharedLockDescriptors, timeout));
+    }
+
     public AsyncResult<Leased<LockToken>> lockImmutableTimestamp(UUID requestId, long timestamp) {
         AsyncResult<Leased<LockToken>> immutableTimestampLockResult =
                 heldLocks.getExistingOrAcquire(requestId, () -> acquireImmutableTimestampLock(requestId, timestamp));
@@ -142,6 +158,15 @@ public class AsyncLockService implements Closeable {
         return lockAcquirer.acquireLocks(requestId, orderedLocks, timeout);
     }
 
+    private AsyncResult<HeldLocks> acquireLocks(
+            UUID requestId,
+            Set<LockDescriptor> lockDescriptors,
+            Set<LockDescriptor> sharedLockDescriptors,
+            TimeLimit timeout) {
+        OrderedLocks orderedLocks = locks.getAll(lockDescriptors, sharedLockDescriptors);
+        return lockAcquirer.acquireLocks(requestId, orderedLocks, timeout);
+    }
+
     private AsyncResult<Void> awaitLocks(UUID requestId, Set<LockDescriptor> lockDescriptors, TimeLimit timeout) {
         OrderedLocks orderedLocks = locks.getAll(lockDescriptors);
         return lockAcquirer.waitForLocks(requestId, orderedLocks, timeout);
@@ -17,6 +17,7 @@
 package com.palantir.atlasdb.timelock.lock;
 
 import com.palantir.lock.LockDescriptor;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -45,8 +46,8 @@ public class CombinedLockEvents implements LockEvents {
     }
 
     @Override
-    public void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors) {
-        lockEvents.forEach(events -> events.lockExpired(requestId, lockDescriptors));
+    public void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors, Duration expiryLag) {
+        lockEvents.forEach(events -> events.lockExpired(requestId, lockDescriptors, expiryLag));
     }
 
     @Override
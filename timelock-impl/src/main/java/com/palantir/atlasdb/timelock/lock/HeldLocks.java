@@ -81,7 +81,7 @@ public class HeldLocks {
     public synchronized boolean unlockIfExpired() {
         if (expirationTimer.isExpired()) {
             if (unlockInternal()) {
-                lockLog.lockExpired(token.getRequestId(), descriptors.get());
+                lockLog.lockExpired(token.getRequestId(), descriptors.get(), expirationTimer.timeSinceExpiry());
             }
         }
         return isUnlocked;
@@ -22,18 +22,36 @@ import com.palantir.leader.NotCurrentLeaderException;
 import com.palantir.lock.v2.LeaderTime;
 import com.palantir.lock.v2.Lease;
 import com.palantir.lock.v2.LockToken;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.immutables.value.Value;
 
 public class HeldLocksCollection {
     @VisibleForTesting
     final ConcurrentMap<UUID, AsyncResult<HeldLocks>> heldLocksById = new ConcurrentHashMap<>();
 
+    /**
+     * Requests ordered by the time at which they should next be checked for expiry, so that {@link #removeExpired()}
+     * only examines requests that may have expired, rather than every held request. Each held request has at most one
+     * entry, tracked in {@link #expiryEntriesById}: refreshing a request replaces its entry, and unlocking it removes
+     * the entry.
+     */
+    @VisibleForTesting
+    final NavigableSet<ExpiryEntry> expiryQueue = new ConcurrentSkipListSet<>(ExpiryEntry.COMPARATOR);
+
+    private final ConcurrentMap<UUID, ExpiryEntry> expiryEntriesById = new ConcurrentHashMap<>();
+
     private final LeaderClock leaderClock;
 
     @VisibleForTesting
@@ -47,26 +65,53 @@ public class HeldLocksCollection {
 
     public AsyncResult<Leased<LockToken>> getExistingOrAcquire(
             UUID requestId, Supplier<AsyncResult<HeldLocks>> lockAcquirer) {
-        return heldLocksById
-                .computeIfAbsent(requestId, ignored -> lockAcquirer.get())
-                .map(this::createLeasableLockToken);
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        AsyncResult<HeldLocks> result = heldLocksById.computeIfAbsent(requestId, ignored -> {
+            acquired.set(true);
+            return lockAcquirer.get();
+        });
+        if (acquired.get()) {
+            // registered only once the request is in heldLocksById, so that the expiry check is guaranteed to find it
+            result.onComplete(() -> scheduleExpiryCheck(requestId, result));
+        }
+        return result.map(this::createLeasableLockToken);
     }
 
     public Set<LockToken> unlock(Set<LockToken> tokens) {
         Set<LockToken> unlocked = filter(tokens, HeldLocks::unlockExplicitly);
         for (LockToken token : unlocked) {
             heldLocksById.remove(token.getRequestId());
+            removeExpiryEntry(token.getRequestId());
         }
         return unlocked;
     }
 
     public Leased<Set<LockToken>> refresh(Set<LockToken> tokens) {
         Lease lease = leaseWithStart(leaderClock.time());
-        return Leased.of(filter(tokens, HeldLocks::refresh), lease);
+        Set<LockToken> refreshed = filter(tokens, HeldLocks::refresh);
+        for (LockToken token : refreshed) {
+            AsyncResult<HeldLocks> lockResult = heldLocksById.get(token.getRequestId());
+            if (lockResult != null) {
+                scheduleExpiryCheck(token.getRequestId(), lockResult);
+            }
+        }
+        return Leased.of(refreshed, lease);
     }
 
     public void removeExpired() {
-        heldLocksById.values().removeIf(this::shouldRemove);
+        // due entries are taken off the queue before any is checked, as a check may reschedule its entry to a time
+        // that is already due; such entries are checked again on the next pass
+        NanoTime now = leaderClock.time().currentTime();
+        List<ExpiryEntry> dueEntries = new ArrayList<>();
+        for (ExpiryEntry entry = expiryQueue.pollFirst(); entry != null; entry = expiryQueue.pollFirst()) {
+            if (!entry.checkAt().isBefore(now)) {
+                expiryQueue.add(entry);
+                break;
+            }
+            dueEntries.add(entry);
+            expiryEntriesById.remove(entry.requestId(), entry);
+        }
+        dueEntries.forEach(entry -> checkExpiry(entry.requestId()));
     }
 
     public void failAllOutstandingRequestsWithNotCurrentLeaderException() {
@@ -93,6 +138,45 @@ public class HeldLocksCollection {
         return Lease.of(leaderTime, LockLeaseContract.CLIENT_LEASE_TIMEOUT);
     }
 
+    private void scheduleExpiryCheck(UUID requestId, AsyncResult<HeldLocks> result) {
+        NanoTime checkAt = result.isCompletedSuccessfully()
+                ? result.get().lastRefreshTime().plus(LockLeaseContract.SERVER_LEASE_TIMEOUT)
+                : leaderClock.time().currentTime();
+        ExpiryEntry entry = ImmutableExpiryEntry.of(checkAt, requestId);
+        expiryEntriesById.compute(requestId, (id, previous) -> {
+            if (previous != null) {
+                expiryQueue.remove(previous);
+            }
+            // a request unlocked before this point has already had its entry removed, and must not get a new one
+            if (heldLocksById.get(requestId) != result) {
+                return null;
+            }
+            expiryQueue.add(entry);
+            return entry;
+        });
+    }
+
+    private void removeExpiryEntry(UUID requestId) {
+        expiryEntriesById.computeIfPresent(requestId, (id, entry) -> {
+            expiryQueue.remove(entry);
+            return null;
+        });
+    }
+
+    private void checkExpiry(UUID requestId) {
+        AsyncResult<HeldLocks> lockResult = heldLocksById.get(requestId);
+        if (lockResult == null) {
+            return;
+        }
+
+        if (shouldRemove(lockResult)) {
+            heldLocksById.remove(requestId, lockResult);
+            removeExpiryEntry(requestId);
+        } else {
+            scheduleExpiryCheck(requestId, lockResult);
+        }
+    }
+
     private boolean shouldRemove(AsyncResult<HeldLocks> lockResult) {
         return lockResult.isFailed() || lockResult.isTimedOut() || lockResult.test(HeldLocks::unlockIfExpired);
     }
@@ -109,4 +193,16 @@ public class HeldLocksCollection {
 
         return filtered;
     }
+
+    @Value.Immutable
+    interface ExpiryEntry {
+        Comparator<ExpiryEntry> COMPARATOR =
+                Comparator.comparing(ExpiryEntry::checkAt).thenComparing(ExpiryEntry::requestId);
+
+        @Value.Parameter
+        NanoTime checkAt();
+
+        @Value.Parameter
+        UUID requestId();
+    }
 }
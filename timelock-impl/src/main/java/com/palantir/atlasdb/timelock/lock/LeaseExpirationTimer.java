@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.timelock.lock;
 
 import com.palantir.common.time.NanoTime;
+import java.time.Duration;
 import java.util.function.Supplier;
 
 public class LeaseExpirationTimer {
@@ -36,6 +37,13 @@ public class LeaseExpirationTimer {
         return expiry().isBefore(clock.get());
     }
 
+    /**
+     * Returns how long ago the lease expired, or a negative duration if it has not yet expired.
+     */
+    public Duration timeSinceExpiry() {
+        return NanoTime.between(expiry(), clock.get());
+    }
+
     public NanoTime lastRefreshTime() {
         return lastRefreshTime;
     }
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.timelock.lock;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.palantir.lock.LockDescriptor;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -26,10 +27,10 @@ import java.util.Set;
 
 public class LockCollection {
 
-    private final LoadingCache<LockDescriptor, AsyncLock> locksById;
+    private final LoadingCache<LockDescriptor, SharedExclusiveLock> locksById;
 
     public LockCollection() {
-        locksById = Caffeine.newBuilder().weakValues().build(ExclusiveLock::new);
+        locksById = Caffeine.newBuilder().weakValues().build(SharedExclusiveLock::new);
     }
 
     public OrderedLocks getAll(Set<LockDescriptor> descriptors) {
@@ -43,13 +44,34 @@ public class LockCollection {
         return OrderedLocks.fromOrderedList(locks);
     }
 
+    /**
+     * Returns locks for the union of the given descriptors, in the same global order as {@link #getAll(Set)}, so that
+     * requests mixing shared and exclusive locks cannot deadlock against each other. Locks for descriptors in
+     * {@code sharedDescriptors} are acquired in shared mode, unless the descriptor is also requested exclusively.
+     */
+    public OrderedLocks getAll(Set<LockDescriptor> exclusiveDescriptors, Set<LockDescriptor> sharedDescriptors) {
+        if (sharedDescriptors.isEmpty()) {
+            return getAll(exclusiveDescriptors);
+        }
+
+        List<LockDescriptor> orderedDescriptors = sort(Sets.union(exclusiveDescriptors, sharedDescriptors));
+
+        List<AsyncLock> locks = Lists.newArrayListWithExpectedSize(orderedDescriptors.size());
+        for (LockDescriptor descriptor : orderedDescriptors) {
+            SharedExclusiveLock lock = getLock(descriptor);
+            locks.add(exclusiveDescriptors.contains(descriptor) ? lock : new SharedLock(lock));
+        }
+
+        return OrderedLocks.fromOrderedList(locks);
+    }
+
     private static List<LockDescriptor> sort(Set<LockDescriptor> descriptors) {
         List<LockDescriptor> orderedDescriptors = new ArrayList<>(descriptors);
         orderedDescriptors.sort(Comparator.naturalOrder());
         return orderedDescriptors;
     }
 
-    private AsyncLock getLock(LockDescriptor descriptor) {
+    private SharedExclusiveLock getLock(LockDescriptor descriptor) {
         return locksById.get(descriptor);
     }
 }
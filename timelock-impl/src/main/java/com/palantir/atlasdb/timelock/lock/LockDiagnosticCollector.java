@@ -29,6 +29,7 @@ import com.palantir.common.streams.KeyedStream;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Map;
@@ -74,7 +75,7 @@ public class LockDiagnosticCollector implements LockEvents {
     }
 
     @Override
-    public void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors) {
+    public void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors, Duration expiryLag) {
         updateCacheWithNextLockInfo(requestId, LockState.EXPIRED);
     }
 
@@ -19,6 +19,7 @@ package com.palantir.atlasdb.timelock.lock;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.lock.client.IdentifiedLockRequest;
 import com.palantir.lock.v2.WaitForLocksRequest;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
@@ -31,7 +32,11 @@ public interface LockEvents {
 
     void successfulAcquisition(RequestInfo request, long acquisitionTimeMillis);
 
-    void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors);
+    /**
+     * Called when held locks are reaped because their lease expired. {@code expiryLag} is how long after the lease
+     * expired the locks were actually released.
+     */
+    void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors, Duration expiryLag);
 
     void explicitlyUnlocked(UUID requestId);
 
@@ -25,6 +25,7 @@ import com.palantir.lock.LockDescriptor;
 import com.palantir.lock.client.IdentifiedLockRequest;
 import com.palantir.lock.v2.WaitForLocksRequest;
 import com.palantir.logsafe.Preconditions;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
@@ -104,8 +105,8 @@ public class LockLog {
         }
     }
 
-    void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors) {
-        events.lockExpired(requestId, lockDescriptors);
+    void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors, Duration expiryLag) {
+        events.lockExpired(requestId, lockDescriptors, expiryLag);
     }
 
     void lockUnlocked(UUID requestId) {
@@ -22,6 +22,7 @@ import com.google.common.collect.Iterables;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +38,7 @@ public class LoggingLockEvents implements LockEvents {
     private final Meter successfulSlowAcquisitionMeter;
     private final Meter timedOutSlowAcquisitionMeter;
     private final Meter lockExpiredMeter;
+    private final Timer lockExpiryLagTimer;
     private final Supplier<Long> thresholdMillis;
 
     LoggingLockEvents(MetricRegistry metrics, Supplier<Long> thresholdMillis) {
@@ -44,6 +46,7 @@ public class LoggingLockEvents implements LockEvents {
         this.successfulSlowAcquisitionMeter = metrics.meter("lock.successful-slow-acquisition");
         this.timedOutSlowAcquisitionMeter = metrics.meter("lock.timeout-slow-acquisition");
         this.lockExpiredMeter = metrics.meter("lock.expired");
+        this.lockExpiryLagTimer = metrics.timer("lock.expiry-lag");
         this.thresholdMillis = thresholdMillis;
     }
 
@@ -85,12 +88,14 @@ public class LoggingLockEvents implements LockEvents {
     }
 
     @Override
-    public void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors) {
+    public void lockExpired(UUID requestId, Collection<LockDescriptor> lockDescriptors, Duration expiryLag) {
         log.warn(
                 "Lock expired",
                 SafeArg.of("requestId", requestId),
+                SafeArg.of("expiryLagMillis", expiryLag.toMillis()),
                 UnsafeArg.of("firstTenLockDescriptors", firstTen(lockDescriptors)));
         lockExpiredMeter.mark();
+        lockExpiryLagTimer.update(expiryLag.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     @Override
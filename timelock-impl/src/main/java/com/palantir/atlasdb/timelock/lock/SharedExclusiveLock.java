@@ -16,16 +16,26 @@
 package com.palantir.atlasdb.timelock.lock;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.palantir.atlasdb.timelock.util.LoggableIllegalStateException;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.logsafe.SafeArg;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
-public class ExclusiveLock implements AsyncLock {
+/**
+ * A lock that may be held either exclusively by a single request, or in shared mode by any number of requests.
+ *
+ * Requests are granted in FIFO order: a shared request that arrives while an exclusive request is queued waits
+ * behind it, so a steady stream of shared requests cannot starve exclusive ones. Consecutive shared requests at
+ * the head of the queue are granted together.
+ */
+public class SharedExclusiveLock implements AsyncLock {
 
     private final LockDescriptor descriptor;
 
@@ -35,18 +45,28 @@ public class ExclusiveLock implements AsyncLock {
     @GuardedBy("this")
     private UUID currentHolder = null;
 
-    public ExclusiveLock(LockDescriptor descriptor) {
+    @GuardedBy("this")
+    private final Set<UUID> sharedHolders = new HashSet<>();
+
+    public SharedExclusiveLock(LockDescriptor descriptor) {
         this.descriptor = descriptor;
     }
 
     @Override
     public synchronized AsyncResult<Void> lock(UUID requestId) {
-        return submit(new LockRequest(requestId, false));
+        return submit(new LockRequest(requestId, Mode.EXCLUSIVE));
+    }
+
+    public synchronized AsyncResult<Void> lockShared(UUID requestId) {
+        return submit(new LockRequest(requestId, Mode.SHARED));
     }
 
+    /**
+     * Completes once the lock is not held by anyone, without acquiring it.
+     */
     @Override
     public synchronized AsyncResult<Void> waitUntilAvailable(UUID requestId) {
-        return submit(new LockRequest(requestId, true));
+        return submit(new LockRequest(requestId, Mode.WAIT));
     }
 
     @Override
@@ -54,12 +74,16 @@ public class ExclusiveLock implements AsyncLock {
         if (Objects.equals(requestId, currentHolder)) {
             currentHolder = null;
             processQueue();
+        } else if (sharedHolders.remove(requestId)) {
+            processQueue();
         }
     }
 
     @Override
     public synchronized void timeout(UUID requestId) {
         queue.timeoutAndRemoveIfStillQueued(requestId);
+        // a timed out exclusive request may have been blocking shared requests queued behind it
+        processQueue();
     }
 
     @Override
@@ -72,6 +96,11 @@ public class ExclusiveLock implements AsyncLock {
         return currentHolder;
     }
 
+    @VisibleForTesting
+    synchronized Set<UUID> getSharedHolders() {
+        return ImmutableSet.copyOf(sharedHolders);
+    }
+
     @GuardedBy("this")
     private AsyncResult<Void> submit(LockRequest request) {
         queue.enqueue(request);
@@ -82,25 +111,41 @@ public class ExclusiveLock implements AsyncLock {
 
     @GuardedBy("this")
     private void processQueue() {
-        while (!queue.isEmpty() && currentHolder == null) {
+        while (!queue.isEmpty() && canGrant(queue.peek())) {
             LockRequest head = queue.dequeue();
 
-            if (!head.releaseImmediately) {
+            if (head.mode == Mode.EXCLUSIVE) {
                 currentHolder = head.requestId;
+            } else if (head.mode == Mode.SHARED) {
+                sharedHolders.add(head.requestId);
             }
 
             head.result.complete(null);
         }
     }
 
+    @GuardedBy("this")
+    private boolean canGrant(LockRequest request) {
+        if (currentHolder != null) {
+            return false;
+        }
+        return request.mode == Mode.SHARED || sharedHolders.isEmpty();
+    }
+
+    private enum Mode {
+        EXCLUSIVE,
+        SHARED,
+        WAIT
+    }
+
     private static class LockRequest {
         private final AsyncResult<Void> result = new AsyncResult<>();
         private final UUID requestId;
-        private final boolean releaseImmediately;
+        private final Mode mode;
 
-        LockRequest(UUID requestId, boolean releaseImmediately) {
+        LockRequest(UUID requestId, Mode mode) {
             this.requestId = requestId;
-            this.releaseImmediately = releaseImmediately;
+            this.mode = mode;
         }
     }
 
@@ -123,6 +168,10 @@ public class ExclusiveLock implements AsyncLock {
             return queue.isEmpty();
         }
 
+        public LockRequest peek() {
+            return queue.values().iterator().next();
+        }
+
         public LockRequest dequeue() {
             return queue.remove(queue.keySet().iterator().next());
         }
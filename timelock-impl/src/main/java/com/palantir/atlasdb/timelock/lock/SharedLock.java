@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import com.palantir.lock.LockDescriptor;
+import java.util.UUID;
+
+/**
+ * A view of a {@link SharedExclusiveLock} for which {@link #lock(UUID)} acquires the underlying lock in shared mode.
+ * This allows shared locks to be acquired, held and released through the same paths as exclusive ones.
+ */
+final class SharedLock implements AsyncLock {
+
+    private final SharedExclusiveLock delegate;
+
+    SharedLock(SharedExclusiveLock delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public AsyncResult<Void> lock(UUID requestId) {
+        return delegate.lockShared(requestId);
+    }
+
+    @Override
+    public AsyncResult<Void> waitUntilAvailable(UUID requestId) {
+        return delegate.waitUntilAvailable(requestId);
+    }
+
+    @Override
+    public void unlock(UUID requestId) {
+        delegate.unlock(requestId);
+    }
+
+    @Override
+    public void timeout(UUID requestId) {
+        delegate.timeout(requestId);
+    }
+
+    @Override
+    public LockDescriptor getDescriptor() {
+        return delegate.getDescriptor();
+    }
+}
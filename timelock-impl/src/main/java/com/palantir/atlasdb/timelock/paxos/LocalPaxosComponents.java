@@ -43,6 +43,7 @@ import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -68,6 +69,7 @@ public class LocalPaxosComponents {
     private final boolean canCreateNewClients;
     private final OrderableSlsVersion timeLockVersion;
     private final boolean skipConsistencyCheckAndTruncateOldPaxosLog;
+    private final boolean useMemoryMappedStateLog;
 
     private LocalPaxosComponents(
             TimelockPaxosMetrics metrics,
@@ -77,7 +79,8 @@ public class LocalPaxosComponents {
             UUID leaderUuid,
             boolean canCreateNewClients,
             OrderableSlsVersion timeLockVersion,
-            boolean skipConsistencyCheckAndTruncateOldPaxosLog) {
+            boolean skipConsistencyCheckAndTruncateOldPaxosLog,
+            boolean useMemoryMappedStateLog) {
         this.metrics = metrics;
         this.paxosUseCase = paxosUseCase;
         this.baseLogDirectory = legacyLogDirectory;
@@ -89,6 +92,7 @@ public class LocalPaxosComponents {
         this.canCreateNewClients = canCreateNewClients;
         this.timeLockVersion = timeLockVersion;
         this.skipConsistencyCheckAndTruncateOldPaxosLog = skipConsistencyCheckAndTruncateOldPaxosLog;
+        this.useMemoryMappedStateLog = useMemoryMappedStateLog;
     }
 
     public static LocalPaxosComponents createWithBlockingMigration(
@@ -100,6 +104,28 @@ public class LocalPaxosComponents {
             boolean canCreateNewClients,
             OrderableSlsVersion timeLockVersion,
             boolean skipConsistencyCheckAndTruncateOldPaxosLog) {
+        return createWithBlockingMigration(
+                metrics,
+                paxosUseCase,
+                legacyLogDirectory,
+                sqliteDataSource,
+                leaderUuid,
+                canCreateNewClients,
+                timeLockVersion,
+                skipConsistencyCheckAndTruncateOldPaxosLog,
+                false);
+    }
+
+    public static LocalPaxosComponents createWithBlockingMigration(
+            TimelockPaxosMetrics metrics,
+            PaxosUseCase paxosUseCase,
+            Path legacyLogDirectory,
+            DataSource sqliteDataSource,
+            UUID leaderUuid,
+            boolean canCreateNewClients,
+            OrderableSlsVersion timeLockVersion,
+            boolean skipConsistencyCheckAndTruncateOldPaxosLog,
+            boolean useMemoryMappedStateLog) {
         LocalPaxosComponents components = new LocalPaxosComponents(
                 metrics,
                 paxosUseCase,
@@ -108,7 +134,8 @@ public class LocalPaxosComponents {
                 leaderUuid,
                 canCreateNewClients,
                 timeLockVersion,
-                skipConsistencyCheckAndTruncateOldPaxosLog);
+                skipConsistencyCheckAndTruncateOldPaxosLog,
+                useMemoryMappedStateLog);
 
         Path legacyClientDir = paxosUseCase.logDirectoryRelativeToDataDirectory(legacyLogDirectory);
         PersistentNamespaceLoader namespaceLoader = new DiskNamespaceLoader(legacyClientDir);
@@ -205,6 +232,7 @@ public class LocalPaxosComponents {
         String learnerUseCase = String.format("%s!learner", paxosUseCase.toString());
         return ImmutablePaxosStorageParameters.builder()
                 .fileBasedLogDirectory(learnerLogDir.toString())
+                .memoryMappedLogDirectory(memoryMappedLogDirectory(learnerLogDir))
                 .sqliteDataSource(sqliteDataSource)
                 .namespaceAndUseCase(ImmutableNamespaceAndUseCase.of(client, learnerUseCase))
                 .skipConsistencyCheckAndTruncateOldPaxosLog(skipConsistencyCheckAndTruncateOldPaxosLog)
@@ -220,12 +248,22 @@ public class LocalPaxosComponents {
         String acceptorUseCase = String.format("%s!acceptor", paxosUseCase.toString());
         return ImmutablePaxosStorageParameters.builder()
                 .fileBasedLogDirectory(acceptorLogDir.toString())
+                .memoryMappedLogDirectory(memoryMappedLogDirectory(acceptorLogDir))
                 .sqliteDataSource(sqliteDataSource)
                 .namespaceAndUseCase(ImmutableNamespaceAndUseCase.of(client, acceptorUseCase))
                 .skipConsistencyCheckAndTruncateOldPaxosLog(skipConsistencyCheckAndTruncateOldPaxosLog)
                 .build();
     }
 
+    private Optional<String> memoryMappedLogDirectory(Path fileBasedLogDirectory) {
+        if (!useMemoryMappedStateLog) {
+            return Optional.empty();
+        }
+        Path memoryMappedLogDirectory = fileBasedLogDirectory.resolveSibling(
+                PaxosTimeLockConstants.MEMORY_MAPPED_SUBDIRECTORY_PREFIX + fileBasedLogDirectory.getFileName());
+        return Optional.of(memoryMappedLogDirectory.toString());
+    }
+
     private boolean clientDirectoryDoesNotExist(Path clientDirectory) {
         return !clientDirectory.toFile().exists();
     }
@@ -21,6 +21,7 @@ import com.palantir.paxos.PaxosConstants;
 public final class PaxosTimeLockConstants {
     public static final String LEARNER_SUBDIRECTORY_PATH = "learner";
     public static final String ACCEPTOR_SUBDIRECTORY_PATH = "acceptor";
+    public static final String MEMORY_MAPPED_SUBDIRECTORY_PREFIX = "mapped-";
 
     // This is not great, but needed to preserve backwards compatibility for Leader Election Service
     public static final String LEADER_ELECTION_NAMESPACE = "leader";
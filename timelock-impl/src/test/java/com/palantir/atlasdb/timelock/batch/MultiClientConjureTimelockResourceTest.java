@@ -22,19 +22,29 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Futures;
 import com.palantir.atlasdb.http.RedirectRetryTargeter;
 import com.palantir.atlasdb.timelock.AsyncTimelockService;
+import com.palantir.atlasdb.timelock.api.ConjureLockToken;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksRequest;
+import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponse;
 import com.palantir.atlasdb.timelock.api.LeaderTimes;
 import com.palantir.atlasdb.timelock.api.Namespace;
 import com.palantir.common.time.NanoTime;
 import com.palantir.lock.remoting.BlockingTimeoutException;
 import com.palantir.lock.v2.LeaderTime;
 import com.palantir.lock.v2.LeadershipId;
+import com.palantir.lock.v2.Lease;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.RefreshLockResponseV2;
 import com.palantir.tokens.auth.AuthHeader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -91,6 +101,47 @@ public class MultiClientConjureTimelockResourceTest {
                 .isInstanceOf(BlockingTimeoutException.class);
     }
 
+    @Test
+    public void canRefreshLocksForMultipleClients() {
+        Namespace client1 = Namespace.of("client1");
+        Namespace client2 = Namespace.of("client2");
+        LockToken heldToken = LockToken.of(UUID.randomUUID());
+        LockToken lostToken = LockToken.of(UUID.randomUUID());
+        LockToken otherClientToken = LockToken.of(UUID.randomUUID());
+        when(getServiceForClient(client1.get()).refreshLockLeases(ImmutableSet.of(heldToken, lostToken)))
+                .thenReturn(Futures.immediateFuture(
+                        RefreshLockResponseV2.of(ImmutableSet.of(heldToken), lease(client1))));
+        when(getServiceForClient(client2.get()).refreshLockLeases(ImmutableSet.of(otherClientToken)))
+                .thenReturn(Futures.immediateFuture(
+                        RefreshLockResponseV2.of(ImmutableSet.of(otherClientToken), lease(client2))));
+
+        Map<Namespace, ConjureRefreshLocksResponse> responses = Futures.getUnchecked(resource.refreshLocks(
+                AUTH_HEADER,
+                ImmutableMap.of(
+                        client1, refreshRequest(heldToken, lostToken),
+                        client2, refreshRequest(otherClientToken))));
+
+        assertThat(responses)
+                .containsOnly(
+                        Maps.immutableEntry(client1, ConjureRefreshLocksResponse.of(
+                                ImmutableSet.of(ConjureLockToken.of(heldToken.getRequestId())), lease(client1))),
+                        Maps.immutableEntry(client2, ConjureRefreshLocksResponse.of(
+                                ImmutableSet.of(ConjureLockToken.of(otherClientToken.getRequestId())),
+                                lease(client2))));
+    }
+
+    private static ConjureRefreshLocksRequest refreshRequest(LockToken... tokens) {
+        return ConjureRefreshLocksRequest.of(Arrays.stream(tokens)
+                .map(token -> ConjureLockToken.of(token.getRequestId()))
+                .collect(Collectors.toSet()));
+    }
+
+    private Lease lease(Namespace namespace) {
+        return Lease.of(
+                LeaderTime.of(namespaceToLeaderMap.get(namespace.get()), NanoTime.createForTests(1L)),
+                Duration.ofSeconds(1));
+    }
+
     private AsyncTimelockService getServiceForClient(String client) {
         return namespaces.computeIfAbsent(client, this::createAsyncTimeLockServiceForClient);
     }
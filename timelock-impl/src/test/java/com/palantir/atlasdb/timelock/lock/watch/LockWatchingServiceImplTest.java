@@ -28,9 +28,9 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.watch.LockWatchReferenceUtils;
 import com.palantir.atlasdb.timelock.api.LockWatchRequest;
 import com.palantir.atlasdb.timelock.lock.AsyncLock;
-import com.palantir.atlasdb.timelock.lock.ExclusiveLock;
 import com.palantir.atlasdb.timelock.lock.HeldLocks;
 import com.palantir.atlasdb.timelock.lock.HeldLocksCollection;
+import com.palantir.atlasdb.timelock.lock.SharedExclusiveLock;
 import com.palantir.lock.AtlasCellLockDescriptor;
 import com.palantir.lock.AtlasRowLockDescriptor;
 import com.palantir.lock.LockDescriptor;
@@ -60,8 +60,8 @@ public class LockWatchingServiceImplTest {
     private static final LockDescriptor CELL_DESCRIPTOR =
             AtlasCellLockDescriptor.of(TABLE.getQualifiedName(), CELL.getRowName(), CELL.getColumnName());
     private static final LockDescriptor ROW_DESCRIPTOR = AtlasRowLockDescriptor.of(TABLE.getQualifiedName(), ROW);
-    private static final AsyncLock LOCK = new ExclusiveLock(ROW_DESCRIPTOR);
-    private static final AsyncLock LOCK_2 = new ExclusiveLock(descriptorForOtherTable());
+    private static final AsyncLock LOCK = new SharedExclusiveLock(ROW_DESCRIPTOR);
+    private static final AsyncLock LOCK_2 = new SharedExclusiveLock(descriptorForOtherTable());
 
     private final HeldLocksCollection locks = mock(HeldLocksCollection.class);
     private final LockWatchingService lockWatcher = new LockWatchingServiceImpl(LOG_ID, locks);
@@ -90,7 +90,7 @@ public class LockWatchingServiceImplTest {
     @Test
     public void registeringWatchWithWiderScopeLogsAlreadyWatchedLocksAgain() {
         LockDescriptor secondRow = AtlasRowLockDescriptor.of(TABLE.getQualifiedName(), PtBytes.toBytes("other_row"));
-        when(heldLocks.getLocks()).thenReturn(ImmutableList.of(LOCK, new ExclusiveLock(secondRow)));
+        when(heldLocks.getLocks()).thenReturn(ImmutableList.of(LOCK, new SharedExclusiveLock(secondRow)));
 
         LockWatchRequest prefixRequest = prefixRequest(ROW);
         lockWatcher.startWatching(prefixRequest);
@@ -110,8 +110,8 @@ public class LockWatchingServiceImplTest {
         LockDescriptor bc = AtlasRowLockDescriptor.of(TABLE.getQualifiedName(), PtBytes.toBytes("bc"));
         LockDescriptor cd = AtlasRowLockDescriptor.of(TABLE.getQualifiedName(), PtBytes.toBytes("cd"));
         when(heldLocks.getLocks())
-                .thenReturn(
-                        ImmutableList.of(LOCK, new ExclusiveLock(ab), new ExclusiveLock(bc), new ExclusiveLock(cd)));
+                .thenReturn(ImmutableList.of(
+                        LOCK, new SharedExclusiveLock(ab), new SharedExclusiveLock(bc), new SharedExclusiveLock(cd)));
 
         LockWatchReference acRange =
                 LockWatchReferenceUtils.rowRange(TABLE, PtBytes.toBytes("a"), PtBytes.toBytes("c"));
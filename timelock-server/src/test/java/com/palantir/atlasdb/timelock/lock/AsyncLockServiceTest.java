@@ -162,8 +162,8 @@ public class AsyncLockServiceTest {
         assertThat(result.isTimedOut()).isTrue();
     }
 
-    private static ExclusiveLock newLock() {
-        return new ExclusiveLock(LOCK_DESCRIPTOR);
+    private static SharedExclusiveLock newLock() {
+        return new SharedExclusiveLock(LOCK_DESCRIPTOR);
     }
 
     private static Set<LockDescriptor> descriptors(String... lockNames) {
@@ -17,6 +17,8 @@ package com.palantir.atlasdb.timelock.lock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -86,12 +88,74 @@ public class HeldLocksCollectionTest {
 
         assertThat(heldLocksCollection.heldLocksById.size()).isEqualTo(3);
 
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.plus(Duration.ofNanos(1)));
         heldLocksCollection.removeExpired();
 
         assertThat(heldLocksCollection.heldLocksById.size()).isEqualTo(1);
         assertThat(heldLocksCollection.heldLocksById.keySet().iterator().next()).isEqualTo(nonExpiredRequest);
     }
 
+    @Test
+    public void checksEntriesRescheduledToAnAlreadyDueTimeOncePerPass() {
+        HeldLocks heldLocks = mock(HeldLocks.class);
+        when(heldLocks.lastRefreshTime()).thenReturn(time.get());
+        when(heldLocks.unlockIfExpired()).thenReturn(false);
+        AsyncResult<HeldLocks> result = new AsyncResult<>();
+        result.complete(heldLocks);
+        heldLocksCollection.getExistingOrAcquire(REQUEST_ID, () -> result);
+
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.multipliedBy(2));
+        heldLocksCollection.removeExpired();
+        verify(heldLocks, times(1)).unlockIfExpired();
+
+        heldLocksCollection.removeExpired();
+        verify(heldLocks, times(2)).unlockIfExpired();
+        assertThat(heldLocksCollection.heldLocksById).containsKey(REQUEST_ID);
+    }
+
+    @Test
+    public void doesNotCheckLeasesBeforeTheyAreDueToExpire() {
+        HeldLocks heldLocks = mock(HeldLocks.class);
+        when(heldLocks.lastRefreshTime()).thenReturn(time.get());
+        AsyncResult<HeldLocks> result = new AsyncResult<>();
+        result.complete(heldLocks);
+        heldLocksCollection.getExistingOrAcquire(REQUEST_ID, () -> result);
+
+        heldLocksCollection.removeExpired();
+
+        verify(heldLocks, never()).unlockIfExpired();
+        assertThat(heldLocksCollection.heldLocksById).containsKey(REQUEST_ID);
+    }
+
+    @Test
+    public void refreshedLeasesAreNotReapedAtTheirOriginalExpiry() {
+        setTime(123);
+        LockToken token = lockSync(REQUEST_ID);
+
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.dividedBy(2));
+        heldLocksCollection.refresh(ImmutableSet.of(token));
+
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.dividedBy(2).plus(Duration.ofNanos(1)));
+        assertLocked(REQUEST_ID);
+
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.dividedBy(2));
+        assertUnlocked(REQUEST_ID);
+    }
+
+    @Test
+    public void ignoresStaleExpiryChecksForUnlockedRequests() {
+        setTime(123);
+        LockToken token = lockSync(REQUEST_ID);
+        heldLocksCollection.unlock(ImmutableSet.of(token));
+
+        LockToken newToken = lockSync(REQUEST_ID_2);
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.plus(Duration.ofNanos(1)));
+        heldLocksCollection.removeExpired();
+
+        assertThat(heldLocksCollection.heldLocksById).doesNotContainKey(newToken.getRequestId());
+        verify(lockWatcher, times(2)).registerUnlock(ImmutableSet.of(LOCK_DESCRIPTOR));
+    }
+
     @Test
     public void removesTimedOutRequests() {
         mockTimedOutRequest();
@@ -251,6 +315,29 @@ public class HeldLocksCollectionTest {
         assertThat(heldLocksCollection.heldLocksById.isEmpty()).isTrue();
     }
 
+    @Test
+    public void unlockRemovesExpiryEntry() {
+        LockToken token = lockSync(REQUEST_ID);
+        assertThat(heldLocksCollection.expiryQueue).hasSize(1);
+
+        heldLocksCollection.unlock(ImmutableSet.of(token));
+
+        assertThat(heldLocksCollection.expiryQueue).isEmpty();
+    }
+
+    @Test
+    public void refreshReplacesExpiryEntry() {
+        setTime(123);
+        LockToken token = lockSync(REQUEST_ID);
+
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT.dividedBy(2));
+        heldLocksCollection.refresh(ImmutableSet.of(token));
+
+        assertThat(heldLocksCollection.expiryQueue).hasSize(1);
+        assertThat(heldLocksCollection.expiryQueue.first().checkAt())
+                .isEqualTo(time.get().plus(LockLeaseContract.SERVER_LEASE_TIMEOUT));
+    }
+
     private LockToken lockSync(UUID requestId) {
         AsyncResult<HeldLocks> result = new AsyncResult<>();
         AsyncResult<Leased<LockToken>> acquireResult =
@@ -272,7 +359,7 @@ public class HeldLocksCollectionTest {
     private HeldLocks heldLocksForId(UUID id) {
         return HeldLocks.create(
                 new LockLog(new MetricRegistry(), () -> 2L),
-                ImmutableSet.of(new ExclusiveLock(LOCK_DESCRIPTOR)),
+                ImmutableSet.of(new SharedExclusiveLock(LOCK_DESCRIPTOR)),
                 id,
                 leaderClock,
                 lockWatcher);
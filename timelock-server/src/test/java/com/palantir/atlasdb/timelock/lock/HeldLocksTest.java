@@ -37,8 +37,8 @@ public class HeldLocksTest {
 
     private static final LockDescriptor LOCK_DESCRIPTOR = StringLockDescriptor.of("foo");
 
-    private final ExclusiveLock lockA = spy(new ExclusiveLock(LOCK_DESCRIPTOR));
-    private final ExclusiveLock lockB = spy(new ExclusiveLock(LOCK_DESCRIPTOR));
+    private final SharedExclusiveLock lockA = spy(new SharedExclusiveLock(LOCK_DESCRIPTOR));
+    private final SharedExclusiveLock lockB = spy(new SharedExclusiveLock(LOCK_DESCRIPTOR));
 
     private final LeaseExpirationTimer timer = mock(LeaseExpirationTimer.class);
 
@@ -53,9 +53,9 @@ public class LockAcquirerTest {
     private final DeterministicScheduler executor = new DeterministicScheduler();
     private final LeaderClock leaderClock = LeaderClock.create();
 
-    private final ExclusiveLock lockA = spy(new ExclusiveLock(LOCK_DESCRIPTOR));
-    private final ExclusiveLock lockB = spy(new ExclusiveLock(LOCK_DESCRIPTOR));
-    private final ExclusiveLock lockC = spy(new ExclusiveLock(LOCK_DESCRIPTOR));
+    private final SharedExclusiveLock lockA = spy(new SharedExclusiveLock(LOCK_DESCRIPTOR));
+    private final SharedExclusiveLock lockB = spy(new SharedExclusiveLock(LOCK_DESCRIPTOR));
+    private final SharedExclusiveLock lockC = spy(new SharedExclusiveLock(LOCK_DESCRIPTOR));
 
     private final LockAcquirer lockAcquirer = new LockAcquirer(
             new LockLog(new MetricRegistry(), () -> 2L), executor, leaderClock, mock(LockWatchingService.class));
@@ -93,7 +93,7 @@ public class LockAcquirerTest {
     @Test(timeout = 10_000)
     public void doesNotStackOverflowIfLocksAreAcquiredSynchronously() {
         List<AsyncLock> locks = IntStream.range(0, 10_000)
-                .mapToObj(i -> new ExclusiveLock(LOCK_DESCRIPTOR))
+                .mapToObj(i -> new SharedExclusiveLock(LOCK_DESCRIPTOR))
                 .collect(Collectors.toList());
 
         AsyncResult<HeldLocks> acquisitions = acquire(locks);
@@ -232,7 +232,7 @@ public class LockAcquirerTest {
         return lockAcquirer.acquireLocks(REQUEST_ID, OrderedLocks.fromOrderedList(locks), TIMEOUT);
     }
 
-    private void assertNotLocked(ExclusiveLock lock) {
+    private void assertNotLocked(SharedExclusiveLock lock) {
         assertThat(lock.lock(UUID.randomUUID()).isCompletedSuccessfully()).isTrue();
     }
 }
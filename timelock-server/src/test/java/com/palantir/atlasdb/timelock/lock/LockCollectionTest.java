@@ -70,6 +70,48 @@ public class LockCollectionTest {
         assertThat(actualOrder).isEqualTo(expectedOrder);
     }
 
+    @Test
+    public void sharedAndExclusiveLocksAreReturnedInOneOrder() {
+        List<AsyncLock> locks = lockCollection
+                .getAll(descriptors("b", "d"), descriptors("a", "c"))
+                .get();
+
+        assertThat(locks)
+                .extracting(AsyncLock::getDescriptor)
+                .containsExactly(
+                        StringLockDescriptor.of("a"),
+                        StringLockDescriptor.of("b"),
+                        StringLockDescriptor.of("c"),
+                        StringLockDescriptor.of("d"));
+        assertThat(locks)
+                .extracting(lock -> lock instanceof SharedLock)
+                .containsExactly(true, false, true, false);
+    }
+
+    @Test
+    public void descriptorsRequestedInBothModesAreLockedExclusively() {
+        List<AsyncLock> locks =
+                lockCollection.getAll(descriptors("foo"), descriptors("foo")).get();
+
+        assertThat(locks).hasSize(1);
+        assertThat(locks.get(0)).isInstanceOf(SharedExclusiveLock.class);
+    }
+
+    @Test
+    public void sharedLocksShareStateWithExclusiveLocks() {
+        UUID sharedRequest = UUID.randomUUID();
+        AsyncLock shared =
+                lockCollection.getAll(ImmutableSet.of(), descriptors("foo")).get().get(0);
+        AsyncLock exclusive = lockCollection.getAll(descriptors("foo")).get().get(0);
+
+        shared.lock(sharedRequest).get();
+        AsyncResult<Void> exclusiveResult = exclusive.lock(UUID.randomUUID());
+        assertThat(exclusiveResult.isComplete()).isFalse();
+
+        shared.unlock(sharedRequest);
+        assertThat(exclusiveResult.isCompletedSuccessfully()).isTrue();
+    }
+
     private static Set<LockDescriptor> descriptors(String... names) {
         return Arrays.stream(names).map(StringLockDescriptor::of).collect(Collectors.toSet());
     }
@@ -24,7 +24,7 @@ import com.palantir.lock.StringLockDescriptor;
 import java.util.UUID;
 import org.junit.Test;
 
-public class ExclusiveLockTests {
+public class SharedExclusiveLockTests {
 
     private static final UUID REQUEST_1 = UUID.randomUUID();
     private static final UUID REQUEST_2 = UUID.randomUUID();
@@ -32,7 +32,7 @@ public class ExclusiveLockTests {
 
     private static final LockDescriptor LOCK_DESCRIPTOR = StringLockDescriptor.of("foo");
 
-    private final ExclusiveLock lock = new ExclusiveLock(LOCK_DESCRIPTOR);
+    private final SharedExclusiveLock lock = new SharedExclusiveLock(LOCK_DESCRIPTOR);
 
     @Test
     public void canLockAndUnlock() {
@@ -220,6 +220,92 @@ public class ExclusiveLockTests {
         assertThat(request2.isCompletedSuccessfully()).isTrue();
     }
 
+    @Test
+    public void sharedLockCanBeHeldByMultipleRequests() {
+        lockSharedSynchronously(REQUEST_1);
+        lockSharedSynchronously(REQUEST_2);
+
+        assertThat(lock.getSharedHolders()).containsExactlyInAnyOrder(REQUEST_1, REQUEST_2);
+        assertThat(lock.getCurrentHolder()).isNull();
+    }
+
+    @Test
+    public void exclusiveLockWaitsForAllSharedHolders() {
+        lockSharedSynchronously(REQUEST_1);
+        lockSharedSynchronously(REQUEST_2);
+        AsyncResult<Void> exclusive = lockAsync(REQUEST_3);
+
+        unlock(REQUEST_1);
+        assertThat(exclusive.isComplete()).isFalse();
+
+        unlock(REQUEST_2);
+        assertThat(exclusive.isCompletedSuccessfully()).isTrue();
+        assertThat(lock.getCurrentHolder()).isEqualTo(REQUEST_3);
+    }
+
+    @Test
+    public void sharedLockWaitsForExclusiveHolder() {
+        lockSynchronously(REQUEST_1);
+        AsyncResult<Void> shared = lockSharedAsync(REQUEST_2);
+
+        assertThat(shared.isComplete()).isFalse();
+
+        unlock(REQUEST_1);
+        assertThat(shared.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void sharedRequestsQueueBehindWaitingExclusiveRequest() {
+        lockSharedSynchronously(REQUEST_1);
+        AsyncResult<Void> exclusive = lockAsync(REQUEST_2);
+        AsyncResult<Void> shared = lockSharedAsync(REQUEST_3);
+
+        assertThat(shared.isComplete()).isFalse();
+
+        unlock(REQUEST_1);
+        assertThat(exclusive.isCompletedSuccessfully()).isTrue();
+        assertThat(shared.isComplete()).isFalse();
+
+        unlock(REQUEST_2);
+        assertThat(shared.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void consecutiveQueuedSharedRequestsAreGrantedTogether() {
+        lockSynchronously(REQUEST_1);
+        AsyncResult<Void> shared2 = lockSharedAsync(REQUEST_2);
+        AsyncResult<Void> shared3 = lockSharedAsync(REQUEST_3);
+
+        unlock(REQUEST_1);
+
+        assertThat(shared2.isCompletedSuccessfully()).isTrue();
+        assertThat(shared3.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void timedOutExclusiveRequestUnblocksQueuedSharedRequests() {
+        lockSharedSynchronously(REQUEST_1);
+        AsyncResult<Void> exclusive = lockAsync(REQUEST_2);
+        AsyncResult<Void> shared = lockSharedAsync(REQUEST_3);
+
+        lock.timeout(REQUEST_2);
+
+        assertThat(exclusive.isTimedOut()).isTrue();
+        assertThat(shared.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void waitUntilAvailableWaitsForSharedHolders() {
+        lockSharedSynchronously(REQUEST_1);
+        AsyncResult<Void> result = waitUntilAvailableAsync(REQUEST_2);
+
+        assertThat(result.isComplete()).isFalse();
+
+        unlock(REQUEST_1);
+        assertThat(result.isCompletedSuccessfully()).isTrue();
+        assertThat(lock.getSharedHolders()).isEmpty();
+    }
+
     private AsyncResult<Void> waitUntilAvailableAsync(UUID request) {
         return lock.waitUntilAvailable(request);
     }
@@ -236,6 +322,14 @@ public class ExclusiveLockTests {
         return lock.lock(requestId);
     }
 
+    private void lockSharedSynchronously(UUID requestId) {
+        lock.lockShared(requestId).get();
+    }
+
+    private AsyncResult<Void> lockSharedAsync(UUID requestId) {
+        return lock.lockShared(requestId);
+    }
+
     private void unlock(UUID requestId) {
         lock.unlock(requestId);
     }
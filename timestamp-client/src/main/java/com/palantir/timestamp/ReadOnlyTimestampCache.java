@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.timestamp;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.immutables.value.Value;
+
+/**
+ * Hands out timestamps for read-only transactions from a locally leased range of fresh timestamps, so that most
+ * read-only transactions can start without a round trip to TimeLock.
+ *
+ * The immutable timestamp is leased together with each range, and is fetched before the range, so every start
+ * timestamp handed out is above the immutable timestamp handed out with it. Every start timestamp is handed out at
+ * most once. A lease is only used for as long as the caller allows timestamps to be stale, so a transaction reading at
+ * a leased timestamp may miss writes committed by other clients within that window. Callers must pass all commit
+ * timestamps they observe to {@link #observeTimestamp(long)}, so that read-only transactions always see writes
+ * committed through this client.
+ */
+@ThreadSafe
+public final class ReadOnlyTimestampCache {
+    @VisibleForTesting
+    static final int DEFAULT_RANGE_SIZE = 1_000;
+
+    private final TimestampService delegate;
+    private final LongSupplier immutableTimestamp;
+    private final int rangeSize;
+    private final LongSupplier nanoClock;
+
+    @GuardedBy("this")
+    private long nextTimestamp = 1;
+
+    @GuardedBy("this")
+    private long upperBoundInclusive = 0;
+
+    @GuardedBy("this")
+    private long leasedAtNanos;
+
+    @GuardedBy("this")
+    private long leasedImmutableTimestamp;
+
+    @GuardedBy("this")
+    private long latestObservedTimestamp = Long.MIN_VALUE;
+
+    @VisibleForTesting
+    ReadOnlyTimestampCache(
+            TimestampService delegate, LongSupplier immutableTimestamp, int rangeSize, LongSupplier nanoClock) {
+        Preconditions.checkArgument(rangeSize > 0, "Range size must be positive", SafeArg.of("rangeSize", rangeSize));
+        this.delegate = delegate;
+        this.immutableTimestamp = immutableTimestamp;
+        this.rangeSize = rangeSize;
+        this.nanoClock = nanoClock;
+    }
+
+    public static ReadOnlyTimestampCache create(TimestampService delegate, LongSupplier immutableTimestamp) {
+        return new ReadOnlyTimestampCache(delegate, immutableTimestamp, DEFAULT_RANGE_SIZE, System::nanoTime);
+    }
+
+    /**
+     * Returns a start timestamp that is greater than every observed timestamp, together with the immutable timestamp
+     * leased with it, both obtained at most maxStaleness ago. They are taken from the current lease if possible, which
+     * needs no remote call; otherwise a new immutable timestamp and range are leased.
+     */
+    public LeasedTimestamps getTimestamps(Duration maxStaleness) {
+        long maxStalenessNanos = maxStaleness.toNanos();
+        synchronized (this) {
+            long candidate = Math.max(nextTimestamp, latestObservedTimestamp + 1);
+            if (candidate <= upperBoundInclusive && nanoClock.getAsLong() - leasedAtNanos < maxStalenessNanos) {
+                nextTimestamp = candidate + 1;
+                return ImmutableLeasedTimestamps.of(leasedImmutableTimestamp, candidate);
+            }
+        }
+
+        long requestedAtNanos = nanoClock.getAsLong();
+        long immutable = immutableTimestamp.getAsLong();
+        TimestampRange range = delegate.getFreshTimestamps(rangeSize);
+        synchronized (this) {
+            if (range.getUpperBound() > upperBoundInclusive) {
+                nextTimestamp = range.getLowerBound() + 1;
+                upperBoundInclusive = range.getUpperBound();
+                leasedAtNanos = requestedAtNanos;
+                leasedImmutableTimestamp = immutable;
+            }
+        }
+        return ImmutableLeasedTimestamps.of(immutable, range.getLowerBound());
+    }
+
+    /**
+     * Records that a timestamp was obtained by this client, so that only timestamps greater than it are handed out
+     * from now on.
+     */
+    public synchronized void observeTimestamp(long timestamp) {
+        latestObservedTimestamp = Math.max(latestObservedTimestamp, timestamp);
+    }
+
+    @Value.Immutable
+    public interface LeasedTimestamps {
+        @Value.Parameter
+        long immutableTimestamp();
+
+        @Value.Parameter
+        long startTimestamp();
+    }
+}
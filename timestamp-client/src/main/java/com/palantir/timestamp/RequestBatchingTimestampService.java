@@ -27,6 +27,7 @@ import com.palantir.common.proxy.TimingProxy;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.util.jmx.OperationTimer;
 import com.palantir.util.timer.LoggingOperationTimer;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
@@ -38,6 +39,7 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public final class RequestBatchingTimestampService implements CloseableTimestampService {
     private static final OperationTimer timer = LoggingOperationTimer.create(RequestBatchingTimestampService.class);
+    private static final Duration MAX_LINGER = Duration.ofMillis(1);
 
     private final TimestampService delegate;
     private final DisruptorAutobatcher<Integer, TimestampRange> batcher;
@@ -85,6 +87,7 @@ public final class RequestBatchingTimestampService implements CloseableTimestamp
         TimestampService delegate = TimingProxy.newProxyInstance(TimestampService.class, untimedDelegate, timer);
         DisruptorAutobatcher<Integer, TimestampRange> autobatcher = Autobatchers.independent(consumer(delegate))
                 .safeLoggablePurpose("request-batching-timestamp-service")
+                .maxLinger(MAX_LINGER)
                 .build();
         return new RequestBatchingTimestampService(delegate, autobatcher);
     }
@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadOnlyTimestampCacheTest {
+    private static final int RANGE_SIZE = 10;
+    private static final Duration MAX_STALENESS = Duration.ofMillis(100);
+
+    private final TimestampService delegate = mock(TimestampService.class);
+    private final LongSupplier immutableTimestamp = mock(LongSupplier.class);
+    private final AtomicLong nextFreshTimestamp = new AtomicLong(100);
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final ReadOnlyTimestampCache cache =
+            new ReadOnlyTimestampCache(delegate, immutableTimestamp, RANGE_SIZE, nanoClock::get);
+
+    @Before
+    public void before() {
+        when(delegate.getFreshTimestamps(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            long lower = nextFreshTimestamp.getAndAdd(count);
+            return TimestampRange.createInclusiveRange(lower, lower + count - 1);
+        });
+        when(immutableTimestamp.getAsLong()).thenAnswer(invocation -> nextFreshTimestamp.get() - 1);
+    }
+
+    @Test
+    public void handsOutDistinctTimestampsFromOneLeasedRange() {
+        assertThat(startTimestamp()).isEqualTo(100L);
+        assertThat(startTimestamp()).isEqualTo(101L);
+        assertThat(startTimestamp()).isEqualTo(102L);
+
+        verify(delegate, times(1)).getFreshTimestamps(RANGE_SIZE);
+    }
+
+    @Test
+    public void makesNoRemoteCallsWhenTheLeaseIsValid() {
+        startTimestamp();
+        verify(delegate).getFreshTimestamps(RANGE_SIZE);
+        verify(immutableTimestamp).getAsLong();
+
+        for (int i = 1; i < RANGE_SIZE; i++) {
+            assertThat(cache.getTimestamps(MAX_STALENESS))
+                    .isEqualTo(ImmutableLeasedTimestamps.of(99L, 100L + i));
+        }
+        verifyNoMoreInteractions(delegate, immutableTimestamp);
+    }
+
+    @Test
+    public void leasesTheImmutableTimestampBeforeTheRange() {
+        assertThat(cache.getTimestamps(MAX_STALENESS)).isEqualTo(ImmutableLeasedTimestamps.of(99L, 100L));
+    }
+
+    @Test
+    public void leasesNewRangeWhenRangeIsExhausted() {
+        for (int i = 0; i < RANGE_SIZE; i++) {
+            startTimestamp();
+        }
+
+        assertThat(cache.getTimestamps(MAX_STALENESS)).isEqualTo(ImmutableLeasedTimestamps.of(109L, 110L));
+        verify(delegate, times(2)).getFreshTimestamps(RANGE_SIZE);
+        verify(immutableTimestamp, times(2)).getAsLong();
+    }
+
+    @Test
+    public void leasesNewRangeWhenLeaseIsTooStale() {
+        startTimestamp();
+        nanoClock.addAndGet(MAX_STALENESS.toNanos());
+
+        assertThat(cache.getTimestamps(MAX_STALENESS)).isEqualTo(ImmutableLeasedTimestamps.of(109L, 110L));
+        assertThat(cache.getTimestamps(MAX_STALENESS)).isEqualTo(ImmutableLeasedTimestamps.of(109L, 111L));
+    }
+
+    @Test
+    public void doesNotHandOutTimestampsAtOrBelowObservedTimestamps() {
+        startTimestamp();
+        cache.observeTimestamp(107);
+
+        assertThat(startTimestamp()).isEqualTo(108L);
+
+        nextFreshTimestamp.set(200);
+        cache.observeTimestamp(150);
+        assertThat(startTimestamp()).isEqualTo(200L);
+    }
+
+    @Test
+    public void olderRangesDoNotReplaceNewerLeases() {
+        startTimestamp();
+        nanoClock.addAndGet(MAX_STALENESS.toNanos());
+        nextFreshTimestamp.set(50);
+
+        assertThat(cache.getTimestamps(MAX_STALENESS)).isEqualTo(ImmutableLeasedTimestamps.of(49L, 50L));
+        nanoClock.set(0);
+        assertThat(cache.getTimestamps(MAX_STALENESS)).isEqualTo(ImmutableLeasedTimestamps.of(99L, 101L));
+    }
+
+    private long startTimestamp() {
+        return cache.getTimestamps(MAX_STALENESS).startTimestamp();
+    }
+}
@@ -16,8 +16,28 @@
 package com.palantir.timestamp;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import javax.annotation.concurrent.GuardedBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the persisted upper limit of timestamps that may be handed out ahead of the timestamps actually handed out.
+ *
+ * The limit is extended synchronously when a caller needs a timestamp above it. In addition, once more than half of
+ * the most recent buffer has been used, the limit is extended in the background, so that in steady state callers do
+ * not wait for the bound store. The buffer is sized from the recent rate of timestamp issuance, and is never smaller
+ * than {@link #BUFFER}.
+ */
 public class PersistentUpperLimit {
+    private static final Logger log = LoggerFactory.getLogger(PersistentUpperLimit.class);
 
     /**
      * Some internal atlas clients have behavior tied to this value and will need to
@@ -26,12 +46,40 @@ public class PersistentUpperLimit {
     @VisibleForTesting
     static final long BUFFER = 1_000_000;
 
+    @VisibleForTesting
+    static final long MAX_BUFFER = 100 * BUFFER;
+
+    private static final long BUFFER_DURATION_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MIN_RATE_SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Executor sharedExtensionExecutor = PTExecutors.newCachedThreadPool(
+            new NamedThreadFactory(PersistentUpperLimit.class.getSimpleName() + "-extender", true));
+
     private volatile long currentLimit;
+    private volatile long currentBuffer = BUFFER;
+    private final AtomicBoolean extensionPending = new AtomicBoolean();
     private final TimestampBoundStore store;
+    private final Executor extensionExecutor;
+    private final LongSupplier nanoClock;
+
+    @GuardedBy("this")
+    private long rateSampleTimestamp;
+
+    @GuardedBy("this")
+    private long rateSampleNanos;
 
     public PersistentUpperLimit(TimestampBoundStore boundStore) {
+        this(boundStore, sharedExtensionExecutor, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    PersistentUpperLimit(TimestampBoundStore boundStore, Executor extensionExecutor, LongSupplier nanoClock) {
         this.store = boundStore;
+        this.extensionExecutor = extensionExecutor;
+        this.nanoClock = nanoClock;
         this.currentLimit = boundStore.getUpperLimit();
+        this.rateSampleTimestamp = currentLimit;
+        this.rateSampleNanos = nanoClock.getAsLong();
     }
 
     public long get() {
@@ -39,8 +87,11 @@ public class PersistentUpperLimit {
     }
 
     public void increaseToAtLeast(long newLimit) {
-        if (newLimit > currentLimit) {
+        long limit = currentLimit;
+        if (newLimit > limit) {
             updateLimit(newLimit);
+        } else if (limit - newLimit < currentBuffer / 2) {
+            scheduleExtension(newLimit);
         }
     }
 
@@ -49,11 +100,60 @@ public class PersistentUpperLimit {
             return;
         }
 
-        long newLimitWithBuffer = Math.addExact(newLimit, BUFFER);
+        long newLimitWithBuffer = Math.addExact(newLimit, bufferFor(newLimit));
         storeUpperLimit(newLimitWithBuffer);
         currentLimit = newLimitWithBuffer;
     }
 
+    private void scheduleExtension(long usedLimit) {
+        if (!extensionPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            extensionExecutor.execute(() -> {
+                try {
+                    extendInBackground(usedLimit);
+                } catch (Throwable t) {
+                    log.warn(
+                            "Failed to extend the timestamp upper limit in the background;"
+                                    + " it will be extended when timestamps above it are requested",
+                            SafeArg.of("currentLimit", currentLimit),
+                            t);
+                } finally {
+                    extensionPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            extensionPending.set(false);
+        }
+    }
+
+    private synchronized void extendInBackground(long usedLimit) {
+        if (currentLimit - usedLimit >= currentBuffer / 2) {
+            return;
+        }
+
+        long newLimitWithBuffer = Math.addExact(usedLimit, bufferFor(usedLimit));
+        if (newLimitWithBuffer > currentLimit) {
+            storeUpperLimit(newLimitWithBuffer);
+            currentLimit = newLimitWithBuffer;
+        }
+    }
+
+    @GuardedBy("this")
+    private long bufferFor(long usedLimit) {
+        long now = nanoClock.getAsLong();
+        long elapsedNanos = now - rateSampleNanos;
+        if (elapsedNanos >= MIN_RATE_SAMPLE_NANOS) {
+            double timestampsPerNano = (double) (usedLimit - rateSampleTimestamp) / elapsedNanos;
+            long buffer = Math.round(Math.min(timestampsPerNano * BUFFER_DURATION_NANOS, MAX_BUFFER));
+            currentBuffer = Math.max(buffer, BUFFER);
+            rateSampleTimestamp = usedLimit;
+            rateSampleNanos = now;
+        }
+        return currentBuffer;
+    }
+
     private void storeUpperLimit(long upperLimit) {
         DebugLogger.willStoreNewUpperLimit(upperLimit);
         store.storeUpperLimit(upperLimit);
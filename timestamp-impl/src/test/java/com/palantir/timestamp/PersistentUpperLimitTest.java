@@ -25,6 +25,9 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jmock.lib.concurrent.DeterministicScheduler;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -42,12 +45,14 @@ public class PersistentUpperLimitTest {
     public ExpectedException exception = ExpectedException.none();
 
     private final TimestampAllocationFailures allocationFailures = mock(TimestampAllocationFailures.class);
+    private final DeterministicScheduler executor = new DeterministicScheduler();
+    private final AtomicLong nanoClock = new AtomicLong();
 
     @Before
     public void setup() {
         boundStore = mock(TimestampBoundStore.class);
         when(boundStore.getUpperLimit()).thenReturn(INITIAL_UPPER_LIMIT);
-        upperLimit = new PersistentUpperLimit(boundStore);
+        upperLimit = new PersistentUpperLimit(boundStore, executor, nanoClock::get);
     }
 
     @Test
@@ -119,4 +124,88 @@ public class PersistentUpperLimitTest {
 
         assertThat(upperLimit.get(), is(INITIAL_UPPER_LIMIT));
     }
+
+    @Test
+    public void shouldExtendTheUpperLimitInTheBackgroundOnceHalfTheBufferIsUsed() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+
+        long usedLimit = TIMESTAMP + BUFFER / 2 + 1;
+        upperLimit.increaseToAtLeast(usedLimit);
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER));
+
+        executor.runUntilIdle();
+        verify(boundStore).storeUpperLimit(usedLimit + BUFFER);
+        assertThat(upperLimit.get(), is(usedLimit + BUFFER));
+    }
+
+    @Test
+    public void shouldNotExtendTheUpperLimitInTheBackgroundBeforeHalfTheBufferIsUsed() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+
+        upperLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2);
+        executor.runUntilIdle();
+
+        verify(boundStore, times(1)).storeUpperLimit(anyLong());
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER));
+    }
+
+    @Test
+    public void shouldOnlyExtendTheUpperLimitInTheBackgroundOnceAtATime() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+
+        upperLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2 + 1);
+        upperLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2 + 2);
+        executor.runUntilIdle();
+
+        verify(boundStore, times(2)).storeUpperLimit(anyLong());
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER / 2 + 1 + BUFFER));
+    }
+
+    @Test
+    public void shouldRetryBackgroundExtensionAfterAFailure() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+        doThrow(RuntimeException.class).doNothing().when(boundStore).storeUpperLimit(anyLong());
+
+        long usedLimit = TIMESTAMP + BUFFER / 2 + 1;
+        upperLimit.increaseToAtLeast(usedLimit);
+        executor.runUntilIdle();
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER));
+
+        upperLimit.increaseToAtLeast(usedLimit);
+        executor.runUntilIdle();
+        assertThat(upperLimit.get(), is(usedLimit + BUFFER));
+    }
+
+    @Test
+    public void shouldSizeTheBufferFromTheRecentIssuanceRate() {
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        long newLimit = INITIAL_UPPER_LIMIT + 4 * BUFFER;
+        upperLimit.increaseToAtLeast(newLimit);
+
+        // four buffers were used in one second, so the buffer now covers ten seconds at that rate
+        assertThat(upperLimit.get(), is(newLimit + 40 * BUFFER));
+    }
+
+    @Test
+    public void shouldNotGrowTheBufferBeyondTheMaximum() {
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        long newLimit = INITIAL_UPPER_LIMIT + PersistentUpperLimit.MAX_BUFFER;
+        upperLimit.increaseToAtLeast(newLimit);
+
+        assertThat(upperLimit.get(), is(newLimit + PersistentUpperLimit.MAX_BUFFER));
+    }
+
+    @Test
+    public void shouldShrinkTheBufferWhenIssuanceSlowsDown() {
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        upperLimit.increaseToAtLeast(INITIAL_UPPER_LIMIT + 4 * BUFFER);
+
+        nanoClock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        long newLimit = upperLimit.get() + 1;
+        upperLimit.increaseToAtLeast(newLimit);
+
+        assertThat(upperLimit.get(), is(newLimit + BUFFER));
+    }
 }